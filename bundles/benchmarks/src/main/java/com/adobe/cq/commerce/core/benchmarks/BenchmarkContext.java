@@ -0,0 +1,88 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.benchmarks;
+
+import java.util.Map;
+
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
+import org.apache.sling.xss.XSSAPI;
+import org.mockito.Mockito;
+
+import com.adobe.cq.commerce.core.components.internal.services.SpecificPageStrategy;
+import com.adobe.cq.commerce.core.components.internal.services.UrlProviderImpl;
+import com.adobe.cq.commerce.core.components.internal.services.site.SiteStructureFactory;
+import com.adobe.cq.commerce.core.testing.MockExternalizer;
+import com.adobe.cq.wcm.core.components.internal.link.DefaultPathProcessor;
+import com.day.cq.commons.Externalizer;
+import com.day.cq.wcm.api.PageManagerFactory;
+import io.wcm.testing.mock.aem.context.AemContextImpl;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * An AEM mock context for benchmarks. It registers the same services as the {@code TestContext} of the unit tests, but exposes the
+ * life cycle of the context to the JMH {@code Setup} and {@code TearDown} methods instead of a JUnit rule.
+ */
+public class BenchmarkContext extends AemContextImpl {
+
+    public BenchmarkContext() {
+        setResourceResolverType(ResourceResolverType.JCR_MOCK);
+    }
+
+    /**
+     * Sets up the context and loads the given content fixture of the core bundle tests to {@code /content}.
+     *
+     * @param loadContent the classpath resource of the content fixture
+     * @param specificPageStrategyConfig the configuration of the {@link SpecificPageStrategy}
+     * @param urlProviderConfig the configuration of the {@link UrlProviderImpl}
+     */
+    public void setUp(String loadContent, Map<String, Object> specificPageStrategyConfig, Map<String, Object> urlProviderConfig) {
+        super.setUp();
+
+        // register commonly required ootb services
+        registerService(PageManagerFactory.class, rr -> pageManager());
+        registerService(Externalizer.class, new MockExternalizer());
+        registerInjectActivateService(new DefaultPathProcessor());
+
+        XSSAPI xssApi = mock(XSSAPI.class);
+        when(xssApi.filterHTML(Mockito.anyString())).then(i -> i.getArgumentAt(0, String.class));
+        registerService(XSSAPI.class, xssApi);
+
+        // register commonly used cif services
+        registerInjectActivateService(new SiteStructureFactory());
+        registerInjectActivateService(new SpecificPageStrategy(), specificPageStrategyConfig);
+        registerInjectActivateService(new UrlProviderImpl(), urlProviderConfig);
+
+        load(true).json(loadContent, "/content");
+    }
+
+    @Override
+    public void tearDown() {
+        super.tearDown();
+    }
+
+    /**
+     * Returns a new request for the given page. Other than {@link #request()} the returned request does not share its adapter cache
+     * with other requests.
+     */
+    public MockSlingHttpServletRequest newRequest(String pagePath) {
+        MockSlingHttpServletRequest request = new MockSlingHttpServletRequest(resourceResolver(), bundleContext());
+        request.setResource(resourceResolver().getResource(pagePath));
+        return request;
+    }
+}
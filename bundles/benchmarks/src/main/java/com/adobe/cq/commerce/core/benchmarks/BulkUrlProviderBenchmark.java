@@ -0,0 +1,137 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.CategoryPageWithUrlPath;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.ProductPageWithUrlKey;
+import com.adobe.cq.commerce.core.components.services.urls.CategoryUrlFormat;
+import com.adobe.cq.commerce.core.components.services.urls.ProductUrlFormat;
+import com.adobe.cq.commerce.core.components.services.urls.UrlProvider;
+import com.day.cq.wcm.api.Page;
+
+/**
+ * Compares the bulk url generation of the {@link UrlProvider} with generating the same urls one by one, e.g. for a product grid or a
+ * sitemap. Each invocation generates {@code items} urls, divide the average time by {@code items} to get the cost per url.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkUrlProviderBenchmark {
+
+    private static final String CONTENT = "/context/jcr-page-filter.json";
+    private static final String PRODUCT_PAGE = "/content/product-page";
+    private static final String CATEGORY_PAGE = "/content/category-page";
+
+    @Param({ "1", "50", "10000" })
+    public int items;
+
+    @Param({ "0", "100" })
+    public int specificPages;
+
+    @Param({ "3" })
+    public int categoryDepth;
+
+    private BenchmarkContext context;
+    private UrlProvider urlProvider;
+    private SlingHttpServletRequest request;
+    private Page page;
+    private List<ProductUrlFormat.Params> productParams;
+    private List<CategoryUrlFormat.Params> categoryParams;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> urlProviderConfig = new HashMap<>();
+        urlProviderConfig.put("productPageUrlFormat", ProductPageWithUrlKey.PATTERN);
+        urlProviderConfig.put("categoryPageUrlFormat", CategoryPageWithUrlPath.PATTERN);
+
+        context = new BenchmarkContext();
+        context.setUp(CONTENT, Collections.singletonMap("generateSpecificPageUrls", specificPages > 0), urlProviderConfig);
+        CatalogShapes.createSpecificProductPages(context, PRODUCT_PAGE, specificPages, categoryDepth);
+        CatalogShapes.createSpecificCategoryPages(context, CATEGORY_PAGE, specificPages, categoryDepth);
+
+        urlProvider = context.getService(UrlProvider.class);
+        request = context.newRequest(PRODUCT_PAGE);
+        page = context.pageManager().getPage(PRODUCT_PAGE);
+
+        productParams = new ArrayList<>(items);
+        categoryParams = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            ProductUrlFormat.Params product = new ProductUrlFormat.Params();
+            product.setSku("sku-" + i);
+            product.setUrlKey(CatalogShapes.PRODUCT_URL_KEY + "-" + i);
+            productParams.add(product);
+
+            CategoryUrlFormat.Params category = new CategoryUrlFormat.Params();
+            category.setUid("uid-" + i);
+            category.setUrlPath(CatalogShapes.categoryUrlPath(categoryDepth, i));
+            categoryParams.add(category);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.tearDown();
+    }
+
+    @Benchmark
+    public void toProductUrlOneByOne(Blackhole blackhole) {
+        for (ProductUrlFormat.Params params : productParams) {
+            blackhole.consume(urlProvider.toProductUrl(request, page, params));
+        }
+    }
+
+    @Benchmark
+    public List<String> toProductUrls() {
+        return urlProvider.toProductUrls(request, page, productParams);
+    }
+
+    @Benchmark
+    public void formatCategoryUrlOneByOne(Blackhole blackhole) {
+        for (CategoryUrlFormat.Params params : categoryParams) {
+            blackhole.consume(urlProvider.formatCategoryUrl(request, page, params));
+        }
+    }
+
+    @Benchmark
+    public List<String> toCategoryUrls() {
+        return urlProvider.toCategoryUrls(request, page, categoryParams);
+    }
+}
@@ -0,0 +1,105 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.adobe.cq.commerce.magento.graphql.UrlRewrite;
+import io.wcm.testing.mock.aem.context.AemContextImpl;
+
+/**
+ * Generates catalog data of realistic shape for the benchmarks: products with many url_rewrites in deep category trees and generic
+ * pages with many specific pages.
+ */
+final class CatalogShapes {
+
+    static final String PRODUCT_URL_KEY = "beaumont-summit-kit";
+
+    private static final String TEMPLATE = "/apps/sample/templates/template1";
+
+    // the properties read by the SpecificPageStrategy
+    private static final String PN_SELECTOR_FILTER = "selectorFilter";
+    private static final String PN_USE_FOR_CATEGORIES = "useForCategories";
+
+    private CatalogShapes() {}
+
+    /**
+     * Returns the url_path of a category at the given depth, e.g. {@code level-1-2/level-2-2/level-3-2} for depth 3 and branch 2.
+     */
+    static String categoryUrlPath(int depth, int branch) {
+        StringBuilder urlPath = new StringBuilder();
+        for (int level = 1; level <= depth; level++) {
+            if (urlPath.length() > 0) {
+                urlPath.append('/');
+            }
+            urlPath.append("level-").append(level).append('-').append(branch);
+        }
+        return urlPath.toString();
+    }
+
+    /**
+     * Returns the given number of url_rewrites for a product, one in each branch of a category tree of the given depth. The last
+     * url_rewrite is the product's canonical url_path without any category.
+     */
+    static List<UrlRewrite> urlRewrites(int count, int depth) {
+        List<UrlRewrite> urlRewrites = new ArrayList<>(count);
+        for (int branch = 1; branch < count; branch++) {
+            urlRewrites.add(new UrlRewrite().setUrl(categoryUrlPath(1 + branch % depth, branch) + "/" + PRODUCT_URL_KEY + ".html"));
+        }
+        urlRewrites.add(new UrlRewrite().setUrl(PRODUCT_URL_KEY + ".html"));
+        return urlRewrites;
+    }
+
+    /**
+     * Creates the given number of specific product pages below the given generic product page, nested in groups of ten. Every
+     * specific page selects a product SKU and a category url_path by its number, e.g. {@code sku-42} and
+     * {@code level-1-42/level-2-42}.
+     */
+    static void createSpecificProductPages(AemContextImpl context, String genericPagePath, int count, int categoryDepth) {
+        for (int i = 0; i < count; i++) {
+            createSpecificPage(context, genericPagePath, i,
+                PN_SELECTOR_FILTER, new String[] { "sku-" + i },
+                PN_USE_FOR_CATEGORIES, new String[] { categoryUrlPath(categoryDepth, i) });
+        }
+    }
+
+    /**
+     * Creates the given number of specific category pages below the given generic category page, nested in groups of ten. Every
+     * specific page selects a category by its uid and url_path, e.g. {@code uid-42|level-1-42/level-2-42}.
+     */
+    static void createSpecificCategoryPages(AemContextImpl context, String genericPagePath, int count, int categoryDepth) {
+        for (int i = 0; i < count; i++) {
+            createSpecificPage(context, genericPagePath, i,
+                PN_SELECTOR_FILTER, new String[] { "uid-" + i + "|" + categoryUrlPath(categoryDepth, i) });
+        }
+    }
+
+    private static void createSpecificPage(AemContextImpl context, String genericPagePath, int number, Object... properties) {
+        String parentPath = genericPagePath + "/group-" + (number / 10);
+        if (context.pageManager().getPage(parentPath) == null) {
+            context.create().page(parentPath);
+        }
+
+        Map<String, Object> pageProperties = new HashMap<>();
+        for (int i = 0; i < properties.length; i += 2) {
+            pageProperties.put((String) properties[i], properties[i + 1]);
+        }
+        context.create().page(parentPath + "/specific-" + number, TEMPLATE, pageProperties);
+    }
+}
@@ -0,0 +1,126 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.adobe.cq.commerce.core.components.internal.models.v1.common.PriceImpl;
+import com.adobe.cq.commerce.core.components.internal.models.v1.product.VariantImpl;
+import com.adobe.cq.commerce.core.components.internal.services.ModelMappingExecutor;
+import com.adobe.cq.commerce.core.components.models.product.Variant;
+import com.adobe.cq.commerce.magento.graphql.CurrencyEnum;
+import com.adobe.cq.commerce.magento.graphql.Money;
+import com.adobe.cq.commerce.magento.graphql.PriceRange;
+import com.adobe.cq.commerce.magento.graphql.ProductDiscount;
+import com.adobe.cq.commerce.magento.graphql.ProductPrice;
+import com.adobe.cq.commerce.magento.graphql.SimpleProduct;
+
+/**
+ * Compares the mapping of product variants sequentially, with a parallel stream on the common pool and with the
+ * {@link ModelMappingExecutor} across variant counts. The mapping does the same work as the product component does per variant.
+ * Run with <code>-t</code> to compare the strategies with concurrent renderings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    @Param({ "4", "16", "64", "256", "1024" })
+    public int variants;
+
+    @Param({ "2" })
+    public int threadPoolSize;
+
+    private BenchmarkContext context;
+    private ModelMappingExecutor mappingExecutor;
+    private List<SimpleProduct> products;
+
+    @Setup
+    public void setUp() {
+        context = new BenchmarkContext();
+        context.setUp("/context/jcr-page-filter.json", Collections.emptyMap(), Collections.emptyMap());
+        // map every list in parallel, so that the benchmark shows the cost of parallel mapping for any size
+        mappingExecutor = context.registerInjectActivateService(new ModelMappingExecutor(), "parallelThreshold", 1,
+            "threadPoolSize", threadPoolSize);
+
+        products = IntStream.range(0, variants).mapToObj(ProductMappingBenchmark::createProduct).collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.tearDown();
+    }
+
+    private static SimpleProduct createProduct(int i) {
+        Money price = new Money().setCurrency(CurrencyEnum.USD).setValue(10.0 + i);
+        ProductPrice productPrice = new ProductPrice()
+            .setRegularPrice(price)
+            .setFinalPrice(price)
+            .setDiscount(new ProductDiscount().setAmountOff(0.0).setPercentOff(0.0));
+        return new SimpleProduct()
+            .setSku(CatalogShapes.PRODUCT_URL_KEY + "-" + i)
+            .setName("Variant " + i)
+            .setColor(i % 8)
+            .setPriceRange(new PriceRange().setMinimumPrice(productPrice));
+    }
+
+    private static Variant mapVariant(SimpleProduct product) {
+        VariantImpl variant = new VariantImpl();
+        variant.setId("product-" + DigestUtils.sha256Hex(product.getSku()).substring(0, 10));
+        variant.setName(product.getName());
+        variant.setSku(product.getSku());
+        variant.setColor(product.getColor());
+        variant.setPriceRange(new PriceImpl(product.getPriceRange(), Locale.US));
+        return variant;
+    }
+
+    @Benchmark
+    public List<Variant> sequential() {
+        return ModelMappingExecutor.mapSequentially(products, ProductMappingBenchmark::mapVariant);
+    }
+
+    @Benchmark
+    public List<Variant> parallelStream() {
+        return products.parallelStream().map(ProductMappingBenchmark::mapVariant).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Variant> mappingExecutor() {
+        return mappingExecutor.map(products, ProductMappingBenchmark::mapVariant);
+    }
+}
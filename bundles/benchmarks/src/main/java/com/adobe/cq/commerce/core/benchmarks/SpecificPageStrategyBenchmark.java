@@ -0,0 +1,141 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.adobe.cq.commerce.core.components.internal.services.SpecificPageStrategy;
+import com.adobe.cq.commerce.core.components.services.urls.CategoryUrlFormat;
+import com.adobe.cq.commerce.core.components.services.urls.ProductUrlFormat;
+import com.day.cq.wcm.api.Page;
+
+/**
+ * Benchmarks the matching of specific pages below generic product and category pages with many specific pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecificPageStrategyBenchmark {
+
+    private static final String CONTENT = "/context/jcr-page-filter.json";
+    private static final String PRODUCT_PAGE = "/content/product-page";
+    private static final String CATEGORY_PAGE = "/content/category-page";
+
+    @Param({ "10", "100", "1000" })
+    public int specificPages;
+
+    @Param({ "2", "8" })
+    public int categoryDepth;
+
+    private BenchmarkContext context;
+    private SpecificPageStrategy specificPageStrategy;
+    private Page productPage;
+    private Page categoryPage;
+    private ProductUrlFormat.Params productParams;
+    private ProductUrlFormat.Params productParamsByCategory;
+    private ProductUrlFormat.Params productParamsWithoutMatch;
+    private CategoryUrlFormat.Params categoryParams;
+    private List<ResourceChange> productPageChange;
+
+    @Setup
+    public void setUp() {
+        context = new BenchmarkContext();
+        context.setUp(CONTENT, Collections.singletonMap("generateSpecificPageUrls", true), Collections.emptyMap());
+        CatalogShapes.createSpecificProductPages(context, PRODUCT_PAGE, specificPages, categoryDepth);
+        CatalogShapes.createSpecificCategoryPages(context, CATEGORY_PAGE, specificPages, categoryDepth);
+
+        specificPageStrategy = context.getService(SpecificPageStrategy.class);
+        productPage = context.pageManager().getPage(PRODUCT_PAGE);
+        categoryPage = context.pageManager().getPage(CATEGORY_PAGE);
+
+        // match the last specific page, which is the worst case for a traversal
+        int last = specificPages - 1;
+        String categoryUrlPath = CatalogShapes.categoryUrlPath(categoryDepth, last);
+
+        productParams = new ProductUrlFormat.Params();
+        productParams.setSku("sku-" + last);
+        productParams.setUrlKey(CatalogShapes.PRODUCT_URL_KEY);
+
+        productParamsByCategory = new ProductUrlFormat.Params();
+        productParamsByCategory.setSku("MJ01");
+        productParamsByCategory.setUrlKey(CatalogShapes.PRODUCT_URL_KEY);
+        productParamsByCategory.getCategoryUrlParams().setUrlPath(categoryUrlPath);
+
+        productParamsWithoutMatch = new ProductUrlFormat.Params();
+        productParamsWithoutMatch.setSku("MJ01");
+        productParamsWithoutMatch.setUrlKey(CatalogShapes.PRODUCT_URL_KEY);
+
+        categoryParams = new CategoryUrlFormat.Params();
+        categoryParams.setUid("uid-" + last);
+        categoryParams.setUrlPath(categoryUrlPath);
+
+        productPageChange = Collections.singletonList(
+            new ResourceChange(ResourceChange.ChangeType.CHANGED, PRODUCT_PAGE + "/group-0/jcr:content", false));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.tearDown();
+    }
+
+    @Benchmark
+    public Page productSpecificPageBySku() {
+        return specificPageStrategy.getSpecificPage(productPage, productParams);
+    }
+
+    @Benchmark
+    public Page productSpecificPageByCategory() {
+        return specificPageStrategy.getSpecificPage(productPage, productParamsByCategory);
+    }
+
+    @Benchmark
+    public Page productSpecificPageWithoutMatch() {
+        return specificPageStrategy.getSpecificPage(productPage, productParamsWithoutMatch);
+    }
+
+    @Benchmark
+    public Page categorySpecificPage() {
+        return specificPageStrategy.getSpecificPage(categoryPage, categoryParams);
+    }
+
+    /**
+     * Measures a lookup right after a change of a specific page invalidated the index of the generic page.
+     */
+    @Benchmark
+    public Page productSpecificPageAfterChange() {
+        specificPageStrategy.onChange(productPageChange);
+        return specificPageStrategy.getSpecificPage(productPage, productParams);
+    }
+}
@@ -0,0 +1,184 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.testing.mock.sling.servlet.MockRequestPathInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.CategoryPageWithUrlKey;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.CategoryPageWithUrlPath;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.ProductPageWithCategoryAndUrlKey;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.ProductPageWithSku;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.ProductPageWithSkuAndUrlKey;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.ProductPageWithSkuAndUrlPath;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.ProductPageWithSkuCategoryAndUrlKey;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.ProductPageWithUrlKey;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.ProductPageWithUrlPath;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.UrlFormatBase;
+import com.adobe.cq.commerce.core.components.services.urls.CategoryUrlFormat;
+import com.adobe.cq.commerce.core.components.services.urls.ProductUrlFormat;
+
+/**
+ * Benchmarks the {@code format} and {@code parse} implementations of the product and category url formats as well as the url_path
+ * selection from the url_rewrites of a product.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlFormatBenchmark {
+
+    private static final String PAGE = "/content/venia/us/en/products/product-page";
+    private static final String CATEGORY_PAGE = "/content/venia/us/en/products/category-page";
+
+    @Param({ "1", "10", "100" })
+    public int urlRewrites;
+
+    @Param({ "2", "8" })
+    public int categoryDepth;
+
+    private ProductUrlFormat.Params productParams;
+    private ProductUrlFormat.Params productParamsInCategoryContext;
+    private CategoryUrlFormat.Params categoryParams;
+    private MockRequestPathInfo productWithSkuPathInfo;
+    private MockRequestPathInfo productWithUrlPathPathInfo;
+    private MockRequestPathInfo productWithSkuCategoryAndUrlKeyPathInfo;
+    private MockRequestPathInfo categoryWithUrlPathPathInfo;
+
+    @Setup
+    public void setUp() {
+        String categoryUrlPath = CatalogShapes.categoryUrlPath(categoryDepth, urlRewrites / 2);
+
+        // products are formatted without a url_path, which makes the formats select one from the url_rewrites
+        productParams = new ProductUrlFormat.Params();
+        productParams.setPage(PAGE);
+        productParams.setSku("MJ01");
+        productParams.setUrlKey(CatalogShapes.PRODUCT_URL_KEY);
+        productParams.setUrlRewrites(CatalogShapes.urlRewrites(urlRewrites, categoryDepth));
+
+        productParamsInCategoryContext = new ProductUrlFormat.Params(productParams);
+        productParamsInCategoryContext.getCategoryUrlParams().setUrlPath(categoryUrlPath);
+
+        categoryParams = new CategoryUrlFormat.Params();
+        categoryParams.setPage(CATEGORY_PAGE);
+        categoryParams.setUid("MTI=");
+        categoryParams.setUrlPath(categoryUrlPath);
+        categoryParams.setUrlKey(UrlFormatBase.getUrlKey(categoryUrlPath, null));
+
+        productWithSkuPathInfo = pathInfo(PAGE, "/MJ01.html");
+        productWithUrlPathPathInfo = pathInfo(PAGE, "/" + categoryUrlPath + "/" + CatalogShapes.PRODUCT_URL_KEY + ".html");
+        productWithSkuCategoryAndUrlKeyPathInfo = pathInfo(PAGE, "/MJ01/" + UrlFormatBase.getUrlKey(categoryUrlPath, null) + "/"
+            + CatalogShapes.PRODUCT_URL_KEY + ".html");
+        categoryWithUrlPathPathInfo = pathInfo(CATEGORY_PAGE, "/" + categoryUrlPath + ".html");
+    }
+
+    private static MockRequestPathInfo pathInfo(String resourcePath, String suffix) {
+        MockRequestPathInfo pathInfo = new MockRequestPathInfo();
+        pathInfo.setResourcePath(resourcePath);
+        pathInfo.setExtension("html");
+        pathInfo.setSuffix(suffix);
+        return pathInfo;
+    }
+
+    @Benchmark
+    public String selectUrlPath() {
+        return UrlFormatBase.selectUrlPath(productParams);
+    }
+
+    @Benchmark
+    public String selectUrlPathInCategoryContext() {
+        return UrlFormatBase.selectUrlPath(productParamsInCategoryContext);
+    }
+
+    @Benchmark
+    public String formatProductPageWithSku() {
+        return ProductPageWithSku.INSTANCE.format(productParams);
+    }
+
+    @Benchmark
+    public String formatProductPageWithUrlKey() {
+        return ProductPageWithUrlKey.INSTANCE.format(productParams);
+    }
+
+    @Benchmark
+    public String formatProductPageWithSkuAndUrlKey() {
+        return ProductPageWithSkuAndUrlKey.INSTANCE.format(productParams);
+    }
+
+    @Benchmark
+    public String formatProductPageWithUrlPath() {
+        return ProductPageWithUrlPath.INSTANCE.format(productParamsInCategoryContext);
+    }
+
+    @Benchmark
+    public String formatProductPageWithSkuAndUrlPath() {
+        return ProductPageWithSkuAndUrlPath.INSTANCE.format(productParamsInCategoryContext);
+    }
+
+    @Benchmark
+    public String formatProductPageWithCategoryAndUrlKey() {
+        return ProductPageWithCategoryAndUrlKey.INSTANCE.format(productParamsInCategoryContext);
+    }
+
+    @Benchmark
+    public String formatProductPageWithSkuCategoryAndUrlKey() {
+        return ProductPageWithSkuCategoryAndUrlKey.INSTANCE.format(productParamsInCategoryContext);
+    }
+
+    @Benchmark
+    public String formatCategoryPageWithUrlPath() {
+        return CategoryPageWithUrlPath.INSTANCE.format(categoryParams);
+    }
+
+    @Benchmark
+    public String formatCategoryPageWithUrlKey() {
+        return CategoryPageWithUrlKey.INSTANCE.format(categoryParams);
+    }
+
+    @Benchmark
+    public ProductUrlFormat.Params parseProductPageWithSku() {
+        return ProductPageWithSku.INSTANCE.parse(productWithSkuPathInfo, null);
+    }
+
+    @Benchmark
+    public ProductUrlFormat.Params parseProductPageWithUrlPath() {
+        return ProductPageWithUrlPath.INSTANCE.parse(productWithUrlPathPathInfo, null);
+    }
+
+    @Benchmark
+    public ProductUrlFormat.Params parseProductPageWithSkuCategoryAndUrlKey() {
+        return ProductPageWithSkuCategoryAndUrlKey.INSTANCE.parse(productWithSkuCategoryAndUrlKeyPathInfo, null);
+    }
+
+    @Benchmark
+    public CategoryUrlFormat.Params parseCategoryPageWithUrlPath() {
+        return CategoryPageWithUrlPath.INSTANCE.parse(categoryWithUrlPathPathInfo, null);
+    }
+}
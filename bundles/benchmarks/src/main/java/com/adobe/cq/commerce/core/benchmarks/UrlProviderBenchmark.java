@@ -0,0 +1,133 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.benchmarks;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.CategoryPageWithUrlPath;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.ProductPageWithSkuAndUrlPath;
+import com.adobe.cq.commerce.core.components.internal.services.urlformats.ProductPageWithUrlKey;
+import com.adobe.cq.commerce.core.components.services.urls.CategoryUrlFormat;
+import com.adobe.cq.commerce.core.components.services.urls.ProductUrlFormat;
+import com.adobe.cq.commerce.core.components.services.urls.UrlProvider;
+import com.day.cq.wcm.api.Page;
+
+/**
+ * Benchmarks the {@link UrlProvider} for product and category urls, including the lookup of the generic pages in the site structure
+ * and of the specific pages below them. It uses the page fixture of the {@code UrlProviderImplTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlProviderBenchmark {
+
+    private static final String CONTENT = "/context/jcr-page-filter.json";
+    private static final String PRODUCT_PAGE = "/content/product-page";
+    private static final String CATEGORY_PAGE = "/content/category-page";
+
+    @Param({ ProductPageWithUrlKey.PATTERN, ProductPageWithSkuAndUrlPath.PATTERN })
+    public String productPageUrlFormat;
+
+    @Param({ "10", "100" })
+    public int urlRewrites;
+
+    @Param({ "0", "100", "1000" })
+    public int specificPages;
+
+    @Param({ "6" })
+    public int categoryDepth;
+
+    private BenchmarkContext context;
+    private UrlProvider urlProvider;
+    private SlingHttpServletRequest request;
+    private Page page;
+    private ProductUrlFormat.Params productParams;
+    private ProductUrlFormat.Params productParamsInCategoryContext;
+    private CategoryUrlFormat.Params categoryParams;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> urlProviderConfig = new HashMap<>();
+        urlProviderConfig.put("productPageUrlFormat", productPageUrlFormat);
+        urlProviderConfig.put("categoryPageUrlFormat", CategoryPageWithUrlPath.PATTERN);
+
+        context = new BenchmarkContext();
+        context.setUp(CONTENT, Collections.singletonMap("generateSpecificPageUrls", specificPages > 0), urlProviderConfig);
+        CatalogShapes.createSpecificProductPages(context, PRODUCT_PAGE, specificPages, categoryDepth);
+        CatalogShapes.createSpecificCategoryPages(context, CATEGORY_PAGE, specificPages, categoryDepth);
+
+        urlProvider = context.getService(UrlProvider.class);
+        request = context.newRequest(PRODUCT_PAGE);
+        page = context.pageManager().getPage(PRODUCT_PAGE);
+
+        // match the last specific page, which is the worst case for a traversal
+        int last = Math.max(0, specificPages - 1);
+        String categoryUrlPath = CatalogShapes.categoryUrlPath(categoryDepth, last);
+
+        productParams = new ProductUrlFormat.Params();
+        productParams.setSku("sku-" + last);
+        productParams.setUrlKey(CatalogShapes.PRODUCT_URL_KEY);
+        productParams.setUrlRewrites(CatalogShapes.urlRewrites(urlRewrites, categoryDepth));
+
+        productParamsInCategoryContext = new ProductUrlFormat.Params(productParams);
+        productParamsInCategoryContext.setSku("MJ01");
+        productParamsInCategoryContext.getCategoryUrlParams().setUrlPath(categoryUrlPath);
+
+        categoryParams = new CategoryUrlFormat.Params();
+        categoryParams.setUid("uid-" + last);
+        categoryParams.setUrlPath(categoryUrlPath);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.tearDown();
+    }
+
+    @Benchmark
+    public String toProductUrl() {
+        return urlProvider.toProductUrl(request, page, productParams);
+    }
+
+    @Benchmark
+    public String toProductUrlInCategoryContext() {
+        return urlProvider.toProductUrl(request, page, productParamsInCategoryContext);
+    }
+
+    @Benchmark
+    public String formatCategoryUrl() {
+        return urlProvider.formatCategoryUrl(request, page, categoryParams);
+    }
+}
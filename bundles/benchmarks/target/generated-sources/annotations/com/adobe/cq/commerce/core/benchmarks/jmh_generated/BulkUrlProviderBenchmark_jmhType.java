@@ -0,0 +1,4 @@
+package com.adobe.cq.commerce.core.benchmarks.jmh_generated;
+public class BulkUrlProviderBenchmark_jmhType extends BulkUrlProviderBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.adobe.cq.commerce.core.benchmarks.jmh_generated;
+public class ProductMappingBenchmark_jmhType extends ProductMappingBenchmark_jmhType_B3 {
+}
+
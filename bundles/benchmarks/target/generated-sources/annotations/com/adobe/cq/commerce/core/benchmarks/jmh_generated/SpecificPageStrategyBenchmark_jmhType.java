@@ -0,0 +1,4 @@
+package com.adobe.cq.commerce.core.benchmarks.jmh_generated;
+public class SpecificPageStrategyBenchmark_jmhType extends SpecificPageStrategyBenchmark_jmhType_B3 {
+}
+
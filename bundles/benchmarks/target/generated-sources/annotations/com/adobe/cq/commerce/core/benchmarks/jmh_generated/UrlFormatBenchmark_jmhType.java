@@ -0,0 +1,4 @@
+package com.adobe.cq.commerce.core.benchmarks.jmh_generated;
+public class UrlFormatBenchmark_jmhType extends UrlFormatBenchmark_jmhType_B3 {
+}
+
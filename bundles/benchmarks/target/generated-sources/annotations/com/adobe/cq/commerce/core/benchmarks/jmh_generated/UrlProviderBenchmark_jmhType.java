@@ -0,0 +1,4 @@
+package com.adobe.cq.commerce.core.benchmarks.jmh_generated;
+public class UrlProviderBenchmark_jmhType extends UrlProviderBenchmark_jmhType_B3 {
+}
+
@@ -14,22 +14,27 @@
 
 package com.adobe.cq.commerce.core.cacheinvalidation.internal;
 
+import java.util.regex.Pattern;
+
 /**
  * Configuration class for dispatcher base path pattern and match values.
  */
 public class DispatcherBasePathConfiguration {
     private final String pattern;
     private final String match;
+    private final Pattern compiledPattern;
 
     /**
      * Creates a new dispatcher base path configuration.
      *
      * @param pattern The pattern to match against store paths
      * @param match The replacement pattern to use when the pattern matches
+     * @throws java.util.regex.PatternSyntaxException if the pattern is not a valid regular expression
      */
     public DispatcherBasePathConfiguration(String pattern, String match) {
         this.pattern = pattern;
         this.match = match;
+        this.compiledPattern = pattern != null && !pattern.isEmpty() ? Pattern.compile(pattern) : null;
     }
 
     /**
@@ -41,6 +46,15 @@ public class DispatcherBasePathConfiguration {
         return pattern;
     }
 
+    /**
+     * Gets the compiled pattern used for matching store paths.
+     *
+     * @return The compiled pattern, or null if the pattern is empty
+     */
+    Pattern getCompiledPattern() {
+        return compiledPattern;
+    }
+
     /**
      * Gets the replacement pattern used when a match is found.
      *
@@ -0,0 +1,232 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.cacheinvalidation.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.commons.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Flushes handles from the dispatcher cache over a long-lived pool of keep-alive connections. The handles of a flush are sent by a
+ * bounded number of concurrent workers, and requests failing with an IO error or a server error are retried with an exponential
+ * backoff.
+ * <p>
+ * The number of flushed, retried and failed handles as well as the request times are recorded per dispatcher.
+ */
+class DispatcherFlushClient implements Closeable {
+
+    static final String METRIC_PREFIX = "cif.dispatcher.flush.";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DispatcherFlushClient.class);
+    private static final String DISPATCHER_INVALIDATE_PATH = "/dispatcher/invalidate.cache";
+    private static final String CQ_ACTION_HEADER = "CQ-Action";
+    private static final String CQ_HANDLE_HEADER = "CQ-Handle";
+    private static final String CQ_ACTION_SCOPE_HEADER = "CQ-Action-Scope";
+    private static final String DELETE_ACTION = "Delete";
+    private static final String RESOURCE_ONLY_SCOPE = "ResourceOnly";
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private final CloseableHttpClient httpClient;
+    private final int concurrency;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final MetricsService metricsService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, DispatcherMetrics> metricsByDispatcher = new ConcurrentHashMap<>();
+    Sleeper sleeper = Thread::sleep;
+
+    DispatcherFlushClient(CloseableHttpClient httpClient, int concurrency, int maxRetries, long retryBackoffMillis,
+                          MetricsService metricsService) {
+        this.httpClient = httpClient;
+        this.concurrency = Math.max(1, concurrency);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+        this.metricsService = metricsService != null ? metricsService : MetricsService.NOOP;
+        // the calling thread is one of the workers of a flush, the others run on the pool
+        AtomicInteger threadCount = new AtomicInteger();
+        int poolSize = Math.max(1, this.concurrency - 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "cif-dispatcher-flush-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Flushes the given handles from the cache of the dispatcher at the given url and returns once all of them were sent.
+     *
+     * @param handles the handles to flush
+     * @param dispatcherUrl the base url of the dispatcher
+     * @return the number of handles that could not be flushed
+     */
+    int flush(List<String> handles, String dispatcherUrl) {
+        if (handles.isEmpty()) {
+            return 0;
+        }
+
+        DispatcherMetrics metrics = metricsByDispatcher.computeIfAbsent(getDispatcherName(dispatcherUrl), DispatcherMetrics::new);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < handles.size(); i = next.getAndIncrement()) {
+                if (!flush(handles.get(i), dispatcherUrl, metrics)) {
+                    failed.incrementAndGet();
+                }
+            }
+        };
+
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int i = 1, count = Math.min(concurrency, handles.size()); i < count; i++) {
+                workers.add(executor.submit(worker));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not start all flush workers, continuing with {}", workers.size() + 1, e);
+        }
+        worker.run();
+
+        for (Future<?> future : workers) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // stop the remaining workers from picking up handles
+                next.set(handles.size());
+            } catch (ExecutionException e) {
+                LOGGER.error("Unexpected error while flushing the dispatcher cache: {}", e.getMessage(), e);
+            }
+        }
+
+        return failed.get();
+    }
+
+    private boolean flush(String handle, String dispatcherUrl, DispatcherMetrics metrics) {
+        for (int attempt = 0;; attempt++) {
+            String error;
+            Timer.Context time = metrics.time.time();
+            try (CloseableHttpResponse response = httpClient.execute(newFlushRequest(handle, dispatcherUrl))) {
+                int status = response.getStatusLine().getStatusCode();
+                // always consume the entity, so that the connection is returned to the pool
+                String result = response.getEntity() != null ? EntityUtils.toString(response.getEntity()) : null;
+                if (status < HttpStatus.SC_MULTIPLE_CHOICES) {
+                    LOGGER.debug("Cache invalidation result for path {}: {}", handle, result);
+                    metrics.flushed.increment();
+                    return true;
+                }
+                error = "status " + status;
+                if (status != SC_TOO_MANY_REQUESTS && status < HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+                    LOGGER.error("Error flushing cache for path {}: {}", handle, error);
+                    metrics.failed.increment();
+                    return false;
+                }
+            } catch (IOException e) {
+                error = e.getMessage();
+            } catch (RuntimeException e) {
+                LOGGER.error("Unexpected error while flushing cache for path {}: {}", handle, e.getMessage(), e);
+                metrics.failed.increment();
+                return false;
+            } finally {
+                time.stop();
+            }
+
+            if (attempt >= maxRetries) {
+                LOGGER.error("Error flushing cache for path {} after {} attempts: {}", handle, attempt + 1, error);
+                metrics.failed.increment();
+                return false;
+            }
+
+            metrics.retried.increment();
+            try {
+                sleeper.sleep(retryBackoffMillis << attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                metrics.failed.increment();
+                return false;
+            }
+        }
+    }
+
+    private static HttpPost newFlushRequest(String handle, String dispatcherUrl) {
+        HttpPost post = new HttpPost(dispatcherUrl + DISPATCHER_INVALIDATE_PATH);
+        post.setHeader(CQ_ACTION_HEADER, DELETE_ACTION);
+        post.setHeader(CQ_HANDLE_HEADER, handle);
+        post.setHeader(CQ_ACTION_SCOPE_HEADER, RESOURCE_ONLY_SCOPE);
+        return post;
+    }
+
+    /**
+     * Returns the name of the dispatcher used in the metric names, which is the host and port of its url.
+     */
+    static String getDispatcherName(String dispatcherUrl) {
+        try {
+            String authority = URI.create(dispatcherUrl).getAuthority();
+            if (StringUtils.isNotEmpty(authority)) {
+                return authority;
+            }
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Invalid dispatcher url: {}", dispatcherUrl);
+        }
+        return dispatcherUrl;
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        httpClient.close();
+    }
+
+    private class DispatcherMetrics {
+        private final Counter flushed;
+        private final Counter retried;
+        private final Counter failed;
+        private final Timer time;
+
+        private DispatcherMetrics(String dispatcherName) {
+            String prefix = METRIC_PREFIX + dispatcherName;
+            flushed = metricsService.counter(prefix + ".count");
+            retried = metricsService.counter(prefix + ".retry.count");
+            failed = metricsService.counter(prefix + ".failed.count");
+            time = metricsService.timer(prefix + ".time");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.cacheinvalidation.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The compiled rules to convert url paths to dispatcher paths. The rules are kept in a trie of the literal prefixes of their patterns,
+ * so that for a given path only the patterns of the rules whose literal prefix the path starts with are matched. As before, the first
+ * configured rule that matches the path wins.
+ */
+final class DispatcherUrlPathRules {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DispatcherUrlPathRules.class);
+    private static final String META_CHARACTERS = "\\[](){}.*+?^$|";
+
+    private final Node root = new Node();
+
+    DispatcherUrlPathRules(Map<String, List<PatternConfig>> configurations) {
+        int order = 0;
+        for (List<PatternConfig> patternConfigs : configurations.values()) {
+            for (PatternConfig patternConfig : patternConfigs) {
+                String pattern = patternConfig.getPattern();
+                String match = patternConfig.getMatch();
+                if (pattern == null || match == null) {
+                    continue;
+                }
+                try {
+                    add(new Rule(order++, Pattern.compile(pattern), match), getLiteralPrefix(pattern));
+                } catch (PatternSyntaxException e) {
+                    LOGGER.error("Ignoring invalid dispatcher url path pattern {}: {}", pattern, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void add(Rule rule, String literalPrefix) {
+        Node node = root;
+        for (int i = 0; i < literalPrefix.length(); i++) {
+            node = node.children.computeIfAbsent(literalPrefix.charAt(i), c -> new Node());
+        }
+        node.rules.add(rule);
+    }
+
+    /**
+     * Returns the given path converted by the first rule that matches it, or the path itself if no rule matches.
+     */
+    String convert(String path) {
+        List<Rule> candidates = new ArrayList<>();
+        Node node = root;
+        for (int i = 0; node != null; i++) {
+            candidates.addAll(node.rules);
+            node = i < path.length() ? node.children.get(path.charAt(i)) : null;
+        }
+        candidates.sort(Comparator.comparingInt(rule -> rule.order));
+
+        for (Rule rule : candidates) {
+            Matcher matcher = rule.pattern.matcher(path);
+            if (matcher.matches()) {
+                return matcher.replaceAll(rule.match);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Returns the literal characters every path matching the given pattern starts with. The prefix ends before the first meta character
+     * and excludes the last literal character if that is made optional by a quantifier. Patterns with alternations have no prefix.
+     */
+    static String getLiteralPrefix(String pattern) {
+        if (pattern.indexOf('|') >= 0) {
+            return "";
+        }
+        StringBuilder prefix = new StringBuilder();
+        for (int i = pattern.startsWith("^") ? 1 : 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (META_CHARACTERS.indexOf(c) >= 0) {
+                if ((c == '?' || c == '*' || c == '{') && prefix.length() > 0) {
+                    prefix.setLength(prefix.length() - 1);
+                }
+                break;
+            }
+            prefix.append(c);
+        }
+        return prefix.toString();
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Rule> rules = new ArrayList<>(1);
+    }
+
+    private static class Rule {
+        private final int order;
+        private final Pattern pattern;
+        private final String match;
+
+        Rule(int order, Pattern pattern, String match) {
+            this.order = order;
+            this.pattern = pattern;
+            this.match = match;
+        }
+    }
+}
@@ -13,11 +13,49 @@
  ******************************************************************************/
 package com.adobe.cq.commerce.core.cacheinvalidation.internal;
 
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
 public class HttpClientProvider {
+
+    private static final int VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+    private static final long MAX_IDLE_SECONDS = 60;
+
     public CloseableHttpClient createHttpClient() {
         return HttpClients.createDefault();
     }
+
+    /**
+     * Creates a client that keeps the connections to the dispatchers alive in a pool, so that they are reused by subsequent requests.
+     *
+     * @param maxConnections the maximum number of connections in total
+     * @param maxConnectionsPerRoute the maximum number of connections to a single dispatcher
+     * @param connectTimeout the connect timeout in milliseconds
+     * @param socketTimeout the socket timeout in milliseconds
+     * @return the client
+     */
+    public CloseableHttpClient createPooledHttpClient(int maxConnections, int maxConnectionsPerRoute, int connectTimeout,
+        int socketTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(Math.max(1, maxConnections));
+        connectionManager.setDefaultMaxPerRoute(Math.max(1, maxConnectionsPerRoute));
+        // connections may be closed by the dispatcher while idle in the pool
+        connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MILLIS);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(connectTimeout)
+            .setConnectionRequestTimeout(connectTimeout)
+            .setSocketTimeout(socketTimeout)
+            .build();
+
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictIdleConnections(MAX_IDLE_SECONDS, TimeUnit.SECONDS)
+            .build();
+    }
 }
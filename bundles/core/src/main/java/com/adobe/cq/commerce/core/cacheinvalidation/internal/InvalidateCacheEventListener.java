@@ -13,6 +13,9 @@
  ******************************************************************************/
 package com.adobe.cq.commerce.core.cacheinvalidation.internal;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.observation.Event;
@@ -51,6 +54,9 @@ public class InvalidateCacheEventListener implements EventListener {
     @Reference
     private SlingRepository repository;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private InvalidateCacheQueue invalidateCacheQueue;
+
     private Session session;
 
     @Reference(target = "(|(" + SUBSERVICENAME + "=" + SERVICE_USER + ")(!(" + SUBSERVICENAME + "=*)))")
@@ -98,6 +104,7 @@ public class InvalidateCacheEventListener implements EventListener {
 
     @Override
     public void onEvent(EventIterator events) {
+        List<String> paths = new ArrayList<>();
         while (events.hasNext()) {
             Event event = events.nextEvent();
             try {
@@ -105,11 +112,7 @@ public class InvalidateCacheEventListener implements EventListener {
                 String actualPath = INVALIDATE_WORKING_AREA + pathDelimiter + InvalidateCacheSupport.NODE_NAME_BASE;
                 if (path.startsWith(actualPath)) {
                     LOGGER.debug("Cache invalidation event detected: {} and {}", path, event.getType());
-                    invalidateCacheImpl.invalidateCache(path);
-                    if (!slingSettingsService.getRunModes().contains("author") && Boolean.TRUE.equals(invalidateCacheSupport
-                        .getEnableDispatcherCacheInvalidation())) {
-                        invalidateDispatcherCacheImpl.invalidateCache(path);
-                    }
+                    paths.add(path);
                 }
             } catch (RepositoryException e) {
                 LOGGER.error("Error processing JCR event: {}", e.getMessage(), e);
@@ -117,5 +120,27 @@ public class InvalidateCacheEventListener implements EventListener {
                 LOGGER.error("Unexpected error processing JCR event: {}", e.getMessage(), e);
             }
         }
+
+        if (paths.isEmpty()) {
+            return;
+        }
+
+        // invalidate right away only if the commands cannot be queued to not block the observation thread
+        List<String> unqueuedPaths = invalidateCacheQueue != null ? invalidateCacheQueue.enqueue(paths) : paths;
+        for (String path : unqueuedPaths) {
+            try {
+                invalidateCache(path);
+            } catch (Exception e) {
+                LOGGER.error("Unexpected error processing JCR event: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void invalidateCache(String path) {
+        invalidateCacheImpl.invalidateCache(path);
+        if (!slingSettingsService.getRunModes().contains("author") && Boolean.TRUE.equals(invalidateCacheSupport
+            .getEnableDispatcherCacheInvalidation())) {
+            invalidateDispatcherCacheImpl.invalidateCache(path);
+        }
     }
 }
@@ -21,10 +21,16 @@ import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.resource.ValueMap;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.adobe.cq.commerce.core.components.internal.client.CachedResponseIndex;
+import com.adobe.cq.commerce.core.components.internal.services.CatalogIdentifierCache;
 import com.adobe.cq.commerce.core.components.services.ComponentsConfiguration;
+import com.adobe.cq.commerce.core.search.internal.services.SearchFilterServiceImpl;
+import com.adobe.cq.commerce.core.search.services.SearchFilterService;
 import com.adobe.cq.commerce.graphql.client.GraphqlClient;
 
 @Component(service = InvalidateCacheImpl.class, immediate = true)
@@ -32,6 +38,8 @@ public class InvalidateCacheImpl {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InvalidateCacheImpl.class);
     private static final String DEFAULT_STORE_VIEW = "default";
+    private static final String INVALIDATION_TYPE_PRODUCT_SKUS = "productSkus";
+    private static final String INVALIDATION_TYPE_CATEGORY_UIDS = "categoryUids";
 
     @Reference
     private InvalidateCacheSupport invalidateCacheSupport;
@@ -39,17 +47,20 @@ public class InvalidateCacheImpl {
     @Reference
     private InvalidateCacheRegistry invalidateCacheRegistry;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private SearchFilterServiceImpl searchFilterService;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private CatalogIdentifierCache catalogIdentifierCache;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private CachedResponseIndex cachedResponseIndex;
+
     public void invalidateCache(String path) {
         try (ResourceResolver resourceResolver = invalidateCacheSupport.getServiceUserResourceResolver()) {
             Resource resource = resourceResolver.getResource(path);
             if (resource != null) {
-                String storePath = resource.getValueMap().get(InvalidateCacheSupport.PROPERTIES_STORE_PATH, String.class);
-                ComponentsConfiguration commerceProperties = invalidateCacheSupport.getCommerceProperties(resourceResolver, storePath);
-                if (commerceProperties != null) {
-                    handleCacheInvalidation(resource, commerceProperties);
-                } else {
-                    LOGGER.debug("Commerce data not found at path: {}", resource.getPath());
-                }
+                invalidateCache(resourceResolver, resource.getPath(), resource.getValueMap());
             } else {
                 LOGGER.debug("Resource not found at path: {}", path);
             }
@@ -58,51 +69,118 @@ public class InvalidateCacheImpl {
         }
     }
 
-    private void handleCacheInvalidation(Resource resource, ComponentsConfiguration commerceProperties) {
+    /**
+     * Invalidates the caches for the given command properties, which may have been merged from several commands.
+     *
+     * @param path the path of the command, used for logging only
+     * @param properties the properties of the command
+     * @return {@code false} if the caches could not be invalidated, {@code true} otherwise, also if there are no caches to
+     *         invalidate for the command
+     */
+    boolean invalidateCache(String path, ValueMap properties) {
+        try (ResourceResolver resourceResolver = invalidateCacheSupport.getServiceUserResourceResolver()) {
+            return invalidateCache(resourceResolver, path, properties);
+        } catch (Exception e) {
+            LOGGER.error("Error processing JCR event: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private boolean invalidateCache(ResourceResolver resourceResolver, String path, ValueMap properties) {
+        String storePath = properties.get(InvalidateCacheSupport.PROPERTIES_STORE_PATH, String.class);
+        ComponentsConfiguration commerceProperties = invalidateCacheSupport.getCommerceProperties(resourceResolver, storePath);
+        if (commerceProperties != null) {
+            return handleCacheInvalidation(properties, commerceProperties);
+        }
+        LOGGER.debug("Commerce data not found at path: {}", path);
+        return true;
+    }
+
+    private boolean handleCacheInvalidation(ValueMap properties, ComponentsConfiguration commerceProperties) {
         String graphqlClientId = commerceProperties.get(InvalidateCacheSupport.PROPERTIES_GRAPHQL_CLIENT_ID, String.class);
         if (graphqlClientId == null) {
             LOGGER.debug("GraphQL client ID not found in commerce properties");
-            return;
+            return true;
         }
 
         GraphqlClient client = invalidateCacheSupport.getClient(graphqlClientId);
         if (client == null) {
             LOGGER.debug("GraphQL client not found for ID: {}", graphqlClientId);
-            return;
+            return true;
         }
 
-        ValueMap properties = resource.getValueMap();
         String storeView = commerceProperties.get(InvalidateCacheSupport.PROPERTIES_STORE_VIEW, DEFAULT_STORE_VIEW);
 
         // Check for InvalidateALL property
         Boolean invalidateAll = properties.get(InvalidateCacheSupport.PROPERTIES_INVALIDATE_ALL, Boolean.class);
         if (Boolean.TRUE.equals(invalidateAll)) {
             LOGGER.debug("Performing full cache invalidation");
-            invalidateFullCache(client, storeView);
-            return;
+            long startTime = System.currentTimeMillis();
+            boolean invalidated = invalidateFullCache(client, storeView);
+            if (invalidated && cachedResponseIndex != null) {
+                cachedResponseIndex.invalidate(client, storeView, startTime);
+            }
+            invalidateFilterAttributeMetadata(graphqlClientId, storeView);
+            invalidateCatalogIdentifiers(graphqlClientId, storeView);
+            return invalidated;
         }
 
         String[] listOfCacheToSearch = properties.get(InvalidateCacheSupport.PROPERTIES_CACHE_NAMES, String[].class);
         if (listOfCacheToSearch != null && listOfCacheToSearch.length != 0) {
             LOGGER.debug("Cache invalidation based on cache names");
             client.invalidateCache(storeView, listOfCacheToSearch, null);
+            if (Arrays.asList(listOfCacheToSearch).contains(SearchFilterService.class.getName())) {
+                invalidateFilterAttributeMetadata(graphqlClientId, storeView);
+            }
         }
 
         Map<String, String[]> dynamicProperties = getDynamicProperties(properties);
         if (dynamicProperties.isEmpty()) {
             LOGGER.debug("No dynamic properties found for cache invalidation");
-        } else {
-            LOGGER.debug("Cache invalidation based on dynamic properties");
-            invalidateCacheByType(client, storeView, dynamicProperties);
+            return true;
         }
+
+        LOGGER.debug("Cache invalidation based on dynamic properties");
+        boolean invalidated = invalidateCacheByType(client, storeView, dynamicProperties);
+        invalidateCatalogIdentifiers(graphqlClientId, storeView, dynamicProperties);
+        return invalidated;
     }
 
-    private void invalidateFullCache(GraphqlClient client, String storeView) {
+    private boolean invalidateFullCache(GraphqlClient client, String storeView) {
         try {
             client.invalidateCache(storeView, new String[0], new String[0]);
             LOGGER.debug("Successfully performed full cache invalidation for store view: {}", storeView);
+            return true;
         } catch (Exception e) {
             LOGGER.error("Error performing full cache invalidation: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void invalidateFilterAttributeMetadata(String graphqlClientId, String storeView) {
+        // the search filter service caches the filter attribute metadata on its own, next to the GraphQL client cache
+        if (searchFilterService != null) {
+            searchFilterService.invalidateFilterAttributeMetadata(graphqlClientId, storeView);
+        }
+    }
+
+    private void invalidateCatalogIdentifiers(String graphqlClientId, String storeView) {
+        if (catalogIdentifierCache != null) {
+            catalogIdentifierCache.invalidate(graphqlClientId, storeView);
+        }
+    }
+
+    private void invalidateCatalogIdentifiers(String graphqlClientId, String storeView, Map<String, String[]> dynamicProperties) {
+        // the url provider shares the SKUs and UIDs resolved from url_keys and url_paths, which may change with the product or category
+        if (catalogIdentifierCache != null) {
+            String[] skus = dynamicProperties.get(INVALIDATION_TYPE_PRODUCT_SKUS);
+            if (skus != null) {
+                catalogIdentifierCache.invalidate(graphqlClientId, storeView, true, new HashSet<>(Arrays.asList(skus)));
+            }
+            String[] uids = dynamicProperties.get(INVALIDATION_TYPE_CATEGORY_UIDS);
+            if (uids != null) {
+                catalogIdentifierCache.invalidate(graphqlClientId, storeView, false, new HashSet<>(Arrays.asList(uids)));
+            }
         }
     }
 
@@ -119,23 +197,42 @@ public class InvalidateCacheImpl {
         return Collections.unmodifiableMap(dynamicProperties);
     }
 
-    private void invalidateCacheByType(GraphqlClient client, String storeView, Map<String, String[]> dynamicProperties) {
+    private boolean invalidateCacheByType(GraphqlClient client, String storeView, Map<String, String[]> dynamicProperties) {
+        boolean invalidated = true;
         for (Map.Entry<String, String[]> entry : dynamicProperties.entrySet()) {
             String key = entry.getKey();
             String[] values = entry.getValue();
 
             try {
                 String[] cachePatterns = getInvalidationPatterns(values, key);
-                if (cachePatterns.length > 0) {
-                    LOGGER.debug("Invalidating cache for invalidationType: {}", key);
-                    client.invalidateCache(storeView, null, cachePatterns);
-                } else {
+                String[] cacheNames = cachePatterns.length > 0 ? getCacheNames(client, storeView, key, values) : null;
+                if (cachePatterns.length == 0) {
                     LOGGER.debug("No cache patterns generated for invalidationType: {}", key);
+                } else if (cacheNames != null && cacheNames.length == 0) {
+                    LOGGER.debug("No cached responses found for invalidationType: {}", key);
+                } else {
+                    LOGGER.debug("Invalidating cache for invalidationType: {}", key);
+                    client.invalidateCache(storeView, cacheNames, cachePatterns);
                 }
             } catch (Exception e) {
                 LOGGER.error("Error invalidating cache for invalidationType {}: {}", key, e.getMessage(), e);
+                invalidated = false;
             }
         }
+        return invalidated;
+    }
+
+    private String[] getCacheNames(GraphqlClient client, String storeView, String invalidationType, String[] values) {
+        // the patterns of SKUs and UIDs are matched only against the caches holding responses that contain any of them, if the index
+        // covers all cached responses
+        CachedResponseIndex.Type type = INVALIDATION_TYPE_PRODUCT_SKUS.equals(invalidationType) ? CachedResponseIndex.Type.SKU
+            : INVALIDATION_TYPE_CATEGORY_UIDS.equals(invalidationType) ? CachedResponseIndex.Type.UID : null;
+        if (cachedResponseIndex == null || type == null || !invalidateCacheRegistry.getInvalidationStrategies(invalidationType)
+            .getStrategies(false).stream().allMatch(StrategyInfo::isInternal)) {
+            return null;
+        }
+        Set<String> cacheNames = cachedResponseIndex.removeCacheNames(client, storeView, type, Arrays.asList(values));
+        return cacheNames != null ? cacheNames.toArray(new String[0]) : null;
     }
 
     private String[] getInvalidationPatterns(String[] invalidationParameters, String invalidationType) {
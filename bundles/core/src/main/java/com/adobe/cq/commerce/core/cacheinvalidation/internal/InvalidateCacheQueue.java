@@ -0,0 +1,452 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.cacheinvalidation.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.api.wrappers.ValueMapDecorator;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.commons.metrics.Timer;
+import org.apache.sling.commons.scheduler.ScheduleOptions;
+import org.apache.sling.commons.scheduler.Scheduler;
+import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.event.jobs.consumer.JobConsumer;
+import org.apache.sling.settings.SlingSettingsService;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes cache invalidation commands outside of the JCR observation thread. Commands are queued as Sling jobs of the topic
+ * {@value #TOPIC}, which are persisted in the repository and processed by the worker threads of the Sling job queue serving it.
+ * <p>
+ * Commands are collected for the batch window before they are queued together as one job. The window is closed by a job of the
+ * Sling scheduler, or as soon as it holds the maximum batch size. A command is dropped if an identical command is still waiting to
+ * be processed and was collected within the coalesce window.
+ * <p>
+ * A job carries the Sling id of the instance that observed its commands as target instance, so that its in-memory caches are
+ * invalidated even if the instance is part of a cluster. The job queue prefers to run a job on the instance that created it, and
+ * a job claims only the waiting jobs of its own target instance. A job is processed by another instance only if its target instance
+ * left the cluster, together with its in-memory caches, the dispatcher cache is flushed anyway.
+ * <p>
+ * A job claims the jobs still waiting in the queue, up to the maximum batch size, and the commands of all of them are merged per
+ * store path and invalidation type, see {@link InvalidationCommands#merge(Map)}. The job fails if any of its commands could not be
+ * invalidated, so that the job queue retries it. The commands of the claimed jobs are queued again as a new job in that case.
+ * <p>
+ * The number of waiting commands, the number of coalesced commands, the number of merged commands and the time commands wait in the
+ * queue are recorded as metrics.
+ */
+@Component(service = InvalidateCacheQueue.class)
+@Designate(ocd = InvalidateCacheQueue.Configuration.class)
+public class InvalidateCacheQueue {
+
+    static final String TOPIC = "com/adobe/cq/commerce/core/cacheinvalidation/commands";
+    static final String PROPERTY_PATHS = "paths";
+    static final String PROPERTY_FINGERPRINTS = "fingerprints";
+    static final String PROPERTY_TARGET_INSTANCE = "targetInstance";
+    static final String METRIC_DEPTH = "cif.cacheInvalidation.queue.depth";
+    static final String METRIC_COALESCED_COUNT = "cif.cacheInvalidation.queue.coalesced.count";
+    static final String METRIC_LAG = "cif.cacheInvalidation.queue.lag";
+    static final String METRIC_MERGED_COUNT = "cif.cacheInvalidation.queue.merged.count";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InvalidateCacheQueue.class);
+
+    @ObjectClassDefinition(name = "CIF Cache Invalidation Queue")
+    @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Enabled",
+            description = "If enabled, cache invalidation commands are processed by a Sling job queue instead of the JCR observation "
+                + "thread. Defaults to true")
+        boolean enabled() default true;
+
+        @AttributeDefinition(
+            name = "Coalesce window",
+            description = "The number of milliseconds within which a command identical to a command still waiting to be processed is "
+                + "dropped. Defaults to 30000")
+        long coalesceWindow() default 30000;
+
+        @AttributeDefinition(
+            name = "Batch window",
+            description = "The number of milliseconds commands are collected for before they are queued together. Defaults to 1000")
+        long batchWindow() default 1000;
+
+        @AttributeDefinition(
+            name = "Maximum batch size",
+            description = "The maximum number of commands processed together. Defaults to 100")
+        int maxBatchSize() default 100;
+    }
+
+    @Reference
+    private JobManager jobManager;
+
+    @Reference
+    private Scheduler scheduler;
+
+    @Reference
+    private SlingSettingsService slingSettingsService;
+
+    @Reference
+    private InvalidateCacheImpl invalidateCacheImpl;
+
+    @Reference
+    private InvalidateDispatcherCacheImpl invalidateDispatcherCacheImpl;
+
+    @Reference
+    private InvalidateCacheSupport invalidateCacheSupport;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private MetricsService metricsService;
+
+    // the fingerprints of the commands collected in the current batch window by their paths, guards the window id as well
+    private final Map<String, String> window = new LinkedHashMap<>();
+    // the time a command was collected at by its fingerprint, as long as it waits to be processed
+    private final Map<String, Long> pendingCommands = new ConcurrentHashMap<>();
+    // the ids of the jobs queued since the activation, whose commands are counted in the queue depth
+    private final Set<String> pendingJobIds = ConcurrentHashMap.newKeySet();
+    private long windowId;
+    private String slingId;
+    private long coalesceWindow;
+    private long batchWindow;
+    private int maxBatchSize;
+    private ServiceRegistration<JobConsumer> consumerRegistration;
+    private Counter depth;
+    private Counter coalescedCount;
+    private Counter mergedCount;
+    private Timer lag;
+
+    @Activate
+    protected void activate(BundleContext bundleContext, Configuration configuration) {
+        MetricsService metrics = metricsService != null ? metricsService : MetricsService.NOOP;
+        depth = metrics.counter(METRIC_DEPTH);
+        coalescedCount = metrics.counter(METRIC_COALESCED_COUNT);
+        mergedCount = metrics.counter(METRIC_MERGED_COUNT);
+        lag = metrics.timer(METRIC_LAG);
+        slingId = slingSettingsService.getSlingId();
+        coalesceWindow = configuration.coalesceWindow();
+        batchWindow = configuration.batchWindow();
+        maxBatchSize = Math.max(1, configuration.maxBatchSize());
+
+        if (configuration.enabled()) {
+            Dictionary<String, Object> properties = new Hashtable<>();
+            properties.put(JobConsumer.PROPERTY_TOPICS, TOPIC);
+            consumerRegistration = bundleContext.registerService(JobConsumer.class, this::process, properties);
+        }
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        Map<String, String> commands;
+        synchronized (window) {
+            commands = takeWindow();
+        }
+        // queue the commands collected so far, they are processed once the consumer is registered again
+        if (!commands.isEmpty()) {
+            invalidate(queue(commands));
+        }
+
+        if (consumerRegistration != null) {
+            consumerRegistration.unregister();
+            consumerRegistration = null;
+        }
+        depth.decrement(pendingJobIds.size());
+        pendingJobIds.clear();
+        pendingCommands.clear();
+    }
+
+    /**
+     * Collects the cache invalidation commands at the given paths, which are queued once the batch window is closed.
+     *
+     * @param paths the paths of the command nodes
+     * @return the paths of the commands that were not queued and must be processed right away, all of them if the queue is disabled
+     */
+    List<String> enqueue(List<String> paths) {
+        if (consumerRegistration == null) {
+            return paths;
+        }
+
+        Map<String, String> fingerprints = new LinkedHashMap<>();
+        try (ResourceResolver resourceResolver = invalidateCacheSupport.getServiceUserResourceResolver()) {
+            for (String path : paths) {
+                fingerprints.put(path, getFingerprint(resourceResolver.getResource(path)));
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error queuing cache invalidation commands: {}", e.getMessage(), e);
+            return paths;
+        }
+
+        List<Map<String, String>> batches = new ArrayList<>();
+        synchronized (window) {
+            for (Map.Entry<String, String> command : fingerprints.entrySet()) {
+                Map<String, String> batch = collect(command.getKey(), command.getValue());
+                if (batch != null) {
+                    batches.add(batch);
+                }
+            }
+        }
+
+        List<String> rejected = new ArrayList<>();
+        for (Map<String, String> batch : batches) {
+            rejected.addAll(queue(batch));
+        }
+        return rejected;
+    }
+
+    /**
+     * Adds the command to the current batch window and returns the commands of the window if it must be closed right away.
+     */
+    private Map<String, String> collect(String path, String fingerprint) {
+        long now = System.currentTimeMillis();
+        if (fingerprint != null) {
+            Long collected = pendingCommands.get(fingerprint);
+            if (collected != null && now - collected <= coalesceWindow) {
+                LOGGER.debug("Dropping cache invalidation command {}, an identical command is queued", path);
+                coalescedCount.increment();
+                return null;
+            }
+            pendingCommands.put(fingerprint, now);
+        }
+        window.put(path, fingerprint);
+        depth.increment();
+
+        if (window.size() >= maxBatchSize || batchWindow <= 0 || window.size() == 1 && !scheduleFlush(windowId)) {
+            return takeWindow();
+        }
+        return null;
+    }
+
+    private boolean scheduleFlush(long id) {
+        try {
+            ScheduleOptions options = scheduler.AT(new Date(System.currentTimeMillis() + batchWindow))
+                .name(InvalidateCacheQueue.class.getName() + "." + id)
+                .canRunConcurrently(true);
+            if (scheduler.schedule((Runnable) () -> flush(id), options)) {
+                return true;
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error scheduling the cache invalidation batch window: {}", e.getMessage(), e);
+        }
+        LOGGER.warn("Failed to schedule the cache invalidation batch window, queuing the commands right away");
+        return false;
+    }
+
+    private Map<String, String> takeWindow() {
+        Map<String, String> commands = new LinkedHashMap<>(window);
+        window.clear();
+        windowId++;
+        return commands;
+    }
+
+    /**
+     * Closes the batch window with the given id, if it was not closed already, and queues its commands.
+     */
+    void flush(long id) {
+        Map<String, String> commands;
+        synchronized (window) {
+            if (id != windowId || window.isEmpty()) {
+                return;
+            }
+            commands = takeWindow();
+        }
+        // the commands cannot be handed back to the observation thread anymore
+        invalidate(queue(commands));
+    }
+
+    /**
+     * Adds a job for the given commands and returns the paths of the commands if it could not be added.
+     */
+    private List<String> queue(Map<String, String> commands) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(PROPERTY_PATHS, commands.keySet().toArray(new String[0]));
+        properties.put(PROPERTY_FINGERPRINTS, commands.values().stream().filter(Objects::nonNull).toArray(String[]::new));
+        properties.put(PROPERTY_TARGET_INSTANCE, slingId);
+        Job job = jobManager.addJob(TOPIC, properties);
+        if (job == null) {
+            LOGGER.warn("Failed to queue cache invalidation commands {}", commands.keySet());
+            commands.values().stream().filter(Objects::nonNull).forEach(pendingCommands::remove);
+            depth.decrement(commands.size());
+            return new ArrayList<>(commands.keySet());
+        }
+
+        pendingJobIds.add(job.getId());
+        return new ArrayList<>();
+    }
+
+    JobConsumer.JobResult process(Job job) {
+        String[] paths = job.getProperty(PROPERTY_PATHS, String[].class);
+        if (paths == null || paths.length == 0) {
+            dequeued(job);
+            return JobConsumer.JobResult.CANCEL;
+        }
+
+        String targetInstance = job.getProperty(PROPERTY_TARGET_INSTANCE, String.class);
+        if (targetInstance != null && !targetInstance.equals(slingId)) {
+            LOGGER.info("Processing the cache invalidation commands of instance {}, which is not available", targetInstance);
+        }
+
+        dequeued(job);
+        List<String> commandPaths = new ArrayList<>(Arrays.asList(paths));
+        // a retried job does not claim further commands, which would have to be queued again if it failed another time
+        Map<String, String> claimedCommands = job.getRetryCount() == 0 ? claimQueuedCommands(job, paths.length)
+            : new LinkedHashMap<>();
+        commandPaths.addAll(claimedCommands.keySet());
+        if (invalidate(commandPaths)) {
+            return JobConsumer.JobResult.OK;
+        }
+
+        if (!claimedCommands.isEmpty()) {
+            depth.increment(claimedCommands.size());
+            if (!queue(claimedCommands).isEmpty()) {
+                LOGGER.error("Failed to queue the claimed cache invalidation commands {} again", claimedCommands.keySet());
+            }
+        }
+        return JobConsumer.JobResult.FAILED;
+    }
+
+    /**
+     * Invalidates the caches for the commands at the given paths, merged per store path and invalidation type.
+     *
+     * @return {@code true} if all commands were invalidated, {@code false} if any of them failed
+     */
+    private boolean invalidate(List<String> paths) {
+        if (paths.isEmpty()) {
+            return true;
+        }
+
+        Map<String, ValueMap> commands = new LinkedHashMap<>();
+        try (ResourceResolver resourceResolver = invalidateCacheSupport.getServiceUserResourceResolver()) {
+            for (String commandPath : paths) {
+                Resource command = resourceResolver.getResource(commandPath);
+                if (command != null) {
+                    // copy the properties, the command is processed after the resource resolver was closed
+                    commands.put(commandPath, new ValueMapDecorator(new HashMap<>(command.getValueMap())));
+                } else {
+                    LOGGER.debug("Resource not found at path: {}", commandPath);
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error reading cache invalidation commands {}: {}", paths, e.getMessage(), e);
+            return false;
+        }
+
+        Map<String, ValueMap> mergedCommands = InvalidationCommands.merge(commands);
+        mergedCount.increment(commands.size() - mergedCommands.size());
+        LOGGER.debug("Processing {} cache invalidation commands as {} commands", commands.size(), mergedCommands.size());
+
+        boolean invalidateDispatcherCache = !slingSettingsService.getRunModes().contains("author") && Boolean.TRUE.equals(
+            invalidateCacheSupport.getEnableDispatcherCacheInvalidation());
+        boolean invalidated = true;
+        for (Map.Entry<String, ValueMap> command : mergedCommands.entrySet()) {
+            invalidated &= invalidateCacheImpl.invalidateCache(command.getKey(), command.getValue());
+            if (invalidateDispatcherCache) {
+                invalidated &= invalidateDispatcherCacheImpl.invalidateCache(command.getKey(), command.getValue());
+            }
+        }
+        return invalidated;
+    }
+
+    /**
+     * Removes the jobs of this instance still waiting in the queue, as long as their commands fit into the maximum batch size, and
+     * returns the fingerprints of their commands by their paths. A job that could not be removed is about to be processed on its
+     * own.
+     */
+    private Map<String, String> claimQueuedCommands(Job job, int size) {
+        Map<String, String> commands = new LinkedHashMap<>();
+        if (size >= maxBatchSize) {
+            return commands;
+        }
+
+        Map<String, Object> template = new HashMap<>();
+        template.put(PROPERTY_TARGET_INSTANCE, slingId);
+        for (Job queuedJob : jobManager.findJobs(JobManager.QueryType.QUEUED, TOPIC, maxBatchSize, template)) {
+            String[] paths = queuedJob.getProperty(PROPERTY_PATHS, String[].class);
+            if (paths != null && size + commands.size() + paths.length <= maxBatchSize && !queuedJob.getId().equals(job.getId())
+                && jobManager.removeJobById(queuedJob.getId())) {
+                dequeued(queuedJob);
+                // the fingerprints are not kept, claimed commands queued again are not coalesced anymore
+                for (String path : paths) {
+                    commands.put(path, null);
+                }
+            }
+        }
+        return commands;
+    }
+
+    private void dequeued(Job job) {
+        if (pendingJobIds.remove(job.getId())) {
+            String[] paths = job.getProperty(PROPERTY_PATHS, String[].class);
+            depth.decrement(paths != null ? paths.length : 0);
+        }
+        // identical commands collected from now on must be processed again, as they may have been created after these were read
+        String[] fingerprints = job.getProperty(PROPERTY_FINGERPRINTS, String[].class);
+        if (fingerprints != null) {
+            for (String fingerprint : fingerprints) {
+                pendingCommands.remove(fingerprint);
+            }
+        }
+        if (job.getCreated() != null) {
+            lag.update(System.currentTimeMillis() - job.getCreated().getTimeInMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns a fingerprint of the properties of the given command, which is equal for commands invalidating the same caches, or
+     * {@code null} if the command does not exist.
+     */
+    static String getFingerprint(Resource command) {
+        if (command == null) {
+            return null;
+        }
+
+        Map<String, Object> properties = new TreeMap<>();
+        for (Map.Entry<String, Object> property : command.getValueMap().entrySet()) {
+            // skip jcr:primaryType, jcr:created and the like, which differ for every command
+            if (property.getKey().indexOf(':') < 0) {
+                Object value = property.getValue();
+                properties.put(property.getKey(), value instanceof Object[] ? Arrays.asList((Object[]) value) : value);
+            }
+        }
+        return properties.toString();
+    }
+}
@@ -17,9 +17,12 @@ package com.adobe.cq.commerce.core.cacheinvalidation.internal;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.apache.sling.api.resource.*;
 import org.osgi.service.component.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.adobe.cq.commerce.core.components.services.ComponentsConfiguration;
 import com.adobe.cq.commerce.graphql.client.GraphqlClient;
@@ -44,10 +47,13 @@ public class InvalidateCacheSupport {
     public static final String DISPATCHER_BASE_PATH_CONFIG = "dispatcherBasePathConfiguration";
     public static final String DISPATCHER_URL_PATH_CONFIG = "dispatcherUrlPathConfiguration";
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(InvalidateCacheSupport.class);
+
     private Boolean enableDispatcherCacheInvalidation;
     private String dispatcherBaseUrl;
     private DispatcherUrlPathConfigurationList dispatcherUrlPathConfigurationList;
     private DispatcherBasePathConfiguration dispatcherBasePathConfiguration;
+    private DispatcherUrlPathRules dispatcherUrlPathRules;
 
     @Reference
     private ResourceResolverFactory resourceResolverFactory;
@@ -66,6 +72,7 @@ public class InvalidateCacheSupport {
         this.dispatcherBaseUrl = null;
         this.dispatcherUrlPathConfigurationList = null;
         this.dispatcherBasePathConfiguration = null;
+        this.dispatcherUrlPathRules = null;
     }
 
     private void initializeDispatcherConfig(Map<String, Object> properties) {
@@ -80,7 +87,11 @@ public class InvalidateCacheSupport {
         if (config != null && !config.trim().isEmpty()) {
             String[] parts = config.split(":");
             if (parts.length == 2) {
-                return new DispatcherBasePathConfiguration(parts[0], parts[1]);
+                try {
+                    return new DispatcherBasePathConfiguration(parts[0], parts[1]);
+                } catch (PatternSyntaxException e) {
+                    LOGGER.error("Ignoring invalid dispatcher base path pattern {}: {}", parts[0], e.getMessage());
+                }
             }
         }
         return DispatcherBasePathConfiguration.createDefault();
@@ -93,6 +104,8 @@ public class InvalidateCacheSupport {
                 dispatcherBasePathConfiguration.getMatch()
             }))
             .orElseGet(() -> new DispatcherUrlPathConfigurationList(new HashMap<>()));
+        // compile the patterns once, they are matched against every path to invalidate
+        this.dispatcherUrlPathRules = new DispatcherUrlPathRules(dispatcherUrlPathConfigurationList.getConfigurations());
     }
 
     private DispatcherUrlPathConfigurationList parseUrlPathConfigurations(String[] configs, String[] basePathParts) {
@@ -130,13 +143,14 @@ public class InvalidateCacheSupport {
     }
 
     public String getDispatcherBasePathForStorePath(String storePath) {
-        String pattern = dispatcherBasePathConfiguration.getPattern();
-        if (pattern.isEmpty()) {
+        Pattern pattern = dispatcherBasePathConfiguration.getCompiledPattern();
+        if (pattern == null) {
             return storePath;
         }
 
-        if (storePath.matches(pattern)) {
-            return storePath.replaceAll(pattern, dispatcherBasePathConfiguration.getMatch());
+        Matcher matcher = pattern.matcher(storePath);
+        if (matcher.matches()) {
+            return matcher.replaceAll(dispatcherBasePathConfiguration.getMatch());
         }
 
         return storePath;
@@ -232,21 +246,6 @@ public class InvalidateCacheSupport {
             return urlPath;
         }
 
-        // Check all patterns from dispatcherUrlPathConfigurationList
-        for (Map.Entry<String, List<PatternConfig>> entry : dispatcherUrlPathConfigurationList.getConfigurations().entrySet()) {
-            List<PatternConfig> typePatterns = entry.getValue();
-            for (PatternConfig patternConfig : typePatterns) {
-                String pattern = patternConfig.getPattern();
-                String match = patternConfig.getMatch();
-                if (pattern != null && match != null) {
-                    Pattern patternObj = Pattern.compile(pattern);
-                    Matcher matcher = patternObj.matcher(urlPath);
-                    if (matcher.matches()) {
-                        return matcher.replaceAll(match);
-                    }
-                }
-            }
-        }
-        return urlPath;
+        return dispatcherUrlPathRules.convert(urlPath);
     }
 }
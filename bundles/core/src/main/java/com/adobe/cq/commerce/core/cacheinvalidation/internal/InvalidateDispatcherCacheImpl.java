@@ -27,8 +27,16 @@ import org.apache.http.util.EntityUtils;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,8 +51,49 @@ import com.day.cq.wcm.api.PageManager;
 @Component(
     service = InvalidateDispatcherCacheImpl.class,
     immediate = true)
+@Designate(ocd = InvalidateDispatcherCacheImpl.Configuration.class)
 public class InvalidateDispatcherCacheImpl {
 
+    @ObjectClassDefinition(name = "CIF Dispatcher Cache Invalidation")
+    @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Maximum connections",
+            description = "The maximum number of connections kept open to all dispatchers. Defaults to 20")
+        int maxConnections() default 20;
+
+        @AttributeDefinition(
+            name = "Maximum connections per dispatcher",
+            description = "The maximum number of connections kept open to a single dispatcher. Defaults to 8")
+        int maxConnectionsPerDispatcher() default 8;
+
+        @AttributeDefinition(
+            name = "Concurrency",
+            description = "The number of flush requests sent to a dispatcher concurrently for a single cache invalidation. Defaults to 4")
+        int concurrency() default 4;
+
+        @AttributeDefinition(
+            name = "Maximum retries",
+            description = "The number of times a flush request failing with an IO error or a server error is retried. Defaults to 2")
+        int maxRetries() default 2;
+
+        @AttributeDefinition(
+            name = "Retry backoff",
+            description = "The number of milliseconds to wait before the first retry of a flush request, doubled with every further "
+                + "retry. Defaults to 200")
+        long retryBackoff() default 200;
+
+        @AttributeDefinition(
+            name = "Connect timeout",
+            description = "The number of milliseconds to wait for a connection to a dispatcher. Defaults to 5000")
+        int connectTimeout() default 5000;
+
+        @AttributeDefinition(
+            name = "Socket timeout",
+            description = "The number of milliseconds to wait for the response of a dispatcher. Defaults to 30000")
+        int socketTimeout() default 30000;
+    }
+
     private static final String DISPATCHER_BASE_URL = "http://localhost:80";
     private static final String DISPATCHER_INVALIDATE_PATH = "/dispatcher/invalidate.cache";
     private static final String PATH_DELIMITER = "/";
@@ -64,9 +113,33 @@ public class InvalidateDispatcherCacheImpl {
     @Reference
     private InvalidateCacheRegistry invalidateCacheRegistry;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private MetricsService metricsService;
+
     private final HttpClientProvider httpClientProvider = new HttpClientProvider();
+    private DispatcherFlushClient flushClient;
     private static final Logger LOGGER = LoggerFactory.getLogger(InvalidateDispatcherCacheImpl.class);
 
+    @Activate
+    protected void activate(Configuration configuration) {
+        flushClient = new DispatcherFlushClient(
+            httpClientProvider.createPooledHttpClient(configuration.maxConnections(), configuration.maxConnectionsPerDispatcher(),
+                configuration.connectTimeout(), configuration.socketTimeout()),
+            configuration.concurrency(), configuration.maxRetries(), configuration.retryBackoff(), metricsService);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        if (flushClient != null) {
+            try {
+                flushClient.close();
+            } catch (IOException e) {
+                LOGGER.debug("Failed to close the dispatcher flush client", e);
+            }
+            flushClient = null;
+        }
+    }
+
     public void invalidateCache(String path) {
         try (ResourceResolver resourceResolver = invalidateCacheSupport.getServiceUserResourceResolver()) {
             Resource resource = invalidateCacheSupport.getResource(resourceResolver, path);
@@ -75,38 +148,57 @@ public class InvalidateDispatcherCacheImpl {
                 return;
             }
 
-            ValueMap properties = resource.getValueMap();
-            String storePath = properties.get(InvalidateCacheSupport.PROPERTIES_STORE_PATH, String.class);
-            String dispatcherUrl = Optional.ofNullable(invalidateCacheSupport.getDispatcherBaseUrl())
-                .orElse(DISPATCHER_BASE_URL);
-            String dispatcherBasePath = invalidateCacheSupport.getDispatcherBasePathForStorePath(storePath);
+            invalidateCache(resourceResolver, path, resource.getValueMap());
+        } catch (Exception e) {
+            LOGGER.error("Error invalidating cache for path {}: {}", path, e.getMessage(), e);
+        }
+    }
 
-            if (shouldPerformFullCacheClear(properties)) {
-                flushCacheForPaths(Collections.singletonList(dispatcherBasePath), dispatcherUrl, path);
-                return;
-            }
+    /**
+     * Flushes the dispatcher cache for the given command properties, which may have been merged from several commands.
+     *
+     * @param path the path of the command, used for logging only
+     * @param properties the properties of the command
+     * @return {@code false} if any of the paths could not be flushed, {@code true} otherwise, also if there are no paths to flush
+     *         for the command
+     */
+    boolean invalidateCache(String path, ValueMap properties) {
+        try (ResourceResolver resourceResolver = invalidateCacheSupport.getServiceUserResourceResolver()) {
+            return invalidateCache(resourceResolver, path, properties);
+        } catch (Exception e) {
+            LOGGER.error("Error invalidating cache for path {}: {}", path, e.getMessage(), e);
+            return false;
+        }
+    }
 
-            // Check if properties are invalid
-            if (!isValid(properties, resourceResolver, storePath)) {
-                LOGGER.debug("Required properties are not been set for the storepath {}", storePath);
-                return;
-            }
+    private boolean invalidateCache(ResourceResolver resourceResolver, String path, ValueMap properties)
+        throws CacheInvalidationException {
+        String storePath = properties.get(InvalidateCacheSupport.PROPERTIES_STORE_PATH, String.class);
+        String dispatcherUrl = Optional.ofNullable(invalidateCacheSupport.getDispatcherBaseUrl())
+            .orElse(DISPATCHER_BASE_URL);
+        String dispatcherBasePath = invalidateCacheSupport.getDispatcherBasePathForStorePath(storePath);
 
-            Resource commerceResource = invalidateCacheSupport.getResource(resourceResolver, storePath);
-            MagentoGraphqlClient client = commerceResource.adaptTo(MagentoGraphqlClient.class);
-            if (client == null) {
-                LOGGER.debug("Magento client not found for store path: {}", storePath);
-                return;
-            }
+        if (shouldPerformFullCacheClear(properties)) {
+            return flushCacheForPaths(Collections.singletonList(dispatcherBasePath), dispatcherUrl, path);
+        }
 
-            Map<String, String[]> dynamicProperties = getDynamicProperties(properties);
-            List<String> processedPaths = processAndConvertPaths(
-                getAllInvalidPaths(resourceResolver, client, storePath, dynamicProperties));
-            flushCacheForPaths(processedPaths, dispatcherUrl, path);
+        // Check if properties are invalid
+        if (!isValid(properties, resourceResolver, storePath)) {
+            LOGGER.debug("Required properties are not been set for the storepath {}", storePath);
+            return true;
+        }
 
-        } catch (Exception e) {
-            LOGGER.error("Error invalidating cache for path {}: {}", path, e.getMessage(), e);
+        Resource commerceResource = invalidateCacheSupport.getResource(resourceResolver, storePath);
+        MagentoGraphqlClient client = commerceResource.adaptTo(MagentoGraphqlClient.class);
+        if (client == null) {
+            LOGGER.debug("Magento client not found for store path: {}", storePath);
+            return true;
         }
+
+        Map<String, String[]> dynamicProperties = getDynamicProperties(properties);
+        List<String> processedPaths = processAndConvertPaths(
+            getAllInvalidPaths(resourceResolver, client, storePath, dynamicProperties));
+        return flushCacheForPaths(processedPaths, dispatcherUrl, path);
     }
 
     private boolean shouldPerformFullCacheClear(ValueMap properties) {
@@ -120,30 +212,48 @@ public class InvalidateDispatcherCacheImpl {
     }
 
     private List<String> processAndConvertPaths(List<String> paths) {
-        return paths.stream()
+        Set<String> convertedPaths = paths.stream()
             .filter(Objects::nonNull)
             .filter(path -> !path.trim().isEmpty())
             .map(invalidateCacheSupport::convertUrlPath)
             .filter(Objects::nonNull)
-            .sorted(Comparator.comparingInt(path -> path.split(PATH_DELIMITER).length))
-            .reduce(new ArrayList<>(), (result, currentPath) -> {
-                boolean isRedundant = result.stream()
-                    .anyMatch(existingPath -> currentPath.startsWith(existingPath + PATH_DELIMITER));
-                if (!isRedundant) {
-                    result.add(currentPath);
-                }
-                return result;
-            }, (list1, list2) -> list1);
+            .collect(Collectors.toCollection(TreeSet::new));
+
+        // a path is redundant if any of its ancestors is flushed as well, flushing the ancestor flushes the path too
+        return convertedPaths.stream()
+            .filter(path -> !hasAncestorIn(path, convertedPaths))
+            .collect(Collectors.toList());
     }
 
-    private void flushCacheForPaths(List<String> paths, String dispatcherUrl, String originalPath) {
-        paths.forEach(invalidatePath -> {
+    private static boolean hasAncestorIn(String path, Set<String> paths) {
+        for (int i = path.indexOf(PATH_DELIMITER); i >= 0; i = path.indexOf(PATH_DELIMITER, i + 1)) {
+            if (paths.contains(path.substring(0, i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean flushCacheForPaths(List<String> paths, String dispatcherUrl, String originalPath) {
+        DispatcherFlushClient client = flushClient;
+        if (client != null) {
+            int failed = client.flush(paths, dispatcherUrl);
+            if (failed > 0) {
+                LOGGER.error("Error flushing cache for path {}: {} of {} paths could not be flushed", originalPath, failed, paths.size());
+            }
+            return failed == 0;
+        }
+
+        boolean flushed = true;
+        for (String invalidatePath : paths) {
             try {
                 flushCache(invalidatePath, dispatcherUrl);
             } catch (CacheInvalidationException e) {
                 LOGGER.error("Error flushing cache for path {}: {}", originalPath, e.getMessage());
+                flushed = false;
             }
-        });
+        }
+        return flushed;
     }
 
     protected Map<String, String[]> getDynamicProperties(ValueMap properties) {
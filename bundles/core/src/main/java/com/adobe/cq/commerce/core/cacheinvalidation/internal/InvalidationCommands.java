@@ -0,0 +1,103 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.cacheinvalidation.internal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.api.wrappers.ValueMapDecorator;
+
+/**
+ * Merges cache invalidation commands, so that the invalidation strategies run once for a batch of commands instead of once per
+ * command.
+ */
+final class InvalidationCommands {
+
+    private InvalidationCommands() {}
+
+    /**
+     * Merges the given commands. Commands are merged if all their single-valued properties but {@code invalidateAll} are equal, which
+     * includes the store path. The values of multi-valued properties, like the SKUs of {@code productSkus} or the patterns of
+     * {@code regexPatterns}, are united without duplicates and {@code invalidateAll} is set if it is set for any of the merged commands.
+     * Properties of the {@code jcr} namespace are ignored.
+     *
+     * @param commands the properties of the commands by their paths, in the order of the commands
+     * @return the properties of the merged commands by the path of the first command merged into each, in the same order
+     */
+    static Map<String, ValueMap> merge(Map<String, ValueMap> commands) {
+        Map<String, MergedCommand> mergedCommands = new LinkedHashMap<>();
+        for (Map.Entry<String, ValueMap> command : commands.entrySet()) {
+            Map<String, Object> singleValues = new TreeMap<>();
+            for (Map.Entry<String, Object> property : command.getValue().entrySet()) {
+                String name = property.getKey();
+                if (!name.startsWith("jcr:") && !InvalidateCacheSupport.PROPERTIES_INVALIDATE_ALL.equals(name)
+                    && !(property.getValue() instanceof Object[])) {
+                    singleValues.put(name, property.getValue());
+                }
+            }
+
+            MergedCommand mergedCommand = mergedCommands.computeIfAbsent(singleValues.toString(),
+                key -> new MergedCommand(command.getKey(), singleValues));
+            mergedCommand.add(command.getValue());
+        }
+
+        Map<String, ValueMap> result = new LinkedHashMap<>();
+        for (MergedCommand mergedCommand : mergedCommands.values()) {
+            result.put(mergedCommand.path, mergedCommand.toValueMap());
+        }
+        return result;
+    }
+
+    private static class MergedCommand {
+
+        private final String path;
+        private final Map<String, Object> singleValues;
+        private final Map<String, Set<String>> multiValues = new LinkedHashMap<>();
+        private boolean invalidateAll;
+
+        MergedCommand(String path, Map<String, Object> singleValues) {
+            this.path = path;
+            this.singleValues = singleValues;
+        }
+
+        void add(ValueMap properties) {
+            invalidateAll |= properties.get(InvalidateCacheSupport.PROPERTIES_INVALIDATE_ALL, false);
+            for (Map.Entry<String, Object> property : properties.entrySet()) {
+                if (!property.getKey().startsWith("jcr:") && property.getValue() instanceof Object[]) {
+                    Set<String> values = multiValues.computeIfAbsent(property.getKey(), name -> new LinkedHashSet<>());
+                    Arrays.stream((Object[]) property.getValue()).map(String::valueOf).forEach(values::add);
+                }
+            }
+        }
+
+        ValueMap toValueMap() {
+            Map<String, Object> properties = new HashMap<>(singleValues);
+            for (Map.Entry<String, Set<String>> values : multiValues.entrySet()) {
+                properties.put(values.getKey(), values.getValue().toArray(new String[0]));
+            }
+            if (invalidateAll) {
+                properties.put(InvalidateCacheSupport.PROPERTIES_INVALIDATE_ALL, true);
+            }
+            return new ValueMapDecorator(properties);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package com.adobe.cq.commerce.core.components.client;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.resource.Resource;
@@ -70,6 +72,34 @@ public interface MagentoGraphqlClient {
      */
     GraphqlResponse<Query, Error> execute(String query, HttpMethod httpMethod);
 
+    /**
+     * Executes the given Magento query asynchronously and returns a future of the response. The query is executed on a bounded
+     * thread pool if the <code>CIF GraphQL Client Executor</code> is configured, otherwise it is executed synchronously and a
+     * completed future is returned.
+     * <p>
+     * Responses are shared with the request local cache of the client: executing the same query with {@link #execute(String)}
+     * while it is still in flight waits for the pending response instead of calling the backend again.
+     *
+     * @param query The GraphQL query.
+     * @return A future of the GraphQL response.
+     */
+    CompletableFuture<GraphqlResponse<Query, Error>> executeAsync(String query);
+
+    /**
+     * Registers a query for batched execution. When query batching is enabled with the <code>enableQueryBatching</code> property
+     * of the commerce configuration, all queries registered during a request are executed together in a single GraphQL document
+     * with the next query that is not yet cached. Their responses are then served from the request local cache when the queries
+     * are executed with {@link #execute(String)}. The query is only resolved when the batch gets executed, so that any changes
+     * made to it after the registration are taken into account.
+     * <p>
+     * If query batching is disabled, or if the client was not adapted from a {@link SlingHttpServletRequest}, this method does
+     * nothing. The query is never executed before it is needed, use {@link #executeAsync(String)} to start its execution once it
+     * is final.
+     *
+     * @param querySupplier A supplier of the GraphQL query, which may return {@code null}.
+     */
+    void addToBatch(Supplier<String> querySupplier);
+
     /**
      * Returns the complete configuration of the GraphQL client.
      *
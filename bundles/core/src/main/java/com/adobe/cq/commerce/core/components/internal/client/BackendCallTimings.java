@@ -0,0 +1,107 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.servlet.ServletRequest;
+
+/**
+ * Records the GraphQL queries executed by the {@link MagentoGraphqlClientImpl} during a request. Each entry holds the cache name of
+ * the query, which identifies the component resource type, whether the response was served from the request scoped
+ * {@link LocalResponseCache} and the duration of the backend call in milliseconds.
+ * <p>
+ * The timings are bound to a request by setting them as request attribute. The client only records queries if the attribute is set,
+ * queries may be recorded concurrently by asynchronous executions.
+ */
+public class BackendCallTimings {
+
+    static final String ATTRIBUTE = BackendCallTimings.class.getName();
+
+    private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Binds new timings to the given request and returns them.
+     *
+     * @param request the request
+     * @return the timings
+     */
+    public static BackendCallTimings bind(ServletRequest request) {
+        BackendCallTimings timings = new BackendCallTimings();
+        request.setAttribute(ATTRIBUTE, timings);
+        return timings;
+    }
+
+    static BackendCallTimings get(ServletRequest request) {
+        Object timings = request.getAttribute(ATTRIBUTE);
+        return timings instanceof BackendCallTimings ? (BackendCallTimings) timings : null;
+    }
+
+    public void recordHit(String cacheName) {
+        entries.add(new Entry(cacheName, true, 0));
+    }
+
+    public void recordCall(String cacheName, long duration) {
+        entries.add(new Entry(cacheName, false, Math.max(0, duration)));
+    }
+
+    /**
+     * Returns the recorded entries in the order they were recorded.
+     */
+    public List<Entry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public static class Entry {
+        private final String cacheName;
+        private final boolean hit;
+        private final long duration;
+
+        Entry(String cacheName, boolean hit, long duration) {
+            this.cacheName = cacheName;
+            this.hit = hit;
+            this.duration = duration;
+        }
+
+        /**
+         * Returns the cache name of the query, which is the resource type of the component that executed it.
+         */
+        public String getCacheName() {
+            return cacheName;
+        }
+
+        /**
+         * Returns {@code true} if the response was served from the request scoped cache without calling the backend.
+         */
+        public boolean isHit() {
+            return hit;
+        }
+
+        /**
+         * Returns the duration of the backend call in milliseconds, 0 for hits.
+         */
+        public long getDuration() {
+            return duration;
+        }
+    }
+}
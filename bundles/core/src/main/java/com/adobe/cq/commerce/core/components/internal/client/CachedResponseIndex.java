@@ -0,0 +1,430 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.adobe.cq.commerce.graphql.client.GraphqlClient;
+import com.adobe.cq.commerce.graphql.client.GraphqlClientConfiguration;
+import com.shopify.graphql.support.AbstractResponse;
+import com.shopify.graphql.support.ID;
+
+/**
+ * Indexes the SKUs and UIDs contained in the responses cached by the GraphQL clients by the names of the caches holding them. The
+ * cache invalidation uses the index to match the patterns for SKUs and UIDs only against the caches that hold any of them, and to
+ * skip the pattern matching if no cache does.
+ * <p>
+ * Responses are indexed per GraphQL client and store view when they are returned to the {@link MagentoGraphqlClientImpl}. The index
+ * answers only if it covers every response cached for the store view, which is the case after a full invalidation of the store view
+ * or once the longest time to live of the GraphQL client caches passed since the index started. Otherwise the caller falls back to
+ * matching all caches. Entries are dropped once their caches expired them. If the index still exceeds the maximum size, it is
+ * cleared and starts over.
+ * <p>
+ * The index cannot see responses cached by other users of the GraphQL clients, so it must only be enabled if all cached queries are
+ * executed by the CIF components.
+ */
+@Component(service = CachedResponseIndex.class)
+@Designate(ocd = CachedResponseIndex.Configuration.class)
+public class CachedResponseIndex {
+
+    static final String METRIC_OVERFLOW_COUNT = "cif.cachedResponseIndex.overflow.count";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedResponseIndex.class);
+    private static final String ALIAS_SEPARATOR = "__";
+    private static final String CACHE_CONFIGURATION_SEPARATOR = ":";
+
+    @ObjectClassDefinition(name = "CIF Cached Response Index")
+    @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Enabled",
+            description = "If enabled, the cache invalidation of SKUs and UIDs matches only the GraphQL client caches that hold them. "
+                + "Enable only if all queries cached by the GraphQL clients are executed by the CIF components. Defaults to false")
+        boolean enabled() default false;
+
+        @AttributeDefinition(
+            name = "Maximum size",
+            description = "The maximum number of SKUs and UIDs indexed per GraphQL client and store view. Defaults to 100000")
+        int maxSize() default 100000;
+    }
+
+    /**
+     * The kind of identifier indexed.
+     */
+    public enum Type {
+        SKU("sku"),
+        UID("uid");
+
+        private final String fieldName;
+
+        Type(String fieldName) {
+            this.fieldName = fieldName;
+        }
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private MetricsService metricsService;
+
+    private boolean enabled;
+    private int maxSize;
+    private final Map<Scope, ScopeIndex> scopes = new ConcurrentHashMap<>();
+    private Counter overflowCount;
+    LongSupplier clock = System::currentTimeMillis;
+
+    @Activate
+    protected void activate(Configuration configuration) {
+        enabled = configuration.enabled();
+        maxSize = Math.max(1, configuration.maxSize());
+        scopes.clear();
+        MetricsService metrics = metricsService != null ? metricsService : MetricsService.NOOP;
+        overflowCount = metrics.counter(METRIC_OVERFLOW_COUNT);
+    }
+
+    /**
+     * Starts an execution of a query by the given GraphQL client, whose response the client may cache in the cache with the given
+     * name for the given store view. The execution must be ended with the response data, so that the data gets indexed.
+     *
+     * @param client the GraphQL client
+     * @param storeView the store view
+     * @param cacheName the name of the cache
+     * @return the execution, or {@code null} if the index is disabled
+     */
+    Execution startExecution(GraphqlClient client, String storeView, String cacheName) {
+        if (!enabled || storeView == null || cacheName == null) {
+            return null;
+        }
+        return new Execution(client, getScopeIndex(client, storeView), cacheName);
+    }
+
+    /**
+     * Returns the names of the caches of the given GraphQL client that may hold responses for the given store view containing any
+     * SKU or UID starting with the given ones, or {@code null} if the index cannot tell. The returned names are removed from the
+     * index for the given identifiers, as the caller invalidates them.
+     *
+     * @param client the GraphQL client
+     * @param storeView the store view
+     * @param type the kind of the given identifiers
+     * @param identifiers the SKUs or UIDs
+     * @return the cache names, possibly empty, or {@code null}
+     */
+    public Set<String> removeCacheNames(GraphqlClient client, String storeView, Type type, Collection<String> identifiers) {
+        if (!enabled) {
+            return null;
+        }
+        return getScopeIndex(client, storeView).remove(client, type, identifiers);
+    }
+
+    /**
+     * Clears the index of the given GraphQL client and store view after all its cached responses were invalidated successfully. From
+     * then on the index covers the store view.
+     *
+     * @param client the GraphQL client
+     * @param storeView the store view
+     * @param startTime the time the full invalidation started at, in milliseconds
+     */
+    public void invalidate(GraphqlClient client, String storeView, long startTime) {
+        if (enabled) {
+            getScopeIndex(client, storeView).invalidate(startTime);
+        }
+    }
+
+    private ScopeIndex getScopeIndex(GraphqlClient client, String storeView) {
+        return scopes.computeIfAbsent(new Scope(client.getIdentifier(), storeView), scope -> new ScopeIndex(clock.getAsLong()));
+    }
+
+    /**
+     * Returns the longest time to live of the caches configured for the given GraphQL client in milliseconds, or -1 if it is unknown.
+     */
+    static long getMaxTtl(GraphqlClient client) {
+        GraphqlClientConfiguration configuration = client.getConfiguration();
+        if (configuration == null) {
+            return -1;
+        }
+        long maxTtl = 0;
+        String[] cacheConfigurations = configuration.cacheConfigurations();
+        for (String cacheConfiguration : cacheConfigurations != null ? cacheConfigurations : new String[0]) {
+            // name:enabled:maxSize:ttl
+            String[] parts = cacheConfiguration.split(CACHE_CONFIGURATION_SEPARATOR);
+            try {
+                if (parts.length != 4) {
+                    return -1;
+                }
+                maxTtl = Math.max(maxTtl, Long.parseLong(parts[3].trim()) * 1000L);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return maxTtl;
+    }
+
+    private static void collect(Object value, Map<Type, Set<String>> identifiers) {
+        if (value instanceof AbstractResponse) {
+            // deserialized fields are kept in the response data, fields set afterwards in the optimistic data
+            collect(((AbstractResponse<?>) value).responseData, identifiers);
+            collect(((AbstractResponse<?>) value).optimisticData, identifiers);
+        } else if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                collect(item, identifiers);
+            }
+        }
+    }
+
+    private static void collect(Map<String, Object> fields, Map<Type, Set<String>> identifiers) {
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            Object fieldValue = field.getValue();
+            if (fieldValue instanceof String || fieldValue instanceof ID) {
+                Type type = getType(field.getKey());
+                if (type != null) {
+                    identifiers.computeIfAbsent(type, t -> new HashSet<>()).add(fieldValue.toString());
+                }
+            } else {
+                collect(fieldValue, identifiers);
+            }
+        }
+    }
+
+    private static Type getType(String key) {
+        int aliasSeparator = key.lastIndexOf(ALIAS_SEPARATOR);
+        String fieldName = aliasSeparator > 0 ? key.substring(0, aliasSeparator) : key;
+        for (Type type : Type.values()) {
+            if (type.fieldName.equals(fieldName)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * An execution of a query whose response may get cached. While executions are pending, their caches are always returned by
+     * {@link #removeCacheNames(GraphqlClient, String, Type, Collection)}, as the responses are cached before they get indexed.
+     */
+    final class Execution {
+
+        private final GraphqlClient client;
+        private final ScopeIndex scopeIndex;
+        private final String cacheName;
+        private final AtomicInteger pending;
+
+        private Execution(GraphqlClient client, ScopeIndex scopeIndex, String cacheName) {
+            this.client = client;
+            this.scopeIndex = scopeIndex;
+            this.cacheName = cacheName;
+            this.pending = scopeIndex.pending.computeIfAbsent(cacheName, name -> new AtomicInteger());
+            pending.incrementAndGet();
+        }
+
+        /**
+         * Ends the execution and indexes the given response data, if any.
+         *
+         * @param data the response data or {@code null}
+         */
+        void end(AbstractResponse<?> data) {
+            try {
+                if (data != null) {
+                    Map<Type, Set<String>> identifiers = new EnumMap<>(Type.class);
+                    collect(data, identifiers);
+                    scopeIndex.add(client, cacheName, identifiers);
+                }
+            } finally {
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    private class ScopeIndex {
+
+        // the cache names by identifier with the time the identifier was last seen in a response of the cache
+        private final Map<Type, ConcurrentNavigableMap<String, Map<String, Long>>> cacheNames = new EnumMap<>(Type.class);
+        private final Map<String, AtomicInteger> pending = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean pruning = new AtomicBoolean();
+
+        // guarded by this, responses cached before this time may not be indexed
+        private long unindexedSince;
+        private boolean invalidated;
+        private int generation;
+
+        ScopeIndex(long now) {
+            for (Type type : Type.values()) {
+                cacheNames.put(type, new ConcurrentSkipListMap<>());
+            }
+            this.unindexedSince = now;
+        }
+
+        void add(GraphqlClient client, String cacheName, Map<Type, Set<String>> identifiers) {
+            long now = clock.getAsLong();
+            for (Map.Entry<Type, Set<String>> entry : identifiers.entrySet()) {
+                ConcurrentNavigableMap<String, Map<String, Long>> cacheNamesByIdentifier = cacheNames.get(entry.getKey());
+                for (String identifier : entry.getValue()) {
+                    Map<String, Long> names;
+                    do {
+                        names = cacheNamesByIdentifier.computeIfAbsent(identifier, i -> new ConcurrentHashMap<>(2));
+                        if (names.put(cacheName, now) == null) {
+                            size.incrementAndGet();
+                        }
+                        // add again if the names were removed concurrently
+                    } while (cacheNamesByIdentifier.get(identifier) != names);
+                }
+            }
+
+            if (size.get() > maxSize && pruning.compareAndSet(false, true)) {
+                try {
+                    prune(client, now);
+                } finally {
+                    pruning.set(false);
+                }
+            }
+        }
+
+        private void prune(GraphqlClient client, long now) {
+            long maxTtl = getMaxTtl(client);
+            if (maxTtl >= 0) {
+                removeIndexedBefore(now - maxTtl);
+            }
+            if (size.get() > maxSize) {
+                LOGGER.warn("Clearing the cached response index with more than {} entries", maxSize);
+                overflowCount.increment();
+                for (Map<String, Map<String, Long>> cacheNamesByIdentifier : cacheNames.values()) {
+                    cacheNamesByIdentifier.clear();
+                }
+                size.set(0);
+                synchronized (this) {
+                    unindexedSince = clock.getAsLong();
+                    invalidated = false;
+                    generation++;
+                }
+            }
+        }
+
+        private void removeIndexedBefore(long time) {
+            for (ConcurrentNavigableMap<String, Map<String, Long>> cacheNamesByIdentifier : cacheNames.values()) {
+                for (Map.Entry<String, Map<String, Long>> entry : cacheNamesByIdentifier.entrySet()) {
+                    Map<String, Long> names = entry.getValue();
+                    names.forEach((name, indexed) -> {
+                        if (indexed < time && names.remove(name, indexed)) {
+                            size.decrementAndGet();
+                        }
+                    });
+                    if (names.isEmpty()) {
+                        cacheNamesByIdentifier.remove(entry.getKey(), names);
+                    }
+                }
+            }
+        }
+
+        void invalidate(long startTime) {
+            removeIndexedBefore(startTime);
+            synchronized (this) {
+                // responses not indexed were cached before the start and got invalidated
+                if (startTime >= unindexedSince) {
+                    invalidated = true;
+                }
+            }
+        }
+
+        Set<String> remove(GraphqlClient client, Type type, Collection<String> identifiers) {
+            int startGeneration;
+            synchronized (this) {
+                if (!invalidated) {
+                    long maxTtl = getMaxTtl(client);
+                    if (maxTtl < 0 || clock.getAsLong() < unindexedSince + maxTtl) {
+                        return null;
+                    }
+                }
+                startGeneration = generation;
+            }
+
+            // the caches of pending executions may hold responses that are not indexed yet, these are read first
+            Set<String> result = new HashSet<>();
+            pending.forEach((name, count) -> {
+                if (count.get() > 0) {
+                    result.add(name);
+                }
+            });
+
+            // the patterns match any identifier starting with the given ones
+            ConcurrentNavigableMap<String, Map<String, Long>> cacheNamesByIdentifier = cacheNames.get(type);
+            for (String identifier : identifiers) {
+                List<String> matches = new ArrayList<>(cacheNamesByIdentifier.subMap(identifier, true, identifier + Character.MAX_VALUE,
+                    true).keySet());
+                for (String match : matches) {
+                    Map<String, Long> names = cacheNamesByIdentifier.remove(match);
+                    if (names != null) {
+                        size.addAndGet(-names.size());
+                        result.addAll(names.keySet());
+                    }
+                }
+            }
+
+            synchronized (this) {
+                return startGeneration == generation ? result : null;
+            }
+        }
+    }
+
+    private static class Scope {
+        private final String clientId;
+        private final String storeView;
+
+        Scope(String clientId, String storeView) {
+            this.clientId = clientId;
+            this.storeView = storeView;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Scope scope = (Scope) o;
+            return Objects.equals(clientId, scope.clientId) && Objects.equals(storeView, scope.storeView);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clientId, storeView);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.apache.sling.commons.threads.ModifiableThreadPoolConfig;
+import org.apache.sling.commons.threads.ThreadPool;
+import org.apache.sling.commons.threads.ThreadPoolConfig;
+import org.apache.sling.commons.threads.ThreadPoolManager;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded Sling thread pool used by {@link MagentoGraphqlClientImpl} to execute GraphQL queries asynchronously. The service requires
+ * a configuration, without it all queries are executed on the request thread.
+ * <p>
+ * When all threads are busy and the queue is full, tasks are executed by the submitting thread. This limits the number of
+ * concurrent backend calls and never rejects a query.
+ */
+@Component(service = GraphqlClientExecutor.class, configurationPolicy = ConfigurationPolicy.REQUIRE)
+@Designate(ocd = GraphqlClientExecutor.Configuration.class)
+public class GraphqlClientExecutor {
+
+    static final String THREAD_POOL_NAME = "cif-graphql-client";
+    private static final Logger LOGGER = LoggerFactory.getLogger(GraphqlClientExecutor.class);
+
+    @ObjectClassDefinition(name = "CIF GraphQL Client Executor")
+    @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Thread pool size",
+            description = "The maximum number of threads used to execute GraphQL queries asynchronously. Defaults to 8")
+        int threadPoolSize() default 8;
+
+        @AttributeDefinition(
+            name = "Queue size",
+            description = "The maximum number of queries waiting for a thread. If the queue is full, queries are executed on the "
+                + "request thread. Defaults to 64")
+        int queueSize() default 64;
+    }
+
+    @Reference
+    private ThreadPoolManager threadPoolManager;
+
+    private volatile ThreadPool threadPool;
+
+    @Activate
+    protected void activate(Configuration configuration) {
+        int threadPoolSize = Math.max(1, configuration.threadPoolSize());
+        int queueSize = Math.max(1, configuration.queueSize());
+        ModifiableThreadPoolConfig config = new ModifiableThreadPoolConfig();
+        config.setMinPoolSize(threadPoolSize);
+        config.setMaxPoolSize(threadPoolSize);
+        config.setQueueSize(queueSize);
+        config.setBlockPolicy(ThreadPoolConfig.ThreadPoolPolicy.RUN);
+        config.setDaemon(true);
+        threadPool = threadPoolManager.create(config, THREAD_POOL_NAME);
+        LOGGER.debug("Started GraphQL client executor with {} threads and a queue of {}", threadPoolSize, queueSize);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        ThreadPool currentThreadPool = threadPool;
+        if (currentThreadPool != null) {
+            threadPool = null;
+            threadPoolManager.release(currentThreadPool);
+        }
+    }
+
+    /**
+     * Executes the given task asynchronously.
+     *
+     * @param task the task
+     * @param <T> the result type
+     * @return a future completed with the result of the task
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        ThreadPool currentThreadPool = threadPool;
+        if (currentThreadPool != null) {
+            try {
+                return CompletableFuture.supplyAsync(task, currentThreadPool);
+            } catch (RejectedExecutionException | IllegalStateException e) {
+                // the thread pool was released concurrently, fall through so that no future is left incomplete
+                LOGGER.debug("Thread pool {} not available: {}", THREAD_POOL_NAME, e.getMessage());
+            }
+        }
+        return CompletableFuture.completedFuture(task.get());
+    }
+}
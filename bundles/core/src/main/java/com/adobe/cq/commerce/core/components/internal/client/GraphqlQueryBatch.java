@@ -0,0 +1,197 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.adobe.cq.commerce.magento.graphql.Query;
+import com.shopify.graphql.support.AbstractQuery;
+
+/**
+ * A request scoped collection of queries that are executed together in a single GraphQL document.
+ * <p>
+ * Each query of a batch is rewritten so that all its top level fields get an alias with a suffix unique to the query (for example
+ * <code>products__batch1:products(...)</code>). The response of the merged document is then split again by the alias suffix into one
+ * {@link Query} object per query. Queries that cannot be rewritten safely, like queries with operation names, variables,
+ * fragments, directives or custom aliases, are never batched.
+ */
+class GraphqlQueryBatch {
+
+    static final int MAX_QUERIES = 10;
+    static final int MAX_DOCUMENT_LENGTH = 8192;
+    private static final String ALIAS_PREFIX = "batch";
+
+    private final Set<Supplier<String>> pending = new LinkedHashSet<>();
+
+    synchronized void add(Supplier<String> querySupplier) {
+        if (querySupplier != null) {
+            pending.add(querySupplier);
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Removes pending queries from this batch and returns them together with the given query. The given query is always the first
+     * element of the returned list. Pending queries that are not batchable, already cached or that would exceed the limits of a
+     * single document are skipped; those exceeding the limits stay pending.
+     *
+     * @param query the query that is about to be executed
+     * @param cache the local response cache of the request
+     * @return the queries to execute in a single document
+     */
+    synchronized List<String> drain(String query, LocalResponseCache cache) {
+        if (pending.isEmpty() || aliasFields(query, 0) == null) {
+            return Collections.singletonList(query);
+        }
+
+        List<String> queries = new ArrayList<>();
+        queries.add(query);
+        int length = query.length();
+
+        for (Supplier<String> querySupplier : new ArrayList<>(pending)) {
+            if (queries.size() >= MAX_QUERIES) {
+                break;
+            }
+
+            String pendingQuery = querySupplier.get();
+            if (pendingQuery == null || queries.contains(pendingQuery) || cache.contains(pendingQuery)
+                || aliasFields(pendingQuery, 0) == null) {
+                pending.remove(querySupplier);
+                continue;
+            }
+            if (length + pendingQuery.length() > MAX_DOCUMENT_LENGTH) {
+                continue;
+            }
+
+            pending.remove(querySupplier);
+            queries.add(pendingQuery);
+            length += pendingQuery.length();
+        }
+
+        return queries;
+    }
+
+    /**
+     * Merges the given queries into a single GraphQL document.
+     *
+     * @param queries the queries, all of them must be batchable
+     * @return the merged document
+     */
+    static String merge(List<String> queries) {
+        StringBuilder document = new StringBuilder("{");
+        for (int i = 0; i < queries.size(); i++) {
+            if (i > 0) {
+                document.append(',');
+            }
+            document.append(aliasFields(queries.get(i), i));
+        }
+        return document.append('}').toString();
+    }
+
+    /**
+     * Extracts the response data of the query at the given index from the response data of a merged document.
+     *
+     * @param data the response data of the merged document
+     * @param index the index of the query in the merged document
+     * @return the response data of the query
+     */
+    static Query split(Query data, int index) {
+        String suffix = AbstractQuery.ALIAS_SUFFIX_SEPARATOR + ALIAS_PREFIX + index;
+        Query query = new Query();
+        for (Map.Entry<String, Object> entry : data.responseData.entrySet()) {
+            String key = entry.getKey();
+            if (key.endsWith(suffix)) {
+                query.responseData.put(key.substring(0, key.length() - suffix.length()), entry.getValue());
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Returns the top level selections of the given query with an alias for each field that is unique to the given index, or
+     * {@code null} if the query cannot be batched.
+     */
+    static String aliasFields(String query, int index) {
+        if (query == null) {
+            return null;
+        }
+
+        String selection = query.trim();
+        if (selection.startsWith("query")) {
+            selection = selection.substring(5).trim();
+        }
+        if (selection.length() < 2 || selection.charAt(0) != '{' || selection.charAt(selection.length() - 1) != '}') {
+            return null;
+        }
+
+        String suffix = AbstractQuery.ALIAS_SUFFIX_SEPARATOR + ALIAS_PREFIX + index + ':';
+        StringBuilder aliased = new StringBuilder(selection.length() + 32);
+        int depth = 0;
+        boolean inString = false;
+
+        for (int i = 1; i < selection.length() - 1; i++) {
+            char c = selection.charAt(i);
+            if (inString) {
+                aliased.append(c);
+                if (c == '\\' && i + 1 < selection.length() - 1) {
+                    aliased.append(selection.charAt(++i));
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '(') {
+                depth++;
+            } else if (c == '}' || c == ')') {
+                if (--depth < 0) {
+                    // the outer selection set is closed before the end of the query, e.g. by fragment definitions
+                    return null;
+                }
+            } else if (depth == 0 && (c == '@' || c == '.' || c == ':' || c == '$')) {
+                // directives, fragment spreads, custom aliases or variables
+                return null;
+            } else if (depth == 0 && (Character.isLetter(c) || c == '_')) {
+                int end = i;
+                while (end < selection.length() - 1 && (Character.isLetterOrDigit(selection.charAt(end)) || selection.charAt(end) == '_')) {
+                    end++;
+                }
+                String field = selection.substring(i, end);
+                if (field.startsWith("__")) {
+                    // introspection fields cannot be split reliably
+                    return null;
+                }
+                aliased.append(field).append(suffix).append(field);
+                i = end - 1;
+                continue;
+            }
+            aliased.append(c);
+        }
+
+        return depth == 0 && !inString && aliased.length() > 0 ? aliased.toString() : null;
+    }
+}
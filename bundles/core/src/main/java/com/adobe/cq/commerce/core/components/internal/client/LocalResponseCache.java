@@ -0,0 +1,114 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.client;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.adobe.cq.commerce.graphql.client.GraphqlResponse;
+import com.adobe.cq.commerce.magento.graphql.Query;
+import com.adobe.cq.commerce.magento.graphql.gson.Error;
+
+/**
+ * A request scoped cache of GraphQL responses keyed by query. Next to exact lookups it supports fuzzy lookups, which return the
+ * response of any cached query that starts with the given query trimmed by its trailing curly brackets.
+ * <p>
+ * The queries are kept in a sorted map so that all queries sharing a prefix are adjacent. This makes both the exact and the fuzzy
+ * lookup a single logarithmic search instead of a scan over all cached queries.
+ * <p>
+ * Queries executed asynchronously are tracked while they are in flight, so that a synchronous execution of the same query can
+ * join the pending response instead of calling the backend again.
+ */
+class LocalResponseCache {
+
+    private final NavigableMap<String, GraphqlResponse<Query, Error>> responses = new TreeMap<>();
+    private final Map<String, CompletableFuture<GraphqlResponse<Query, Error>>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong fuzzyHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Returns the response for the given query, either from an exact match or from a fuzzy match, or {@code null} if there is none.
+     *
+     * @param query the GraphQL query
+     * @return the cached response or {@code null}
+     */
+    synchronized GraphqlResponse<Query, Error> get(String query) {
+        GraphqlResponse<Query, Error> response = responses.get(query);
+        if (response != null) {
+            hits.incrementAndGet();
+            return response;
+        }
+
+        String fuzzyKey = trimTrailingBrackets(query);
+        Map.Entry<String, GraphqlResponse<Query, Error>> candidate = responses.ceilingEntry(fuzzyKey);
+        if (candidate != null && candidate.getKey().startsWith(fuzzyKey)) {
+            fuzzyHits.incrementAndGet();
+            return candidate.getValue();
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    synchronized boolean contains(String query) {
+        return responses.containsKey(query);
+    }
+
+    synchronized void put(String query, GraphqlResponse<Query, Error> response) {
+        if (query != null && response != null) {
+            responses.put(query, response);
+        }
+    }
+
+    CompletableFuture<GraphqlResponse<Query, Error>> getInFlight(String query) {
+        return inFlight.get(query);
+    }
+
+    void putInFlight(String query, CompletableFuture<GraphqlResponse<Query, Error>> future) {
+        inFlight.put(query, future);
+        // remove the future once done, the response is then available from the cache
+        future.whenComplete((response, ex) -> inFlight.remove(query, future));
+    }
+
+    synchronized int size() {
+        return responses.size();
+    }
+
+    long getHitCount() {
+        return hits.get();
+    }
+
+    long getFuzzyHitCount() {
+        return fuzzyHits.get();
+    }
+
+    long getMissCount() {
+        return misses.get();
+    }
+
+    static String trimTrailingBrackets(String query) {
+        int end = query.length();
+        while (end > 0 && query.charAt(end - 1) == '}') {
+            end--;
+        }
+        return query.substring(0, end);
+    }
+}
@@ -20,14 +20,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
@@ -41,6 +42,7 @@ import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.models.annotations.Model;
 import org.apache.sling.models.annotations.injectorspecific.InjectionStrategy;
+import org.apache.sling.models.annotations.injectorspecific.OSGiService;
 import org.apache.sling.models.annotations.injectorspecific.ScriptVariable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -86,18 +88,29 @@ public class MagentoGraphqlClientImpl implements MagentoGraphqlClient {
         .map(headerName -> headerName.toLowerCase(Locale.ROOT))
         .collect(Collectors.toSet());
     private static final String LOCAL_CACHE_ATTR = MagentoGraphqlClient.class.getName() + ".LocalCache";
+    private static final String QUERY_BATCH_ATTR = MagentoGraphqlClient.class.getName() + ".QueryBatch";
+    static final String ENABLE_QUERY_BATCHING_PROPERTY = "enableQueryBatching";
     private static final String BACKEND_CALL_DURATION_ATTRIBUTE = "com.adobe.cif.backendCallDurationInMs";
+    private static final String DEFAULT_STORE_VIEW = "default";
 
     private SlingHttpServletRequest request;
     private Resource resource;
     @ScriptVariable(injectionStrategy = InjectionStrategy.OPTIONAL)
     private Page currentPage;
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private GraphqlClientExecutor executor;
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private CachedResponseIndex cachedResponseIndex;
 
     private GraphqlClient graphqlClient;
     private RequestOptions requestOptions;
     private List<Header> httpHeaders;
-    private Map<String, GraphqlResponse<Query, Error>> localResponseCache;
+    private LocalResponseCache localResponseCache;
+    private GraphqlQueryBatch queryBatch;
     private AtomicLong existingDuration;
+    private BackendCallTimings timings;
+    private String cacheName;
+    private String storeView;
 
     public MagentoGraphqlClientImpl(Resource resource) {
         this.resource = resource;
@@ -134,6 +147,7 @@ public class MagentoGraphqlClientImpl implements MagentoGraphqlClient {
         String storeCode;
         List<Header> headers;
         HttpMethod httpMethod = null;
+        boolean queryBatching = false;
         Launch launch = null;
         Long previewVersion = null;
 
@@ -175,6 +189,7 @@ public class MagentoGraphqlClientImpl implements MagentoGraphqlClient {
             graphqlClient = adaptToGraphqlClient(configResource);
             headers = getCustomHttpHeaders(configuration);
             storeCode = configuration.get(STORE_CODE_PROPERTY, String.class);
+            queryBatching = configuration.get(ENABLE_QUERY_BATCHING_PROPERTY, Boolean.FALSE);
             if (storeCode == null) {
                 storeCode = readFallBackConfiguration(configurationResource, STORE_CODE_PROPERTY);
             }
@@ -209,9 +224,11 @@ public class MagentoGraphqlClientImpl implements MagentoGraphqlClient {
         }
 
         this.httpHeaders = headers;
+        // previews of future catalog versions are not cached
+        storeView = previewVersion == null ? StringUtils.defaultIfEmpty(storeCode, DEFAULT_STORE_VIEW) : null;
         // In certain situations resource.getResourceType() returns an enforced resource type.
         // We prefer the resource type of the component proxy for the cache name.
-        String cacheName = resource.getValueMap().get(ResourceResolver.PROPERTY_RESOURCE_TYPE, resource.getResourceType());
+        cacheName = resource.getValueMap().get(ResourceResolver.PROPERTY_RESOURCE_TYPE, resource.getResourceType());
         this.requestOptions = new RequestOptions()
             .withGson(QueryDeserializer.getGson())
             .withCachingStrategy(new CachingStrategy()
@@ -221,24 +238,66 @@ public class MagentoGraphqlClientImpl implements MagentoGraphqlClient {
             .withHttpMethod(httpMethod);
 
         if (request != null) {
-            localResponseCache = (Map<String, GraphqlResponse<Query, Error>>) request.getAttribute(LOCAL_CACHE_ATTR);
+            localResponseCache = (LocalResponseCache) request.getAttribute(LOCAL_CACHE_ATTR);
             if (localResponseCache == null) {
-                localResponseCache = new HashMap<>();
+                localResponseCache = new LocalResponseCache();
                 request.setAttribute(LOCAL_CACHE_ATTR, localResponseCache);
             }
 
+            if (queryBatching) {
+                queryBatch = (GraphqlQueryBatch) request.getAttribute(QUERY_BATCH_ATTR);
+                if (queryBatch == null) {
+                    queryBatch = new GraphqlQueryBatch();
+                    request.setAttribute(QUERY_BATCH_ATTR, queryBatch);
+                }
+            }
+
             // Initialize backend call duration attribute
             existingDuration = (AtomicLong) request.getAttribute(BACKEND_CALL_DURATION_ATTRIBUTE);
             if (existingDuration == null) {
                 existingDuration = new AtomicLong(0);
                 request.setAttribute(BACKEND_CALL_DURATION_ATTRIBUTE, existingDuration);
             }
+            timings = BackendCallTimings.get(request);
         }
     }
 
     @Override
     public GraphqlResponse<Query, Error> execute(String query) {
-        return executeCached(query, requestOptions);
+        return executeCached(query, requestOptions, true);
+    }
+
+    @Override
+    public CompletableFuture<GraphqlResponse<Query, Error>> executeAsync(String query) {
+        if (executor == null) {
+            return CompletableFuture.completedFuture(execute(query));
+        }
+
+        if (localResponseCache != null) {
+            CompletableFuture<GraphqlResponse<Query, Error>> inFlight = localResponseCache.getInFlight(query);
+            if (inFlight != null) {
+                return inFlight;
+            }
+            if (localResponseCache.contains(query)) {
+                return CompletableFuture.completedFuture(localResponseCache.get(query));
+            }
+        }
+
+        // the batch is drained on the request thread, as the pending query suppliers resolve the queries of request scoped models
+        List<String> queries = drainBatch(query);
+        RequestOptions options = requestOptions;
+        CompletableFuture<GraphqlResponse<Query, Error>> future = executor.submit(() -> executeQueries(queries, options));
+        if (localResponseCache != null && !future.isDone()) {
+            localResponseCache.putInFlight(query, future);
+        }
+        return future;
+    }
+
+    @Override
+    public void addToBatch(Supplier<String> querySupplier) {
+        if (queryBatch != null) {
+            queryBatch.add(querySupplier);
+        }
     }
 
     @Override
@@ -253,60 +312,79 @@ public class MagentoGraphqlClientImpl implements MagentoGraphqlClient {
             try {
                 GraphqlResponse<Query, Error> response = graphqlClient.execute(new GraphqlRequest(query), Query.class, Error.class,
                     options);
-
-                // Add backend call duration to request attributes
-                if (existingDuration != null && response.getDuration() > 0) {
-                    existingDuration.addAndGet(response.getDuration());
-                }
-
+                recordCall(response.getDuration());
                 return response;
             } catch (RuntimeException ex) {
                 LOGGER.error("Failed to execute query: {}", query, ex);
-
-                // Add duration from GraphqlRequestException if available
-                if (existingDuration != null && ex instanceof GraphqlRequestException) {
-                    existingDuration.addAndGet(((GraphqlRequestException) ex).getDuration());
-                }
-
+                recordFailedCall(ex);
                 return newErrorResponse(ex);
             }
         }
 
-        return executeCached(query, options);
+        return executeCached(query, options, true);
     }
 
-    private GraphqlResponse<Query, Error> executeCached(String query, RequestOptions options) {
+    private GraphqlResponse<Query, Error> executeCached(String query, RequestOptions options, boolean joinInFlight) {
         try {
             if (localResponseCache != null) {
-                if (localResponseCache.containsKey(query)) {
-                    LOGGER.debug("Cache hit for query '{}'", query);
-                    return localResponseCache.get(query);
-                }
-
-                // fuzzy matching (a very simplified version of caching resolved graphql response objects)
-                // If a cache key (query) starts with the given query trimmed by any trailing curley brackets can assume
-                // that the cached response queried with the same filter the same fields. This only works if the queries
-                // we use define the queried fields always in the same order.
+                // The local cache does exact matching as well as fuzzy matching (a very simplified version of caching resolved
+                // graphql response objects). If a cache key (query) starts with the given query trimmed by any trailing curly
+                // brackets we can assume that the cached response queried with the same filter the same fields. This only works
+                // if the queries we use define the queried fields always in the same order.
                 // Example: The query to resolve the sku from the url_key done by the UrlProvider can reuse the response
                 // from the query done by the product detail component. This helps any Commerce Content Fragment or
                 // Commerce Experience Fragment on a product detail page that is rendered after the product detail
                 // component to get the product identifier.
-                String fuzzyKey = StringUtils.removePattern(query, "\\}+$");
-                for (Map.Entry<String, GraphqlResponse<Query, Error>> entry : localResponseCache.entrySet()) {
-                    if (entry.getKey().startsWith(fuzzyKey)) {
-                        LOGGER.debug("Fuzzy cache hit for query '{}', return response of query '{}'", query, entry.getKey());
-                        return entry.getValue();
-                    }
+                GraphqlResponse<Query, Error> cachedResponse = localResponseCache.get(query);
+                if (cachedResponse != null) {
+                    LOGGER.debug("Local cache hit for query '{}'", query);
+                    recordHit();
+                    return cachedResponse;
+                }
+
+                // join a pending asynchronous execution of the same query, if any
+                CompletableFuture<GraphqlResponse<Query, Error>> inFlight = joinInFlight ? localResponseCache.getInFlight(query) : null;
+                if (inFlight != null) {
+                    LOGGER.debug("Join asynchronous execution of query '{}'", query);
+                    recordHit();
+                    return inFlight.join();
                 }
             }
+        } catch (RuntimeException ex) {
+            LOGGER.error("Failed to execute query: {}", query, ex);
+            recordFailedCall(ex);
+            return newErrorResponse(ex);
+        }
 
-            GraphqlRequest graphqlRequest = new GraphqlRequest(query);
-            GraphqlResponse<Query, Error> response = graphqlClient.execute(graphqlRequest, Query.class, Error.class, options);
+        return executeQueries(drainBatch(query), options);
+    }
 
-            if (existingDuration != null && response.getDuration() > 0) {
-                existingDuration.addAndGet(response.getDuration());
+    /**
+     * Returns the given query together with the pending queries of the batch that can be executed in the same document. This
+     * resolves the pending queries and must therefore be called on the request thread.
+     */
+    private List<String> drainBatch(String query) {
+        return queryBatch != null && !queryBatch.isEmpty()
+            ? queryBatch.drain(query, localResponseCache)
+            : Collections.singletonList(query);
+    }
+
+    /**
+     * Executes the first of the given queries, in a single document with the other queries if there are any, and returns its
+     * response. This only uses thread safe state, like the local response cache and the call timings, and may run on any thread.
+     */
+    private GraphqlResponse<Query, Error> executeQueries(List<String> queries, RequestOptions options) {
+        String query = queries.get(0);
+        try {
+            GraphqlResponse<Query, Error> batchedResponse = executeBatch(queries, options);
+            if (batchedResponse != null) {
+                return batchedResponse;
             }
 
+            GraphqlRequest graphqlRequest = new GraphqlRequest(query);
+            GraphqlResponse<Query, Error> response = executeIndexed(graphqlRequest, options);
+            recordCall(response.getDuration());
+
             if (localResponseCache != null) {
                 localResponseCache.put(query, response);
             }
@@ -314,16 +392,95 @@ public class MagentoGraphqlClientImpl implements MagentoGraphqlClient {
             return response;
         } catch (RuntimeException ex) {
             LOGGER.error("Failed to execute query: {}", query, ex);
+            recordFailedCall(ex);
+            return newErrorResponse(ex);
+        }
+    }
 
-            // Add duration from GraphqlRequestException if available
-            if (existingDuration != null && ex instanceof GraphqlRequestException) {
-                existingDuration.addAndGet(((GraphqlRequestException) ex).getDuration());
+    /**
+     * Executes the given queries in a single GraphQL document and puts the response of each query into the local response cache.
+     * The first query is the one requested by the caller, its response is returned. If the merged document fails or returns any
+     * error, the responses are discarded and {@code null} is returned so that the caller executes its query on its own. This
+     * makes sure that an error caused by one query is never reported for another query of the same batch.
+     *
+     * @param queries the queries to execute
+     * @param options the request options
+     * @return the response of the first query or {@code null}
+     */
+    private GraphqlResponse<Query, Error> executeBatch(List<String> queries, RequestOptions options) {
+        if (queries.size() < 2) {
+            return null;
+        }
+
+        String document = GraphqlQueryBatch.merge(queries);
+        GraphqlResponse<Query, Error> response;
+        try {
+            LOGGER.debug("Execute {} queries in a single request", queries.size());
+            response = executeIndexed(new GraphqlRequest(document), options);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to execute batched query, falling back to single query: {}", document, ex);
+            recordFailedCall(ex);
+            return null;
+        }
+        recordCall(response.getDuration());
+
+        if (response.getData() == null || (response.getErrors() != null && !response.getErrors().isEmpty())) {
+            LOGGER.debug("Batched query returned errors, falling back to single query");
+            return null;
+        }
+
+        GraphqlResponse<Query, Error> requested = null;
+        for (int i = 0; i < queries.size(); i++) {
+            GraphqlResponse<Query, Error> split = new GraphqlResponse<>();
+            split.setData(GraphqlQueryBatch.split(response.getData(), i));
+            localResponseCache.put(queries.get(i), split);
+            if (i == 0) {
+                split.setDuration(response.getDuration());
+                requested = split;
             }
+        }
+        return requested;
+    }
 
-            return newErrorResponse(ex);
+    private GraphqlResponse<Query, Error> executeIndexed(GraphqlRequest request, RequestOptions options) {
+        // the GraphQL client caches the response only if a cache name is set
+        CachedResponseIndex.Execution execution = cachedResponseIndex != null && options.getCachingStrategy() != null
+            ? cachedResponseIndex.startExecution(graphqlClient, storeView, options.getCachingStrategy().getCacheName())
+            : null;
+        if (execution == null) {
+            return graphqlClient.execute(request, Query.class, Error.class, options);
+        }
+
+        GraphqlResponse<Query, Error> response = null;
+        try {
+            response = graphqlClient.execute(request, Query.class, Error.class, options);
+            return response;
+        } finally {
+            execution.end(response != null ? response.getData() : null);
         }
     }
 
+    private void recordHit() {
+        if (timings != null) {
+            timings.recordHit(cacheName);
+        }
+    }
+
+    private void recordCall(long duration) {
+        // Add backend call duration to request attributes
+        if (existingDuration != null && duration > 0) {
+            existingDuration.addAndGet(duration);
+        }
+        if (timings != null) {
+            timings.recordCall(cacheName, duration);
+        }
+    }
+
+    private void recordFailedCall(RuntimeException ex) {
+        // Add duration from GraphqlRequestException if available
+        recordCall(ex instanceof GraphqlRequestException ? ((GraphqlRequestException) ex).getDuration() : 0);
+    }
+
     @Override
     public GraphqlClientConfiguration getConfiguration() {
         return graphqlClient.getConfiguration();
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 
@@ -163,9 +164,11 @@ public class FeaturedCategoryListImpl extends DataLayerComponent implements Feat
         }
 
         List<CategoryTree> categories = categoriesRetriever.fetchCategories();
-        for (CategoryTree category : categories) {
-            CategoryUrlFormat.Params params = new CategoryUrlFormat.Params(category);
-            category.setPath(urlProvider.toCategoryUrl(request, currentPage, params));
+        List<CategoryUrlFormat.Params> params = categories.stream().map(c -> new CategoryUrlFormat.Params(c)).collect(Collectors.toList());
+        List<String> urls = urlProvider.toCategoryUrls(request, currentPage, params);
+        for (int i = 0; i < categories.size(); i++) {
+            CategoryTree category = categories.get(i);
+            category.setPath(urls.get(i));
 
             // Replace image if there is an asset override
             String uid = category.getUid().toString();
@@ -203,9 +203,10 @@ public class NavigationImpl implements Navigation {
             return;
         }
 
-        for (CategoryTree child : children) {
-            CategoryUrlFormat.Params params = new CategoryUrlFormat.Params(child);
-            String url = urlProvider.toCategoryUrl(request, currentPage, params);
+        List<String> urls = urlProvider.toCategoryUrls(request, currentPage, toCategoryUrlParams(children));
+        for (int i = 0; i < children.size(); i++) {
+            CategoryTree child = children.get(i);
+            String url = urls.get(i);
             boolean active = request.getRequestURI().equals(url);
             CategoryNavigationItem navigationItem = new CategoryNavigationItem(null, child.getName(), url, active, child, request);
             pages.add(navigationItem);
@@ -227,6 +228,14 @@ public class NavigationImpl implements Navigation {
         return properties.getInherited(propertyName, String.class);
     }
 
+    private static List<CategoryUrlFormat.Params> toCategoryUrlParams(List<CategoryTree> categories) {
+        List<CategoryUrlFormat.Params> params = new ArrayList<>(categories.size());
+        for (CategoryTree category : categories) {
+            params.add(new CategoryUrlFormat.Params(category));
+        }
+        return params;
+    }
+
     class PageNavigationItem extends AbstractNavigationItem {
         private final com.adobe.cq.wcm.core.components.models.NavigationItem wcmItem;
 
@@ -302,9 +311,10 @@ public class NavigationImpl implements Navigation {
 
             List<NavigationItem> pages = new ArrayList<>();
 
-            for (CategoryTree child : children) {
-                CategoryUrlFormat.Params params = new CategoryUrlFormat.Params(child);
-                String url = urlProvider.toCategoryUrl(request, currentPage, params);
+            List<String> urls = urlProvider.toCategoryUrls(request, currentPage, toCategoryUrlParams(children));
+            for (int i = 0; i < children.size(); i++) {
+                CategoryTree child = children.get(i);
+                String url = urls.get(i);
                 boolean active = request.getRequestURI().equals(url);
                 pages.add(new CategoryNavigationItem(this, child.getName(), url, active, child, request));
             }
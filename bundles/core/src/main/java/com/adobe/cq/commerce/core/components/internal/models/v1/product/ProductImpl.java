@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
@@ -49,6 +50,7 @@ import com.adobe.cq.commerce.core.components.internal.datalayer.DataLayerCompone
 import com.adobe.cq.commerce.core.components.internal.datalayer.ProductDataImpl;
 import com.adobe.cq.commerce.core.components.internal.models.v1.Utils;
 import com.adobe.cq.commerce.core.components.internal.models.v1.common.PriceImpl;
+import com.adobe.cq.commerce.core.components.internal.services.ModelMappingExecutor;
 import com.adobe.cq.commerce.core.components.internal.services.sitemap.SitemapLinkExternalizerProvider;
 import com.adobe.cq.commerce.core.components.internal.storefrontcontext.ProductStorefrontContextImpl;
 import com.adobe.cq.commerce.core.components.models.common.Price;
@@ -160,6 +162,8 @@ public class ProductImpl extends DataLayerComponent implements Product {
     private PageManagerFactory pageManagerFactory;
     @OSGiService
     private Externalizer externalizer;
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private ModelMappingExecutor mappingExecutor;
 
     private ProductInterface product;
     private ValueMap properties;
@@ -223,6 +227,10 @@ public class ProductImpl extends DataLayerComponent implements Product {
                 productRetriever.extendProductFilterWith(queryHook);
             }
         }
+
+        if (productRetriever != null) {
+            productRetriever.addToBatch();
+        }
     }
 
     private ProductInterface fetchProduct() {
@@ -338,7 +346,7 @@ public class ProductImpl extends DataLayerComponent implements Product {
         }
         ConfigurableProduct product = (ConfigurableProduct) fetchProduct();
 
-        return product.getVariants().parallelStream().map(this::mapVariant).collect(Collectors.toList());
+        return mapAll(product.getVariants(), this::mapVariant);
     }
 
     @Override
@@ -349,11 +357,11 @@ public class ProductImpl extends DataLayerComponent implements Product {
         }
         GroupedProduct product = (GroupedProduct) fetchProduct();
 
-        return product.getItems()
-            .parallelStream()
+        List<GroupedProductItem> items = product.getItems()
+            .stream()
             .sorted(Comparator.comparing(GroupedProductItem::getPosition))
-            .map(this::mapGroupedProductItem)
             .collect(Collectors.toList());
+        return mapAll(items, this::mapGroupedProductItem);
     }
 
     @Override
@@ -443,13 +451,16 @@ public class ProductImpl extends DataLayerComponent implements Product {
     }
 
     private List<Asset> filterAndSortAssets(List<MediaGalleryInterface> assets) {
-        return assets == null ? Collections.emptyList()
-            : assets.parallelStream()
-                .filter(a -> (a.getDisabled() == null || !a.getDisabled()) && a instanceof ProductImage)
-                .map(this::mapAsset)
-                .sorted(Comparator
-                    .comparing(a -> a.getPosition() == null ? Integer.MAX_VALUE : a.getPosition()))
-                .collect(Collectors.toList());
+        if (assets == null) {
+            return Collections.emptyList();
+        }
+
+        List<MediaGalleryInterface> images = assets.stream()
+            .filter(a -> (a.getDisabled() == null || !a.getDisabled()) && a instanceof ProductImage)
+            .collect(Collectors.toList());
+        List<Asset> mappedAssets = mapAll(images, this::mapAsset);
+        mappedAssets.sort(Comparator.comparing(a -> a.getPosition() == null ? Integer.MAX_VALUE : a.getPosition()));
+        return mappedAssets;
     }
 
     private Asset mapAsset(MediaGalleryInterface entry) {
@@ -493,8 +504,7 @@ public class ProductImpl extends DataLayerComponent implements Product {
 
     protected VariantAttribute mapVariantAttribute(ConfigurableProductOptions option) {
         // Get list of values
-        List<VariantValue> values = option.getValues().parallelStream().map(this::mapVariantValue)
-            .collect(Collectors.toList());
+        List<VariantValue> values = mapAll(option.getValues(), this::mapVariantValue);
 
         // Create attribute map
         VariantAttributeImpl attribute = new VariantAttributeImpl();
@@ -505,6 +515,13 @@ public class ProductImpl extends DataLayerComponent implements Product {
         return attribute;
     }
 
+    /**
+     * Maps the given items in order, in parallel for large lists if the {@link ModelMappingExecutor} is available.
+     */
+    protected <T, R> List<R> mapAll(List<T> items, Function<? super T, ? extends R> mapper) {
+        return mappingExecutor != null ? mappingExecutor.map(items, mapper) : ModelMappingExecutor.mapSequentially(items, mapper);
+    }
+
     protected String safeDescription(ProductInterface product) {
         ComplexTextValue description = product.getDescription();
         if (description == null) {
@@ -136,6 +136,7 @@ public class ProductCarouselImpl extends ProductCarouselBase {
             productsRetriever.setCategoryUid(categoryUid);
             productsRetriever.setProductCount(productCount);
         }
+        productsRetriever.addToBatch();
     }
 
     @Override
@@ -128,6 +128,7 @@ public class ProductTeaserImpl extends DataLayerComponent implements ProductTeas
             if (magentoGraphqlClient != null) {
                 productRetriever = new ProductRetriever(magentoGraphqlClient);
                 productRetriever.setIdentifier(combinedSku.getBaseSku());
+                productRetriever.addToBatch();
                 ctaOverride = CALL_TO_ACTION_TYPE_ADD_TO_CART.equals(cta) && !Utils.isShoppableProduct(getProduct());
             }
         }
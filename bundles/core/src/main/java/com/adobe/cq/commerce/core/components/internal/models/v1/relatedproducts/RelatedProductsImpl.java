@@ -107,6 +107,7 @@ public class RelatedProductsImpl extends ProductCarouselBase {
         } else {
             productsRetriever.extendProductFilterWith(urlProvider.getProductFilterHook(request));
         }
+        productsRetriever.addToBatch();
     }
 
     @Override
@@ -136,8 +136,7 @@ public class ProductImpl extends com.adobe.cq.commerce.core.components.internal.
     @Override
     protected VariantAttribute mapVariantAttribute(ConfigurableProductOptions option) {
         // Get list of values
-        List<VariantValue> values = option.getValues().parallelStream().map(this::mapVariantValue)
-            .collect(Collectors.toList());
+        List<VariantValue> values = mapAll(option.getValues(), this::mapVariantValue);
 
         // Create attribute map
         VariantAttributeImpl attribute = new VariantAttributeImpl();
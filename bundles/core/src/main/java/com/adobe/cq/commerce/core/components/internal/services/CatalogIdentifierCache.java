@@ -0,0 +1,288 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.services;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import com.adobe.cq.commerce.core.components.client.MagentoGraphqlClient;
+import com.adobe.cq.commerce.graphql.client.GraphqlClientConfiguration;
+
+/**
+ * Shares the resolution of the url_key of products and the url_path or url_key of categories to their SKU or UID across requests,
+ * so that the {@link UrlProviderImpl} does not have to query the commerce backend for the identifier of every product and category
+ * page request.
+ * <p>
+ * Entries are kept per GraphQL client and store view. They are removed when their time to live passed, when the cache invalidation
+ * invalidates the SKU or UID they resolve to, or when the least recently used entries exceed the maximum size.
+ */
+@Component(service = CatalogIdentifierCache.class)
+@Designate(ocd = CatalogIdentifierCache.Configuration.class)
+public class CatalogIdentifierCache {
+
+    static final String METRIC_HIT_COUNT = "cif.catalogIdentifier.hit.count";
+    static final String METRIC_MISS_COUNT = "cif.catalogIdentifier.miss.count";
+
+    private static final String STORE_HEADER = "Store";
+    private static final String PREVIEW_VERSION_HEADER = "Preview-Version";
+    private static final String DEFAULT_STORE_VIEW = "default";
+
+    @ObjectClassDefinition(name = "CIF Catalog Identifier Cache")
+    @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Enabled",
+            description = "If enabled, the SKUs and UIDs resolved from the url_key or url_path of product and category page urls are "
+                + "shared across requests. Defaults to true")
+        boolean enabled() default true;
+
+        @AttributeDefinition(
+            name = "Maximum size",
+            description = "The maximum number of url_keys and url_paths kept in the cache. Defaults to 10000")
+        int maxSize() default 10000;
+
+        @AttributeDefinition(
+            name = "Time to live",
+            description = "The number of seconds a resolved SKU or UID is kept in the cache. Defaults to 3600")
+        int ttl() default 3600;
+    }
+
+    /**
+     * The kind of url parameter that is resolved to an identifier.
+     */
+    enum Type {
+        PRODUCT_URL_KEY,
+        CATEGORY_URL_PATH,
+        CATEGORY_URL_KEY;
+
+        boolean isProduct() {
+            return this == PRODUCT_URL_KEY;
+        }
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private MetricsService metricsService;
+
+    private boolean enabled;
+    private long ttlMillis;
+    private Map<Key, Entry> entries;
+    private Counter hitCount;
+    private Counter missCount;
+    LongSupplier clock = System::currentTimeMillis;
+
+    @Activate
+    protected void activate(Configuration configuration) {
+        enabled = configuration.enabled();
+        ttlMillis = Math.max(0, configuration.ttl()) * 1000L;
+        int maxSize = Math.max(1, configuration.maxSize());
+        entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        MetricsService metrics = metricsService != null ? metricsService : MetricsService.NOOP;
+        hitCount = metrics.counter(METRIC_HIT_COUNT);
+        missCount = metrics.counter(METRIC_MISS_COUNT);
+    }
+
+    /**
+     * Returns the scope of the identifiers resolved with the given client, or {@code null} if they must not be cached. This is the case
+     * if the cache is disabled, for previews of future catalog versions and for clients without a configuration.
+     */
+    Scope getScope(MagentoGraphqlClient client) {
+        if (!enabled || client == null) {
+            return null;
+        }
+        GraphqlClientConfiguration configuration = client.getConfiguration();
+        Map<String, String[]> headers = client.getHttpHeaderMap();
+        if (configuration == null || headers == null || headers.containsKey(PREVIEW_VERSION_HEADER)) {
+            return null;
+        }
+        String[] store = headers.get(STORE_HEADER);
+        return new Scope(configuration.identifier(), store != null && store.length > 0
+            ? StringUtils.defaultIfEmpty(store[0], DEFAULT_STORE_VIEW)
+            : DEFAULT_STORE_VIEW);
+    }
+
+    /**
+     * Returns the SKU or UID the given url_key or url_path resolves to, or {@code null} if it is not cached.
+     *
+     * @param scope the scope returned by {@link #getScope(MagentoGraphqlClient)}
+     * @param type the kind of the given value
+     * @param value the url_key or url_path
+     * @return the cached identifier or {@code null}
+     */
+    String get(Scope scope, Type type, String value) {
+        Key key = new Key(scope, type, value);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expires <= clock.getAsLong()) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            hitCount.increment();
+            return entry.identifier;
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * Caches the SKU or UID the given url_key or url_path resolves to.
+     */
+    void put(Scope scope, Type type, String value, String identifier) {
+        Key key = new Key(scope, type, value);
+        long expires = clock.getAsLong() + ttlMillis;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            // keep the expiry of an unchanged identifier, so that concurrent lookups of the same url do not extend its time to live
+            if (entry == null || !entry.identifier.equals(identifier)) {
+                entries.put(key, new Entry(identifier, expires));
+            }
+        }
+    }
+
+    /**
+     * Removes the entries that resolve to one of the given product SKUs or category UIDs.
+     *
+     * @param graphqlClientId the identifier of the GraphQL client
+     * @param storeView the store view, or {@code null} to remove the entries of all store views
+     * @param products {@code true} to remove product SKUs, {@code false} to remove category UIDs
+     * @param identifiers the SKUs or UIDs
+     */
+    public void invalidate(String graphqlClientId, String storeView, boolean products, Collection<String> identifiers) {
+        synchronized (entries) {
+            entries.entrySet().removeIf(entry -> entry.getKey().isIn(graphqlClientId, storeView)
+                && entry.getKey().type.isProduct() == products
+                && identifiers.contains(entry.getValue().identifier));
+        }
+    }
+
+    /**
+     * Removes all entries of the given GraphQL client and store view.
+     *
+     * @param graphqlClientId the identifier of the GraphQL client
+     * @param storeView the store view, or {@code null} to remove the entries of all store views
+     */
+    public void invalidate(String graphqlClientId, String storeView) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.isIn(graphqlClientId, storeView));
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * The GraphQL client and store view identifiers are resolved with.
+     */
+    static final class Scope {
+        private final String graphqlClientId;
+        private final String storeView;
+
+        Scope(String graphqlClientId, String storeView) {
+            this.graphqlClientId = graphqlClientId;
+            this.storeView = storeView;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Scope scope = (Scope) o;
+            return Objects.equals(graphqlClientId, scope.graphqlClientId) && storeView.equals(scope.storeView);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(graphqlClientId, storeView);
+        }
+
+        @Override
+        public String toString() {
+            return graphqlClientId + "/" + storeView;
+        }
+    }
+
+    private static final class Key {
+        private final Scope scope;
+        private final Type type;
+        private final String value;
+
+        private Key(Scope scope, Type type, String value) {
+            this.scope = scope;
+            this.type = type;
+            this.value = value;
+        }
+
+        private boolean isIn(String graphqlClientId, String storeView) {
+            return Objects.equals(scope.graphqlClientId, graphqlClientId) && (storeView == null || storeView.equals(scope.storeView));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return scope.equals(key.scope) && type == key.type && value.equals(key.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, type, value);
+        }
+    }
+
+    private static final class Entry {
+        private final String identifier;
+        private final long expires;
+
+        private Entry(String identifier, long expires) {
+            this.identifier = identifier;
+            this.expires = expires;
+        }
+    }
+}
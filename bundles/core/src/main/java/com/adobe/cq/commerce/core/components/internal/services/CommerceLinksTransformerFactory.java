@@ -16,7 +16,17 @@
 package com.adobe.cq.commerce.core.components.internal.services;
 
 import java.io.IOException;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringEscapeUtils;
 import org.apache.sling.api.SlingHttpServletRequest;
@@ -43,8 +53,16 @@ import com.adobe.cq.commerce.core.components.client.MagentoGraphqlClient;
 import com.adobe.cq.commerce.core.components.services.urls.CategoryUrlFormat;
 import com.adobe.cq.commerce.core.components.services.urls.ProductUrlFormat;
 import com.adobe.cq.commerce.core.components.services.urls.UrlProvider;
+import com.adobe.cq.commerce.graphql.client.GraphqlResponse;
+import com.adobe.cq.commerce.magento.graphql.CategoryFilterInput;
 import com.adobe.cq.commerce.magento.graphql.CategoryInterface;
+import com.adobe.cq.commerce.magento.graphql.CategoryTree;
+import com.adobe.cq.commerce.magento.graphql.FilterEqualTypeInput;
+import com.adobe.cq.commerce.magento.graphql.Operations;
+import com.adobe.cq.commerce.magento.graphql.ProductAttributeFilterInput;
 import com.adobe.cq.commerce.magento.graphql.ProductInterface;
+import com.adobe.cq.commerce.magento.graphql.Query;
+import com.adobe.cq.commerce.magento.graphql.gson.Error;
 import com.day.cq.wcm.api.Page;
 import com.day.cq.wcm.api.PageManager;
 
@@ -53,6 +71,10 @@ import com.day.cq.wcm.api.PageManager;
  *
  * A commerce link has a {@code href} with the value {@code #CommerceLinks} and is tagged with a commerce attribute
  * {@code data-category-uid} or {@code data-product-sku}. The commerce attributes are preserved on the links.
+ *
+ * The transformer passes the document through until it encounters the first commerce link. From there on it buffers the SAX events
+ * until the end of the document, resolves the products and categories of all buffered commerce links with a single query each and
+ * then emits the buffered events with the rewritten links.
  */
 @Component(
     immediate = true,
@@ -106,28 +128,175 @@ public class CommerceLinksTransformerFactory implements TransformerFactory {
         private SlingHttpServletRequest request;
         private boolean ignoreContent;
         private int elementsDepth;
+        private List<SaxEvent> bufferedEvents;
+        private final Set<String> productSkus = new LinkedHashSet<>();
+        // the skus of links that replace their text with the product name
+        private final Set<String> productSkusWithText = new LinkedHashSet<>();
+        private final Set<String> categoryUids = new LinkedHashSet<>();
+        private Map<String, ProductInterface> products = Collections.emptyMap();
+        private Map<String, CategoryInterface> categories = Collections.emptyMap();
+        private Page currentPage;
 
         @Override
         public void init(ProcessingContext context, ProcessingComponentConfiguration config) throws IOException {
             this.request = context.getRequest();
             ignoreContent = false;
             elementsDepth = 0;
+            bufferedEvents = null;
+            productSkus.clear();
+            productSkusWithText.clear();
+            categoryUids.clear();
+            products = Collections.emptyMap();
+            categories = Collections.emptyMap();
         }
 
         @Override
         public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
-            if (ignoreContent) {
-                elementsDepth++;
-                return;
+            boolean commerceLink = isCommerceLink(localName, attributes);
+            if (commerceLink && bufferedEvents == null) {
+                bufferedEvents = new ArrayList<>();
             }
 
-            if (!ELEMENT_ANCHOR.equals(localName)) {
+            if (bufferedEvents == null) {
                 super.startElement(uri, localName, qName, attributes);
                 return;
             }
 
-            String href = StringUtils.trim(attributes.getValue(ATTR_HREF));
-            if (!MARKER_COMMERCE_LINKS.equals(href)) {
+            if (commerceLink) {
+                collectIdentifier(attributes);
+            }
+            // the parser may reuse the attributes instance, keep a copy
+            Attributes attributesCopy = new AttributesImpl(attributes);
+            bufferedEvents.add(() -> rewriteStartElement(uri, localName, qName, attributesCopy));
+        }
+
+        @Override
+        public void endElement(String s, String s1, String s2) throws SAXException {
+            if (bufferedEvents != null) {
+                bufferedEvents.add(() -> rewriteEndElement(s, s1, s2));
+            } else {
+                rewriteEndElement(s, s1, s2);
+            }
+        }
+
+        @Override
+        public void characters(char[] ac, int i, int j) throws SAXException {
+            if (bufferedEvents != null) {
+                char[] chars = Arrays.copyOfRange(ac, i, i + j);
+                bufferedEvents.add(() -> rewriteCharacters(chars, 0, chars.length));
+            } else {
+                rewriteCharacters(ac, i, j);
+            }
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ac, int i, int j) throws SAXException {
+            if (bufferedEvents != null) {
+                char[] chars = Arrays.copyOfRange(ac, i, i + j);
+                bufferedEvents.add(() -> super.ignorableWhitespace(chars, 0, chars.length));
+            } else {
+                super.ignorableWhitespace(ac, i, j);
+            }
+        }
+
+        @Override
+        public void processingInstruction(String target, String data) throws SAXException {
+            if (bufferedEvents != null) {
+                bufferedEvents.add(() -> super.processingInstruction(target, data));
+            } else {
+                super.processingInstruction(target, data);
+            }
+        }
+
+        @Override
+        public void skippedEntity(String name) throws SAXException {
+            if (bufferedEvents != null) {
+                bufferedEvents.add(() -> super.skippedEntity(name));
+            } else {
+                super.skippedEntity(name);
+            }
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) throws SAXException {
+            if (bufferedEvents != null) {
+                bufferedEvents.add(() -> super.startPrefixMapping(prefix, uri));
+            } else {
+                super.startPrefixMapping(prefix, uri);
+            }
+        }
+
+        @Override
+        public void endPrefixMapping(String prefix) throws SAXException {
+            if (bufferedEvents != null) {
+                bufferedEvents.add(() -> super.endPrefixMapping(prefix));
+            } else {
+                super.endPrefixMapping(prefix);
+            }
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            if (bufferedEvents != null) {
+                List<SaxEvent> events = bufferedEvents;
+                bufferedEvents = null;
+                resolveCommerceLinks();
+                for (SaxEvent event : events) {
+                    event.emit();
+                }
+            }
+            super.endDocument();
+        }
+
+        private boolean isCommerceLink(String localName, Attributes attributes) {
+            return ELEMENT_ANCHOR.equals(localName) && MARKER_COMMERCE_LINKS.equals(StringUtils.trim(attributes.getValue(ATTR_HREF)));
+        }
+
+        private void collectIdentifier(Attributes attributes) {
+            String productSku = attributes.getValue(ATTR_PRODUCT_SKU);
+            if (StringUtils.isNotBlank(productSku)) {
+                productSkus.add(productSku);
+                if (Boolean.parseBoolean(attributes.getValue(ATTR_REPLACE_TEXT))) {
+                    productSkusWithText.add(productSku);
+                }
+            } else {
+                String categoryUid = StringEscapeUtils.unescapeHtml4(attributes.getValue(ATTR_CATEGORY_UID));
+                if (StringUtils.isNotBlank(categoryUid)) {
+                    categoryUids.add(categoryUid);
+                }
+            }
+        }
+
+        private void resolveCommerceLinks() {
+            currentPage = request.getResourceResolver().adaptTo(PageManager.class).getContainingPage(request.getResource());
+            if (productSkus.isEmpty() && categoryUids.isEmpty()) {
+                return;
+            }
+
+            MagentoGraphqlClient magentoGraphqlClient = request.adaptTo(MagentoGraphqlClient.class);
+            if (magentoGraphqlClient == null) {
+                LOGGER.debug("GraphQL client not found for {}", request.getResource().getPath());
+                return;
+            }
+
+            // links without text only need the product when the url format requires more than the sku
+            Set<String> skus = requiresProductData() ? productSkus : productSkusWithText;
+            products = fetchProducts(magentoGraphqlClient, new ArrayList<>(skus));
+            categories = fetchCategories(magentoGraphqlClient, new ArrayList<>(categoryUids));
+        }
+
+        private boolean requiresProductData() {
+            // any other UrlProvider may need the product data
+            return !(urlProvider instanceof UrlProviderImpl) || ((UrlProviderImpl) urlProvider).requiresProductData(request, currentPage);
+        }
+
+        private void rewriteStartElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            if (ignoreContent) {
+                elementsDepth++;
+                return;
+            }
+
+            if (!isCommerceLink(localName, attributes)) {
                 super.startElement(uri, localName, qName, attributes);
                 return;
             }
@@ -137,21 +306,11 @@ public class CommerceLinksTransformerFactory implements TransformerFactory {
             String productSku = attributes.getValue(ATTR_PRODUCT_SKU);
             if (StringUtils.isNotBlank(productSku)) {
                 // if there is both product and category attribute on a link then product attribute is honored
-                Page currentPage = request.getResourceResolver().adaptTo(PageManager.class).getContainingPage(request.getResource());
-                if (replaceText) {
-                    linkInfo = prepareProductInfo(productSku, currentPage);
-                } else {
-                    linkInfo = new LinkInfo(urlProvider.toProductUrl(request, currentPage, productSku));
-                }
+                linkInfo = prepareProductInfo(productSku, replaceText);
             } else {
                 String categoryUid = StringEscapeUtils.unescapeHtml4(attributes.getValue(ATTR_CATEGORY_UID));
                 if (StringUtils.isNotBlank(categoryUid)) {
-                    Page currentPage = request.getResourceResolver().adaptTo(PageManager.class).getContainingPage(request.getResource());
-                    if (replaceText) {
-                        linkInfo = prepareCategoryInfo(categoryUid, currentPage);
-                    } else {
-                        linkInfo = new LinkInfo(urlProvider.toCategoryUrl(request, currentPage, categoryUid));
-                    }
+                    linkInfo = prepareCategoryInfo(categoryUid, replaceText);
                 }
             }
 
@@ -180,8 +339,7 @@ public class CommerceLinksTransformerFactory implements TransformerFactory {
             }
         }
 
-        @Override
-        public void endElement(String s, String s1, String s2) throws SAXException {
+        private void rewriteEndElement(String s, String s1, String s2) throws SAXException {
             if (ignoreContent) {
                 if (elementsDepth > 0) {
                     elementsDepth--;
@@ -195,60 +353,119 @@ public class CommerceLinksTransformerFactory implements TransformerFactory {
             }
         }
 
-        @Override
-        public void characters(char[] ac, int i, int j) throws SAXException {
+        private void rewriteCharacters(char[] ac, int i, int j) throws SAXException {
             if (!ignoreContent) {
                 super.characters(ac, i, j);
             }
         }
 
         @Nullable
-        private LinkInfo prepareProductInfo(String productSku, Page productPage) {
-            MagentoGraphqlClient magentoGraphqlClient = request.adaptTo(MagentoGraphqlClient.class);
-            if (magentoGraphqlClient == null) {
-                LOGGER.debug("GraphQL client not found for {}", request.getResource().getPath());
-                return null;
-            }
-
-            ProductUrlParameterRetriever productRetriever = new ProductUrlParameterRetriever(magentoGraphqlClient);
-            productRetriever.extendProductQueryWith(q -> q.name());
-            productRetriever.setIdentifier(productSku);
-            ProductInterface product = productRetriever.fetchProduct();
-
+        private LinkInfo prepareProductInfo(String productSku, boolean replaceText) {
+            ProductInterface product = products.get(productSku);
             if (product == null) {
                 LOGGER.debug("Product not found for SKU {}.", productSku);
-                return null;
+                if (replaceText) {
+                    return null;
+                }
+                ProductUrlFormat.Params urlParams = new ProductUrlFormat.Params();
+                urlParams.setSku(productSku);
+                return new LinkInfo(urlProvider.toProductUrl(request, currentPage, urlParams));
             }
 
             ProductUrlFormat.Params urlParams = new ProductUrlFormat.Params(product);
             urlParams.setSku(productSku);
 
-            return new LinkInfo(urlProvider.toProductUrl(request, productPage, urlParams), product.getName());
+            String href = urlProvider.toProductUrl(request, currentPage, urlParams);
+            return replaceText ? new LinkInfo(href, product.getName()) : new LinkInfo(href);
         }
 
         @Nullable
-        private LinkInfo prepareCategoryInfo(String categoryUid, Page categoryPage) {
-            MagentoGraphqlClient magentoGraphqlClient = request.adaptTo(MagentoGraphqlClient.class);
-            if (magentoGraphqlClient == null) {
-                LOGGER.debug("GraphQL client not found for {}", request.getResource().getPath());
-                return null;
-            }
-
-            CategoryUrlParameterRetriever categoryRetriever = new CategoryUrlParameterRetriever(magentoGraphqlClient);
-            categoryRetriever.extendCategoryQueryWith(q -> q.name());
-            categoryRetriever.setIdentifier(categoryUid);
-            CategoryInterface category = categoryRetriever.fetchCategory();
-
+        private LinkInfo prepareCategoryInfo(String categoryUid, boolean replaceText) {
+            CategoryInterface category = categories.get(categoryUid);
             if (category == null) {
                 LOGGER.debug("Category not found for UID {}.", categoryUid);
-                return null;
+                if (replaceText) {
+                    return null;
+                }
+                CategoryUrlFormat.Params params = new CategoryUrlFormat.Params();
+                params.setUid(categoryUid);
+                return new LinkInfo(urlProvider.formatCategoryUrl(request, currentPage, params));
             }
 
             CategoryUrlFormat.Params params = new CategoryUrlFormat.Params(category);
             params.setUid(categoryUid);
 
-            return new LinkInfo(urlProvider.toCategoryUrl(request, categoryPage, params), category.getName());
+            String href = urlProvider.formatCategoryUrl(request, currentPage, params);
+            return replaceText ? new LinkInfo(href, category.getName()) : new LinkInfo(href);
+        }
+    }
+
+    private static Map<String, ProductInterface> fetchProducts(MagentoGraphqlClient magentoGraphqlClient, List<String> skus) {
+        if (skus.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        ProductAttributeFilterInput filter = new ProductAttributeFilterInput().setSku(skus.size() == 1
+            ? new FilterEqualTypeInput().setEq(skus.get(0))
+            : new FilterEqualTypeInput().setIn(skus));
+        String query = Operations.query(q -> q
+            .products(args -> args.filter(filter).pageSize(skus.size()), p -> p
+                .items(i -> i
+                    .sku()
+                    .urlKey()
+                    .urlPath()
+                    .urlRewrites(uq -> uq.url())
+                    .name())))
+            .toString();
+
+        GraphqlResponse<Query, Error> response = magentoGraphqlClient.execute(query);
+        if (CollectionUtils.isNotEmpty(response.getErrors()) || response.getData().getProducts() == null) {
+            LOGGER.debug("Failed to fetch products for SKUs {}", skus);
+            return Collections.emptyMap();
+        }
+
+        // the sku filter of Magento is case-insensitive, so are the lookups of the links
+        Map<String, ProductInterface> products = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (ProductInterface product : response.getData().getProducts().getItems()) {
+            products.putIfAbsent(product.getSku(), product);
+        }
+        return products;
+    }
+
+    private static Map<String, CategoryInterface> fetchCategories(MagentoGraphqlClient magentoGraphqlClient, List<String> uids) {
+        if (uids.isEmpty()) {
+            return Collections.emptyMap();
         }
+
+        CategoryFilterInput filter = new CategoryFilterInput().setCategoryUid(uids.size() == 1
+            ? new FilterEqualTypeInput().setEq(uids.get(0))
+            : new FilterEqualTypeInput().setIn(uids));
+        String query = Operations.query(q -> q
+            .categoryList(args -> args.filters(filter), c -> c
+                .uid()
+                .urlPath()
+                .urlKey()
+                .name()))
+            .toString();
+
+        GraphqlResponse<Query, Error> response = magentoGraphqlClient.execute(query);
+        if (CollectionUtils.isNotEmpty(response.getErrors()) || response.getData().getCategoryList() == null) {
+            LOGGER.debug("Failed to fetch categories for UIDs {}", uids);
+            return Collections.emptyMap();
+        }
+
+        Map<String, CategoryInterface> categories = new HashMap<>();
+        for (CategoryTree category : response.getData().getCategoryList()) {
+            if (category.getUid() != null) {
+                categories.putIfAbsent(category.getUid().toString(), category);
+            }
+        }
+        return categories;
+    }
+
+    @FunctionalInterface
+    private interface SaxEvent {
+        void emit() throws SAXException;
     }
 
     private static class LinkInfo {
@@ -27,6 +27,8 @@ import org.apache.sling.caconfig.ConfigurationBuilder;
 import org.apache.sling.serviceusermapping.ServiceUserMapped;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,11 +59,24 @@ public class ComponentsConfigurationAdapterFactory implements AdapterFactory {
     @Reference
     private ResourceResolverFactory resolverFactory;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private ComponentsConfigurationCache configurationCache;
+
     @Override
     public <AdapterType> AdapterType getAdapter(Object adaptable, Class<AdapterType> type) {
         if (!(adaptable instanceof Resource)) {
             return null;
         }
+
+        ComponentsConfigurationCache cache = configurationCache;
+        String cacheKey = cache != null ? cache.getCacheKey((Resource) adaptable) : null;
+        if (cacheKey != null) {
+            ComponentsConfiguration configuration = cache.get(cacheKey);
+            if (configuration != null) {
+                return (AdapterType) configuration;
+            }
+        }
+
         try (ResourceResolver serviceResolver = resolverFactory.getServiceResourceResolver(authInfo)) {
             String resourcePath = ((Resource) adaptable).getPath();
             Resource resource = serviceResolver.getResource(resourcePath);
@@ -95,6 +110,9 @@ public class ComponentsConfigurationAdapterFactory implements AdapterFactory {
 
             ConfigurationBuilder cfgBuilder = resource.adaptTo(ConfigurationBuilder.class);
             ComponentsConfiguration configuration = new ComponentsConfiguration(cfgBuilder.name(CONFIGURATION_NAME).asValueMap());
+            if (cacheKey != null) {
+                cache.put(cacheKey, configuration);
+            }
             return (AdapterType) configuration;
         } catch (LoginException e) {
             throw new RuntimeException(e);
@@ -0,0 +1,205 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.services;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.apache.sling.caconfig.resource.ConfigurationResourceResolver;
+import org.apache.sling.engine.EngineConstants;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.adobe.cq.commerce.core.components.internal.utils.VersionHistoryUtils;
+import com.adobe.cq.commerce.core.components.services.ComponentsConfiguration;
+import com.adobe.cq.wcm.launches.utils.LaunchUtils;
+
+/**
+ * Caches the {@link ComponentsConfiguration} returned by the {@link ComponentsConfigurationAdapterFactory} by the context path of
+ * the adapted resource. All resources sharing the same context path resolve the same context-aware configuration.
+ * <p>
+ * The cache has two layers. The request layer is bound to the request thread by this component acting as a request filter. It
+ * guarantees that all components of a request see the same configuration. The shared layer is a size limited LRU cache whose
+ * entries expire after a configurable time. It is cleared when any resource under <code>/conf</code> changes.
+ */
+@Component(
+    service = { ComponentsConfigurationCache.class, ResourceChangeListener.class, Filter.class },
+    property = {
+        ResourceChangeListener.PATHS + "=/conf",
+        ResourceChangeListener.CHANGES + "=ADDED",
+        ResourceChangeListener.CHANGES + "=CHANGED",
+        ResourceChangeListener.CHANGES + "=REMOVED",
+        EngineConstants.SLING_FILTER_SCOPE + "=" + EngineConstants.FILTER_SCOPE_REQUEST,
+        Constants.SERVICE_RANKING + ":Integer=10000"
+    })
+@Designate(ocd = ComponentsConfigurationCache.Configuration.class)
+public class ComponentsConfigurationCache implements ResourceChangeListener, ExternalResourceChangeListener, Filter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ComponentsConfigurationCache.class);
+    private static final ThreadLocal<Map<String, ComponentsConfiguration>> REQUEST_CACHE = new ThreadLocal<>();
+
+    @ObjectClassDefinition(name = "CIF Components Configuration Cache")
+    @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Enabled",
+            description = "If enabled, the context-aware commerce configuration is cached by configuration context path. Defaults to "
+                + "true")
+        boolean enabled() default true;
+
+        @AttributeDefinition(
+            name = "Maximum size",
+            description = "The maximum number of configuration context paths kept in the shared cache. Defaults to 1000")
+        int maxSize() default 1000;
+
+        @AttributeDefinition(
+            name = "Time to live",
+            description = "The number of seconds a configuration is kept in the shared cache. Changes under /conf invalidate the cache "
+                + "immediately, the time to live covers changes of the configuration references on the content. Defaults to 60")
+        long ttl() default 60;
+    }
+
+    @Reference
+    private ConfigurationResourceResolver configurationResourceResolver;
+
+    private boolean enabled;
+    private long ttlMillis;
+    private Map<String, Entry> sharedCache;
+    LongSupplier clock = System::currentTimeMillis;
+
+    @Activate
+    protected void activate(Configuration configuration) {
+        enabled = configuration.enabled();
+        ttlMillis = configuration.ttl() * 1000;
+        int maxSize = Math.max(1, configuration.maxSize());
+        sharedCache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the key the configuration of the given resource is cached with, or {@code null} if the configuration of the resource
+     * must not be cached. This is the case for resources in AEM Launches or the version history, which are resolved to other
+     * resources by the {@link ComponentsConfigurationAdapterFactory}, and for resources without a configuration context.
+     *
+     * @param resource the adapted resource
+     * @return the cache key or {@code null}
+     */
+    String getCacheKey(Resource resource) {
+        if (!enabled || LaunchUtils.isLaunchBasedPath(resource.getPath()) || VersionHistoryUtils.isVersionPreviewResource(resource)) {
+            return null;
+        }
+        return configurationResourceResolver.getContextPath(resource);
+    }
+
+    ComponentsConfiguration get(String key) {
+        Map<String, ComponentsConfiguration> requestCache = REQUEST_CACHE.get();
+        ComponentsConfiguration configuration = requestCache != null ? requestCache.get(key) : null;
+        if (configuration != null) {
+            return configuration;
+        }
+
+        synchronized (sharedCache) {
+            Entry entry = sharedCache.get(key);
+            if (entry != null) {
+                if (entry.expires > clock.getAsLong()) {
+                    configuration = entry.configuration;
+                } else {
+                    sharedCache.remove(key);
+                }
+            }
+        }
+
+        if (configuration != null && requestCache != null) {
+            requestCache.put(key, configuration);
+        }
+        return configuration;
+    }
+
+    void put(String key, ComponentsConfiguration configuration) {
+        Map<String, ComponentsConfiguration> requestCache = REQUEST_CACHE.get();
+        if (requestCache != null) {
+            requestCache.put(key, configuration);
+        }
+        synchronized (sharedCache) {
+            sharedCache.put(key, new Entry(configuration, clock.getAsLong() + ttlMillis));
+        }
+    }
+
+    @Override
+    public void onChange(List<ResourceChange> changes) {
+        LOGGER.debug("{} configuration changes, clear the components configuration cache", changes.size());
+        synchronized (sharedCache) {
+            sharedCache.clear();
+        }
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {}
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (!enabled || REQUEST_CACHE.get() != null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        REQUEST_CACHE.set(new HashMap<>());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            REQUEST_CACHE.remove();
+        }
+    }
+
+    @Override
+    public void destroy() {}
+
+    private static class Entry {
+        private final ComponentsConfiguration configuration;
+        private final long expires;
+
+        private Entry(ComponentsConfiguration configuration, long expires) {
+            this.configuration = configuration;
+            this.expires = expires;
+        }
+    }
+}
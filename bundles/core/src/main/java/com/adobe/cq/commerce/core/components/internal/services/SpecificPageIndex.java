@@ -0,0 +1,188 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.ValueMap;
+
+import com.adobe.cq.commerce.core.components.services.urls.CategoryUrlFormat;
+import com.adobe.cq.commerce.core.components.services.urls.ProductUrlFormat;
+import com.day.cq.wcm.api.Page;
+
+/**
+ * An immutable index of the specific pages below a generic product or category page. It maps the filter values of the specific
+ * pages to their position in a depth first traversal of the generic page, so that a lookup returns the same page as a traversal
+ * that tests each page, but without reading the properties of every page.
+ * <p>
+ * The index stores page paths only, it does not hold on to any {@link Page} or resource resolver.
+ */
+class SpecificPageIndex {
+
+    static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final List<String> paths = new ArrayList<>();
+    private final Map<String, Integer> productIdentifiers = new HashMap<>();
+    private final CategoryFilters productCategoryFilters = new CategoryFilters();
+    private final CategoryFilters categoryFilters = new CategoryFilters();
+    private final Map<String, Integer> categoryUids = new HashMap<>();
+
+    private SpecificPageIndex() {}
+
+    /**
+     * Builds the index for all specific pages below the given generic page.
+     *
+     * @param genericPage the generic product or category page
+     * @return the index
+     */
+    static SpecificPageIndex build(Page genericPage) {
+        SpecificPageIndex index = new SpecificPageIndex();
+        index.addChildren(genericPage);
+        return index;
+    }
+
+    private void addChildren(Page page) {
+        for (Iterator<Page> children = page.listChildren(); children.hasNext();) {
+            Page child = children.next();
+            // depth first traversal, children before their parent
+            addChildren(child);
+            add(child);
+        }
+    }
+
+    private void add(Page page) {
+        ValueMap properties = page.getProperties();
+        String[] selectorFilters = properties.get(SpecificPageStrategy.SELECTOR_FILTER_PROPERTY, String[].class);
+        String[] useForCategories = properties.get(SpecificPageStrategy.PN_USE_FOR_CATEGORIES, String[].class);
+
+        if (selectorFilters == null && useForCategories == null) {
+            return;
+        }
+
+        int ordinal = paths.size();
+        paths.add(page.getPath());
+        boolean includesSubCategories = properties.get(SpecificPageStrategy.INCLUDES_SUBCATEGORIES_PROPERTY, false);
+
+        // product pages
+        if (selectorFilters != null) {
+            for (String productIdentifier : selectorFilters) {
+                productIdentifiers.putIfAbsent(productIdentifier, ordinal);
+            }
+        }
+        if (useForCategories != null) {
+            for (String categoryUrlPath : useForCategories) {
+                productCategoryFilters.add(categoryUrlPath, includesSubCategories, ordinal);
+            }
+        }
+
+        // category pages
+        if (selectorFilters != null) {
+            String filterType = properties.get(SpecificPageStrategy.SELECTOR_FILTER_TYPE_PROPERTY, "uidAndUrlPath");
+            boolean uidAndUrlPath = filterType.equals("uidAndUrlPath");
+            for (String filter : selectorFilters) {
+                if (!uidAndUrlPath) {
+                    categoryFilters.add(filter, includesSubCategories, ordinal);
+                } else if (StringUtils.isNotEmpty(filter) && !StringUtils.contains(filter,
+                    SpecificPageStrategy.UID_AND_URL_PATH_SEPARATOR)) {
+                    // consider the filter to be both, url_path and uid
+                    categoryFilters.add(filter, includesSubCategories, ordinal);
+                    categoryUids.putIfAbsent(filter, ordinal);
+                } else {
+                    String uid = StringUtils.substringBefore(filter, SpecificPageStrategy.UID_AND_URL_PATH_SEPARATOR);
+                    if (StringUtils.isNotEmpty(uid)) {
+                        categoryUids.putIfAbsent(uid, ordinal);
+                    }
+                    String urlPath = StringUtils.substringAfter(filter, SpecificPageStrategy.UID_AND_URL_PATH_SEPARATOR);
+                    if (StringUtils.isNotEmpty(urlPath)) {
+                        categoryFilters.add(urlPath, includesSubCategories, ordinal);
+                    }
+                }
+            }
+        }
+    }
+
+    int size() {
+        return paths.size();
+    }
+
+    /**
+     * Returns the path of the first specific page for the given product parameters, or {@code null} if there is none.
+     */
+    String getSpecificPagePath(ProductUrlFormat.Params params) {
+        int match = Math.min(get(productIdentifiers, params.getUrlKey()), get(productIdentifiers, params.getSku()));
+        CategoryUrlFormat.Params categoryParams = params.getCategoryUrlParams();
+        match = Math.min(match, productCategoryFilters.match(categoryParams.getUrlPath(), categoryParams.getUrlKey()));
+        return match != NO_MATCH ? paths.get(match) : null;
+    }
+
+    /**
+     * Returns the path of the first specific page for the given category parameters, or {@code null} if there is none.
+     */
+    String getSpecificPagePath(CategoryUrlFormat.Params params) {
+        int match = categoryFilters.match(params.getUrlPath(), params.getUrlKey());
+        if (StringUtils.isNotEmpty(params.getUid())) {
+            match = Math.min(match, get(categoryUids, params.getUid()));
+        }
+        return match != NO_MATCH ? paths.get(match) : null;
+    }
+
+    private static int get(Map<String, Integer> map, String key) {
+        Integer ordinal = key != null ? map.get(key) : null;
+        return ordinal != null ? ordinal : NO_MATCH;
+    }
+
+    /**
+     * Category url_path filters indexed by exact url_path, by url_path prefix for filters that include sub categories and by
+     * url_key.
+     */
+    private static class CategoryFilters {
+        private final Map<String, Integer> urlPaths = new HashMap<>();
+        private final Map<String, Integer> urlPathPrefixes = new HashMap<>();
+        private final Map<String, Integer> urlKeys = new HashMap<>();
+
+        void add(String categoryUrlPath, boolean includesSubCategories, int ordinal) {
+            urlPaths.putIfAbsent(categoryUrlPath, ordinal);
+            if (includesSubCategories) {
+                urlPathPrefixes.putIfAbsent(categoryUrlPath, ordinal);
+            }
+            urlKeys.putIfAbsent(categoryUrlPath, ordinal);
+            String categoryUrlKey = StringUtils.substringAfterLast(categoryUrlPath, "/");
+            if (!categoryUrlKey.isEmpty()) {
+                urlKeys.putIfAbsent(categoryUrlKey, ordinal);
+            }
+        }
+
+        int match(String urlPath, String urlKey) {
+            int match = NO_MATCH;
+            if (StringUtils.isNotEmpty(urlPath)) {
+                match = get(urlPaths, urlPath);
+                // a filter including sub categories matches any url_path it is a parent of
+                for (int i = urlPath.indexOf('/'); i >= 0; i = urlPath.indexOf('/', i + 1)) {
+                    match = Math.min(match, get(urlPathPrefixes, urlPath.substring(0, i)));
+                }
+            }
+            if (StringUtils.isNotEmpty(urlKey)) {
+                match = Math.min(match, get(urlKeys, urlKey));
+            }
+            return match;
+        }
+    }
+}
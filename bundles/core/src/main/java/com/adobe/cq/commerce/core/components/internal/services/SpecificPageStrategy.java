@@ -18,18 +18,26 @@ package com.adobe.cq.commerce.core.components.internal.services;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.metatype.annotations.AttributeDefinition;
 import org.osgi.service.metatype.annotations.Designate;
 import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.adobe.cq.commerce.core.components.internal.services.site.SiteStructureImpl;
 import com.adobe.cq.commerce.core.components.internal.services.urlformats.UrlFormatBase;
@@ -37,23 +45,37 @@ import com.adobe.cq.commerce.core.components.models.common.SiteStructure;
 import com.adobe.cq.commerce.core.components.services.urls.CategoryUrlFormat;
 import com.adobe.cq.commerce.core.components.services.urls.ProductUrlFormat;
 import com.day.cq.wcm.api.Page;
+import com.day.cq.wcm.api.PageManager;
 
 /**
  * This Component is used by the {@link UrlProviderImpl} to get a specific page for a given product page. If it is not enabled the
  * {@link UrlProviderImpl} will not create links to specific pages.
+ * <p>
+ * The specific pages of each generic page are kept in a {@link SpecificPageIndex}, which is invalidated by resource changes. The
+ * indexes are kept per user, so that specific pages a user cannot read never hide those another user can read. The number of indexes
+ * is bounded, the least recently used ones are dropped first.
  */
-@Component(service = SpecificPageStrategy.class)
+@Component(
+    service = { SpecificPageStrategy.class, ResourceChangeListener.class },
+    property = {
+        ResourceChangeListener.PATHS + "=" + SpecificPageStrategy.INDEXED_ROOT,
+        ResourceChangeListener.CHANGES + "=ADDED",
+        ResourceChangeListener.CHANGES + "=CHANGED",
+        ResourceChangeListener.CHANGES + "=REMOVED"
+    })
 @Designate(ocd = SpecificPageStrategy.Configuration.class)
-public class SpecificPageStrategy {
+public class SpecificPageStrategy implements ResourceChangeListener, ExternalResourceChangeListener {
 
-    private static final String SELECTOR_FILTER_PROPERTY = "selectorFilter";
-    private static final String SELECTOR_FILTER_TYPE_PROPERTY = SELECTOR_FILTER_PROPERTY + "Type";
-    private static final String INCLUDES_SUBCATEGORIES_PROPERTY = "includesSubCategories";
-    private static final String UID_AND_URL_PATH_SEPARATOR = "|";
+    static final String SELECTOR_FILTER_PROPERTY = "selectorFilter";
+    static final String SELECTOR_FILTER_TYPE_PROPERTY = SELECTOR_FILTER_PROPERTY + "Type";
+    static final String INCLUDES_SUBCATEGORIES_PROPERTY = "includesSubCategories";
+    static final String UID_AND_URL_PATH_SEPARATOR = "|";
     /**
      * Same as {@link SpecificPageStrategy#SELECTOR_FILTER_PROPERTY} but used for product pages
      **/
-    private static final String PN_USE_FOR_CATEGORIES = "useForCategories";
+    static final String PN_USE_FOR_CATEGORIES = "useForCategories";
+    static final String INDEXED_ROOT = "/content";
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecificPageStrategy.class);
 
     @ObjectClassDefinition(name = "CIF URL Provider Specific Page Strategy")
     public @interface Configuration {
@@ -64,13 +86,51 @@ public class SpecificPageStrategy {
                 + "pages and return the path to it if available. If disabled, the CIF Url Provider will return the generic product page path "
                 + "in any case. Defaults to disabled")
         boolean generateSpecificPageUrls() default false;
+
+        @AttributeDefinition(
+            name = "Maximum number of indexes",
+            description = "The maximum number of specific page indexes kept for the generic pages and users. Defaults to 100")
+        int maxIndexes() default DEFAULT_MAX_INDEXES;
     }
 
+    static final int DEFAULT_MAX_INDEXES = 100;
+    // separates the generic page path from the user in the keys of the indexes, it is not allowed in JCR names
+    private static final char INDEX_KEY_SEPARATOR = '|';
+
     private boolean generateSpecificPageUrls;
+    private int maxIndexes = DEFAULT_MAX_INDEXES;
+    // the least recently used indexes by generic page path and user
+    private final Map<String, SpecificPageIndex> indexes = new LinkedHashMap<String, SpecificPageIndex>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SpecificPageIndex> eldest) {
+            return size() > maxIndexes;
+        }
+    };
+    private long generation;
 
     @Activate
     public void activate(Configuration configuration) {
         generateSpecificPageUrls = configuration.generateSpecificPageUrls();
+        synchronized (indexes) {
+            maxIndexes = Math.max(1, configuration.maxIndexes());
+            generation++;
+            indexes.clear();
+        }
+    }
+
+    @Override
+    public void onChange(List<ResourceChange> changes) {
+        synchronized (indexes) {
+            generation++;
+            for (ResourceChange change : changes) {
+                String path = change.getPath();
+                // drop the indexes of any generic page the changed resource is in, or which is in the changed resource
+                indexes.keySet().removeIf(key -> {
+                    String indexedPath = key.substring(0, key.indexOf(INDEX_KEY_SEPARATOR));
+                    return path.equals(indexedPath) || path.startsWith(indexedPath + "/") || indexedPath.startsWith(path + "/");
+                });
+            }
+        }
     }
 
     /**
@@ -114,7 +174,63 @@ public class SpecificPageStrategy {
         return traverse(page).filter(this::isSpecificPage);
     }
 
+    /**
+     * Returns the index of specific pages of the given generic page for the user of its resource resolver, or {@code null} if the
+     * generic page cannot be indexed. Indexes are created on first use and dropped when any resource below the generic page changes.
+     * Only pages below <code>/content</code> are indexed, as only those are observed for changes.
+     */
+    private SpecificPageIndex getIndex(Page page) {
+        if (page == null || !page.getPath().startsWith(INDEXED_ROOT + "/")) {
+            return null;
+        }
+        Resource resource = page.adaptTo(Resource.class);
+        String userId = resource != null ? resource.getResourceResolver().getUserID() : null;
+        String key = page.getPath() + INDEX_KEY_SEPARATOR + userId;
+
+        long buildGeneration;
+        synchronized (indexes) {
+            SpecificPageIndex index = indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            buildGeneration = generation;
+        }
+
+        // build outside of the lock, concurrent builds of the same index yield equal results
+        SpecificPageIndex index = SpecificPageIndex.build(page);
+        LOGGER.debug("Indexed {} specific pages below {} for {}", index.size(), page.getPath(), userId);
+
+        synchronized (indexes) {
+            // do not keep the index if changes were observed while building it
+            if (buildGeneration == generation) {
+                indexes.put(key, index);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Resolves the specific page path found in the index. If the page is not accessible anymore, {@code null} is returned and the
+     * caller falls back to traversing the generic page.
+     */
+    private Page getIndexedPage(Page page, String specificPagePath) {
+        PageManager pageManager = page.getPageManager();
+        return pageManager != null ? pageManager.getPage(specificPagePath) : null;
+    }
+
     public Page getSpecificPage(Page page, ProductUrlFormat.Params params) {
+        SpecificPageIndex index = getIndex(page);
+        if (index != null) {
+            String specificPagePath = index.getSpecificPagePath(params);
+            if (specificPagePath == null) {
+                return null;
+            }
+            Page specificPage = getIndexedPage(page, specificPagePath);
+            if (specificPage != null) {
+                return specificPage;
+            }
+        }
+
         return findSpecificPages(page)
             .filter(candidate -> isSpecificPageFor(candidate, params))
             .findFirst()
@@ -169,6 +285,18 @@ public class SpecificPageStrategy {
     }
 
     public Page getSpecificPage(Page page, CategoryUrlFormat.Params params) {
+        SpecificPageIndex index = getIndex(page);
+        if (index != null) {
+            String specificPagePath = index.getSpecificPagePath(params);
+            if (specificPagePath == null) {
+                return null;
+            }
+            Page specificPage = getIndexedPage(page, specificPagePath);
+            if (specificPage != null) {
+                return specificPage;
+            }
+        }
+
         return findSpecificPages(page)
             .filter(candidate -> isSpecificPageFor(candidate, params))
             .findFirst()
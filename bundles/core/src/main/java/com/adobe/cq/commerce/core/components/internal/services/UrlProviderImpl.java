@@ -15,9 +15,11 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.commerce.core.components.internal.services;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
@@ -88,6 +90,8 @@ public class UrlProviderImpl implements UrlProvider {
 
     static final String PN_PRODUCT_PAGE_URL_FORMAT = "productPageUrlFormat";
     static final String PN_CATEGORY_PAGE_URL_FORMAT = "categoryPageUrlFormat";
+    static final String ATTR_PRODUCT_URL_FORMATS = UrlProviderImpl.class.getName() + ".productUrlFormats";
+    static final String ATTR_CATEGORY_URL_FORMATS = UrlProviderImpl.class.getName() + ".categoryUrlFormats";
 
     /**
      * A {@link Map} of default patterns for product pages supported by the default
@@ -152,11 +156,15 @@ public class UrlProviderImpl implements UrlProvider {
     private PageManagerFactory pageManagerFactory;
     @Reference
     private SiteStructureFactory siteStructureFactory;
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private CatalogIdentifierCache catalogIdentifierCache;
 
     private boolean enableContextAwareProductUrls;
 
     private ProductUrlFormat systemDefaultProductUrlFormat;
     private CategoryUrlFormat systemDefaultCategoryUrlFormat;
+    private Map<String, ProductUrlFormat> productUrlFormatsByName;
+    private Map<String, CategoryUrlFormat> categoryUrlFormatsByName;
 
     @Activate
     public void activate(UrlProviderConfiguration conf) {
@@ -182,6 +190,11 @@ public class UrlProviderImpl implements UrlProvider {
             systemDefaultCategoryUrlFormat = newCategoryUrlFormat.get(0);
         }
 
+        productUrlFormatsByName = indexUrlFormats(DEFAULT_PRODUCT_URL_FORMATS, productPageUrlFormat, newProductUrlFormat,
+            ProductPageUrlFormatAdapter::new);
+        categoryUrlFormatsByName = indexUrlFormats(DEFAULT_CATEGORY_URL_FORMATS, categoryPageUrlFormat, newCategoryUrlFormat,
+            CategoryPageUrlFormatAdapter::new);
+
         enableContextAwareProductUrls = conf.enableContextAwareProductUrls();
     }
 
@@ -193,11 +206,40 @@ public class UrlProviderImpl implements UrlProvider {
         newCategoryUrlFormat = null;
         systemDefaultCategoryUrlFormat = null;
         systemDefaultProductUrlFormat = null;
+        productUrlFormatsByName = null;
+        categoryUrlFormatsByName = null;
     }
 
+    /**
+     * Returns a map of the given formats by their names. The default formats take precedence over the new formats, which take
+     * precedence over the legacy formats. For formats of the same class the first one wins.
+     */
+    private static <T> Map<String, T> indexUrlFormats(Map<String, T> defaultUrlFormats, List<UrlFormat> urlFormats,
+        List<T> newUrlFormats, Function<UrlFormat, T> adapter) {
+        Map<String, T> urlFormatsByName = new HashMap<>(defaultUrlFormats);
+        if (newUrlFormats != null) {
+            for (T newUrlFormat : newUrlFormats) {
+                urlFormatsByName.putIfAbsent(newUrlFormat.getClass().getName(), newUrlFormat);
+            }
+        }
+        if (urlFormats != null) {
+            for (UrlFormat legacyUrlFormat : urlFormats) {
+                if (!urlFormatsByName.containsKey(legacyUrlFormat.getClass().getName())) {
+                    urlFormatsByName.put(legacyUrlFormat.getClass().getName(), adapter.apply(legacyUrlFormat));
+                }
+            }
+        }
+        return urlFormatsByName;
+    }
+
+    /**
+     * Returns the url format configured for the given page, or the request's resource if no page is given. The format is memoized in
+     * the given request attribute by the path of the resource the configuration is read from, so that it is resolved only once per
+     * request even if many urls are generated.
+     */
+    @SuppressWarnings("unchecked")
     private static <T> T getUrlFormatFromContext(SlingHttpServletRequest request, Page page, String propertyName,
-        Map<String, T> defaultUrlFormats, T defaultUrlFormat, List<UrlFormat> urlFormats, List<T> newUrlFormats,
-        Function<UrlFormat, T> adapter) {
+        String attributeName, Map<String, T> urlFormatsByName, T defaultUrlFormat) {
 
         if (request == null && page == null) {
             throw new IllegalArgumentException("The request and the page parameters cannot both be null");
@@ -205,52 +247,45 @@ public class UrlProviderImpl implements UrlProvider {
 
         Resource resource = page != null ? page.getContentResource() : request.getResource();
 
+        SelectedUrlFormats<T> selectedUrlFormats = null;
+        if (request != null) {
+            selectedUrlFormats = (SelectedUrlFormats<T>) request.getAttribute(attributeName);
+            // discard formats selected before the component was activated again
+            if (selectedUrlFormats == null || selectedUrlFormats.urlFormatsByName != urlFormatsByName) {
+                selectedUrlFormats = new SelectedUrlFormats<>(urlFormatsByName);
+                request.setAttribute(attributeName, selectedUrlFormats);
+            }
+            T urlFormat = selectedUrlFormats.byResourcePath.get(resource.getPath());
+            if (urlFormat != null) {
+                return urlFormat;
+            }
+        }
+
+        T urlFormat = defaultUrlFormat;
         ComponentsConfiguration properties = resource.adaptTo(ComponentsConfiguration.class);
 
         if (properties != null) {
             String formatPattern = properties.get(propertyName, String.class);
 
             if (StringUtils.isNotBlank(formatPattern)) {
-                if (defaultUrlFormats.containsKey(formatPattern)) {
-                    return defaultUrlFormats.get(formatPattern);
-                }
-
-                // find a new format if applicable
-                for (T newUrlFormat : newUrlFormats) {
-                    if (newUrlFormat.getClass().getName().equals(formatPattern)) {
-                        return newUrlFormat;
-                    }
-                }
-
-                // try to find legacy pattern
-                for (UrlFormat legacyUrlFormat : urlFormats) {
-                    if (legacyUrlFormat.getClass().getName().equals(formatPattern)) {
-                        return adapter.apply(legacyUrlFormat);
-                    }
-                }
+                urlFormat = urlFormatsByName.getOrDefault(formatPattern, defaultUrlFormat);
             }
         }
 
-        return defaultUrlFormat;
-    }
-
-    private ProductUrlFormat getProductUrlFormatFromContext(Page page) {
-        return getProductUrlFormatFromContext(null, page);
+        if (selectedUrlFormats != null) {
+            selectedUrlFormats.byResourcePath.put(resource.getPath(), urlFormat);
+        }
+        return urlFormat;
     }
 
     private ProductUrlFormat getProductUrlFormatFromContext(SlingHttpServletRequest request, Page page) {
-        return getUrlFormatFromContext(request, page, PN_PRODUCT_PAGE_URL_FORMAT, DEFAULT_PRODUCT_URL_FORMATS,
-            systemDefaultProductUrlFormat, productPageUrlFormat, newProductUrlFormat, ProductPageUrlFormatAdapter::new);
-    }
-
-    private CategoryUrlFormat getCategoryUrlFormatFromContext(Page page) {
-        return getCategoryUrlFormatFromContext(null, page);
+        return getUrlFormatFromContext(request, page, PN_PRODUCT_PAGE_URL_FORMAT, ATTR_PRODUCT_URL_FORMATS, productUrlFormatsByName,
+            systemDefaultProductUrlFormat);
     }
 
     private CategoryUrlFormat getCategoryUrlFormatFromContext(SlingHttpServletRequest request, Page page) {
-        return getUrlFormatFromContext(request, page, PN_CATEGORY_PAGE_URL_FORMAT, DEFAULT_CATEGORY_URL_FORMATS,
-            systemDefaultCategoryUrlFormat, categoryPageUrlFormat, newCategoryUrlFormat,
-            CategoryPageUrlFormatAdapter::new);
+        return getUrlFormatFromContext(request, page, PN_CATEGORY_PAGE_URL_FORMAT, ATTR_CATEGORY_URL_FORMATS, categoryUrlFormatsByName,
+            systemDefaultCategoryUrlFormat);
     }
 
     @Override
@@ -262,9 +297,7 @@ public class UrlProviderImpl implements UrlProvider {
     public String toProductUrl(SlingHttpServletRequest request, Page page, String productIdentifier) {
         ProductUrlFormat.Params params = null;
         if (StringUtils.isNotBlank(productIdentifier)) {
-            // assume that any other format then the ProductPageWithSku requires more
-            // parameters
-            if (!(getProductUrlFormatFromContext(request, page) instanceof ProductPageWithSku)) {
+            if (requiresProductData(request, page)) {
                 MagentoGraphqlClient magentoGraphqlClient = request.adaptTo(MagentoGraphqlClient.class);
                 if (magentoGraphqlClient != null) {
                     ProductUrlParameterRetriever retriever = new ProductUrlParameterRetriever(magentoGraphqlClient);
@@ -288,45 +321,41 @@ public class UrlProviderImpl implements UrlProvider {
         return toProductUrl(request, page, params);
     }
 
+    /**
+     * Returns true when the product url format of the given page requires more parameters than the sku, which have to be fetched from
+     * the backend.
+     */
+    boolean requiresProductData(SlingHttpServletRequest request, Page page) {
+        // assume that any other format then the ProductPageWithSku requires more parameters
+        return !(getProductUrlFormatFromContext(request, page) instanceof ProductPageWithSku);
+    }
+
     @Override
     public String toProductUrl(@Nullable SlingHttpServletRequest request, Page givenPage, ProductUrlFormat.Params params) {
+        return toProductUrl(new ProductUrlContext(request, givenPage), params);
+    }
+
+    @Override
+    public List<String> toProductUrls(@Nullable SlingHttpServletRequest request, @Nullable Page givenPage,
+        List<ProductUrlFormat.Params> params) {
+        ProductUrlContext context = new ProductUrlContext(request, givenPage);
+        List<String> urls = new ArrayList<>(params.size());
+        for (ProductUrlFormat.Params productParams : params) {
+            urls.add(toProductUrl(context, productParams));
+        }
+        return urls;
+    }
+
+    private String toProductUrl(ProductUrlContext context, ProductUrlFormat.Params params) {
         ProductUrlFormat.Params copy = new ProductUrlFormat.Params(params);
-        ProductUrlFormat productUrlFormat = getProductUrlFormatFromContext(request, givenPage);
-        SiteStructure siteStructure = null;
+        ProductUrlFormat productUrlFormat = context.productUrlFormat;
 
         if (enableContextAwareProductUrls) {
             if (params.getCategoryUrlParams().getUrlKey() == null && params.getCategoryUrlParams().getUrlPath() == null) {
-                siteStructure = siteStructureFactory.getSiteStructure(request, givenPage);
-                // if there is no category context given for the product parameters, try to retain them from the current page. That may be a
-                // product page or a category page. Both may encode the category context in the url. A use case for that would be for
-                // example
-                // a related products component on a product page, that does not know about the category context but should link to related
-                // products in the same category if applicable.
-
-                // TODO: target to be refactored with 3.0 (CIF-2634)
-                // currently the UrlProvider accepts a page parameter, which is a product page according to SiteNavigation#getProductPage
-                // for all CIF Components. It would be more helpful if this is actually the currentPage as we can select the product page
-                // from there anyway. This will be a breaking change.
-                SlingBindings slingBindings = request != null ? (SlingBindings) request.getAttribute(SlingBindings.class.getName()) : null;
-                String categoryUrlKey = null;
-                String categoryUrlPath = null;
-                if (slingBindings != null) {
-                    Page currentPage = (Page) slingBindings.get(WCMBindingsConstants.NAME_CURRENT_PAGE);
-                    if (currentPage != null) {
-                        if (siteStructure.isProductPage(currentPage)) {
-                            ProductUrlFormat.Params parseParams = parseProductUrlFormatParameters(request);
-                            categoryUrlKey = parseParams.getCategoryUrlParams().getUrlKey();
-                            categoryUrlPath = parseParams.getCategoryUrlParams().getUrlPath();
-                        } else if (siteStructure.isCategoryPage(currentPage)) {
-                            CategoryUrlFormat.Params parsedParams = parseCategoryUrlFormatParameters(request);
-                            categoryUrlKey = parsedParams.getUrlKey();
-                            categoryUrlPath = parsedParams.getUrlPath();
-                        }
-                    }
-                }
-                if (categoryUrlKey != null || categoryUrlPath != null) {
-                    copy.getCategoryUrlParams().setUrlKey(categoryUrlKey);
-                    copy.getCategoryUrlParams().setUrlPath(categoryUrlPath);
+                CategoryUrlFormat.Params categoryContext = context.getCategoryContext();
+                if (categoryContext != null) {
+                    copy.getCategoryUrlParams().setUrlKey(categoryContext.getUrlKey());
+                    copy.getCategoryUrlParams().setUrlPath(categoryContext.getUrlPath());
                 }
             }
         } else {
@@ -338,13 +367,11 @@ public class UrlProviderImpl implements UrlProvider {
             }
         }
 
-        if (givenPage != null) {
-            if (siteStructure == null) {
-                siteStructure = siteStructureFactory.getSiteStructure(request, givenPage);
-            }
-
-            Pair<Page, ProductUrlFormat> pair = getSpecificPageAndFormat(siteStructure, copy,
-                this::getProductUrlFormatFromContext, specificPageStrategy::getGenericPage, specificPageStrategy::getSpecificPage);
+        if (context.page != null) {
+            SlingHttpServletRequest request = context.request;
+            Pair<Page, ProductUrlFormat> pair = getSpecificPageAndFormat(context.getSiteStructure(), copy,
+                page -> getProductUrlFormatFromContext(request, page), specificPageStrategy::getGenericPage,
+                specificPageStrategy::getSpecificPage);
 
             if (pair != null) {
                 Page specificPage = pair.getLeft();
@@ -415,9 +442,15 @@ public class UrlProviderImpl implements UrlProvider {
      */
     protected Pair<CategoryUrlFormat, CategoryUrlFormat.Params> getSpecificPageFormatAndParams(SlingHttpServletRequest request,
         CategoryUrlFormat categoryUrlFormat, @Nullable Page givenPage, CategoryUrlFormat.Params params) {
-        SiteStructure siteStructure = siteStructureFactory.getSiteStructure(request, givenPage);
+        return getSpecificPageFormatAndParams(request, categoryUrlFormat, siteStructureFactory.getSiteStructure(request, givenPage),
+            params);
+    }
+
+    private Pair<CategoryUrlFormat, CategoryUrlFormat.Params> getSpecificPageFormatAndParams(SlingHttpServletRequest request,
+        CategoryUrlFormat categoryUrlFormat, SiteStructure siteStructure, CategoryUrlFormat.Params params) {
         Pair<Page, CategoryUrlFormat> pair = getSpecificPageAndFormat(siteStructure, params,
-            this::getCategoryUrlFormatFromContext, specificPageStrategy::getGenericPage, specificPageStrategy::getSpecificPage);
+            page -> getCategoryUrlFormatFromContext(request, page), specificPageStrategy::getGenericPage,
+            specificPageStrategy::getSpecificPage);
 
         if (pair != null) {
             Page specificPage = pair.getLeft();
@@ -434,10 +467,15 @@ public class UrlProviderImpl implements UrlProvider {
     @Override
     public String toCategoryUrl(SlingHttpServletRequest request, @Nullable Page givenPage, CategoryUrlFormat.Params params) {
         CategoryUrlFormat categoryUrlFormat = getCategoryUrlFormatFromContext(request, givenPage);
+        SiteStructure siteStructure = givenPage != null ? siteStructureFactory.getSiteStructure(request, givenPage) : null;
+        return toCategoryUrl(request, categoryUrlFormat, siteStructure, params);
+    }
 
-        if (givenPage != null) {
-            Pair<CategoryUrlFormat, CategoryUrlFormat.Params> pair = getSpecificPageFormatAndParams(request, categoryUrlFormat, givenPage,
-                params);
+    private String toCategoryUrl(SlingHttpServletRequest request, CategoryUrlFormat categoryUrlFormat,
+        @Nullable SiteStructure siteStructure, CategoryUrlFormat.Params params) {
+        if (siteStructure != null) {
+            Pair<CategoryUrlFormat, CategoryUrlFormat.Params> pair = getSpecificPageFormatAndParams(request, categoryUrlFormat,
+                siteStructure, params);
             categoryUrlFormat = pair.getLeft();
             params = pair.getRight();
         }
@@ -448,6 +486,23 @@ public class UrlProviderImpl implements UrlProvider {
     @Override
     public String formatCategoryUrl(SlingHttpServletRequest request, @Nullable Page givenPage, CategoryUrlFormat.Params params) {
         CategoryUrlFormat categoryUrlFormat = getCategoryUrlFormatFromContext(request, givenPage);
+        SiteStructure siteStructure = givenPage != null ? siteStructureFactory.getSiteStructure(request, givenPage) : null;
+        return formatCategoryUrl(request, categoryUrlFormat, siteStructure, params);
+    }
+
+    @Override
+    public List<String> toCategoryUrls(SlingHttpServletRequest request, @Nullable Page givenPage, List<CategoryUrlFormat.Params> params) {
+        CategoryUrlFormat categoryUrlFormat = getCategoryUrlFormatFromContext(request, givenPage);
+        SiteStructure siteStructure = givenPage != null ? siteStructureFactory.getSiteStructure(request, givenPage) : null;
+        List<String> urls = new ArrayList<>(params.size());
+        for (CategoryUrlFormat.Params categoryParams : params) {
+            urls.add(formatCategoryUrl(request, categoryUrlFormat, siteStructure, categoryParams));
+        }
+        return urls;
+    }
+
+    private String formatCategoryUrl(SlingHttpServletRequest request, CategoryUrlFormat categoryUrlFormat,
+        @Nullable SiteStructure siteStructure, CategoryUrlFormat.Params params) {
         String categoryIdentifier = StringUtils.isNotEmpty(params.getUid()) ? params.getUid() : params.getUrlKey();
         boolean urlPathFlag = false;
 
@@ -474,9 +529,9 @@ public class UrlProviderImpl implements UrlProvider {
                 params.setUrlKey(category.getUrlKey());
             }
         }
-        if (givenPage != null) {
-            Pair<CategoryUrlFormat, CategoryUrlFormat.Params> pair = getSpecificPageFormatAndParams(request, categoryUrlFormat, givenPage,
-                params);
+        if (siteStructure != null) {
+            Pair<CategoryUrlFormat, CategoryUrlFormat.Params> pair = getSpecificPageFormatAndParams(request, categoryUrlFormat,
+                siteStructure, params);
             categoryUrlFormat = pair.getLeft();
             params = pair.getRight();
         }
@@ -547,10 +602,16 @@ public class UrlProviderImpl implements UrlProvider {
             // (url_key)
             MagentoGraphqlClient magentoGraphqlClient = request.adaptTo(MagentoGraphqlClient.class);
             if (magentoGraphqlClient != null) {
-                UrlToProductRetriever productRetriever = new UrlToProductRetriever(magentoGraphqlClient);
-                productRetriever.setIdentifier(productIdentifiers.getUrlKey());
-                ProductInterface product = productRetriever.fetchProduct();
-                identifier = product != null ? product.getSku() : null;
+                identifier = getCachedIdentifier(magentoGraphqlClient, CatalogIdentifierCache.Type.PRODUCT_URL_KEY,
+                    productIdentifiers.getUrlKey());
+                if (identifier == null) {
+                    UrlToProductRetriever productRetriever = new UrlToProductRetriever(magentoGraphqlClient);
+                    productRetriever.setIdentifier(productIdentifiers.getUrlKey());
+                    ProductInterface product = productRetriever.fetchProduct();
+                    identifier = product != null ? product.getSku() : null;
+                    cacheIdentifier(magentoGraphqlClient, CatalogIdentifierCache.Type.PRODUCT_URL_KEY,
+                        productIdentifiers.getUrlKey(), identifier);
+                }
             } else {
                 LOGGER.warn("No backend GraphQL client provided, cannot retrieve product identifier for {}",
                     request.getRequestURL()
@@ -612,17 +673,28 @@ public class UrlProviderImpl implements UrlProvider {
             }
 
             UrlToCategoryRetriever categoryRetriever = null;
+            CatalogIdentifierCache.Type type = null;
+            String value = null;
 
             if (StringUtils.isNotEmpty(categoryIdentifiers.getUrlPath())) {
                 categoryRetriever = new UrlToCategoryRetriever.ByUrlPath(magentoGraphqlClient);
-                categoryRetriever.setIdentifier(categoryIdentifiers.getUrlPath());
+                type = CatalogIdentifierCache.Type.CATEGORY_URL_PATH;
+                value = categoryIdentifiers.getUrlPath();
             } else if (StringUtils.isNotEmpty(categoryIdentifiers.getUrlKey())) {
                 categoryRetriever = new UrlToCategoryRetriever.ByUrlKey(magentoGraphqlClient);
-                categoryRetriever.setIdentifier(categoryIdentifiers.getUrlKey());
+                type = CatalogIdentifierCache.Type.CATEGORY_URL_KEY;
+                value = categoryIdentifiers.getUrlKey();
             }
 
-            CategoryInterface category = categoryRetriever != null ? categoryRetriever.fetchCategory() : null;
-            identifier = category != null ? category.getUid().toString() : null;
+            if (categoryRetriever != null) {
+                identifier = getCachedIdentifier(magentoGraphqlClient, type, value);
+                if (identifier == null) {
+                    categoryRetriever.setIdentifier(value);
+                    CategoryInterface category = categoryRetriever.fetchCategory();
+                    identifier = category != null ? category.getUid().toString() : null;
+                    cacheIdentifier(magentoGraphqlClient, type, value, identifier);
+                }
+            }
         }
 
         if (identifier != null) {
@@ -632,6 +704,20 @@ public class UrlProviderImpl implements UrlProvider {
         return identifier;
     }
 
+    private String getCachedIdentifier(MagentoGraphqlClient client, CatalogIdentifierCache.Type type, String value) {
+        CatalogIdentifierCache cache = catalogIdentifierCache;
+        CatalogIdentifierCache.Scope scope = cache != null ? cache.getScope(client) : null;
+        return scope != null ? cache.get(scope, type, value) : null;
+    }
+
+    private void cacheIdentifier(MagentoGraphqlClient client, CatalogIdentifierCache.Type type, String value, String identifier) {
+        CatalogIdentifierCache cache = catalogIdentifierCache;
+        CatalogIdentifierCache.Scope scope = cache != null && identifier != null ? cache.getScope(client) : null;
+        if (scope != null) {
+            cache.put(scope, type, value, identifier);
+        }
+    }
+
     @Override
     public UnaryOperator<CategoryFilterInput> getCategoryFilterHook(SlingHttpServletRequest request) {
         Page page = getCurrentPage(request);
@@ -724,4 +810,84 @@ public class UrlProviderImpl implements UrlProvider {
 
         return page;
     }
+
+    /**
+     * The context shared by the product urls generated for the same request and page. The site structure and the category context
+     * of the current page are resolved on first use only.
+     */
+    private class ProductUrlContext {
+        private final SlingHttpServletRequest request;
+        private final Page page;
+        private final ProductUrlFormat productUrlFormat;
+        private SiteStructure siteStructure;
+        private CategoryUrlFormat.Params categoryContext;
+        private boolean categoryContextResolved;
+
+        private ProductUrlContext(SlingHttpServletRequest request, Page page) {
+            this.request = request;
+            this.page = page;
+            this.productUrlFormat = getProductUrlFormatFromContext(request, page);
+        }
+
+        private SiteStructure getSiteStructure() {
+            if (siteStructure == null) {
+                siteStructure = siteStructureFactory.getSiteStructure(request, page);
+            }
+            return siteStructure;
+        }
+
+        /**
+         * Returns the category url_key and url_path encoded in the url of the current page, if it is a product or category page, or
+         * {@code null} otherwise.
+         */
+        private CategoryUrlFormat.Params getCategoryContext() {
+            if (!categoryContextResolved) {
+                categoryContextResolved = true;
+                // if there is no category context given for the product parameters, try to retain them from the current page. That may
+                // be a product page or a category page. Both may encode the category context in the url. A use case for that would be
+                // for example a related products component on a product page, that does not know about the category context but should
+                // link to related products in the same category if applicable.
+
+                // TODO: target to be refactored with 3.0 (CIF-2634)
+                // currently the UrlProvider accepts a page parameter, which is a product page according to SiteNavigation#getProductPage
+                // for all CIF Components. It would be more helpful if this is actually the currentPage as we can select the product page
+                // from there anyway. This will be a breaking change.
+                SlingBindings slingBindings = request != null ? (SlingBindings) request.getAttribute(SlingBindings.class.getName()) : null;
+                Page currentPage = slingBindings != null ? (Page) slingBindings.get(WCMBindingsConstants.NAME_CURRENT_PAGE) : null;
+                String categoryUrlKey = null;
+                String categoryUrlPath = null;
+                if (currentPage != null) {
+                    SiteStructure siteStructure = getSiteStructure();
+                    if (siteStructure.isProductPage(currentPage)) {
+                        ProductUrlFormat.Params parseParams = parseProductUrlFormatParameters(request);
+                        categoryUrlKey = parseParams.getCategoryUrlParams().getUrlKey();
+                        categoryUrlPath = parseParams.getCategoryUrlParams().getUrlPath();
+                    } else if (siteStructure.isCategoryPage(currentPage)) {
+                        CategoryUrlFormat.Params parsedParams = parseCategoryUrlFormatParameters(request);
+                        categoryUrlKey = parsedParams.getUrlKey();
+                        categoryUrlPath = parsedParams.getUrlPath();
+                    }
+                }
+                if (categoryUrlKey != null || categoryUrlPath != null) {
+                    categoryContext = new CategoryUrlFormat.Params();
+                    categoryContext.setUrlKey(categoryUrlKey);
+                    categoryContext.setUrlPath(categoryUrlPath);
+                }
+            }
+            return categoryContext;
+        }
+    }
+
+    /**
+     * The url formats selected during a request by the path of the resource their configuration was read from. Urls may be
+     * generated concurrently for the same request, see {@link ModelMappingExecutor}.
+     */
+    private static class SelectedUrlFormats<T> {
+        private final Map<String, T> urlFormatsByName;
+        private final Map<String, T> byResourcePath = new ConcurrentHashMap<>();
+
+        private SelectedUrlFormats(Map<String, T> urlFormatsByName) {
+            this.urlFormatsByName = urlFormatsByName;
+        }
+    }
 }
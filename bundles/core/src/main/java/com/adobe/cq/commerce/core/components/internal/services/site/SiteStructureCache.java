@@ -0,0 +1,158 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.services.site;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.commons.metrics.Timer;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.day.cq.wcm.api.Page;
+
+/**
+ * Shares {@link SiteStructureSnapshot}s of navigation roots across requests. A snapshot is built on first use and rebuilt after a
+ * change of the navigation root, its catalog pages or the referenced generic pages was observed.
+ * <p>
+ * Snapshots are kept per user, so that pages a user cannot read never become part of the user's site structure.
+ */
+@Component(
+    service = { SiteStructureCache.class, ResourceChangeListener.class },
+    property = {
+        ResourceChangeListener.PATHS + "=/content",
+        ResourceChangeListener.CHANGES + "=ADDED",
+        ResourceChangeListener.CHANGES + "=CHANGED",
+        ResourceChangeListener.CHANGES + "=REMOVED"
+    })
+@Designate(ocd = SiteStructureCache.Configuration.class)
+public class SiteStructureCache implements ResourceChangeListener, ExternalResourceChangeListener {
+
+    static final String METRIC_BUILD_COUNT = "cif.siteStructure.build.count";
+    static final String METRIC_BUILD_TIME = "cif.siteStructure.build.time";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SiteStructureCache.class);
+
+    @ObjectClassDefinition(name = "CIF Site Structure Cache")
+    @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Enabled",
+            description = "If enabled, the catalog pages of a navigation root are shared across requests. Defaults to true")
+        boolean enabled() default true;
+
+        @AttributeDefinition(
+            name = "Maximum size",
+            description = "The maximum number of navigation roots and users kept in the cache. Defaults to 100")
+        int maxSize() default 100;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private MetricsService metricsService;
+
+    private boolean enabled;
+    private Map<String, SiteStructureSnapshot> snapshots;
+    private long generation;
+    private Counter buildCount;
+    private Timer buildTime;
+
+    @Activate
+    protected void activate(Configuration configuration) {
+        enabled = configuration.enabled();
+        int maxSize = Math.max(1, configuration.maxSize());
+        snapshots = new LinkedHashMap<String, SiteStructureSnapshot>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SiteStructureSnapshot> eldest) {
+                return size() > maxSize;
+            }
+        };
+        MetricsService metrics = metricsService != null ? metricsService : MetricsService.NOOP;
+        buildCount = metrics.counter(METRIC_BUILD_COUNT);
+        buildTime = metrics.timer(METRIC_BUILD_TIME);
+    }
+
+    /**
+     * Returns the snapshot of the given navigation root for the user of its resource resolver, or {@code null} if the cache is
+     * disabled.
+     *
+     * @param navigationRoot the navigation root page
+     * @param isCatalogPage the predicate to select the catalog pages among the children of the navigation root
+     * @return the snapshot or {@code null}
+     */
+    SiteStructureSnapshot getSnapshot(Page navigationRoot, Predicate<Page> isCatalogPage) {
+        if (!enabled) {
+            return null;
+        }
+
+        Resource resource = navigationRoot.adaptTo(Resource.class);
+        String userId = resource != null ? resource.getResourceResolver().getUserID() : null;
+        String key = userId + ':' + navigationRoot.getPath();
+
+        long buildGeneration;
+        synchronized (snapshots) {
+            SiteStructureSnapshot snapshot = snapshots.get(key);
+            if (snapshot != null) {
+                return snapshot;
+            }
+            buildGeneration = generation;
+        }
+
+        // build outside of the lock, concurrent builds of the same snapshot yield equal results
+        SiteStructureSnapshot snapshot;
+        Timer.Context context = buildTime.time();
+        try {
+            snapshot = SiteStructureSnapshot.build(navigationRoot, isCatalogPage);
+        } finally {
+            context.stop();
+        }
+        buildCount.increment();
+        LOGGER.debug("Built site structure of {} with {} catalog pages", navigationRoot.getPath(), snapshot.getCatalogPagePaths().size());
+
+        synchronized (snapshots) {
+            // do not keep the snapshot if changes were observed while building it
+            if (buildGeneration == generation) {
+                snapshots.put(key, snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void onChange(List<ResourceChange> changes) {
+        synchronized (snapshots) {
+            generation++;
+            for (ResourceChange change : changes) {
+                snapshots.values().removeIf(snapshot -> snapshot.isAffectedBy(change.getPath()));
+            }
+        }
+    }
+}
@@ -24,6 +24,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +58,9 @@ public class SiteStructureFactory implements AdapterFactory {
     @Reference
     private PageManagerFactory pageManagerFactory;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private SiteStructureCache siteStructureCache;
+
     @Override
     public <AdapterType> @Nullable AdapterType getAdapter(@NotNull Object o, @NotNull Class<AdapterType> aClass) {
         if (SiteStructure.class.equals(aClass)) {
@@ -75,7 +80,7 @@ public class SiteStructureFactory implements AdapterFactory {
             currentPage = getCurrentPageForXf(currentPage);
         }
 
-        return new SiteStructureImpl(currentPage);
+        return new SiteStructureImpl(currentPage, siteStructureCache);
     }
 
     private SiteStructure getAdapter(Resource resource) {
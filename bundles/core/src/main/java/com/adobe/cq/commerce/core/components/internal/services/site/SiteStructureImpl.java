@@ -55,13 +55,20 @@ public class SiteStructureImpl implements SiteStructure {
 
     private final Page currentPage;
     private final Launch launch;
+    private final SiteStructureCache cache;
+    private SiteStructureSnapshot snapshot;
     private Entry searchResultsPage;
     private LinkedList<Entry> catalogPages;
     private final Map<String, List<Entry>> genericPages = new HashMap<>(2);
 
     SiteStructureImpl(Page currentPage) {
+        this(currentPage, null);
+    }
+
+    SiteStructureImpl(Page currentPage, SiteStructureCache cache) {
         this.currentPage = currentPage;
         this.launch = getLaunch(currentPage);
+        this.cache = cache;
     }
 
     @Override
@@ -192,6 +199,13 @@ public class SiteStructureImpl implements SiteStructure {
             return catalogPages;
         }
 
+        if (launch == null && cache != null) {
+            catalogPages = getCatalogPagesFromSnapshot();
+            if (catalogPages != null) {
+                return catalogPages;
+            }
+        }
+
         Page productionPage = currentPage;
         Page navigationRoot = null;
         Stream<Entry> catalogPagesStream = null;
@@ -240,7 +254,7 @@ public class SiteStructureImpl implements SiteStructure {
                     return catalogPage == null || catalogPageNames.add(catalogPage.getName());
                 });
 
-            return Stream.concat(distinctCatalogPagesStream, Stream.of(new EntryImpl(navigationRoot, null)))
+            catalogPages = Stream.concat(distinctCatalogPagesStream, Stream.of(new EntryImpl(navigationRoot, null)))
                 .collect(Collectors.toCollection(LinkedList::new));
         } else {
             LOG.debug("No navigation root found for: {}", currentPage.getPath());
@@ -250,6 +264,36 @@ public class SiteStructureImpl implements SiteStructure {
         return catalogPages;
     }
 
+    /**
+     * Returns the catalog pages from the shared {@link SiteStructureSnapshot} of the navigation root, or {@code null} if the
+     * {@link SiteStructureCache} is disabled.
+     *
+     * @return
+     */
+    private LinkedList<Entry> getCatalogPagesFromSnapshot() {
+        Page navigationRoot = findNavigationRoot(currentPage);
+        if (navigationRoot == null) {
+            LOG.debug("No navigation root found for: {}", currentPage.getPath());
+            return new LinkedList<>();
+        }
+
+        snapshot = cache.getSnapshot(navigationRoot, this::isCatalogPage);
+        if (snapshot == null) {
+            return null;
+        }
+
+        LinkedList<Entry> entries = new LinkedList<>();
+        PageManager pageManager = navigationRoot.getPageManager();
+        for (String catalogPagePath : snapshot.getCatalogPagePaths()) {
+            Page catalogPage = pageManager.getPage(catalogPagePath);
+            if (catalogPage != null) {
+                entries.add(new EntryImpl(catalogPage, catalogPage));
+            }
+        }
+        entries.add(new EntryImpl(navigationRoot, null));
+        return entries;
+    }
+
     /**
      * Gets the given referenceProperty from the properties of the given Page and resolves it to a Page. If the given page is in a Launch
      * the candidate is resolved within the Launch. If it does not exist in the Launch it will be resolved from the production content.
@@ -260,7 +304,9 @@ public class SiteStructureImpl implements SiteStructure {
      * @return
      */
     private Page resolveReference(Page page, Launch launch, String referenceProperty) {
-        String reference = page.getProperties().get(referenceProperty, String.class);
+        String reference = snapshot != null
+            ? snapshot.getReference(page.getPath(), referenceProperty)
+            : page.getProperties().get(referenceProperty, String.class);
 
         if (reference == null) {
             LOG.debug("reference property {} not set on catalog page: {}", referenceProperty, page.getPath());
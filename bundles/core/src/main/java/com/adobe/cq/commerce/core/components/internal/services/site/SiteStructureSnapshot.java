@@ -0,0 +1,131 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.services.site;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.apache.sling.api.resource.ValueMap;
+
+import com.day.cq.commons.jcr.JcrConstants;
+import com.day.cq.wcm.api.Page;
+import com.day.text.Text;
+
+/**
+ * An immutable snapshot of the catalog pages of a navigation root and of the generic page references configured on them. The snapshot
+ * keeps paths only, so that it can be shared by the {@link SiteStructureCache} across requests and resource resolvers.
+ */
+class SiteStructureSnapshot {
+
+    private static final String[] REFERENCE_PROPERTIES = {
+        SiteStructureImpl.PN_CIF_PRODUCT_PAGE,
+        SiteStructureImpl.PN_CIF_CATEGORY_PAGE,
+        SiteStructureImpl.PN_CIF_SEARCH_RESULTS_PAGE
+    };
+
+    private final String navigationRootPath;
+    private final List<String> catalogPagePaths;
+    private final Map<String, Map<String, String>> references;
+
+    private SiteStructureSnapshot(String navigationRootPath, List<String> catalogPagePaths, Map<String, Map<String, String>> references) {
+        this.navigationRootPath = navigationRootPath;
+        this.catalogPagePaths = Collections.unmodifiableList(catalogPagePaths);
+        this.references = references;
+    }
+
+    static SiteStructureSnapshot build(Page navigationRoot, Predicate<Page> isCatalogPage) {
+        List<String> catalogPagePaths = new ArrayList<>();
+        Map<String, Map<String, String>> references = new HashMap<>();
+
+        for (Iterator<Page> children = navigationRoot.listChildren(isCatalogPage::test); children.hasNext();) {
+            Page catalogPage = children.next();
+            catalogPagePaths.add(catalogPage.getPath());
+            references.put(catalogPage.getPath(), getReferences(catalogPage));
+        }
+        references.put(navigationRoot.getPath(), getReferences(navigationRoot));
+
+        return new SiteStructureSnapshot(navigationRoot.getPath(), catalogPagePaths, references);
+    }
+
+    private static Map<String, String> getReferences(Page page) {
+        ValueMap properties = page.getProperties();
+        Map<String, String> references = new HashMap<>(REFERENCE_PROPERTIES.length);
+        for (String referenceProperty : REFERENCE_PROPERTIES) {
+            String reference = properties.get(referenceProperty, String.class);
+            if (reference != null) {
+                references.put(referenceProperty, reference);
+            }
+        }
+        return references;
+    }
+
+    String getNavigationRootPath() {
+        return navigationRootPath;
+    }
+
+    /**
+     * Returns the paths of the catalog pages that are children of the navigation root, in the order of the children.
+     */
+    List<String> getCatalogPagePaths() {
+        return catalogPagePaths;
+    }
+
+    /**
+     * Returns the reference configured in the given property of either the navigation root or one of the catalog pages, or
+     * {@code null} if the page is not part of the snapshot or does not have the reference set.
+     */
+    String getReference(String pagePath, String referenceProperty) {
+        Map<String, String> pageReferences = references.get(pagePath);
+        return pageReferences != null ? pageReferences.get(referenceProperty) : null;
+    }
+
+    /**
+     * Returns {@code true} if a change of the resource at the given path may change the snapshot. This is the case for changes of the
+     * navigation root, its ancestors, its direct children and their content resources as well as for changes of the referenced pages.
+     * Changes of any other descendants of the navigation root do not affect the snapshot.
+     *
+     * @param path the path of the changed resource
+     * @return {@code true} if the snapshot must be rebuilt
+     */
+    boolean isAffectedBy(String path) {
+        if (Text.isDescendantOrEqual(path, navigationRootPath)) {
+            return true;
+        }
+
+        if (Text.isDescendant(navigationRootPath, path)) {
+            String[] segments = path.substring(navigationRootPath.length() + 1).split("/");
+            // a child of the navigation root, or the content resource of a child holding its properties
+            if (segments.length == 1 || (segments.length == 2 && JcrConstants.JCR_CONTENT.equals(segments[1]))) {
+                return true;
+            }
+        }
+
+        for (Map<String, String> pageReferences : references.values()) {
+            for (String reference : pageReferences.values()) {
+                if (Text.isDescendantOrEqual(path, reference)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+}
@@ -15,12 +15,15 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.commerce.core.components.internal.services.sitemap;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -53,11 +56,11 @@ import com.adobe.cq.commerce.core.components.services.urls.CategoryUrlFormat;
 import com.adobe.cq.commerce.core.components.services.urls.UrlProvider;
 import com.adobe.cq.commerce.graphql.client.GraphqlResponse;
 import com.adobe.cq.commerce.magento.graphql.CategoryFilterInput;
-import com.adobe.cq.commerce.magento.graphql.CategoryResult;
 import com.adobe.cq.commerce.magento.graphql.CategoryTree;
 import com.adobe.cq.commerce.magento.graphql.FilterEqualTypeInput;
 import com.adobe.cq.commerce.magento.graphql.Operations;
 import com.adobe.cq.commerce.magento.graphql.Query;
+import com.adobe.cq.commerce.magento.graphql.QueryQuery;
 import com.adobe.cq.commerce.magento.graphql.QueryQueryDefinition;
 import com.adobe.cq.commerce.magento.graphql.gson.Error;
 import com.day.cq.wcm.api.Page;
@@ -80,8 +83,16 @@ public class CategoriesSitemapGenerator extends SitemapGeneratorBase implements
                 + "modified date to an url entry. This does not take into account any associated/referenced content on the category page nor "
                 + "the last modified date know to AEM.")
         boolean enableLastModified() default true;
+
+        @AttributeDefinition(
+            name = "Categories per Query",
+            description = "The maximum number of categories fetched with a single GraphQL query while traversing the category tree. "
+                + "Defaults to 20")
+        int categoriesPerQuery() default DEFAULT_CATEGORIES_PER_QUERY;
     }
 
+    static final int DEFAULT_CATEGORIES_PER_QUERY = 20;
+
     static final String PN_PENDING_CATEGORIES = "pendingCategories";
     static final String PN_MAGENTO_ROOT_CATEGORY_ID = "magentoRootCategoryId";
 
@@ -95,10 +106,12 @@ public class CategoriesSitemapGenerator extends SitemapGeneratorBase implements
     private SiteStructureFactory siteStructureFactory;
 
     private boolean addLastModified;
+    private int categoriesPerQuery;
 
     @Activate
     protected void activate(Configuration configuration) {
         this.addLastModified = configuration.enableLastModified();
+        this.categoriesPerQuery = Math.max(1, configuration.categoriesPerQuery());
     }
 
     @Override
@@ -125,23 +138,18 @@ public class CategoriesSitemapGenerator extends SitemapGeneratorBase implements
         Deque<String> categoryUids = new LinkedList<>(Arrays.asList(
             context.getProperty(PN_PENDING_CATEGORIES, new String[] { rootCategoryIdentifier })));
 
+        // categories fetched ahead of the traversal, a null value marks a category that was not returned
+        Map<String, CategoryTree> fetchedCategories = new HashMap<>();
+
         while (!categoryUids.isEmpty()) {
-            String categoryId = categoryUids.poll();
-            String query = Operations.query(categoryQueryFor(categoryId)).toString();
-            GraphqlResponse<Query, Error> resp = graphql.execute(query);
-
-            if (CollectionUtils.isNotEmpty(resp.getErrors())) {
-                SitemapException ex = new SitemapException("Failed to execute graphql query.");
-                resp.getErrors().forEach(error -> ex.addSuppressed(new Exception(error.getMessage())));
-                throw ex;
+            String categoryId = categoryUids.peek();
+            if (!fetchedCategories.containsKey(categoryId)) {
+                fetchCategories(graphql, categoryUids, fetchedCategories);
             }
+            categoryUids.poll();
+            CategoryTree category = fetchedCategories.remove(categoryId);
 
-            CategoryResult categories = resp.getData().getCategories();
-            // expected to be exactly one
-            Iterator<CategoryTree> it = categories.getItems().iterator();
-
-            if (it.hasNext()) {
-                CategoryTree category = it.next();
+            if (category != null) {
                 Stream<CategoryTree> children = category.getChildren().stream();
                 List<String> childUids = children.map(CategoryTree::getUid).map(ID::toString).collect(Collectors.toList());
 
@@ -169,19 +177,54 @@ public class CategoriesSitemapGenerator extends SitemapGeneratorBase implements
 
                 context.setProperty(PN_PENDING_CATEGORIES, categoryUids.toArray(new String[0]));
             }
+        }
+    }
+
+    /**
+     * Fetches the first categories of the given queue that were not fetched yet with a single query. As the queue is traversed depth
+     * first, the categories at the head of the queue are siblings or siblings of ancestors and so the number of queries depends on the
+     * number of levels and the number of siblings per level rather than the total number of categories.
+     */
+    private void fetchCategories(MagentoGraphqlClient graphql, Deque<String> categoryUids, Map<String, CategoryTree> fetchedCategories)
+        throws SitemapException {
+        List<String> uids = new ArrayList<>(categoriesPerQuery);
+        for (Iterator<String> it = categoryUids.iterator(); it.hasNext() && uids.size() < categoriesPerQuery;) {
+            String uid = it.next();
+            if (!fetchedCategories.containsKey(uid) && !uids.contains(uid)) {
+                uids.add(uid);
+            }
+        }
+
+        String query = Operations.query(categoryQueryFor(uids)).toString();
+        GraphqlResponse<Query, Error> resp = graphql.execute(query);
+
+        if (CollectionUtils.isNotEmpty(resp.getErrors())) {
+            SitemapException ex = new SitemapException("Failed to execute graphql query.");
+            resp.getErrors().forEach(error -> ex.addSuppressed(new Exception(error.getMessage())));
+            throw ex;
+        }
 
-            if (it.hasNext()) {
-                logger.warn("More the one category returned for '{}': {}", categoryId, it.next().getUrlPath());
+        uids.forEach(uid -> fetchedCategories.put(uid, null));
+        for (CategoryTree category : resp.getData().getCategories().getItems()) {
+            String uid = category.getUid().toString();
+            if (fetchedCategories.get(uid) != null) {
+                // expected to be exactly one
+                logger.warn("More the one category returned for '{}': {}", uid, category.getUrlPath());
+            } else if (uids.contains(uid)) {
+                fetchedCategories.put(uid, category);
             }
         }
     }
 
-    private QueryQueryDefinition categoryQueryFor(String categoryUid) {
+    private QueryQueryDefinition categoryQueryFor(List<String> categoryUids) {
+        // query a single category by eq to not depend on the default page size of the categories query
+        QueryQuery.CategoriesArgumentsDefinition arguments = categoryUids.size() == 1
+            ? args -> args.filters(new CategoryFilterInput().setCategoryUid(new FilterEqualTypeInput().setEq(categoryUids.get(0))))
+            : args -> args
+                .filters(new CategoryFilterInput().setCategoryUid(new FilterEqualTypeInput().setIn(categoryUids)))
+                .pageSize(categoryUids.size());
         return q -> q.categories(
-            arguments -> arguments
-                .filters(new CategoryFilterInput()
-                    .setCategoryUid(new FilterEqualTypeInput()
-                        .setEq(categoryUid))),
+            arguments,
             resultSet -> resultSet
                 .items(category -> {
                     category
@@ -15,9 +15,14 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.commerce.core.components.internal.services.sitemap;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -76,6 +81,12 @@ public class ProductsSitemapGenerator extends SitemapGeneratorBase implements Si
                 + "modified date to an url entry. This does not take into account any associated/referenced content on the product page nor "
                 + "the last modified date know to AEM.")
         boolean enableLastModified() default true;
+
+        @AttributeDefinition(
+            name = "Prefetched Pages",
+            description = "The number of pages to query ahead while the current page is added to the sitemap. The queries are executed "
+                + "concurrently if the CIF GraphQL Client Executor is configured. Set to 0 to query one page after the other. Defaults to 2")
+        int prefetchPages() default 2;
     }
 
     static final String PN_NEXT_PRODUCT = "nextProduct";
@@ -92,11 +103,13 @@ public class ProductsSitemapGenerator extends SitemapGeneratorBase implements Si
 
     private int pageSize;
     private boolean addLastModified;
+    private int prefetchPages;
 
     @Activate
     protected void activate(Configuration configuration) {
         this.pageSize = configuration.pageSize();
         this.addLastModified = configuration.enableLastModified();
+        this.prefetchPages = Math.max(0, configuration.prefetchPages());
     }
 
     @Override
@@ -121,9 +134,25 @@ public class ProductsSitemapGenerator extends SitemapGeneratorBase implements Si
         ResourceResolver resourceResolver = sitemapRoot.getResourceResolver();
         SitemapLinkExternalizer externalizer = externalizerProvider.getExternalizer(resourceResolver);
 
+        // pages requested but not yet processed, in order. the pages following the current page are only requested once the total
+        // number of pages is known
+        Deque<CompletableFuture<GraphqlResponse<Query, Error>>> requestedPages = new ArrayDeque<>(prefetchPages + 1);
+        int nextRequestedPageIndex = currentPageIndex;
+        boolean maxPagesKnown = false;
+
         while (currentPageIndex <= maxPages) {
-            String query = Operations.query(productsQueryFor(currentPageIndex, pageSize)).toString();
-            GraphqlResponse<Query, Error> resp = graphql.execute(query);
+            while (requestedPages.isEmpty()
+                || (maxPagesKnown && requestedPages.size() <= prefetchPages && nextRequestedPageIndex <= maxPages)) {
+                String query = Operations.query(productsQueryFor(nextRequestedPageIndex++, pageSize)).toString();
+                requestedPages.add(graphql.executeAsync(query));
+            }
+
+            GraphqlResponse<Query, Error> resp;
+            try {
+                resp = requestedPages.poll().join();
+            } catch (CompletionException | CancellationException ex) {
+                throw new SitemapException("Failed to execute graphql query.", ex);
+            }
 
             if (CollectionUtils.isNotEmpty(resp.getErrors())) {
                 SitemapException ex = new SitemapException("Failed to execute graphql query.");
@@ -139,6 +168,7 @@ public class ProductsSitemapGenerator extends SitemapGeneratorBase implements Si
                 // there is a fractional part of items on the last page
                 maxPages++;
             }
+            maxPagesKnown = true;
 
             for (int i = currentIndex; i < items.size(); i++) {
                 ProductInterface product = items.get(i);
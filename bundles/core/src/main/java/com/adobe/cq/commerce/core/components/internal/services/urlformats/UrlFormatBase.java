@@ -19,7 +19,6 @@ import java.util.List;
 
 import javax.annotation.Nullable;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.jackrabbit.JcrConstants;
 import org.apache.sling.api.resource.ResourceUtil;
@@ -127,31 +126,60 @@ public class UrlFormatBase {
             ? StringUtils.substringAfterLast(contextUrlPath, "/")
             : contextUrlKey;
         String[] contextParts = StringUtils.isNotEmpty(contextUrlPath) ? contextUrlPath.split("/") : null;
-        String[] candidateParts = new String[0];
+        String candidate = null;
+        int candidateSegments = 0;
         int candidateScore = 0;
 
+        // the alternatives are scanned segment by segment in place, this runs for every url generated and must not allocate per
+        // alternative
         for (String alternative : alternatives) {
-            if (StringUtils.isEmpty(alternative)) {
+            int length = trimmedLength(alternative);
+            if (length == 0) {
                 // skip null or empty strings
                 continue;
             }
-            String[] alternativeParts = alternative.split("/");
-            if (alternativeParts[alternativeParts.length - 1].equals(urlKey) || urlKey == null) {
-                int alternativeScore = matchesContext(contextUrlKey, contextParts, alternativeParts);
+            int lastSlash = alternative.lastIndexOf('/', length - 1);
+            if (urlKey == null || segmentEquals(alternative, lastSlash + 1, length, urlKey)) {
+                int alternativeSegments = countSegments(alternative, length);
+                int alternativeScore = matchesContext(contextUrlKey, contextParts, alternative, length);
                 if (alternativeScore > candidateScore
-                    || (alternativeScore == candidateScore && alternativeParts.length > candidateParts.length)) {
+                    || (alternativeScore == candidateScore && alternativeSegments > candidateSegments)) {
                     // only if the alternative matches more segments of the context, or when it matches the same number of times and
                     // has more segments than the current candidate.
                     candidateScore = alternativeScore;
-                    candidateParts = alternativeParts;
+                    candidateSegments = alternativeSegments;
+                    candidate = alternative.substring(0, length);
                 }
             }
         }
 
-        return candidateParts.length > 0 ? StringUtils.join(candidateParts, '/') : urlKey;
+        return candidate != null ? candidate : urlKey;
     }
 
-    private static int matchesContext(String contextUrlKey, String[] contextParts, String[] alternativeParts) {
+    /**
+     * Returns the length of the given path without trailing slashes, like the segments returned by {@link String#split(String)}.
+     */
+    private static int trimmedLength(String path) {
+        int length = path != null ? path.length() : 0;
+        while (length > 0 && path.charAt(length - 1) == '/') {
+            length--;
+        }
+        return length;
+    }
+
+    private static int countSegments(String path, int length) {
+        int segments = 1;
+        for (int i = path.indexOf('/'); i >= 0 && i < length; i = path.indexOf('/', i + 1)) {
+            segments++;
+        }
+        return segments;
+    }
+
+    private static boolean segmentEquals(String path, int start, int end, String segment) {
+        return segment != null && end - start == segment.length() && path.startsWith(segment, start);
+    }
+
+    private static int matchesContext(String contextUrlKey, String[] contextParts, String alternative, int length) {
         // prefix match first, counting the overlap with the contextParts
         // contextParts: venia-accessories/belts
         // alternativeParts:
@@ -160,23 +188,36 @@ public class UrlFormatBase {
         // * new-products/belts/product => 0
         int matches = 0;
         if (contextParts != null) {
-            for (int i = 0; i < Math.min(contextParts.length, alternativeParts.length); i++) {
-                if (contextParts[i].equals(alternativeParts[i])) {
+            int start = 0;
+            for (int i = 0; i < contextParts.length && start <= length; i++) {
+                int end = segmentEnd(alternative, start, length);
+                if (segmentEquals(alternative, start, end, contextParts[i])) {
                     matches++;
+                    start = end + 1;
                 } else {
                     break;
                 }
             }
         }
         // if there is no overlap we try to find at least the contextUrlKey anywhere in the alternative parts
-        if (matches == 0 && ArrayUtils.indexOf(alternativeParts, contextUrlKey) >= 0) {
-            // if that is the case we seed the matches to one as the context is more relevant than no match but still would be less relevant
-            // if we find another alternative that scores higher with the prefix match above.
-            matches = 1;
+        if (matches == 0 && contextUrlKey != null) {
+            for (int start = 0; start <= length; start = segmentEnd(alternative, start, length) + 1) {
+                if (segmentEquals(alternative, start, segmentEnd(alternative, start, length), contextUrlKey)) {
+                    // if that is the case we seed the matches to one as the context is more relevant than no match but still would be less
+                    // relevant if we find another alternative that scores higher with the prefix match above.
+                    matches = 1;
+                    break;
+                }
+            }
         }
         return matches;
     }
 
+    private static int segmentEnd(String path, int start, int length) {
+        int end = path.indexOf('/', start);
+        return end >= 0 && end < length ? end : length;
+    }
+
     /**
      * Extracts the category url_path and url_key encoded in a product's url_path.
      *
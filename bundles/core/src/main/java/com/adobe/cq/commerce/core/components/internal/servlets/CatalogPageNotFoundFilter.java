@@ -25,6 +25,7 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.jackrabbit.JcrConstants;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.SlingHttpServletResponse;
@@ -37,6 +38,9 @@ import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,10 +50,14 @@ import com.adobe.cq.commerce.core.components.models.common.SiteStructure;
 import com.adobe.cq.commerce.core.components.models.product.Product;
 import com.adobe.cq.commerce.core.components.models.productlist.ProductList;
 import com.adobe.cq.commerce.core.components.models.retriever.AbstractCategoryRetriever;
+import com.adobe.cq.commerce.core.components.services.urls.CategoryUrlFormat;
+import com.adobe.cq.commerce.core.components.services.urls.ProductUrlFormat;
+import com.adobe.cq.commerce.core.components.services.urls.UrlProvider;
 import com.day.cq.wcm.api.NameConstants;
 import com.day.cq.wcm.api.Page;
 import com.day.cq.wcm.api.PageManager;
 import com.day.cq.wcm.api.PageManagerFactory;
+import com.day.cq.wcm.api.WCMMode;
 
 @Component(
     service = Filter.class,
@@ -72,22 +80,39 @@ import com.day.cq.wcm.api.PageManagerFactory;
         "sling.filter.resource.pattern=/content(/.+)?",
         Constants.SERVICE_RANKING + ":Integer=-6000"
     })
+@Designate(ocd = CatalogPageNotFoundFilter.Configuration.class)
 public class CatalogPageNotFoundFilter implements Filter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CatalogPageNotFoundFilter.class);
 
+    @ObjectClassDefinition(name = "CIF Catalog Page Not Found Filter")
+    @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Identifier check",
+            description = "If enabled, a product or category page is not found if the url_key or url_path in its url cannot be resolved "
+                + "to a SKU or UID. The resolved identifier is reused by the components rendered on the page, and the product and "
+                + "product list components are not instantiated an additional time by the filter. Pages with the SKU or UID in the url "
+                + "and pages rendered in an authoring mode are still checked with the components. Defaults to false")
+        boolean identifierCheck() default false;
+    }
+
     @Reference
     private PageManagerFactory pageManagerFactory;
     @Reference
     private CommerceComponentModelFinder commerceModelFinder;
     @Reference
     private SiteStructureFactory siteStructureFactory;
+    @Reference
+    private UrlProvider urlProvider;
 
     private BundleContext bundleContext;
+    private boolean identifierCheck;
 
     @Activate
-    protected void activate(BundleContext bundleContext) {
+    protected void activate(BundleContext bundleContext, Configuration configuration) {
         this.bundleContext = bundleContext;
+        this.identifierCheck = configuration.identifierCheck();
     }
 
     @Override
@@ -125,22 +150,36 @@ public class CatalogPageNotFoundFilter implements Filter {
             boolean removeSlingScriptHelperFromBindings = false;
 
             if (siteStructure.isProductPage(currentPage)) {
-                removeSlingScriptHelperFromBindings = addSlingScriptHelperIfNeeded(slingRequest, slingResponse);
-                Product product = commerceModelFinder.findProductComponentModel(slingRequest, currentPage.getContentResource());
-                if (product != null && !product.getFound()) {
+                Boolean found = productIdentifierExists(slingRequest);
+                if (Boolean.FALSE.equals(found)) {
                     slingResponse.sendError(HttpServletResponse.SC_NOT_FOUND, "Product not found");
                     return;
+                } else if (found == null) {
+                    removeSlingScriptHelperFromBindings = addSlingScriptHelperIfNeeded(slingRequest, slingResponse);
+                    Product product = commerceModelFinder.findProductComponentModel(slingRequest, currentPage.getContentResource());
+                    if (product != null && !product.getFound()) {
+                        slingResponse.sendError(HttpServletResponse.SC_NOT_FOUND, "Product not found");
+                        return;
+                    }
                 }
             } else if (siteStructure.isCategoryPage(currentPage)) {
-                removeSlingScriptHelperFromBindings = addSlingScriptHelperIfNeeded(slingRequest, slingResponse);
-                ProductList productList = commerceModelFinder.findProductListComponentModel(slingRequest, currentPage.getContentResource());
-                if (productList != null) {
-                    AbstractCategoryRetriever categoryRetriever = productList.getCategoryRetriever();
-                    // since CIF-2916 the categoryRetriever is null when using the placeholder data, however the product list still
-                    // returns the placeholder products and so we check additionally if the list is empty.
-                    if ((categoryRetriever == null || categoryRetriever.fetchCategory() == null) && productList.getProducts().isEmpty()) {
-                        slingResponse.sendError(HttpServletResponse.SC_NOT_FOUND, "Category not found");
-                        return;
+                Boolean found = categoryIdentifierExists(slingRequest);
+                if (Boolean.FALSE.equals(found)) {
+                    slingResponse.sendError(HttpServletResponse.SC_NOT_FOUND, "Category not found");
+                    return;
+                } else if (found == null) {
+                    removeSlingScriptHelperFromBindings = addSlingScriptHelperIfNeeded(slingRequest, slingResponse);
+                    ProductList productList = commerceModelFinder.findProductListComponentModel(slingRequest,
+                        currentPage.getContentResource());
+                    if (productList != null) {
+                        AbstractCategoryRetriever categoryRetriever = productList.getCategoryRetriever();
+                        // since CIF-2916 the categoryRetriever is null when using the placeholder data, however the product list still
+                        // returns the placeholder products and so we check additionally if the list is empty.
+                        if ((categoryRetriever == null || categoryRetriever.fetchCategory() == null)
+                            && productList.getProducts().isEmpty()) {
+                            slingResponse.sendError(HttpServletResponse.SC_NOT_FOUND, "Category not found");
+                            return;
+                        }
                     }
                 }
             }
@@ -160,6 +199,45 @@ public class CatalogPageNotFoundFilter implements Filter {
     @Override
     public void destroy() {}
 
+    /**
+     * Returns if the product the url of the given request points to exists, or {@code null} if that is not decided by the identifier
+     * check. The url_key in the url is resolved to the SKU by the {@link UrlProvider}, which keeps it for the components rendered on
+     * the page.
+     */
+    private Boolean productIdentifierExists(SlingHttpServletRequest slingRequest) {
+        if (!isIdentifierCheckApplicable(slingRequest)) {
+            return null;
+        }
+        ProductUrlFormat.Params params = urlProvider.parseProductUrlFormatParameters(slingRequest);
+        if (StringUtils.isNotEmpty(params.getSku()) || StringUtils.isEmpty(params.getUrlKey())) {
+            // a SKU in the url does not need to be resolved, the product component checks if it exists
+            return null;
+        }
+        return urlProvider.getProductIdentifier(slingRequest) != null;
+    }
+
+    /**
+     * Returns if the category the url of the given request points to exists, or {@code null} if that is not decided by the identifier
+     * check. The url_path or url_key in the url is resolved to the UID by the {@link UrlProvider}, which keeps it for the components
+     * rendered on the page.
+     */
+    private Boolean categoryIdentifierExists(SlingHttpServletRequest slingRequest) {
+        if (!isIdentifierCheckApplicable(slingRequest)) {
+            return null;
+        }
+        CategoryUrlFormat.Params params = urlProvider.parseCategoryUrlFormatParameters(slingRequest);
+        boolean hasUrlPathOrKey = StringUtils.isNotEmpty(params.getUrlPath()) || StringUtils.isNotEmpty(params.getUrlKey());
+        if (StringUtils.isNotEmpty(params.getUid()) || !hasUrlPathOrKey) {
+            return null;
+        }
+        return urlProvider.getCategoryIdentifier(slingRequest) != null;
+    }
+
+    private boolean isIdentifierCheckApplicable(SlingHttpServletRequest slingRequest) {
+        // in authoring modes the components render placeholder data instead of missing products and categories
+        return identifierCheck && WCMMode.fromRequest(slingRequest) == WCMMode.DISABLED;
+    }
+
     /**
      * The {@link CommerceComponentModelFinder} uses
      * {@link org.apache.sling.models.factory.ModelFactory#getModelFromWrappedRequest(SlingHttpServletRequest, Resource, Class)}
@@ -0,0 +1,318 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.servlets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.wrappers.SlingHttpServletResponseWrapper;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.engine.EngineConstants;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.adobe.cq.commerce.core.components.internal.client.BackendCallTimings;
+
+/**
+ * Reports the GraphQL queries executed by the CIF components during a request. The durations of the backend calls are recorded in
+ * histograms per component resource type and, if enabled, sent to the client in a <code>Server-Timing</code> response header with
+ * one entry per query and the totals of the request.
+ * <p>
+ * To send the header after all queries were executed, the response body is buffered while the header is enabled. The header is not
+ * sent for responses that are committed by other means, like errors and redirects.
+ */
+@Component(
+    service = Filter.class,
+    property = {
+        EngineConstants.SLING_FILTER_SCOPE + "=" + EngineConstants.FILTER_SCOPE_REQUEST,
+        Constants.SERVICE_RANKING + ":Integer=10000"
+    })
+@Designate(ocd = ServerTimingFilter.Configuration.class)
+public class ServerTimingFilter implements Filter {
+
+    static final String HEADER = "Server-Timing";
+    static final String METRIC_CALL_DURATION = "cif.graphql.call.duration.";
+    static final String METRIC_REQUEST_DURATION = "cif.graphql.request.duration";
+    static final String METRIC_REQUEST_CALLS = "cif.graphql.request.calls";
+    static final String METRIC_REQUEST_HITS = "cif.graphql.request.hits";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerTimingFilter.class);
+    private static final String UNKNOWN_CACHE_NAME = "unknown";
+
+    @ObjectClassDefinition(name = "CIF Server Timing Filter")
+    @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Enabled",
+            description = "If enabled, the GraphQL queries of each request are recorded and their durations are reported as metrics. "
+                + "Defaults to true")
+        boolean enabled() default true;
+
+        @AttributeDefinition(
+            name = "Server-Timing header",
+            description = "If enabled, the recorded queries are sent in a Server-Timing response header. This exposes the resource "
+                + "types of the components to the client and buffers the response body, so it should only be enabled on author or "
+                + "for troubleshooting. Defaults to false")
+        boolean serverTimingHeader() default false;
+
+        @AttributeDefinition(
+            name = "Maximum header entries",
+            description = "The maximum number of queries listed in the Server-Timing header. The totals are always sent. Defaults to 20")
+        int maxHeaderEntries() default 20;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policyOption = ReferencePolicyOption.GREEDY)
+    private MetricsService metricsService;
+
+    private boolean enabled;
+    private boolean serverTimingHeader;
+    private int maxHeaderEntries;
+
+    @Activate
+    protected void activate(Configuration configuration) {
+        enabled = configuration.enabled();
+        serverTimingHeader = configuration.serverTimingHeader();
+        maxHeaderEntries = Math.max(0, configuration.maxHeaderEntries());
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {}
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        BackendCallTimings timings = BackendCallTimings.bind(request);
+        BufferedResponse bufferedResponse = serverTimingHeader && response instanceof SlingHttpServletResponse
+            ? new BufferedResponse((SlingHttpServletResponse) response)
+            : null;
+        try {
+            chain.doFilter(request, bufferedResponse != null ? bufferedResponse : response);
+        } finally {
+            if (!timings.isEmpty()) {
+                report(timings.getEntries(), response);
+            }
+            if (bufferedResponse != null) {
+                bufferedResponse.writeBufferedBody();
+            }
+        }
+    }
+
+    private void report(List<BackendCallTimings.Entry> entries, ServletResponse response) {
+        long totalDuration = 0;
+        int hits = 0;
+        for (BackendCallTimings.Entry entry : entries) {
+            totalDuration += entry.getDuration();
+            if (entry.isHit()) {
+                hits++;
+            } else if (metricsService != null) {
+                metricsService.histogram(METRIC_CALL_DURATION + getCacheName(entry)).update(entry.getDuration());
+            }
+        }
+
+        if (metricsService != null) {
+            metricsService.histogram(METRIC_REQUEST_DURATION).update(totalDuration);
+            metricsService.histogram(METRIC_REQUEST_CALLS).update(entries.size() - hits);
+            metricsService.histogram(METRIC_REQUEST_HITS).update(hits);
+        }
+
+        if (serverTimingHeader && response instanceof HttpServletResponse) {
+            if (response.isCommitted()) {
+                LOGGER.debug("Response already committed, cannot send the {} header", HEADER);
+            } else {
+                ((HttpServletResponse) response).addHeader(HEADER, toServerTiming(entries, totalDuration, hits));
+            }
+        }
+    }
+
+    /**
+     * Formats the given entries as value of a <code>Server-Timing</code> header, for example
+     * <code>cif-0;desc="core/cif/components/commerce/product/v3/product miss";dur=120, cif;desc="1 calls, 0 hits";dur=120</code>.
+     */
+    String toServerTiming(List<BackendCallTimings.Entry> entries, long totalDuration, int hits) {
+        StringBuilder header = new StringBuilder();
+        int size = Math.min(entries.size(), maxHeaderEntries);
+        for (int i = 0; i < size; i++) {
+            BackendCallTimings.Entry entry = entries.get(i);
+            header.append("cif-").append(i)
+                .append(";desc=\"").append(quote(getCacheName(entry))).append(entry.isHit() ? " hit" : " miss").append('"')
+                .append(";dur=").append(entry.getDuration())
+                .append(", ");
+        }
+        header.append("cif;desc=\"").append(entries.size() - hits).append(" calls, ").append(hits).append(" hits\"")
+            .append(";dur=").append(totalDuration);
+        return header.toString();
+    }
+
+    private static String getCacheName(BackendCallTimings.Entry entry) {
+        return StringUtils.defaultIfEmpty(entry.getCacheName(), UNKNOWN_CACHE_NAME);
+    }
+
+    private static String quote(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    @Override
+    public void destroy() {}
+
+    /**
+     * Buffers the body of the response, so that it is not committed before all queries of the request were executed.
+     */
+    static class BufferedResponse extends SlingHttpServletResponseWrapper {
+
+        private ByteArrayOutputStream bytes;
+        private CharArrayWriter chars;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        BufferedResponse(SlingHttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            if (outputStream == null) {
+                bytes = new ByteArrayOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) {
+                        bytes.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        bytes.write(b, off, len);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        throw new UnsupportedOperationException("Non-blocking output is not supported");
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called");
+            }
+            if (writer == null) {
+                chars = new CharArrayWriter();
+                writer = new PrintWriter(chars);
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() {
+            // keep the body buffered, the response is committed when the request completes
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            discardBufferedBody();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            discardBufferedBody();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            discardBufferedBody();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            discardBufferedBody();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            discardBufferedBody();
+            super.sendRedirect(location);
+        }
+
+        private void discardBufferedBody() {
+            if (writer != null) {
+                writer.flush();
+                chars.reset();
+            }
+            if (bytes != null) {
+                bytes.reset();
+            }
+        }
+
+        /**
+         * Writes the buffered body to the wrapped response.
+         */
+        void writeBufferedBody() throws IOException {
+            if (writer != null) {
+                writer.flush();
+                if (chars.size() > 0) {
+                    chars.writeTo(getResponse().getWriter());
+                }
+            } else if (bytes != null && bytes.size() > 0) {
+                bytes.writeTo(getResponse().getOutputStream());
+            }
+        }
+    }
+}
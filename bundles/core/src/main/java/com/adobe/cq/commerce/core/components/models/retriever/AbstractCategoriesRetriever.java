@@ -201,6 +201,11 @@ public abstract class AbstractCategoriesRetriever extends AbstractRetriever {
             .categoryList(searchArgs, queryArgs)).toString();
     }
 
+    @Override
+    protected String resolveQuery() {
+        return query != null ? query : generateQuery(identifiers);
+    }
+
     /**
      * Execute the GraphQL query with the GraphQL client.
      *
@@ -297,6 +297,11 @@ public abstract class AbstractCategoryRetriever extends AbstractRetriever {
         return generateCategoryQueryArgs(identifier);
     }
 
+    @Override
+    protected String resolveQuery() {
+        return query != null ? query : generateQuery(identifier);
+    }
+
     /**
      * Execute the GraphQL query with the GraphQL client.
      *
@@ -204,6 +204,11 @@ public abstract class AbstractProductRetriever extends AbstractRetriever {
             .products(searchArgs, queryArgs)).toString();
     }
 
+    @Override
+    protected String resolveQuery() {
+        return query != null ? query : generateQuery(identifier);
+    }
+
     /**
      * Execute the GraphQL query with the GraphQL client.
      *
@@ -57,6 +57,47 @@ public abstract class AbstractRetriever {
         this.query = query;
     }
 
+    /**
+     * Registers the query of this retriever with the GraphQL client for batched execution, so that it can be fetched in a single
+     * request together with the queries of other retrievers.
+     *
+     * @see MagentoGraphqlClient#addToBatch(java.util.function.Supplier)
+     */
+    public void addToBatch() {
+        client.addToBatch(this::resolveQuery);
+    }
+
+    /**
+     * Starts the execution of the query of this retriever in the background, so that it runs in parallel to the work of the
+     * calling model and the queries of other components. The retriever joins the pending response when it gets populated.
+     * <p>
+     * The query is resolved when this method is called. If it changes afterwards, for example by extending it with a query
+     * hook, the prefetched response is not used and the query is executed a second time. Models must therefore call this method
+     * only once their query is final. The models of the core components expose their retrievers to models delegating to them,
+     * which may extend the query after the core model got initialized, so only the outermost model calls it, at the end of its
+     * {@code @PostConstruct} method.
+     *
+     * @see MagentoGraphqlClient#executeAsync(String)
+     */
+    public void prefetch() {
+        String prefetchQuery = resolveQuery();
+        if (prefetchQuery != null) {
+            client.executeAsync(prefetchQuery);
+        }
+    }
+
+    /**
+     * Returns the query this retriever executes, which is either the customized query or a generated one. Implementations must
+     * not assign a generated query to {@link #query}, as it may still change before the retriever gets populated.
+     * <p>
+     * The default implementation returns the customized query only.
+     *
+     * @return GraphQL query or {@code null}
+     */
+    protected String resolveQuery() {
+        return query;
+    }
+
     /**
      * Returns the errors encountered during the retrieval of GraphQL results.
      *
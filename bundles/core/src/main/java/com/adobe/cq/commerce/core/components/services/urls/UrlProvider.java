@@ -15,7 +15,9 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.commerce.core.components.services.urls;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
@@ -125,6 +127,30 @@ public interface UrlProvider {
      */
     String toProductUrl(@Nullable SlingHttpServletRequest request, @Nullable Page page, ProductUrlFormat.Params params);
 
+    /**
+     * Returns the product page URLs for the given list of parameters, in the same order. This is equivalent to calling
+     * {@link UrlProvider#toProductUrl(SlingHttpServletRequest, Page, ProductUrlFormat.Params)} for each of the parameters, but
+     * implementations may resolve the context shared by all URLs only once.
+     * <p>
+     * Either {@code request} or {@code page} parameter can be
+     * <code>null</code> but not both.
+     * If both are null an {@link IllegalArgumentException} is thrown.
+     *
+     * @param request The current Sling HTTP request.
+     * @param page This parameter can be null if the URL template does set a
+     *            {{page}} parameter and a request is given.
+     * @param params The parameters used in the URL template, one per URL.
+     * @return The product URLs.
+     */
+    default List<String> toProductUrls(@Nullable SlingHttpServletRequest request, @Nullable Page page,
+        List<ProductUrlFormat.Params> params) {
+        List<String> urls = new ArrayList<>(params.size());
+        for (ProductUrlFormat.Params productParams : params) {
+            urls.add(toProductUrl(request, page, productParams));
+        }
+        return urls;
+    }
+
     /**
      * Returns the product page URL. Only the product identifier must be provided,
      * the implementation will query the needed URL
@@ -193,6 +219,30 @@ public interface UrlProvider {
     @Deprecated
     String toCategoryUrl(@Nullable SlingHttpServletRequest request, @Nullable Page page, CategoryUrlFormat.Params params);
 
+    /**
+     * Returns the category page URLs for the given list of parameters, in the same order. This is equivalent to calling
+     * {@link UrlProvider#formatCategoryUrl(SlingHttpServletRequest, Page, CategoryUrlFormat.Params)} for each of the parameters, but
+     * implementations may resolve the context shared by all URLs only once.
+     * <p>
+     * Either {@code request} or {@code page} parameter can be
+     * <code>null</code> but not both.
+     * If both are null an {@link IllegalArgumentException} is thrown.
+     *
+     * @param request The current Sling HTTP request.
+     * @param page This parameter can be null if the URL template does set a
+     *            {{page}} parameter and a request is given.
+     * @param params The parameters used in the URL template, one per URL.
+     * @return The category URLs.
+     */
+    default List<String> toCategoryUrls(@Nullable SlingHttpServletRequest request, @Nullable Page page,
+        List<CategoryUrlFormat.Params> params) {
+        List<String> urls = new ArrayList<>(params.size());
+        for (CategoryUrlFormat.Params categoryParams : params) {
+            urls.add(formatCategoryUrl(request, page, categoryParams));
+        }
+        return urls;
+    }
+
     /**
      * Returns the category page URL. If the required attributes are not available
      * then need to provide necessary attribute to call commerce service
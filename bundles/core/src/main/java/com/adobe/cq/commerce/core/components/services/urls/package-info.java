@@ -13,7 +13,7 @@
  ~ See the License for the specific language governing permissions and
  ~ limitations under the License.
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
-@Version("1.4.0")
+@Version("1.5.0")
 package com.adobe.cq.commerce.core.components.services.urls;
 
 import org.osgi.annotation.versioning.Version;
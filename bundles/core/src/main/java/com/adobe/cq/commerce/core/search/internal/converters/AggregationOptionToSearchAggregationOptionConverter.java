@@ -15,12 +15,11 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.commerce.core.search.internal.converters;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import com.adobe.cq.commerce.core.search.internal.models.FilterAttributeMetadataImpl;
+import com.adobe.cq.commerce.core.search.internal.models.QueryParameters;
 import com.adobe.cq.commerce.core.search.internal.models.SearchAggregationOptionImpl;
 import com.adobe.cq.commerce.core.search.models.FilterAttributeMetadata;
 import com.adobe.cq.commerce.core.search.models.SearchAggregationOption;
@@ -37,13 +36,14 @@ public class AggregationOptionToSearchAggregationOptionConverter implements Func
 
     private final String attributeCode;
 
-    private final Map<String, String> filters;
+    private final QueryParameters filters;
 
     public AggregationOptionToSearchAggregationOptionConverter(final String attributeCode,
                                                                final FilterAttributeMetadata filterAttributeMetadata,
                                                                final Map<String, String> filters) {
         this.attributeCode = attributeCode;
-        this.filters = filters;
+        // the options share the filters, without the page as selecting an option starts at the first page again
+        this.filters = QueryParameters.of(filters).without("page");
         this.filterAttributeMetadata = filterAttributeMetadata;
     }
 
@@ -63,11 +63,8 @@ public class AggregationOptionToSearchAggregationOptionConverter implements Func
         searchAggregationOption.setFilterValue(aggregationOption.getValue());
 
         // this is done for convenience’ sake, so we have all filters available
-        Map<String, String> newFilters = new HashMap<>(filters);
-        newFilters.put(attributeCode, aggregationOption.getValue());
-        searchAggregationOption.setAddFilterMap(newFilters.entrySet().stream()
-            .filter(item -> !item.getKey().equals("page"))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+        QueryParameters newFilters = filters.with(attributeCode, aggregationOption.getValue());
+        searchAggregationOption.setAddFilterMap("page".equals(attributeCode) ? newFilters.without("page") : newFilters);
 
         return searchAggregationOption;
     }
@@ -15,8 +15,6 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.commerce.core.search.internal.converters;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -24,6 +22,8 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.adobe.cq.commerce.core.search.internal.models.FilterAttributeMetadataImpl;
+import com.adobe.cq.commerce.core.search.internal.models.FilterAttributeMetadataIndex;
+import com.adobe.cq.commerce.core.search.internal.models.QueryParameters;
 import com.adobe.cq.commerce.core.search.internal.models.SearchAggregationImpl;
 import com.adobe.cq.commerce.core.search.models.FilterAttributeMetadata;
 import com.adobe.cq.commerce.core.search.models.SearchAggregation;
@@ -35,14 +35,14 @@ public class AggregationToSearchAggregationConverter implements Function<Aggrega
 
     private final Map<String, String> appliedFilters;
 
-    private final List<FilterAttributeMetadata> availableFilters;
+    private final FilterAttributeMetadataIndex availableFilters;
 
     private static final String PRICE_IDENTIFIER = "price";
 
     public AggregationToSearchAggregationConverter(final Map<String, String> appliedFilters,
                                                    final List<FilterAttributeMetadata> availableFilters) {
-        this.appliedFilters = appliedFilters == null ? new HashMap<>() : appliedFilters;
-        this.availableFilters = availableFilters == null ? new ArrayList<>() : availableFilters;
+        this.appliedFilters = QueryParameters.of(appliedFilters);
+        this.availableFilters = FilterAttributeMetadataIndex.of(availableFilters);
     }
 
     @Override
@@ -56,8 +56,7 @@ public class AggregationToSearchAggregationConverter implements Function<Aggrega
         // provided by the introspection query
         final String identifier = aggregation.getAttributeCode();
 
-        final Optional<FilterAttributeMetadata> attributeMetadata = availableFilters.stream()
-            .filter(filterCandidate -> filterCandidate.getAttributeCode().equals(identifier)).findFirst();
+        final Optional<FilterAttributeMetadata> attributeMetadata = Optional.ofNullable(availableFilters.get(identifier));
         final boolean filterable = attributeMetadata.isPresent();
 
         SearchAggregationImpl searchAggregation = new SearchAggregationImpl();
@@ -80,8 +79,7 @@ public class AggregationToSearchAggregationConverter implements Function<Aggrega
     private List<SearchAggregationOption> getOptions(final Aggregation aggregation,
         final Map<String, String> appliedFilters) {
 
-        final FilterAttributeMetadata filterAttributeMetadata = availableFilters.stream()
-            .filter(item -> item.getAttributeCode().equals(aggregation.getAttributeCode())).findFirst().orElse(null);
+        final FilterAttributeMetadata filterAttributeMetadata = availableFilters.get(aggregation.getAttributeCode());
 
         AggregationOptionToSearchAggregationOptionConverter converter = new AggregationOptionToSearchAggregationOptionConverter(
             aggregation.getAttributeCode(), filterAttributeMetadata, appliedFilters);
@@ -122,9 +120,12 @@ public class AggregationToSearchAggregationConverter implements Function<Aggrega
     }
 
     public Map<String, String> getRemoveFilters(Aggregation aggregation, Map<String, String> appliedFilters) {
-        return appliedFilters.entrySet()
-            .stream()
-            .filter(stringStringEntry -> !stringStringEntry.getKey().equalsIgnoreCase(aggregation.getAttributeCode()))
-            .collect(Collectors.toMap(o -> o.getKey(), o -> o.getValue()));
+        QueryParameters removeFilters = QueryParameters.of(appliedFilters);
+        for (String key : appliedFilters.keySet()) {
+            if (key.equalsIgnoreCase(aggregation.getAttributeCode())) {
+                removeFilters = removeFilters.without(key);
+            }
+        }
+        return removeFilters;
     }
 }
@@ -0,0 +1,116 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.search.internal.models;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import com.adobe.cq.commerce.core.search.models.FilterAttributeMetadata;
+
+/**
+ * An unmodifiable list of {@link FilterAttributeMetadata} indexed by attribute code. Lookups by attribute code return the first
+ * metadata of the list with that code, like a linear search would, but in constant time. The filter input type of each attribute is
+ * resolved once when the index is built.
+ */
+public final class FilterAttributeMetadataIndex extends AbstractList<FilterAttributeMetadata> implements RandomAccess {
+
+    private static final FilterAttributeMetadataIndex EMPTY = new FilterAttributeMetadataIndex(Collections.emptyList());
+
+    /**
+     * The filter input types of the product attribute filter input.
+     */
+    public enum FilterType {
+        EQUAL("FilterEqualTypeInput"),
+        MATCH("FilterMatchTypeInput"),
+        RANGE("FilterRangeTypeInput"),
+        UNSUPPORTED(null);
+
+        private final String inputType;
+
+        FilterType(String inputType) {
+            this.inputType = inputType;
+        }
+
+        static FilterType of(String inputType) {
+            for (FilterType type : values()) {
+                if (type.inputType != null && type.inputType.equals(inputType)) {
+                    return type;
+                }
+            }
+            return UNSUPPORTED;
+        }
+    }
+
+    private final List<FilterAttributeMetadata> metadata;
+    private final Map<String, FilterAttributeMetadata> byAttributeCode;
+    private final Map<String, FilterType> filterTypes;
+
+    private FilterAttributeMetadataIndex(List<FilterAttributeMetadata> metadata) {
+        this.metadata = metadata;
+        this.byAttributeCode = new HashMap<>(metadata.size() * 4 / 3 + 1);
+        this.filterTypes = new HashMap<>(metadata.size() * 4 / 3 + 1);
+        for (FilterAttributeMetadata item : metadata) {
+            if (byAttributeCode.putIfAbsent(item.getAttributeCode(), item) == null) {
+                filterTypes.put(item.getAttributeCode(), FilterType.of(item.getFilterInputType()));
+            }
+        }
+    }
+
+    /**
+     * Returns an index of the given metadata. If the given list is an index already, it is returned as is.
+     *
+     * @param metadata the metadata, may be {@code null}
+     * @return the index
+     */
+    public static FilterAttributeMetadataIndex of(List<FilterAttributeMetadata> metadata) {
+        if (metadata instanceof FilterAttributeMetadataIndex) {
+            return (FilterAttributeMetadataIndex) metadata;
+        }
+        if (metadata == null || metadata.isEmpty()) {
+            return EMPTY;
+        }
+        return new FilterAttributeMetadataIndex(new ArrayList<>(metadata));
+    }
+
+    /**
+     * Returns the metadata of the given attribute, or {@code null} if the attribute is not filterable.
+     */
+    public FilterAttributeMetadata get(String attributeCode) {
+        return byAttributeCode.get(attributeCode);
+    }
+
+    /**
+     * Returns the filter type of the given attribute, or {@code null} if the attribute is not filterable.
+     */
+    public FilterType getFilterType(String attributeCode) {
+        return filterTypes.get(attributeCode);
+    }
+
+    @Override
+    public FilterAttributeMetadata get(int index) {
+        return metadata.get(index);
+    }
+
+    @Override
+    public int size() {
+        return metadata.size();
+    }
+}
@@ -16,7 +16,6 @@
 package com.adobe.cq.commerce.core.search.internal.models;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,7 +44,8 @@ public class PagerImpl implements Pager {
     int currentPageIndex;
 
     public PagerImpl(final Map<String, String> existingQueryParameters, final int totalPages, final int currentPageIndex) {
-        this.existingQueryParameters = existingQueryParameters;
+        // shared by the parameters of all pages
+        this.existingQueryParameters = QueryParameters.of(existingQueryParameters);
         this.totalPages = totalPages;
         this.currentPageIndex = currentPageIndex;
     }
@@ -65,11 +65,11 @@ public class PagerImpl implements Pager {
     public List<PagerPage> getPages() {
 
         List<PagerPage> pages = new ArrayList<>();
+        QueryParameters parameters = QueryParameters.of(existingQueryParameters);
 
         for (int currentIndex = 1; currentIndex <= totalPages; currentIndex++) {
-            Map<String, String> pageParameters = new HashMap<>(existingQueryParameters);
-            pageParameters.put("page", Integer.toString(currentIndex));
             if (inDisplayRange(totalPages, currentIndex) || currentIndex == 1 || currentIndex == totalPages) {
+                Map<String, String> pageParameters = parameters.with("page", Integer.toString(currentIndex));
                 pages.add(new PagerPageImpl(currentIndex, pageParameters, true));
             }
         }
@@ -81,18 +81,14 @@ public class PagerImpl implements Pager {
     @Override
     public Map<String, String> getPreviousPageParameters() {
         Integer previousPage = currentPageIndex <= 1 ? 1 : currentPageIndex - 1;
-        Map<String, String> parameters = new HashMap<>(existingQueryParameters);
-        parameters.put("page", previousPage.toString());
-        return parameters;
+        return QueryParameters.of(existingQueryParameters).with("page", previousPage.toString());
     }
 
     @Nonnull
     @Override
     public Map<String, String> getNextPageParameters() {
         Integer nextPage = currentPageIndex >= totalPages ? totalPages : currentPageIndex + 1;
-        Map<String, String> parameters = new HashMap<>(existingQueryParameters);
-        parameters.put("page", nextPage.toString());
-        return parameters;
+        return QueryParameters.of(existingQueryParameters).with("page", nextPage.toString());
     }
 
     @Override
@@ -0,0 +1,240 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.search.internal.models;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A map of query parameters that shares an immutable base map with other instances and only records the parameters it adds or
+ * removes. This allows the facet options, pages and sort keys of a search result to derive their query parameters from the applied
+ * filters without copying the filters for each of them.
+ * <p>
+ * Lookups are answered from the overrides and the base map. The map is materialized into a {@link HashMap} of its own on the first
+ * call that iterates it, typically when a template renders the URL, or modifies it. Like any other map the parameters can be
+ * changed, directly or through the collection views. Instances derived from a changed instance see its changes.
+ */
+public final class QueryParameters extends AbstractMap<String, String> {
+
+    private static final String[] NONE = new String[0];
+
+    private final Map<String, String> base;
+    // overrides in the order they were applied, a null value removes the parameter
+    private final String[] keys;
+    private final String[] values;
+    private Map<String, String> map;
+    private boolean modified;
+    private Set<Entry<String, String>> entrySet;
+
+    private QueryParameters(Map<String, String> base, String[] keys, String[] values) {
+        this.base = base;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Returns the given parameters as {@link QueryParameters}. Other maps are copied once, so that later changes of the given map do
+     * not affect the returned instance or any instance derived from it.
+     *
+     * @param parameters the parameters, may be {@code null}
+     * @return the query parameters
+     */
+    public static QueryParameters of(Map<String, String> parameters) {
+        if (parameters instanceof QueryParameters) {
+            return (QueryParameters) parameters;
+        }
+        return new QueryParameters(parameters != null ? new HashMap<>(parameters) : new HashMap<>(), NONE, NONE);
+    }
+
+    /**
+     * Returns new query parameters that contain these parameters and the given one. This instance is not changed.
+     *
+     * @param key the parameter name
+     * @param value the parameter value
+     * @return the new query parameters
+     */
+    public QueryParameters with(String key, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Query parameter values must not be null");
+        }
+        return override(key, value);
+    }
+
+    /**
+     * Returns new query parameters that contain these parameters without the given one. This instance is not changed.
+     *
+     * @param key the parameter name
+     * @return the new query parameters
+     */
+    public QueryParameters without(String key) {
+        return override(key, null);
+    }
+
+    /**
+     * Returns new query parameters with the same parameters as these, which can be changed independently of these.
+     *
+     * @return the new query parameters
+     */
+    QueryParameters copy() {
+        return modified ? new QueryParameters(new HashMap<>(map), NONE, NONE) : new QueryParameters(base, keys, values);
+    }
+
+    private QueryParameters override(String key, String value) {
+        if (modified) {
+            // the materialized map was modified, it becomes the base of the new instance
+            return new QueryParameters(new HashMap<>(map), new String[] { key }, new String[] { value });
+        }
+        String[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+        String[] newValues = Arrays.copyOf(values, values.length + 1);
+        newKeys[keys.length] = key;
+        newValues[values.length] = value;
+        return new QueryParameters(base, newKeys, newValues);
+    }
+
+    private int indexOf(Object key) {
+        for (int i = keys.length - 1; i >= 0; i--) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (map != null) {
+            return map.get(key);
+        }
+        int i = indexOf(key);
+        return i >= 0 ? values[i] : base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (map != null) {
+            return map.containsKey(key);
+        }
+        int i = indexOf(key);
+        return i >= 0 ? values[i] != null : base.containsKey(key);
+    }
+
+    @Override
+    public String put(String key, String value) {
+        modified = true;
+        return materialize().put(key, value);
+    }
+
+    @Override
+    public String remove(Object key) {
+        modified = true;
+        return materialize().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        modified = true;
+        materialize().clear();
+    }
+
+    @Override
+    public int size() {
+        return materialize().size();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        // the key set and values of AbstractMap are views of the entry set, so changes through any of them are tracked here
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    boolean isMaterialized() {
+        return map != null;
+    }
+
+    private Map<String, String> materialize() {
+        if (map == null) {
+            Map<String, String> materialized = new HashMap<>(base);
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] != null) {
+                    materialized.put(keys[i], values[i]);
+                } else {
+                    materialized.remove(keys[i]);
+                }
+            }
+            map = materialized;
+        }
+        return map;
+    }
+
+    /**
+     * The entries of the materialized map, which records any change so that instances derived later copy the changed map.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, String>> {
+
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            Iterator<Entry<String, String>> iterator = materialize().entrySet().iterator();
+            return new Iterator<Entry<String, String>>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<String, String> next() {
+                    Entry<String, String> entry = iterator.next();
+                    return new SimpleEntry<String, String>(entry) {
+                        @Override
+                        public String setValue(String value) {
+                            modified = true;
+                            super.setValue(value);
+                            return entry.setValue(value);
+                        }
+                    };
+                }
+
+                @Override
+                public void remove() {
+                    modified = true;
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return materialize().entrySet().contains(o);
+        }
+
+        @Override
+        public int size() {
+            return materialize().size();
+        }
+
+        @Override
+        public void clear() {
+            QueryParameters.this.clear();
+        }
+    }
+}
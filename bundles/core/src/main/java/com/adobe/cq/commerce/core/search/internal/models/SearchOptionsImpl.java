@@ -46,6 +46,10 @@ public class SearchOptionsImpl implements SearchOptions {
 
     SorterKey defaultSorter;
 
+    // the snapshot of all filters, cleared when the attribute filters, category uid or search query are set or the attribute filters
+    // are handed out to be changed
+    private QueryParameters allFilters;
+
     public SearchOptionsImpl() {
         attributeFilters = new HashMap<>();
     }
@@ -71,25 +75,33 @@ public class SearchOptionsImpl implements SearchOptions {
 
     @Override
     public Map<String, String> getAllFilters() {
-        Map<String, String> allFilters = new HashMap<>(getAttributeFilters());
-
-        if (getCategoryUid().isPresent()) {
-            allFilters.put(CATEGORY_UID_PARAMETER_ID, getCategoryUid().get());
-        }
-        if (getSearchQuery().isPresent()) {
-            allFilters.put(SEARCH_QUERY_PARAMETER_ID, getSearchQuery().get());
+        // a snapshot of the attribute filters, which the query parameters of facets, pages and sort keys derive from without copying
+        if (allFilters == null) {
+            QueryParameters snapshot = QueryParameters.of(attributeFilters);
+
+            if (getCategoryUid().isPresent()) {
+                snapshot = snapshot.with(CATEGORY_UID_PARAMETER_ID, getCategoryUid().get());
+            }
+            if (getSearchQuery().isPresent()) {
+                snapshot = snapshot.with(SEARCH_QUERY_PARAMETER_ID, getSearchQuery().get());
+            }
+            allFilters = snapshot;
         }
 
-        return allFilters;
+        // each caller gets a copy it can change without affecting the snapshot
+        return allFilters.copy();
     }
 
     @Override
     public Map<String, String> getAttributeFilters() {
+        // callers may change the returned map
+        this.allFilters = null;
         return attributeFilters;
     }
 
     public void setAttributeFilters(final Map<String, String> attributeFilters) {
         this.attributeFilters = attributeFilters;
+        this.allFilters = null;
     }
 
     public Optional<String> getCategoryUid() {
@@ -98,6 +110,7 @@ public class SearchOptionsImpl implements SearchOptions {
 
     public void setCategoryUid(final String categoryUid) {
         this.categoryUid = categoryUid;
+        this.allFilters = null;
     }
 
     @Override
@@ -107,6 +120,7 @@ public class SearchOptionsImpl implements SearchOptions {
 
     public void setSearchQuery(final String searchQuery) {
         this.searchQuery = searchQuery;
+        this.allFilters = null;
     }
 
     @Override
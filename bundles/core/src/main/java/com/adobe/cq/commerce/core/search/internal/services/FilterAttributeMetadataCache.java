@@ -0,0 +1,212 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.search.internal.services;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.adobe.cq.commerce.core.components.client.MagentoGraphqlClient;
+import com.adobe.cq.commerce.core.search.internal.models.FilterAttributeMetadataIndex;
+import com.adobe.cq.commerce.core.search.models.FilterAttributeMetadata;
+import com.adobe.cq.commerce.graphql.client.GraphqlClientConfiguration;
+
+/**
+ * A shared cache of the filter attribute metadata retrieved by the {@link SearchFilterServiceImpl}, keyed by GraphQL client, store
+ * view and the other HTTP headers sent by the client. The metadata is derived from the schema and the attribute configuration of the
+ * commerce backend, which usually only change with a deployment of the backend.
+ * <p>
+ * The metadata is kept as {@link FilterAttributeMetadataIndex}, so that the index is built only once per entry.
+ * <p>
+ * Entries older than the time to live are refreshed by the first lookup that finds them expired, using the GraphQL client of that
+ * request. Concurrent lookups still get the stale entry meanwhile. If the refresh fails the stale entry is kept and the refresh is
+ * retried with the next lookup. Entries are removed explicitly by the cache invalidation.
+ */
+class FilterAttributeMetadataCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FilterAttributeMetadataCache.class);
+    private static final String STORE_HEADER = "Store";
+    private static final String PREVIEW_VERSION_HEADER = "Preview-Version";
+    private static final String DEFAULT_STORE_VIEW = "default";
+
+    private final long ttlMillis;
+    private final Map<Key, Entry> entries;
+    LongSupplier clock = System::currentTimeMillis;
+
+    FilterAttributeMetadataCache(long ttlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        int size = Math.max(1, maxSize);
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > size;
+            }
+        };
+    }
+
+    /**
+     * Returns the key of the metadata retrieved with the given client, or {@code null} if it must not be cached. This is the case for
+     * previews of future catalog versions and for clients without a configuration.
+     */
+    static Key getKey(MagentoGraphqlClient client) {
+        GraphqlClientConfiguration configuration = client.getConfiguration();
+        Map<String, String[]> headerMap = client.getHttpHeaderMap();
+        if (configuration == null || headerMap == null || headerMap.containsKey(PREVIEW_VERSION_HEADER)) {
+            return null;
+        }
+        Map<String, List<String>> headers = new HashMap<>();
+        headerMap.forEach((name, values) -> headers.put(name, values != null ? Arrays.asList(values) : Collections.emptyList()));
+        String[] store = headerMap.get(STORE_HEADER);
+        String storeView = store != null && store.length > 0 ? StringUtils.defaultIfEmpty(store[0], DEFAULT_STORE_VIEW)
+            : DEFAULT_STORE_VIEW;
+        return new Key(configuration.identifier(), storeView, headers);
+    }
+
+    /**
+     * Returns the cached metadata for the given key, or {@code null} if there is none. If the entry is expired and not refreshed by
+     * another lookup yet, it is refreshed with the given loader, which returns {@code null} if the metadata could not be retrieved.
+     *
+     * @param key the key
+     * @param loader the loader used to refresh the entry
+     * @return the cached metadata or {@code null}
+     */
+    List<FilterAttributeMetadata> get(Key key, Supplier<List<FilterAttributeMetadata>> loader) {
+        Entry entry;
+        boolean refresh = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && !entry.refreshing && entry.expires <= clock.getAsLong()) {
+                entry.refreshing = true;
+                refresh = true;
+            }
+        }
+
+        if (refresh) {
+            // the loader uses the GraphQL client of the current request, so the refresh must happen within the request
+            List<FilterAttributeMetadata> metadata = refresh(key, entry, loader);
+            if (metadata != null) {
+                return metadata;
+            }
+        }
+
+        return entry != null ? entry.metadata : null;
+    }
+
+    /**
+     * Caches the given metadata and returns the index of it that is returned by subsequent lookups.
+     */
+    List<FilterAttributeMetadata> put(Key key, List<FilterAttributeMetadata> metadata) {
+        Entry entry = new Entry(FilterAttributeMetadataIndex.of(metadata), clock.getAsLong() + ttlMillis);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+        return entry.metadata;
+    }
+
+    private List<FilterAttributeMetadata> refresh(Key key, Entry staleEntry, Supplier<List<FilterAttributeMetadata>> loader) {
+        List<FilterAttributeMetadata> metadata = null;
+        try {
+            metadata = loader.get();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to refresh the filter attribute metadata of {}", key, e);
+        }
+
+        synchronized (entries) {
+            // do not replace an entry that was invalidated or replaced meanwhile
+            if (metadata != null && entries.get(key) == staleEntry) {
+                Entry entry = new Entry(FilterAttributeMetadataIndex.of(metadata), clock.getAsLong() + ttlMillis);
+                entries.put(key, entry);
+                return entry.metadata;
+            }
+            staleEntry.refreshing = false;
+            return null;
+        }
+    }
+
+    /**
+     * Removes the entries of the given GraphQL client and store view.
+     *
+     * @param graphqlClientId the identifier of the GraphQL client
+     * @param storeView the store view, or {@code null} to remove the entries of all store views
+     */
+    void invalidate(String graphqlClientId, String storeView) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> Objects.equals(key.graphqlClientId, graphqlClientId)
+                && (storeView == null || storeView.equals(key.storeView)));
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    static class Key {
+        private final String graphqlClientId;
+        private final String storeView;
+        private final Map<String, List<String>> headers;
+
+        Key(String graphqlClientId, String storeView, Map<String, List<String>> headers) {
+            this.graphqlClientId = graphqlClientId;
+            this.storeView = storeView;
+            this.headers = headers;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(graphqlClientId, key.graphqlClientId) && storeView.equals(key.storeView) && headers.equals(key.headers);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(graphqlClientId, storeView, headers);
+        }
+
+        @Override
+        public String toString() {
+            return graphqlClientId + "/" + storeView;
+        }
+    }
+
+    private static class Entry {
+        private final List<FilterAttributeMetadata> metadata;
+        private final long expires;
+        private volatile boolean refreshing;
+
+        private Entry(List<FilterAttributeMetadata> metadata, long expires) {
+            this.metadata = metadata;
+            this.expires = expires;
+        }
+    }
+}
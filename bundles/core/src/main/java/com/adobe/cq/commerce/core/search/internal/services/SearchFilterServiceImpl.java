@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -71,13 +72,44 @@ public class SearchFilterServiceImpl implements SearchFilterService {
                 + "the size limits of GET requests. Defaults to false")
         boolean enforcePost() default false;
 
+        @AttributeDefinition(
+            name = "Metadata cache time to live",
+            description = "The number of seconds the filter attribute metadata is cached per GraphQL client and store view. Expired "
+                + "metadata is refreshed by the next request. The cache is cleared by the commerce cache invalidation, either when "
+                + "invalidating all caches or the cache of this service. Set to 0 to disable the cache. Defaults to 3600")
+        long metadataCacheTtl() default 3600;
+
+        @AttributeDefinition(
+            name = "Metadata cache maximum size",
+            description = "The maximum number of GraphQL clients and store views the filter attribute metadata is cached for. "
+                + "Defaults to 100")
+        int metadataCacheMaxSize() default 100;
     }
 
     private boolean enforcePost;
+    private FilterAttributeMetadataCache metadataCache;
 
     @Activate
     protected void activate(Configuration configuration) {
         enforcePost = configuration.enforcePost();
+        metadataCache = configuration.metadataCacheTtl() > 0
+            ? new FilterAttributeMetadataCache(TimeUnit.SECONDS.toMillis(configuration.metadataCacheTtl()),
+                configuration.metadataCacheMaxSize())
+            : null;
+    }
+
+    /**
+     * Removes the cached filter attribute metadata of the given GraphQL client and store view.
+     *
+     * @param graphqlClientId the identifier of the GraphQL client
+     * @param storeView the store view, or {@code null} for all store views
+     */
+    public void invalidateFilterAttributeMetadata(String graphqlClientId, String storeView) {
+        FilterAttributeMetadataCache cache = metadataCache;
+        if (cache != null) {
+            LOGGER.debug("Invalidate filter attribute metadata of {} for store view {}", graphqlClientId, storeView);
+            cache.invalidate(graphqlClientId, storeView);
+        }
     }
 
     @Override
@@ -117,6 +149,29 @@ public class SearchFilterServiceImpl implements SearchFilterService {
 
     private Pair<List<FilterAttributeMetadata>, List<Error>> retrieveCurrentlyAvailableCommerceFiltersInfo(
         MagentoGraphqlClient magentoGraphqlClient) {
+        FilterAttributeMetadataCache cache = metadataCache;
+        FilterAttributeMetadataCache.Key key = cache != null ? FilterAttributeMetadataCache.getKey(magentoGraphqlClient) : null;
+        if (key == null) {
+            return fetchFiltersInfo(magentoGraphqlClient);
+        }
+
+        List<FilterAttributeMetadata> cachedMetadata = cache.get(key, () -> {
+            Pair<List<FilterAttributeMetadata>, List<Error>> filtersInfo = fetchFiltersInfo(magentoGraphqlClient);
+            return filtersInfo.getRight().isEmpty() ? filtersInfo.getLeft() : null;
+        });
+        if (cachedMetadata != null) {
+            return Pair.of(cachedMetadata, Collections.emptyList());
+        }
+
+        Pair<List<FilterAttributeMetadata>, List<Error>> filtersInfo = fetchFiltersInfo(magentoGraphqlClient);
+        // only complete metadata is cached
+        if (filtersInfo.getRight().isEmpty()) {
+            return Pair.of(cache.put(key, filtersInfo.getLeft()), filtersInfo.getRight());
+        }
+        return filtersInfo;
+    }
+
+    private Pair<List<FilterAttributeMetadata>, List<Error>> fetchFiltersInfo(MagentoGraphqlClient magentoGraphqlClient) {
         // First we query Magento for the required attribute and filter information
         final Pair<List<__InputValue>, List<Error>> availableFiltersInfo = fetchAvailableSearchFilters(magentoGraphqlClient);
         final Pair<List<Attribute>, List<Error>> attributesInfo = fetchAttributeMetadata(magentoGraphqlClient, availableFiltersInfo
@@ -18,7 +18,6 @@ package com.adobe.cq.commerce.core.search.internal.services;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -47,6 +46,8 @@ import com.adobe.cq.commerce.core.components.models.retriever.AbstractCategoryRe
 import com.adobe.cq.commerce.core.components.services.urls.UrlProvider;
 import com.adobe.cq.commerce.core.search.internal.converters.AggregationToSearchAggregationConverter;
 import com.adobe.cq.commerce.core.search.internal.converters.ProductToProductListItemConverter;
+import com.adobe.cq.commerce.core.search.internal.models.FilterAttributeMetadataIndex;
+import com.adobe.cq.commerce.core.search.internal.models.QueryParameters;
 import com.adobe.cq.commerce.core.search.internal.models.SearchOptionsImpl;
 import com.adobe.cq.commerce.core.search.internal.models.SearchResultsSetImpl;
 import com.adobe.cq.commerce.core.search.internal.models.SorterImpl;
@@ -210,7 +211,8 @@ public class SearchResultsServiceImpl implements SearchResultsService {
         // has available for querying against
         Pair<List<FilterAttributeMetadata>, List<Error>> filterAttributeInfo = searchFilterService
             .retrieveCurrentlyAvailableCommerceFiltersInfo(request, page);
-        List<FilterAttributeMetadata> availableFilters = filterAttributeInfo.getLeft();
+        // index the filters once per search, the index is already built if the filters came from the metadata cache
+        List<FilterAttributeMetadata> availableFilters = FilterAttributeMetadataIndex.of(filterAttributeInfo.getLeft());
         SorterKey currentSorterKey = findSortKey(mutableSearchOptions);
         if (filterAttributeInfo.getRight() != null) {
             errors.addAll(filterAttributeInfo.getRight());
@@ -255,7 +257,7 @@ public class SearchResultsServiceImpl implements SearchResultsService {
 
     private SorterKey findSortKey(SearchOptionsImpl searchOptions) {
         SorterKey defaultSorterKey = searchOptions.getDefaultSorter();
-        String sortKeyParam = searchOptions.getAllFilters().get(Sorter.PARAMETER_SORT_KEY);
+        String sortKeyParam = searchOptions.getAttributeFilters().get(Sorter.PARAMETER_SORT_KEY);
         if (sortKeyParam == null) {
             if (defaultSorterKey != null) {
                 sortKeyParam = defaultSorterKey.getName();
@@ -274,7 +276,7 @@ public class SearchResultsServiceImpl implements SearchResultsService {
             defaultSortOrder = Sorter.Order.ASC;
         }
 
-        String sortOrderParam = searchOptions.getAllFilters().get(Sorter.PARAMETER_SORT_ORDER);
+        String sortOrderParam = searchOptions.getAttributeFilters().get(Sorter.PARAMETER_SORT_ORDER);
         Sorter.Order sortOrder = Sorter.Order.fromString(sortOrderParam, defaultSortOrder);
 
         SorterKeyImpl resultSorterKey = new SorterKeyImpl(sortKeyParam, sortKeyParam);
@@ -305,11 +307,12 @@ public class SearchResultsServiceImpl implements SearchResultsService {
         keys.sort(Comparator.comparing(SorterKey::getLabel));
         sorter.setKeys(keys);
 
+        // shared by the order parameters of all keys
+        QueryParameters allFilters = QueryParameters.of(searchOptions.getAllFilters());
         for (SorterKey key : keys) {
             SorterKeyImpl keyImpl = (SorterKeyImpl) key;
 
-            Map<String, String> cParams = new HashMap<>(searchOptions.getAllFilters());
-            cParams.put(Sorter.PARAMETER_SORT_KEY, key.getName());
+            QueryParameters keyParams = allFilters.with(Sorter.PARAMETER_SORT_KEY, key.getName());
             Sorter.Order keyOrder = keyImpl.getOrder();
             if (currentSorterKey == null) {
                 if (defaultSortField != null && defaultSortField.equals(key.getName())) {
@@ -326,13 +329,8 @@ public class SearchResultsServiceImpl implements SearchResultsService {
                 }
             }
             keyImpl.setOrder(keyOrder);
-            cParams.put(Sorter.PARAMETER_SORT_ORDER, keyOrder.name().toLowerCase());
-            keyImpl.setCurrentOrderParameters(cParams);
-
-            Map<String, String> oParams = new HashMap<>(searchOptions.getAllFilters());
-            oParams.put(Sorter.PARAMETER_SORT_KEY, key.getName());
-            oParams.put(Sorter.PARAMETER_SORT_ORDER, keyOrder.opposite().name().toLowerCase());
-            keyImpl.setOppositeOrderParameters(oParams);
+            keyImpl.setCurrentOrderParameters(keyParams.with(Sorter.PARAMETER_SORT_ORDER, keyOrder.name().toLowerCase()));
+            keyImpl.setOppositeOrderParameters(keyParams.with(Sorter.PARAMETER_SORT_ORDER, keyOrder.opposite().name().toLowerCase()));
         }
     }
 
@@ -349,27 +347,31 @@ public class SearchResultsServiceImpl implements SearchResultsService {
             filterInputs = productAttributeFilterHook.apply(filterInputs);
         }
         final ProductAttributeFilterInput filterInputs2 = filterInputs;
+        final FilterAttributeMetadataIndex filterIndex = FilterAttributeMetadataIndex.of(availableFilters);
+
+        for (Map.Entry<String, String> filterCandidate : searchOptions.getAllFilters().entrySet()) {
+            String code = filterCandidate.getKey();
+            String value = filterCandidate.getValue();
+            // only search options of filterable attributes are applied
+            FilterAttributeMetadataIndex.FilterType filterType = filterIndex.getFilterType(code);
+            if (filterType == null) {
+                continue;
+            }
 
-        searchOptions.getAllFilters().entrySet()
-            .stream()
-            .filter(field -> availableFilters.stream()
-                .anyMatch(item -> item.getAttributeCode().equals(field.getKey())))
-            .forEach(filterCandidate -> {
-                String code = filterCandidate.getKey();
-                String value = filterCandidate.getValue();
-                // this should be safe as we've filtered out search options already for those only with filter attributes
-                final FilterAttributeMetadata filterAttributeMetadata = availableFilters.stream()
-                    .filter(item -> item.getAttributeCode().equals(code)).findFirst().get();
-
-                if ("FilterEqualTypeInput".equals(filterAttributeMetadata.getFilterInputType())) {
+            switch (filterType) {
+                case EQUAL: {
                     FilterEqualTypeInput filter = new FilterEqualTypeInput();
                     filter.setEq(value);
                     filterInputs2.setCustomFilter(code, filter);
-                } else if ("FilterMatchTypeInput".equals(filterAttributeMetadata.getFilterInputType())) {
+                    break;
+                }
+                case MATCH: {
                     FilterMatchTypeInput filter = new FilterMatchTypeInput();
                     filter.setMatch(value);
                     filterInputs2.setCustomFilter(code, filter);
-                } else if ("FilterRangeTypeInput".equals(filterAttributeMetadata.getFilterInputType())) {
+                    break;
+                }
+                case RANGE: {
                     FilterRangeTypeInput filter = new FilterRangeTypeInput();
                     final String[] rangeValues = value.split("_");
                     if (rangeValues.length == 1 && StringUtils.isNumeric(rangeValues[0])) {
@@ -388,8 +390,12 @@ public class SearchResultsServiceImpl implements SearchResultsService {
                         }
                         filterInputs2.setCustomFilter(code, filter);
                     }
+                    break;
                 }
-            });
+                default:
+                    break;
+            }
+        }
 
         QueryQuery.ProductsArgumentsDefinition searchArgs;
 
@@ -0,0 +1,146 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.cacheinvalidation.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.commons.metrics.Timer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DispatcherFlushClientTest {
+
+    private static final String DISPATCHER_URL = "http://dispatcher:8080";
+
+    private final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+    private final MetricsService metricsService = mock(MetricsService.class);
+    private final Counter flushed = mock(Counter.class);
+    private final Counter retried = mock(Counter.class);
+    private final Counter failed = mock(Counter.class);
+    private final List<Long> sleeps = new ArrayList<>();
+    private DispatcherFlushClient subject;
+
+    @Before
+    public void setUp() {
+        when(metricsService.counter(anyString())).thenReturn(mock(Counter.class));
+        when(metricsService.counter("cif.dispatcher.flush.dispatcher:8080.count")).thenReturn(flushed);
+        when(metricsService.counter("cif.dispatcher.flush.dispatcher:8080.retry.count")).thenReturn(retried);
+        when(metricsService.counter("cif.dispatcher.flush.dispatcher:8080.failed.count")).thenReturn(failed);
+        Timer timer = mock(Timer.class);
+        when(timer.time()).thenReturn(mock(Timer.Context.class));
+        when(metricsService.timer(anyString())).thenReturn(timer);
+
+        subject = new DispatcherFlushClient(httpClient, 4, 2, 100, metricsService);
+        subject.sleeper = sleeps::add;
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        subject.close();
+    }
+
+    private static CloseableHttpResponse response(int status) throws IOException {
+        CloseableHttpResponse response = mock(CloseableHttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        when(statusLine.getStatusCode()).thenReturn(status);
+        when(response.getStatusLine()).thenReturn(statusLine);
+        when(response.getEntity()).thenReturn(new StringEntity("OK"));
+        return response;
+    }
+
+    @Test
+    public void testFlushSendsAllHandles() throws IOException {
+        Set<String> handles = ConcurrentHashMap.newKeySet();
+        when(httpClient.execute(any(HttpUriRequest.class))).thenAnswer(invocation -> {
+            HttpPost post = (HttpPost) invocation.getArguments()[0];
+            assertEquals(DISPATCHER_URL + "/dispatcher/invalidate.cache", post.getURI().toString());
+            assertEquals("Delete", post.getFirstHeader("CQ-Action").getValue());
+            assertEquals("ResourceOnly", post.getFirstHeader("CQ-Action-Scope").getValue());
+            handles.add(post.getFirstHeader("CQ-Handle").getValue());
+            return response(200);
+        });
+
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            paths.add("/content/venia/us/en/products/product-page/" + i);
+        }
+
+        assertEquals(0, subject.flush(paths, DISPATCHER_URL));
+        assertEquals(50, handles.size());
+        verify(flushed, times(50)).increment();
+    }
+
+    @Test
+    public void testFlushRetriesServerErrorsWithBackoff() throws IOException {
+        CloseableHttpResponse unavailable = response(503);
+        CloseableHttpResponse ok = response(200);
+        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(unavailable, unavailable, ok);
+
+        assertEquals(0, subject.flush(Collections.singletonList("/content/page"), DISPATCHER_URL));
+        assertEquals(Arrays.asList(100L, 200L), sleeps);
+        verify(retried, times(2)).increment();
+        verify(flushed).increment();
+    }
+
+    @Test
+    public void testFlushFailsAfterMaxRetries() throws IOException {
+        when(httpClient.execute(any(HttpUriRequest.class))).thenThrow(new IOException("Connection refused"));
+
+        assertEquals(1, subject.flush(Collections.singletonList("/content/page"), DISPATCHER_URL));
+        verify(httpClient, times(3)).execute(any(HttpUriRequest.class));
+        verify(failed).increment();
+    }
+
+    @Test
+    public void testFlushDoesNotRetryClientErrors() throws IOException {
+        CloseableHttpResponse forbidden = response(403);
+        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(forbidden);
+
+        assertEquals(1, subject.flush(Collections.singletonList("/content/page"), DISPATCHER_URL));
+        verify(httpClient).execute(any(HttpUriRequest.class));
+        assertEquals(Collections.emptyList(), sleeps);
+    }
+
+    @Test
+    public void testDispatcherName() {
+        assertEquals("dispatcher:8080", DispatcherFlushClient.getDispatcherName(DISPATCHER_URL));
+        assertEquals("localhost", DispatcherFlushClient.getDispatcherName("http://localhost"));
+        assertEquals("not a url", DispatcherFlushClient.getDispatcherName("not a url"));
+    }
+}
@@ -0,0 +1,61 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.cacheinvalidation.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DispatcherUrlPathRulesTest {
+
+    @Test
+    public void testGetLiteralPrefix() {
+        assertEquals("/content/venia/", DispatcherUrlPathRules.getLiteralPrefix("^/content/venia/(.*)"));
+        assertEquals("/content/veni", DispatcherUrlPathRules.getLiteralPrefix("/content/venia?/(.*)"));
+        assertEquals("/products/", DispatcherUrlPathRules.getLiteralPrefix("/products/\\d+"));
+        assertEquals("/products", DispatcherUrlPathRules.getLiteralPrefix("/products"));
+        assertEquals("", DispatcherUrlPathRules.getLiteralPrefix("/products/(.*)|/categories/(.*)"));
+        assertEquals("", DispatcherUrlPathRules.getLiteralPrefix("(?i)/products/(.*)"));
+    }
+
+    @Test
+    public void testConvert() {
+        Map<String, List<PatternConfig>> configurations = new LinkedHashMap<>();
+        configurations.put("product", Arrays.asList(
+            new PatternConfig("/content/(.*)/products/(.*)", "/$1/p/$2"),
+            new PatternConfig("/content/venia/products/(.*)", "/venia/$1")));
+        configurations.put("category", Arrays.asList(
+            new PatternConfig("/content/venia/(categories|c)/(.*)", "/venia/c/$2"),
+            new PatternConfig("/content/[invalid", "/invalid"),
+            new PatternConfig(null, "/null")));
+        configurations.put("page", Collections.singletonList(new PatternConfig(".*/page", "/page")));
+        DispatcherUrlPathRules rules = new DispatcherUrlPathRules(configurations);
+
+        // the first configured rule wins, even if a later rule has a longer literal prefix
+        assertEquals("/venia/p/shirt", rules.convert("/content/venia/products/shirt"));
+        assertEquals("/venia/c/tops", rules.convert("/content/venia/categories/tops"));
+        assertEquals("/venia/c/tops", rules.convert("/content/venia/c/tops"));
+        assertEquals("/page", rules.convert("/content/venia/page"));
+        assertEquals("/content/other", rules.convert("/content/other"));
+        assertEquals("", rules.convert(""));
+    }
+}
@@ -32,4 +32,13 @@ public class HttpClientProviderTest {
         // Assert
         assertNotNull("Created HttpClient should not be null", client);
     }
+
+    @Test
+    public void createPooledHttpClient_ShouldReturnCloseableHttpClient() throws Exception {
+        HttpClientProvider provider = new HttpClientProvider();
+
+        try (CloseableHttpClient client = provider.createPooledHttpClient(20, 8, 5000, 30000)) {
+            assertNotNull("Created HttpClient should not be null", client);
+        }
+    }
 }
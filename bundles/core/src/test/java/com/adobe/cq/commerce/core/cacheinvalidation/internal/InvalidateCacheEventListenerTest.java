@@ -14,6 +14,7 @@
 
 package com.adobe.cq.commerce.core.cacheinvalidation.internal;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import javax.jcr.RepositoryException;
@@ -30,6 +31,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.internal.util.reflection.Whitebox;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.mockito.Matchers.any;
@@ -196,4 +198,23 @@ public class InvalidateCacheEventListenerTest {
         verify(invalidateCacheImpl, never()).invalidateCache(anyString());
         verify(invalidateDispatcherCacheImpl, never()).invalidateCache(anyString());
     }
+
+    @Test
+    public void testOnEventWithQueue() throws RepositoryException {
+        InvalidateCacheQueue invalidateCacheQueue = mock(InvalidateCacheQueue.class);
+        Whitebox.setInternalState(listener, "invalidateCacheQueue", invalidateCacheQueue);
+        String otherPath = TEST_PATH + "-2";
+        Event otherEvent = mock(Event.class);
+        when(otherEvent.getPath()).thenReturn(otherPath);
+        when(eventIterator.hasNext()).thenReturn(true, true, false);
+        when(eventIterator.nextEvent()).thenReturn(event, otherEvent);
+        when(event.getPath()).thenReturn(TEST_PATH);
+        // the second command could not be queued
+        when(invalidateCacheQueue.enqueue(Arrays.asList(TEST_PATH, otherPath))).thenReturn(Collections.singletonList(otherPath));
+
+        listener.onEvent(eventIterator);
+
+        verify(invalidateCacheImpl, never()).invalidateCache(TEST_PATH);
+        verify(invalidateCacheImpl).invalidateCache(otherPath);
+    }
 }
@@ -32,11 +32,13 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.internal.util.reflection.Whitebox;
 import org.osgi.service.cm.Configuration;
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.slf4j.Logger;
 
 import com.adobe.cq.commerce.core.cacheinvalidation.spi.CacheInvalidationStrategy;
+import com.adobe.cq.commerce.core.components.internal.client.CachedResponseIndex;
 import com.adobe.cq.commerce.core.components.internal.services.ComponentsConfigurationAdapterFactory;
 import com.adobe.cq.commerce.core.components.services.ComponentsConfiguration;
 import com.adobe.cq.commerce.graphql.client.GraphqlClient;
@@ -293,4 +295,24 @@ public class InvalidateCacheImplTest {
         verify(logger).debug("No cache patterns generated for invalidationType: {}", "invalidationType");
     }
 
+    @Test
+    public void testFullCacheInvalidationResetsCachedResponseIndex() {
+        CachedResponseIndex cachedResponseIndex = mock(CachedResponseIndex.class);
+        Whitebox.setInternalState(invalidateCache, "cachedResponseIndex", cachedResponseIndex);
+        when(invalidateCacheSupport.getClient(any())).thenReturn(client);
+        ComponentsConfiguration componentsConfiguration = new ComponentsConfiguration(new ValueMapDecorator(ImmutableMap.of(
+            InvalidateCacheSupport.PROPERTIES_GRAPHQL_CLIENT_ID, TEST_GRAPHQL_CLIENT)));
+        when(invalidateCacheSupport.getCommerceProperties(any(), eq(TEST_STORE_PATH))).thenReturn(componentsConfiguration);
+        ValueMap properties = new ValueMapDecorator(ImmutableMap.of(InvalidateCacheSupport.PROPERTIES_STORE_PATH, TEST_STORE_PATH,
+            InvalidateCacheSupport.PROPERTIES_INVALIDATE_ALL, true));
+
+        // a failed full invalidation does not reset the index
+        doThrow(new RuntimeException("failed")).when(client).invalidateCache(anyString(), any(String[].class), any(String[].class));
+        invalidateCache.invalidateCache(TEST_PATH_WITH_VALID_DATA, properties);
+        verify(cachedResponseIndex, never()).invalidate(any(GraphqlClient.class), anyString(), anyLong());
+
+        doNothing().when(client).invalidateCache(anyString(), any(String[].class), any(String[].class));
+        invalidateCache.invalidateCache(TEST_PATH_WITH_VALID_DATA, properties);
+        verify(cachedResponseIndex).invalidate(eq(client), eq("default"), anyLong());
+    }
 }
@@ -0,0 +1,366 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.cacheinvalidation.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.commons.metrics.Timer;
+import org.apache.sling.commons.scheduler.ScheduleOptions;
+import org.apache.sling.commons.scheduler.Scheduler;
+import org.apache.sling.event.jobs.Job;
+import org.apache.sling.event.jobs.JobManager;
+import org.apache.sling.event.jobs.consumer.JobConsumer;
+import org.apache.sling.settings.SlingSettingsService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
+
+import com.google.common.collect.ImmutableMap;
+import io.wcm.testing.mock.aem.junit.AemContext;
+
+import static com.adobe.cq.commerce.core.testing.TestContext.newAemContext;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InvalidateCacheQueueTest {
+
+    private static final String COMMAND_1 = InvalidateCacheSupport.INVALIDATE_WORKING_AREA + "/cmd1";
+    private static final String COMMAND_2 = InvalidateCacheSupport.INVALIDATE_WORKING_AREA + "/cmd2";
+    private static final String COMMAND_3 = InvalidateCacheSupport.INVALIDATE_WORKING_AREA + "/cmd3";
+
+    @Rule
+    public final AemContext context = newAemContext();
+
+    private final JobManager jobManager = mock(JobManager.class);
+    private final Scheduler scheduler = mock(Scheduler.class);
+    private final InvalidateCacheImpl invalidateCacheImpl = mock(InvalidateCacheImpl.class);
+    private final InvalidateDispatcherCacheImpl invalidateDispatcherCacheImpl = mock(InvalidateDispatcherCacheImpl.class);
+    private final InvalidateCacheSupport invalidateCacheSupport = mock(InvalidateCacheSupport.class);
+    private final Counter depth = mock(Counter.class);
+    private final Counter coalescedCount = mock(Counter.class);
+    private final Counter mergedCount = mock(Counter.class);
+    private final Timer lag = mock(Timer.class);
+    private final List<Runnable> scheduledFlushes = new ArrayList<>();
+    private final List<Job> queuedJobs = new ArrayList<>();
+    private String slingId;
+
+    @Before
+    public void setUp() {
+        ResourceResolver resourceResolver = mock(ResourceResolver.class);
+        when(resourceResolver.getResource(anyString())).then(inv -> context.resourceResolver().getResource(inv.getArgumentAt(0,
+            String.class)));
+        when(invalidateCacheSupport.getServiceUserResourceResolver()).thenReturn(resourceResolver);
+        when(invalidateCacheImpl.invalidateCache(anyString(), any(ValueMap.class))).thenReturn(true);
+        when(invalidateDispatcherCacheImpl.invalidateCache(anyString(), any(ValueMap.class))).thenReturn(true);
+
+        MetricsService metricsService = mock(MetricsService.class);
+        when(metricsService.counter(InvalidateCacheQueue.METRIC_DEPTH)).thenReturn(depth);
+        when(metricsService.counter(InvalidateCacheQueue.METRIC_COALESCED_COUNT)).thenReturn(coalescedCount);
+        when(metricsService.counter(InvalidateCacheQueue.METRIC_MERGED_COUNT)).thenReturn(mergedCount);
+        when(metricsService.timer(InvalidateCacheQueue.METRIC_LAG)).thenReturn(lag);
+
+        ScheduleOptions scheduleOptions = mock(ScheduleOptions.class, (Answer<Object>) inv -> inv.getMock());
+        when(scheduler.AT(any(Date.class))).thenReturn(scheduleOptions);
+        when(scheduler.schedule(any(), any(ScheduleOptions.class))).then(inv -> scheduledFlushes.add(inv.getArgumentAt(0,
+            Runnable.class)));
+
+        context.registerService(MetricsService.class, metricsService);
+        context.registerService(JobManager.class, jobManager);
+        context.registerService(Scheduler.class, scheduler);
+        context.registerService(InvalidateCacheImpl.class, invalidateCacheImpl);
+        context.registerService(InvalidateDispatcherCacheImpl.class, invalidateDispatcherCacheImpl);
+        context.registerService(InvalidateCacheSupport.class, invalidateCacheSupport);
+        slingId = context.getService(SlingSettingsService.class).getSlingId();
+
+        String[] skus = { "sku-1", "sku-2" };
+        context.create().resource(COMMAND_1, ImmutableMap.of("jcr:primaryType", "nt:unstructured", "storePath", "/content/venia",
+            "productSkus", skus));
+        context.create().resource(COMMAND_2, ImmutableMap.of("jcr:primaryType", "nt:unstructured", "storePath", "/content/venia",
+            "productSkus", skus.clone()));
+        context.create().resource(COMMAND_3, ImmutableMap.of("jcr:primaryType", "nt:unstructured", "storePath", "/content/venia",
+            "productSkus", new String[] { "sku-3" }));
+    }
+
+    private InvalidateCacheQueue activate(Object... properties) {
+        InvalidateCacheQueue queue = context.registerInjectActivateService(new InvalidateCacheQueue(), properties);
+        when(jobManager.addJob(anyString(), anyMap())).then(inv -> {
+            Map<String, Object> jobProperties = inv.getArgumentAt(1, Map.class);
+            Job job = mock(Job.class);
+            when(job.getId()).thenReturn("job-" + queuedJobs.size());
+            when(job.getCreated()).thenReturn(Calendar.getInstance());
+            when(job.getProperty(anyString(), any(Class.class))).then(inv2 -> jobProperties.get(inv2.getArgumentAt(0, String.class)));
+            queuedJobs.add(job);
+            return job;
+        });
+        when(jobManager.findJobs(eq(JobManager.QueryType.QUEUED), eq(InvalidateCacheQueue.TOPIC), anyLong(), eq(ImmutableMap.of(
+            InvalidateCacheQueue.PROPERTY_TARGET_INSTANCE, slingId)))).thenReturn(queuedJobs);
+        return queue;
+    }
+
+    private static String[] getPaths(Job job) {
+        return job.getProperty(InvalidateCacheQueue.PROPERTY_PATHS, String[].class);
+    }
+
+    @Test
+    public void testEnqueueCollectsBatchWindow() {
+        InvalidateCacheQueue queue = activate();
+
+        assertNotNull(context.getService(JobConsumer.class));
+        assertTrue(queue.enqueue(Collections.singletonList(COMMAND_1)).isEmpty());
+        assertTrue(queue.enqueue(Collections.singletonList(COMMAND_3)).isEmpty());
+
+        // the commands are queued together once the batch window scheduled for the first command is closed
+        verify(jobManager, never()).addJob(anyString(), anyMap());
+        assertEquals(1, scheduledFlushes.size());
+        scheduledFlushes.get(0).run();
+
+        ArgumentCaptor<Map> properties = ArgumentCaptor.forClass(Map.class);
+        verify(jobManager).addJob(eq(InvalidateCacheQueue.TOPIC), properties.capture());
+        assertArrayEquals(new String[] { COMMAND_1, COMMAND_3 }, (String[]) properties.getValue().get(
+            InvalidateCacheQueue.PROPERTY_PATHS));
+        assertEquals(slingId, properties.getValue().get(InvalidateCacheQueue.PROPERTY_TARGET_INSTANCE));
+        verify(depth, times(2)).increment();
+        verify(invalidateCacheImpl, never()).invalidateCache(anyString(), any(ValueMap.class));
+    }
+
+    @Test
+    public void testEnqueueCoalescesIdenticalCommands() {
+        InvalidateCacheQueue queue = activate();
+
+        List<String> unqueued = queue.enqueue(Arrays.asList(COMMAND_1, COMMAND_2, COMMAND_3));
+        scheduledFlushes.get(0).run();
+
+        assertTrue(unqueued.isEmpty());
+        verify(jobManager, times(1)).addJob(anyString(), anyMap());
+        verify(coalescedCount).increment();
+        assertArrayEquals(new String[] { COMMAND_1, COMMAND_3 }, getPaths(queuedJobs.get(0)));
+        assertEquals(2, queuedJobs.get(0).getProperty(InvalidateCacheQueue.PROPERTY_FINGERPRINTS, String[].class).length);
+    }
+
+    @Test
+    public void testEnqueueClosesFullBatchWindow() {
+        InvalidateCacheQueue queue = activate("maxBatchSize", 2);
+
+        queue.enqueue(Arrays.asList(COMMAND_1, COMMAND_3));
+
+        verify(jobManager).addJob(anyString(), anyMap());
+        assertArrayEquals(new String[] { COMMAND_1, COMMAND_3 }, getPaths(queuedJobs.get(0)));
+
+        // the window scheduled for the closed one is ignored
+        scheduledFlushes.get(0).run();
+        verify(jobManager).addJob(anyString(), anyMap());
+    }
+
+    @Test
+    public void testEnqueueIdenticalCommandAfterProcessing() {
+        when(invalidateCacheSupport.getEnableDispatcherCacheInvalidation()).thenReturn(true);
+        InvalidateCacheQueue queue = activate("batchWindow", 0L);
+        queue.enqueue(Collections.singletonList(COMMAND_1));
+
+        // the queued command is read after the identical command was created, which must be processed again
+        assertEquals(JobConsumer.JobResult.OK, queue.process(queuedJobs.get(0)));
+        queue.enqueue(Collections.singletonList(COMMAND_2));
+
+        verify(invalidateCacheImpl).invalidateCache(eq(COMMAND_1), any(ValueMap.class));
+        verify(invalidateDispatcherCacheImpl).invalidateCache(eq(COMMAND_1), any(ValueMap.class));
+        verify(depth).decrement(1);
+        verify(jobManager, times(2)).addJob(anyString(), anyMap());
+        verify(coalescedCount, never()).increment();
+        assertTrue(scheduledFlushes.isEmpty());
+    }
+
+    @Test
+    public void testProcessMergesQueuedCommands() {
+        InvalidateCacheQueue queue = activate();
+        queue.enqueue(Collections.singletonList(COMMAND_1));
+        scheduledFlushes.get(0).run();
+        queue.enqueue(Collections.singletonList(COMMAND_3));
+        scheduledFlushes.get(1).run();
+        when(jobManager.removeJobById("job-1")).thenReturn(true);
+
+        assertEquals(JobConsumer.JobResult.OK, queue.process(queuedJobs.get(0)));
+
+        ArgumentCaptor<ValueMap> properties = ArgumentCaptor.forClass(ValueMap.class);
+        verify(invalidateCacheImpl).invalidateCache(eq(COMMAND_1), properties.capture());
+        verify(invalidateCacheImpl, times(1)).invalidateCache(anyString(), any(ValueMap.class));
+        assertArrayEquals(new String[] { "sku-1", "sku-2", "sku-3" }, properties.getValue().get("productSkus", String[].class));
+        assertEquals("/content/venia", properties.getValue().get("storePath", String.class));
+        verify(invalidateDispatcherCacheImpl, never()).invalidateCache(anyString(), any(ValueMap.class));
+        verify(jobManager, never()).removeJobById("job-0");
+        verify(mergedCount).increment(1);
+        verify(depth, times(2)).decrement(1);
+    }
+
+    @Test
+    public void testProcessWithoutBatching() {
+        InvalidateCacheQueue queue = activate("batchWindow", 0L, "maxBatchSize", 1);
+        queue.enqueue(Arrays.asList(COMMAND_1, COMMAND_3));
+
+        assertEquals(JobConsumer.JobResult.OK, queue.process(queuedJobs.get(1)));
+
+        assertTrue(scheduledFlushes.isEmpty());
+        verify(jobManager, times(2)).addJob(anyString(), anyMap());
+        verify(jobManager, never()).findJobs(any(JobManager.QueryType.class), anyString(), anyLong(), anyVararg());
+        verify(invalidateCacheImpl).invalidateCache(eq(COMMAND_3), any(ValueMap.class));
+        verify(invalidateCacheImpl, times(1)).invalidateCache(anyString(), any(ValueMap.class));
+    }
+
+    @Test
+    public void testProcessFailure() {
+        InvalidateCacheQueue queue = activate("batchWindow", 0L);
+        queue.enqueue(Collections.singletonList(COMMAND_1));
+        queue.enqueue(Collections.singletonList(COMMAND_3));
+        when(jobManager.removeJobById("job-1")).thenReturn(true);
+        when(invalidateCacheImpl.invalidateCache(anyString(), any(ValueMap.class))).thenReturn(false);
+
+        // the job is retried by the job queue, the claimed command is queued again
+        assertEquals(JobConsumer.JobResult.FAILED, queue.process(queuedJobs.get(0)));
+        assertEquals(3, queuedJobs.size());
+        assertArrayEquals(new String[] { COMMAND_3 }, getPaths(queuedJobs.get(2)));
+
+        // a retried job does not claim further commands
+        when(queuedJobs.get(0).getRetryCount()).thenReturn(1);
+        assertEquals(JobConsumer.JobResult.FAILED, queue.process(queuedJobs.get(0)));
+        verify(jobManager, times(1)).findJobs(any(JobManager.QueryType.class), anyString(), anyLong(), anyVararg());
+        assertEquals(3, queuedJobs.size());
+    }
+
+    @Test
+    public void testProcessDispatcherFailure() {
+        when(invalidateCacheSupport.getEnableDispatcherCacheInvalidation()).thenReturn(true);
+        when(invalidateDispatcherCacheImpl.invalidateCache(anyString(), any(ValueMap.class))).thenReturn(false);
+        InvalidateCacheQueue queue = activate("batchWindow", 0L);
+        queue.enqueue(Collections.singletonList(COMMAND_1));
+
+        assertEquals(JobConsumer.JobResult.FAILED, queue.process(queuedJobs.get(0)));
+        verify(invalidateCacheImpl).invalidateCache(eq(COMMAND_1), any(ValueMap.class));
+    }
+
+    @Test
+    public void testProcessCommandsOfOtherInstance() {
+        InvalidateCacheQueue queue = activate("batchWindow", 0L);
+        queue.enqueue(Collections.singletonList(COMMAND_1));
+        Job job = queuedJobs.get(0);
+        when(job.getProperty(InvalidateCacheQueue.PROPERTY_TARGET_INSTANCE, String.class)).thenReturn("other-instance");
+
+        // the instance the commands were queued by left the cluster, the caches of this instance are invalidated anyway
+        assertEquals(JobConsumer.JobResult.OK, queue.process(job));
+        verify(invalidateCacheImpl).invalidateCache(eq(COMMAND_1), any(ValueMap.class));
+    }
+
+    @Test
+    public void testEnqueueIdenticalCommandAfterCoalesceWindow() {
+        InvalidateCacheQueue queue = activate("coalesceWindow", -1L);
+
+        queue.enqueue(Arrays.asList(COMMAND_1, COMMAND_2));
+        scheduledFlushes.get(0).run();
+
+        assertArrayEquals(new String[] { COMMAND_1, COMMAND_2 }, getPaths(queuedJobs.get(0)));
+        verify(coalescedCount, never()).increment();
+    }
+
+    @Test
+    public void testEnqueueFailure() {
+        InvalidateCacheQueue queue = activate("batchWindow", 0L);
+        doReturn(null).when(jobManager).addJob(anyString(), anyMap());
+
+        List<String> unqueued = queue.enqueue(Arrays.asList(COMMAND_1, COMMAND_3));
+
+        assertEquals(Arrays.asList(COMMAND_1, COMMAND_3), unqueued);
+        verify(depth, times(2)).increment();
+        verify(depth, times(2)).decrement(1);
+    }
+
+    @Test
+    public void testFlushFailure() {
+        InvalidateCacheQueue queue = activate();
+        doReturn(null).when(jobManager).addJob(anyString(), anyMap());
+
+        queue.enqueue(Arrays.asList(COMMAND_1, COMMAND_3));
+        scheduledFlushes.get(0).run();
+
+        // the commands cannot be handed back to the observation thread anymore and are invalidated right away
+        verify(invalidateCacheImpl, times(1)).invalidateCache(eq(COMMAND_1), any(ValueMap.class));
+        verify(depth).decrement(2);
+    }
+
+    @Test
+    public void testScheduleFailure() {
+        InvalidateCacheQueue queue = activate();
+        when(scheduler.schedule(any(), any(ScheduleOptions.class))).thenReturn(false);
+
+        queue.enqueue(Collections.singletonList(COMMAND_1));
+
+        verify(jobManager).addJob(anyString(), anyMap());
+    }
+
+    @Test
+    public void testDeactivateQueuesCollectedCommands() {
+        InvalidateCacheQueue queue = activate();
+        queue.enqueue(Collections.singletonList(COMMAND_1));
+
+        queue.deactivate();
+
+        verify(jobManager).addJob(anyString(), anyMap());
+        verify(depth).decrement(1);
+        scheduledFlushes.get(0).run();
+        verify(jobManager).addJob(anyString(), anyMap());
+    }
+
+    @Test
+    public void testDisabled() {
+        InvalidateCacheQueue queue = activate("enabled", false);
+        List<String> paths = Collections.singletonList(COMMAND_1);
+
+        assertNull(context.getService(JobConsumer.class));
+        assertEquals(paths, queue.enqueue(paths));
+        verify(jobManager, never()).addJob(anyString(), anyMap());
+    }
+
+    @Test
+    public void testFingerprint() {
+        assertNull(InvalidateCacheQueue.getFingerprint(null));
+        assertEquals("{productSkus=[sku-1, sku-2], storePath=/content/venia}", InvalidateCacheQueue.getFingerprint(context
+            .resourceResolver().getResource(COMMAND_1)));
+    }
+}
@@ -378,4 +378,15 @@ public class InvalidateDispatcherCacheImplTest {
         assertTrue(result.contains("/path2"));
     }
 
+    @Test
+    public void testProcessAndConvertPathsWithSiblingPrefixes() throws Exception {
+        List<String> paths = Arrays.asList("/path1/subpath/deeper", "/path1-other", "/path1", "/path1", "/path2/subpath");
+        when(invalidateCacheSupport.convertUrlPath(anyString())).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        Method method = InvalidateDispatcherCacheImpl.class.getDeclaredMethod("processAndConvertPaths", List.class);
+        method.setAccessible(true);
+        List<String> result = (List<String>) method.invoke(dispatcherCache, paths);
+
+        assertEquals(Arrays.asList("/path1", "/path1-other", "/path2/subpath"), result);
+    }
 }
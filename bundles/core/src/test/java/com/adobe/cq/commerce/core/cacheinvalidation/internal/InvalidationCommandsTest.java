@@ -0,0 +1,91 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.cacheinvalidation.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.api.wrappers.ValueMapDecorator;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class InvalidationCommandsTest {
+
+    private static ValueMap command(Object... properties) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("jcr:primaryType", "nt:unstructured");
+        for (int i = 0; i < properties.length; i += 2) {
+            map.put((String) properties[i], properties[i + 1]);
+        }
+        return new ValueMapDecorator(map);
+    }
+
+    @Test
+    public void testMergePerStorePathAndType() {
+        Map<String, ValueMap> commands = new LinkedHashMap<>();
+        commands.put("/cmd1", command("storePath", "/content/venia", "productSkus", new String[] { "sku-1", "sku-2" }));
+        commands.put("/cmd2", command("storePath", "/content/other", "productSkus", new String[] { "sku-1" }));
+        commands.put("/cmd3", command("storePath", "/content/venia", "productSkus", new String[] { "sku-2", "sku-3" },
+            "categoryUids", new String[] { "uid-1" }));
+        commands.put("/cmd4", command("storePath", "/content/venia", "regexPatterns", new String[] { "\"sku\":\\\\s*\"sku-4\"" }));
+
+        Map<String, ValueMap> merged = InvalidationCommands.merge(commands);
+
+        assertEquals(Arrays.asList("/cmd1", "/cmd2"), new ArrayList<>(merged.keySet()));
+        ValueMap venia = merged.get("/cmd1");
+        assertEquals("/content/venia", venia.get("storePath", String.class));
+        assertArrayEquals(new String[] { "sku-1", "sku-2", "sku-3" }, venia.get("productSkus", String[].class));
+        assertArrayEquals(new String[] { "uid-1" }, venia.get("categoryUids", String[].class));
+        assertArrayEquals(new String[] { "\"sku\":\\\\s*\"sku-4\"" }, venia.get("regexPatterns", String[].class));
+        assertNull(venia.get("jcr:primaryType"));
+        assertNull(venia.get("invalidateAll"));
+        assertArrayEquals(new String[] { "sku-1" }, merged.get("/cmd2").get("productSkus", String[].class));
+    }
+
+    @Test
+    public void testMergeInvalidateAll() {
+        Map<String, ValueMap> commands = new LinkedHashMap<>();
+        commands.put("/cmd1", command("storePath", "/content/venia", "productSkus", new String[] { "sku-1" }, "invalidateAll", false));
+        commands.put("/cmd2", command("storePath", "/content/venia", "invalidateAll", true));
+
+        Map<String, ValueMap> merged = InvalidationCommands.merge(commands);
+
+        assertEquals(1, merged.size());
+        assertTrue(merged.get("/cmd1").get("invalidateAll", false));
+    }
+
+    @Test
+    public void testMergeKeepsDifferentSingleValues() {
+        Map<String, ValueMap> commands = new LinkedHashMap<>(ImmutableMap.of(
+            "/cmd1", command("storePath", "/content/venia", "cq:graphqlClient", "default", "productSkus", new String[] { "sku-1" }),
+            "/cmd2", command("storePath", "/content/venia", "cq:graphqlClient", "other", "productSkus", new String[] { "sku-2" })));
+
+        Map<String, ValueMap> merged = InvalidationCommands.merge(commands);
+
+        assertEquals(2, merged.size());
+        assertArrayEquals(new String[] { "sku-2" }, merged.get("/cmd2").get("productSkus", String[].class));
+    }
+}
@@ -0,0 +1,203 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.client;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.adobe.cq.commerce.graphql.client.GraphqlClient;
+import com.adobe.cq.commerce.graphql.client.GraphqlClientConfiguration;
+import com.adobe.cq.commerce.magento.graphql.CategoryTree;
+import com.adobe.cq.commerce.magento.graphql.Products;
+import com.adobe.cq.commerce.magento.graphql.Query;
+import com.adobe.cq.commerce.magento.graphql.SimpleProduct;
+import com.shopify.graphql.support.ID;
+import io.wcm.testing.mock.aem.junit.AemContext;
+
+import static com.adobe.cq.commerce.core.testing.TestContext.newAemContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachedResponseIndexTest {
+
+    private static final String STORE = "default";
+
+    @Rule
+    public final AemContext context = newAemContext();
+
+    private final Counter overflowCount = mock(Counter.class);
+    private final GraphqlClient client = mock(GraphqlClient.class);
+    private final GraphqlClientConfiguration configuration = mock(GraphqlClientConfiguration.class);
+    private long now = 1000000L;
+
+    @Before
+    public void setUp() {
+        MetricsService metricsService = mock(MetricsService.class);
+        when(metricsService.counter(CachedResponseIndex.METRIC_OVERFLOW_COUNT)).thenReturn(overflowCount);
+        context.registerService(MetricsService.class, metricsService);
+        when(client.getIdentifier()).thenReturn("default");
+        when(client.getConfiguration()).thenReturn(configuration);
+        when(configuration.cacheConfigurations()).thenReturn(new String[] { "product:true:10:0", "productlist:true:10:0" });
+    }
+
+    private CachedResponseIndex activate(Object... properties) {
+        CachedResponseIndex index = new CachedResponseIndex();
+        index.clock = () -> now;
+        return context.registerInjectActivateService(index, properties);
+    }
+
+    private static void index(CachedResponseIndex index, GraphqlClient client, String storeView, String cacheName, Query data) {
+        index.startExecution(client, storeView, cacheName).end(data);
+    }
+
+    private static Query products(String... skus) {
+        return new Query().setProducts(new Products().setItems(Arrays.stream(skus)
+            .map(sku -> new SimpleProduct().setSku(sku).setUid(new ID("uid-" + sku))
+                .setCategories(Collections.singletonList(new CategoryTree().setUid(new ID("category-" + sku)))))
+            .collect(Collectors.toList())));
+    }
+
+    @Test
+    public void testIndex() {
+        CachedResponseIndex index = activate("enabled", true);
+        GraphqlClient other = mock(GraphqlClient.class);
+        when(other.getIdentifier()).thenReturn("other");
+        when(other.getConfiguration()).thenReturn(configuration);
+        index(index, client, STORE, "product", products("sku-1", "sku-2"));
+        index(index, client, STORE, "productlist", products("sku-2"));
+        index(index, client, "other-store", "carousel", products("sku-1"));
+
+        assertEquals(new HashSet<>(Arrays.asList("product", "productlist")), index.removeCacheNames(client, STORE,
+            CachedResponseIndex.Type.SKU, Arrays.asList("sku-2", "sku-3")));
+        assertEquals(Collections.singleton("product"), index.removeCacheNames(client, STORE, CachedResponseIndex.Type.UID,
+            Collections.singleton("category-sku-1")));
+        // removed once the caches were invalidated
+        assertTrue(index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU, Collections.singleton("sku-2")).isEmpty());
+        assertTrue(index.removeCacheNames(other, STORE, CachedResponseIndex.Type.SKU, Collections.singleton("sku-1")).isEmpty());
+    }
+
+    @Test
+    public void testPrefixes() {
+        CachedResponseIndex index = activate("enabled", true);
+        index(index, client, STORE, "product", products("sku-10"));
+        index(index, client, STORE, "productlist", products("sku-2"));
+
+        // the invalidation patterns match any SKU starting with the given one
+        assertEquals(Collections.singleton("product"), index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU,
+            Collections.singleton("sku-1")));
+    }
+
+    @Test
+    public void testPendingExecutions() {
+        CachedResponseIndex index = activate("enabled", true);
+        CachedResponseIndex.Execution execution = index.startExecution(client, STORE, "productlist");
+
+        // the response of a pending execution may be cached but not indexed yet
+        assertEquals(Collections.singleton("productlist"), index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU,
+            Collections.singleton("sku-1")));
+
+        execution.end(null);
+        assertTrue(index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU, Collections.singleton("sku-1")).isEmpty());
+    }
+
+    @Test
+    public void testCoverage() {
+        when(configuration.cacheConfigurations()).thenReturn(new String[] { "product:true:10:300", "productlist:true:10:600" });
+        CachedResponseIndex index = activate("enabled", true);
+        index(index, client, STORE, "product", products("sku-1"));
+        index(index, client, "other-store", "product", products("sku-1"));
+
+        // responses cached before the index started may not be indexed
+        assertNull(index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU, Collections.singleton("sku-1")));
+
+        // a full invalidation that started before the index did not invalidate them
+        index.invalidate(client, STORE, now - 1);
+        assertNull(index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU, Collections.singleton("sku-1")));
+
+        // the index covers the store view after a full invalidation
+        now += 1000;
+        index.invalidate(client, STORE, now);
+        index(index, client, STORE, "product", products("sku-1"));
+        assertEquals(Collections.singleton("product"), index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU,
+            Collections.singleton("sku-1")));
+        assertNull(index.removeCacheNames(client, "other-store", CachedResponseIndex.Type.SKU, Collections.singleton("sku-1")));
+
+        // or once the longest time to live passed
+        now += 599 * 1000L;
+        assertEquals(Collections.singleton("product"), index.removeCacheNames(client, "other-store", CachedResponseIndex.Type.SKU,
+            Collections.singleton("sku-1")));
+
+        // the time to live is unknown
+        when(configuration.cacheConfigurations()).thenReturn(new String[] { "product:true:10" });
+        assertNull(index.removeCacheNames(client, "other-store", CachedResponseIndex.Type.SKU, Collections.singleton("sku-1")));
+        when(client.getConfiguration()).thenReturn(null);
+        assertNull(index.removeCacheNames(client, "other-store", CachedResponseIndex.Type.SKU, Collections.singleton("sku-1")));
+    }
+
+    @Test
+    public void testExpiredEntriesArePruned() {
+        when(configuration.cacheConfigurations()).thenReturn(new String[] { "product:true:10:60" });
+        CachedResponseIndex index = activate("enabled", true, "maxSize", 6);
+        index.invalidate(client, STORE, now);
+        index(index, client, STORE, "product", products("sku-1"));
+
+        // the entries of sku-1 expired with the cached responses
+        now += 61 * 1000L;
+        index(index, client, STORE, "product", products("sku-2", "sku-3"));
+
+        verify(overflowCount, never()).increment();
+        assertTrue(index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU, Collections.singleton("sku-1")).isEmpty());
+        assertEquals(Collections.singleton("product"), index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU,
+            Collections.singleton("sku-2")));
+    }
+
+    @Test
+    public void testOverflow() {
+        when(configuration.cacheConfigurations()).thenReturn(new String[] { "product:true:10:60" });
+        CachedResponseIndex index = activate("enabled", true, "maxSize", 5);
+        index.invalidate(client, STORE, now);
+        index(index, client, STORE, "product", products("sku-1"));
+        index(index, client, STORE, "productlist", products("sku-2", "sku-3"));
+
+        verify(overflowCount).increment();
+        assertNull(index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU, Collections.singleton("sku-1")));
+
+        // the index covers the store view again once the cleared entries expired
+        now += 60 * 1000L;
+        assertTrue(index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU, Collections.singleton("sku-1")).isEmpty());
+    }
+
+    @Test
+    public void testDisabled() {
+        CachedResponseIndex index = activate();
+
+        assertNull(index.startExecution(client, STORE, "product"));
+        assertNull(index.removeCacheNames(client, STORE, CachedResponseIndex.Type.SKU, Collections.singleton("sku-1")));
+    }
+}
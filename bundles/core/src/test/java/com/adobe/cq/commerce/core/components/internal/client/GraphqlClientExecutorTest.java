@@ -0,0 +1,90 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.commons.threads.ThreadPoolManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.adobe.cq.commerce.core.testing.MockThreadPoolManager;
+import io.wcm.testing.mock.aem.junit.AemContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GraphqlClientExecutorTest {
+
+    @Rule
+    public final AemContext context = new AemContext();
+
+    @Before
+    public void setUp() {
+        context.registerService(ThreadPoolManager.class, new MockThreadPoolManager());
+    }
+
+    @Test
+    public void testSubmitRunsOnPool() throws Exception {
+        GraphqlClientExecutor executor = context.registerInjectActivateService(new GraphqlClientExecutor());
+        Thread caller = Thread.currentThread();
+
+        Thread worker = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+        assertNotEquals(caller, worker);
+        assertTrue(worker.getName().startsWith(GraphqlClientExecutor.THREAD_POOL_NAME + "-"));
+    }
+
+    @Test
+    public void testSubmitRunsOnCallerWhenSaturated() throws Exception {
+        GraphqlClientExecutor executor = context.registerInjectActivateService(new GraphqlClientExecutor(),
+            "threadPoolSize", 1, "queueSize", 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<CompletableFuture<Thread>> futures = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            // occupy the single thread and the single queue slot
+            futures.add(executor.submit(() -> {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Thread.currentThread();
+            }));
+        }
+        futures.add(executor.submit(Thread::currentThread));
+        latch.countDown();
+
+        // the third task is rejected by the saturated pool and runs on the calling thread
+        assertEquals(Thread.currentThread(), futures.get(2).get(5, TimeUnit.SECONDS));
+        assertNotEquals(Thread.currentThread(), futures.get(0).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSubmitAfterDeactivate() {
+        GraphqlClientExecutor executor = context.registerInjectActivateService(new GraphqlClientExecutor());
+        executor.deactivate();
+
+        CompletableFuture<Thread> future = executor.submit(Thread::currentThread);
+        assertTrue(future.isDone());
+        assertEquals(Thread.currentThread(), future.join());
+    }
+}
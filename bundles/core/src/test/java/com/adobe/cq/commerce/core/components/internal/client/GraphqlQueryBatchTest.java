@@ -0,0 +1,114 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.client;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.adobe.cq.commerce.graphql.client.GraphqlResponse;
+import com.adobe.cq.commerce.magento.graphql.Operations;
+import com.adobe.cq.commerce.magento.graphql.Query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class GraphqlQueryBatchTest {
+
+    @Test
+    public void testAliasFields() {
+        assertEquals("products__batch2:products(filter:{sku:{eq:\"a}{\"}}){items{sku}},storeConfig__batch2:storeConfig{id}",
+            GraphqlQueryBatch.aliasFields("{products(filter:{sku:{eq:\"a}{\"}}){items{sku}},storeConfig{id}}", 2));
+        assertEquals(" categoryList__batch0:categoryList { uid } ", GraphqlQueryBatch.aliasFields("query { categoryList { uid } }", 0));
+    }
+
+    @Test
+    public void testAliasFieldsGeneratedQuery() {
+        String query = Operations.query(q -> q.storeConfig(s -> s.storeCode())).toString();
+        assertEquals("storeConfig__batch0:storeConfig{store_code}", GraphqlQueryBatch.aliasFields(query, 0));
+    }
+
+    @Test
+    public void testNotBatchable() {
+        assertNull(GraphqlQueryBatch.aliasFields(null, 0));
+        assertNull(GraphqlQueryBatch.aliasFields("query Named { a }", 0));
+        assertNull(GraphqlQueryBatch.aliasFields("query ($sku: String) { products(filter:{sku:{eq:$sku}}){total_count} }", 0));
+        assertNull(GraphqlQueryBatch.aliasFields("mutation { a }", 0));
+        assertNull(GraphqlQueryBatch.aliasFields("{ a { ...F } } fragment F on A { b }", 0));
+        assertNull(GraphqlQueryBatch.aliasFields("{ ...F }", 0));
+        assertNull(GraphqlQueryBatch.aliasFields("{ b: a { c } }", 0));
+        assertNull(GraphqlQueryBatch.aliasFields("{ a @include(if: true) { c } }", 0));
+        assertNull(GraphqlQueryBatch.aliasFields("{ __type(name:\"A\") { name } }", 0));
+        assertNull(GraphqlQueryBatch.aliasFields("{}", 0));
+    }
+
+    @Test
+    public void testMergeAndSplit() {
+        List<String> queries = Arrays.asList("{a{b}}", "{c(d:1){e},f}");
+        assertEquals("{a__batch0:a{b},c__batch1:c(d:1){e},f__batch1:f}", GraphqlQueryBatch.merge(queries));
+
+        Query data = new Query();
+        data.responseData.put("a__batch0", "A");
+        data.responseData.put("c__batch1", "C");
+        data.responseData.put("f__batch1", "F");
+
+        Query first = GraphqlQueryBatch.split(data, 0);
+        Query second = GraphqlQueryBatch.split(data, 1);
+        assertEquals(Collections.singletonMap("a", "A"), first.responseData);
+        assertEquals(2, second.responseData.size());
+        assertEquals("C", second.get("c"));
+        assertEquals("F", second.get("f"));
+    }
+
+    @Test
+    public void testDrain() {
+        LocalResponseCache cache = new LocalResponseCache();
+        cache.put("{cached}", new GraphqlResponse<>());
+
+        GraphqlQueryBatch batch = new GraphqlQueryBatch();
+        batch.add(() -> "{b}");
+        batch.add(() -> "{cached}");
+        batch.add(() -> "query Named { c }");
+        batch.add(() -> null);
+        batch.add(() -> "{a}");
+
+        assertEquals(Arrays.asList("{a}", "{b}"), batch.drain("{a}", cache));
+        assertEquals(Collections.singletonList("{d}"), batch.drain("{d}", cache));
+    }
+
+    @Test
+    public void testDrainLimits() {
+        GraphqlQueryBatch batch = new GraphqlQueryBatch();
+        for (int i = 0; i < GraphqlQueryBatch.MAX_QUERIES + 2; i++) {
+            String query = "{q" + i + "}";
+            batch.add(() -> query);
+        }
+        char[] large = new char[GraphqlQueryBatch.MAX_DOCUMENT_LENGTH];
+        Arrays.fill(large, 'x');
+        String largeQuery = "{" + new String(large) + "}";
+        batch.add(() -> largeQuery);
+
+        LocalResponseCache cache = new LocalResponseCache();
+        assertEquals(GraphqlQueryBatch.MAX_QUERIES, batch.drain("{a}", cache).size());
+        // the remaining small queries are batched, the large query stays pending
+        assertEquals(4, batch.drain("{b}", cache).size());
+        assertEquals(Collections.singletonList("{c}"), batch.drain("{c}", cache));
+        assertFalse(batch.isEmpty());
+    }
+}
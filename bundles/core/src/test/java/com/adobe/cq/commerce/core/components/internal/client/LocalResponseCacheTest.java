@@ -0,0 +1,73 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.client;
+
+import org.junit.Test;
+
+import com.adobe.cq.commerce.graphql.client.GraphqlResponse;
+import com.adobe.cq.commerce.magento.graphql.Query;
+import com.adobe.cq.commerce.magento.graphql.gson.Error;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LocalResponseCacheTest {
+
+    @Test
+    public void testExactMatch() {
+        LocalResponseCache cache = new LocalResponseCache();
+        GraphqlResponse<Query, Error> response = new GraphqlResponse<>();
+        cache.put("{dummy}", response);
+
+        assertSame(response, cache.get("{dummy}"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getFuzzyHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testFuzzyMatch() {
+        LocalResponseCache cache = new LocalResponseCache();
+        GraphqlResponse<Query, Error> first = new GraphqlResponse<>();
+        GraphqlResponse<Query, Error> second = new GraphqlResponse<>();
+        cache.put("{products(filter:{sku:{eq:\"ABC\"}}){items{__typename,sku,name}}}", first);
+        cache.put("{products(filter:{sku:{eq:\"XYZ\"}}){items{__typename,sku,name}}}", second);
+
+        assertSame(first, cache.get("{products(filter:{sku:{eq:\"ABC\"}}){items{__typename,sku}}}"));
+        assertSame(second, cache.get("{products(filter:{sku:{eq:\"XYZ\"}}){items{__typename}}}"));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getFuzzyHitCount());
+    }
+
+    @Test
+    public void testMiss() {
+        LocalResponseCache cache = new LocalResponseCache();
+        cache.put("{products(filter:{sku:{eq:\"ABC\"}}){items{__typename,sku}}}", new GraphqlResponse<>());
+
+        assertNull(cache.get("{products(filter:{sku:{eq:\"ABC\"}}){items{__typename,sku,name}}}"));
+        assertNull(cache.get("{categories{items{uid}}}"));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testTrimTrailingBrackets() {
+        assertEquals("{a{b", LocalResponseCache.trimTrailingBrackets("{a{b}}"));
+        assertEquals("", LocalResponseCache.trimTrailingBrackets("}}}"));
+        assertEquals("{a}b", LocalResponseCache.trimTrailingBrackets("{a}b"));
+    }
+}
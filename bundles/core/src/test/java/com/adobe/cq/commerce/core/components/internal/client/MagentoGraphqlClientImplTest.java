@@ -21,7 +21,11 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.servlet.http.Cookie;
@@ -34,6 +38,7 @@ import org.apache.sling.api.resource.SyntheticResource;
 import org.apache.sling.api.resource.ValueMap;
 import org.apache.sling.api.wrappers.ValueMapDecorator;
 import org.apache.sling.caconfig.ConfigurationBuilder;
+import org.apache.sling.commons.threads.ThreadPoolManager;
 import org.apache.sling.serviceusermapping.ServiceUserMapped;
 import org.junit.Before;
 import org.junit.Rule;
@@ -41,6 +46,7 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mockito;
+import org.mockito.internal.util.reflection.Whitebox;
 import org.mockito.internal.verification.AtMost;
 import org.mockito.stubbing.Stubber;
 
@@ -48,15 +54,20 @@ import com.adobe.cq.commerce.core.components.client.MagentoGraphqlClient;
 import com.adobe.cq.commerce.core.components.internal.services.ComponentsConfigurationAdapterFactory;
 import com.adobe.cq.commerce.core.components.services.ComponentsConfiguration;
 import com.adobe.cq.commerce.core.testing.MockLaunch;
+import com.adobe.cq.commerce.core.testing.MockThreadPoolManager;
 import com.adobe.cq.commerce.core.testing.TestContext;
 import com.adobe.cq.commerce.graphql.client.CachingStrategy;
 import com.adobe.cq.commerce.graphql.client.CachingStrategy.DataFetchingPolicy;
 import com.adobe.cq.commerce.graphql.client.GraphqlClient;
+import com.adobe.cq.commerce.graphql.client.GraphqlClientConfiguration;
+import com.adobe.cq.commerce.graphql.client.GraphqlRequest;
 import com.adobe.cq.commerce.graphql.client.GraphqlRequestException;
 import com.adobe.cq.commerce.graphql.client.GraphqlResponse;
 import com.adobe.cq.commerce.graphql.client.HttpMethod;
 import com.adobe.cq.commerce.graphql.client.RequestOptions;
+import com.adobe.cq.commerce.magento.graphql.Products;
 import com.adobe.cq.commerce.magento.graphql.Query;
+import com.adobe.cq.commerce.magento.graphql.SimpleProduct;
 import com.adobe.cq.commerce.magento.graphql.gson.Error;
 import com.adobe.cq.commerce.magento.graphql.gson.QueryDeserializer;
 import com.adobe.cq.launches.api.Launch;
@@ -68,13 +79,16 @@ import io.wcm.testing.mock.aem.junit.AemContext;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItems;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -198,6 +212,154 @@ public class MagentoGraphqlClientImplTest {
         assertSame(resp1, resp2);
     }
 
+    @Test
+    public void testQueryBatching() {
+        ValueMap batchingConfiguration = new ValueMapDecorator(ImmutableMap.of("cq:graphqlClient", "default", "magentoStore",
+            "my-store", "enableQueryBatching", true));
+        Page page = spy(context.pageManager().getPage(PAGE_A));
+        Resource pageResource = spy(page.adaptTo(Resource.class));
+        when(page.adaptTo(Resource.class)).thenReturn(pageResource);
+        when(pageResource.adaptTo(GraphqlClient.class)).thenReturn(graphqlClient);
+        when(pageResource.adaptTo(ComponentsConfiguration.class)).thenReturn(new ComponentsConfiguration(batchingConfiguration));
+
+        Query data = new Query();
+        data.responseData.put("storeConfig__batch0", "config");
+        data.responseData.put("products__batch1", "products");
+        GraphqlResponse merged = new GraphqlResponse<>();
+        merged.setData(data);
+        when(graphqlClient.execute(any(), any(), any(), any())).thenReturn(merged);
+
+        MagentoGraphqlClient client = new MagentoGraphqlClientImpl(pageResource, page, context.request());
+        client.addToBatch(() -> "{products(filter:{sku:{eq:\"a\"}}){items{sku}}}");
+        GraphqlResponse<Query, Error> storeConfig = client.execute("{storeConfig{store_code}}");
+        GraphqlResponse<Query, Error> products = client.execute("{products(filter:{sku:{eq:\"a\"}}){items{sku}}}");
+
+        ArgumentCaptor<GraphqlRequest> captor = ArgumentCaptor.forClass(GraphqlRequest.class);
+        verify(graphqlClient).execute(captor.capture(), any(), any(), any());
+        assertEquals("{storeConfig__batch0:storeConfig{store_code},products__batch1:products(filter:{sku:{eq:\"a\"}}){items{sku}}}",
+            captor.getValue().getQuery());
+        assertEquals("config", storeConfig.getData().get("storeConfig"));
+        assertEquals("products", products.getData().get("products"));
+    }
+
+    @Test
+    public void testQueryBatchingFallbackOnErrors() {
+        context.currentPage("/content/pageD");
+        Resource resource = spy(context.currentResource());
+        when(resource.adaptTo(ComponentsConfiguration.class)).thenReturn(new ComponentsConfiguration(new ValueMapDecorator(
+            ImmutableMap.of("cq:graphqlClient", "default", "enableQueryBatching", true))));
+        GraphqlResponse failed = new GraphqlResponse<>();
+        failed.setErrors(Collections.singletonList(new Error()));
+        GraphqlResponse single = new GraphqlResponse<>();
+        when(graphqlClient.execute(any(), any(), any(), any())).thenReturn(failed, single);
+
+        MagentoGraphqlClient client = new MagentoGraphqlClientImpl(resource, null, context.request());
+        client.addToBatch(() -> "{b{c}}");
+        assertSame(single, client.execute("{a{c}}"));
+        verify(graphqlClient, Mockito.times(2)).execute(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testQueryBatchingDisabled() {
+        context.currentPage("/content/pageD");
+        MagentoGraphqlClient client = new MagentoGraphqlClientImpl(context.currentResource(), null, context.request());
+        client.addToBatch(() -> "{b{c}}");
+        client.execute("{a{c}}");
+
+        ArgumentCaptor<GraphqlRequest> captor = ArgumentCaptor.forClass(GraphqlRequest.class);
+        verify(graphqlClient).execute(captor.capture(), any(), any(), any());
+        assertEquals("{a{c}}", captor.getValue().getQuery());
+    }
+
+    @Test
+    public void testExecuteAsync() throws Exception {
+        context.currentPage("/content/pageD");
+        MagentoGraphqlClient client = new MagentoGraphqlClientImpl(context.currentResource(), null, context.request());
+        context.registerService(ThreadPoolManager.class, new MockThreadPoolManager());
+        GraphqlClientExecutor executor = context.registerInjectActivateService(new GraphqlClientExecutor());
+        Whitebox.setInternalState(client, "executor", executor);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        GraphqlResponse expected = new GraphqlResponse<>();
+        when(graphqlClient.execute(any(), any(), any(), any())).then(invocation -> {
+            latch.await(5, TimeUnit.SECONDS);
+            return expected;
+        });
+
+        CompletableFuture<GraphqlResponse<Query, Error>> future = client.executeAsync("{dummy}");
+        assertSame(future, client.executeAsync("{dummy}"));
+        latch.countDown();
+
+        // the synchronous execution joins the pending response
+        assertSame(expected, client.execute("{dummy}"));
+        assertSame(expected, future.get());
+        assertSame(expected, client.executeAsync("{dummy}").get());
+        verify(graphqlClient, Mockito.times(1)).execute(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testExecuteAsyncResolvesBatchOnRequestThread() throws Exception {
+        ValueMap batchingConfiguration = new ValueMapDecorator(ImmutableMap.of("cq:graphqlClient", "default", "magentoStore",
+            "my-store", "enableQueryBatching", true));
+        Page page = spy(context.pageManager().getPage(PAGE_A));
+        Resource pageResource = spy(page.adaptTo(Resource.class));
+        when(page.adaptTo(Resource.class)).thenReturn(pageResource);
+        when(pageResource.adaptTo(GraphqlClient.class)).thenReturn(graphqlClient);
+        when(pageResource.adaptTo(ComponentsConfiguration.class)).thenReturn(new ComponentsConfiguration(batchingConfiguration));
+
+        Query data = new Query();
+        data.responseData.put("storeConfig__batch0", "config");
+        data.responseData.put("products__batch1", "products");
+        GraphqlResponse merged = new GraphqlResponse<>();
+        merged.setData(data);
+        when(graphqlClient.execute(any(), any(), any(), any())).thenReturn(merged);
+
+        MagentoGraphqlClient client = new MagentoGraphqlClientImpl(pageResource, page, context.request());
+        context.registerService(ThreadPoolManager.class, new MockThreadPoolManager());
+        GraphqlClientExecutor executor = context.registerInjectActivateService(new GraphqlClientExecutor());
+        Whitebox.setInternalState(client, "executor", executor);
+
+        List<Thread> resolvingThreads = new ArrayList<>();
+        client.addToBatch(() -> {
+            resolvingThreads.add(Thread.currentThread());
+            return "{products(filter:{sku:{eq:\"a\"}}){items{sku}}}";
+        });
+        GraphqlResponse<Query, Error> storeConfig = client.executeAsync("{storeConfig{store_code}}").get();
+
+        assertEquals(Collections.singletonList(Thread.currentThread()), resolvingThreads);
+        assertEquals("config", storeConfig.getData().get("storeConfig"));
+        assertEquals("products", client.execute("{products(filter:{sku:{eq:\"a\"}}){items{sku}}}").getData().get("products"));
+        verify(graphqlClient, Mockito.times(1)).execute(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testExecuteAsyncWithoutExecutor() {
+        context.currentPage("/content/pageD");
+        MagentoGraphqlClient client = new MagentoGraphqlClientImpl(context.currentResource(), null, context.request());
+        GraphqlResponse expected = new GraphqlResponse<>();
+        when(graphqlClient.execute(any(), any(), any(), any())).thenReturn(expected);
+
+        CompletableFuture<GraphqlResponse<Query, Error>> future = client.executeAsync("{dummy}");
+        assertTrue(future.isDone());
+        assertSame(expected, future.join());
+    }
+
+    @Test
+    public void testAddToBatchWithoutBatchingDoesNotExecute() {
+        context.currentPage("/content/pageD");
+        MagentoGraphqlClient client = new MagentoGraphqlClientImpl(context.currentResource(), null, context.request());
+        context.registerService(ThreadPoolManager.class, new MockThreadPoolManager());
+        GraphqlClientExecutor executor = context.registerInjectActivateService(new GraphqlClientExecutor());
+        Whitebox.setInternalState(client, "executor", executor);
+
+        // the query may still change after it was registered, it is neither resolved nor executed
+        Supplier<String> querySupplier = mock(Supplier.class);
+        client.addToBatch(querySupplier);
+
+        verify(querySupplier, never()).get();
+        verify(graphqlClient, never()).execute(any(), any(), any(), any());
+    }
+
     @Test
     public void testMagentoStorePropertyWithConfigBuilder() {
         Page pageWithConfig = spy(context.pageManager().getPage(PAGE_A));
@@ -483,6 +645,53 @@ public class MagentoGraphqlClientImplTest {
         assertDurationAccumulation(400L, "Duration should be accumulated from both error calls");
     }
 
+    @Test
+    public void checkBackendCallTimingsRecorded() {
+        BackendCallTimings timings = BackendCallTimings.bind(context.request());
+        MagentoGraphqlClient client = createTestClient();
+        mockSuccessfulResponse(100L);
+
+        client.execute("{dummy}");
+        client.execute("{dummy}");
+
+        List<BackendCallTimings.Entry> entries = timings.getEntries();
+        assertEquals(2, entries.size());
+        assertFalse(entries.get(0).isHit());
+        assertEquals(100L, entries.get(0).getDuration());
+        assertTrue(entries.get(1).isHit());
+        assertEquals(0L, entries.get(1).getDuration());
+        assertEquals(entries.get(0).getCacheName(), entries.get(1).getCacheName());
+    }
+
+    @Test
+    public void testCachedResponsesAreIndexed() {
+        CachedResponseIndex index = context.registerInjectActivateService(new CachedResponseIndex(), "enabled", true);
+        MagentoGraphqlClient client = createTestClient();
+        Whitebox.setInternalState(client, "cachedResponseIndex", index);
+        when(graphqlClient.getIdentifier()).thenReturn("default");
+        GraphqlClientConfiguration configuration = mock(GraphqlClientConfiguration.class);
+        when(configuration.cacheConfigurations()).thenReturn(new String[0]);
+        when(graphqlClient.getConfiguration()).thenReturn(configuration);
+        GraphqlResponse response = new GraphqlResponse<>();
+        response.setData(new Query().setProducts(new Products().setItems(Collections.singletonList(new SimpleProduct().setSku(
+            "sku-1")))));
+        GraphqlResponse postResponse = new GraphqlResponse<>();
+        postResponse.setData(new Query().setProducts(new Products().setItems(Collections.singletonList(new SimpleProduct().setSku(
+            "sku-2")))));
+        when(graphqlClient.execute(any(), any(), any(), any())).thenReturn(response, postResponse);
+
+        client.execute("{dummy}");
+        // responses the GraphQL client does not cache are not indexed
+        client.execute("{other}", HttpMethod.POST);
+
+        String storeView = (String) Whitebox.getInternalState(client, "storeView");
+        String cacheName = (String) Whitebox.getInternalState(client, "cacheName");
+        assertEquals(Collections.singleton(cacheName), index.removeCacheNames(graphqlClient, storeView, CachedResponseIndex.Type.SKU,
+            Collections.singleton("sku-1")));
+        assertTrue(index.removeCacheNames(graphqlClient, storeView, CachedResponseIndex.Type.SKU, Collections.singleton("sku-2"))
+            .isEmpty());
+    }
+
     // Helper methods for optimized duration testing
     private MagentoGraphqlClient createTestClient() {
         context.currentPage("/content/pageD");
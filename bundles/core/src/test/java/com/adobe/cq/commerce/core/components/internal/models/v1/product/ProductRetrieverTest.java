@@ -96,4 +96,16 @@ public class ProductRetrieverTest {
         String queryStartsWith = "{products(filter:{sku:{eq:\"my-sku\"}})";
         Assert.assertTrue(captor.getValue().startsWith(queryStartsWith));
     }
+
+    @Test
+    public void testPrefetchExecutesFinalQuery() {
+        retriever.setIdentifier("my-sku");
+        retriever.extendProductQueryWith(p -> p.staged());
+        retriever.prefetch();
+        retriever.fetchProduct();
+
+        ArgumentCaptor<String> prefetched = ArgumentCaptor.forClass(String.class);
+        verify(mockClient, times(1)).executeAsync(prefetched.capture());
+        verify(mockClient, times(1)).execute(prefetched.getValue());
+    }
 }
@@ -0,0 +1,147 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.services;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.adobe.cq.commerce.core.components.client.MagentoGraphqlClient;
+import com.adobe.cq.commerce.core.components.internal.services.CatalogIdentifierCache.Scope;
+import com.adobe.cq.commerce.core.components.internal.services.CatalogIdentifierCache.Type;
+import com.adobe.cq.commerce.graphql.client.GraphqlClientConfiguration;
+import io.wcm.testing.mock.aem.junit.AemContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CatalogIdentifierCacheTest {
+
+    private static final Scope SCOPE = new Scope("default", "my-store");
+    private static final Scope OTHER_STORE = new Scope("default", "other-store");
+
+    @Rule
+    public final AemContext context = new AemContext();
+
+    private CatalogIdentifierCache subject;
+    private long now;
+
+    @Before
+    public void setUp() {
+        subject = context.registerInjectActivateService(new CatalogIdentifierCache(), "maxSize", 3, "ttl", 1);
+        subject.clock = () -> now;
+    }
+
+    private static MagentoGraphqlClient client(String identifier, Map<String, String[]> headers) {
+        GraphqlClientConfiguration configuration = mock(GraphqlClientConfiguration.class);
+        when(configuration.identifier()).thenReturn(identifier);
+        MagentoGraphqlClient client = mock(MagentoGraphqlClient.class);
+        when(client.getConfiguration()).thenReturn(configuration);
+        when(client.getHttpHeaderMap()).thenReturn(headers);
+        return client;
+    }
+
+    @Test
+    public void testScopeByClientAndStoreView() {
+        assertEquals(SCOPE, subject.getScope(client("default", Collections.singletonMap("Store", new String[] { "my-store" }))));
+        assertEquals(new Scope("default", "default"), subject.getScope(client("default", Collections.emptyMap())));
+
+        // previews of future catalog versions are never cached
+        Map<String, String[]> headers = new HashMap<>();
+        headers.put("Store", new String[] { "my-store" });
+        headers.put("Preview-Version", new String[] { "1234" });
+        assertNull(subject.getScope(client("default", headers)));
+        assertNull(subject.getScope(null));
+    }
+
+    @Test
+    public void testScopeIsNullIfDisabled() {
+        subject = context.registerInjectActivateService(new CatalogIdentifierCache(), "enabled", false);
+        assertNull(subject.getScope(client("default", Collections.emptyMap())));
+    }
+
+    @Test
+    public void testIdentifiersAreKeptPerScopeAndType() {
+        subject.put(SCOPE, Type.PRODUCT_URL_KEY, "jackets", "MJ01");
+        subject.put(SCOPE, Type.CATEGORY_URL_KEY, "jackets", "MTI==");
+
+        assertEquals("MJ01", subject.get(SCOPE, Type.PRODUCT_URL_KEY, "jackets"));
+        assertEquals("MTI==", subject.get(SCOPE, Type.CATEGORY_URL_KEY, "jackets"));
+        assertNull(subject.get(SCOPE, Type.CATEGORY_URL_PATH, "jackets"));
+        assertNull(subject.get(OTHER_STORE, Type.PRODUCT_URL_KEY, "jackets"));
+    }
+
+    @Test
+    public void testEntriesExpire() {
+        subject.put(SCOPE, Type.PRODUCT_URL_KEY, "jackets", "MJ01");
+        now = 999;
+        // repeated puts of the same identifier do not extend the time to live
+        subject.put(SCOPE, Type.PRODUCT_URL_KEY, "jackets", "MJ01");
+        assertEquals("MJ01", subject.get(SCOPE, Type.PRODUCT_URL_KEY, "jackets"));
+
+        now = 1000;
+        assertNull(subject.get(SCOPE, Type.PRODUCT_URL_KEY, "jackets"));
+        assertEquals(0, subject.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() {
+        subject.put(SCOPE, Type.PRODUCT_URL_KEY, "a", "A");
+        subject.put(SCOPE, Type.PRODUCT_URL_KEY, "b", "B");
+        subject.put(SCOPE, Type.PRODUCT_URL_KEY, "c", "C");
+        subject.get(SCOPE, Type.PRODUCT_URL_KEY, "a");
+        subject.put(SCOPE, Type.PRODUCT_URL_KEY, "d", "D");
+
+        assertEquals(3, subject.size());
+        assertEquals("A", subject.get(SCOPE, Type.PRODUCT_URL_KEY, "a"));
+        assertNull(subject.get(SCOPE, Type.PRODUCT_URL_KEY, "b"));
+    }
+
+    @Test
+    public void testInvalidateByIdentifier() {
+        subject.put(SCOPE, Type.PRODUCT_URL_KEY, "jackets", "MJ01");
+        subject.put(OTHER_STORE, Type.PRODUCT_URL_KEY, "jackets", "MJ01");
+        subject.put(SCOPE, Type.CATEGORY_URL_PATH, "men/jackets", "MJ01");
+
+        subject.invalidate("default", "my-store", true, Collections.singleton("MJ01"));
+
+        assertNull(subject.get(SCOPE, Type.PRODUCT_URL_KEY, "jackets"));
+        assertEquals("MJ01", subject.get(OTHER_STORE, Type.PRODUCT_URL_KEY, "jackets"));
+        // a category uid equal to the sku is kept
+        assertEquals("MJ01", subject.get(SCOPE, Type.CATEGORY_URL_PATH, "men/jackets"));
+
+        subject.invalidate("default", null, false, Collections.singleton("MJ01"));
+        assertNull(subject.get(SCOPE, Type.CATEGORY_URL_PATH, "men/jackets"));
+    }
+
+    @Test
+    public void testInvalidateByStoreView() {
+        subject.put(SCOPE, Type.PRODUCT_URL_KEY, "jackets", "MJ01");
+        subject.put(OTHER_STORE, Type.PRODUCT_URL_KEY, "jackets", "MJ01");
+
+        subject.invalidate("default", "my-store");
+        assertEquals(1, subject.size());
+
+        subject.invalidate("default", null);
+        assertEquals(0, subject.size());
+    }
+}
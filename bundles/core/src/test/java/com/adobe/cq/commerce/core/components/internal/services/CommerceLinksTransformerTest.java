@@ -15,8 +15,10 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.commerce.core.components.internal.services;
 
+import java.io.ByteArrayInputStream;
 import java.io.StringWriter;
 import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -39,10 +41,13 @@ import org.jsoup.select.Elements;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import com.adobe.cq.commerce.core.MockHttpClientBuilderFactory;
 import com.adobe.cq.commerce.core.testing.Utils;
 import com.adobe.cq.commerce.graphql.client.GraphqlClient;
+import com.adobe.cq.commerce.graphql.client.GraphqlRequest;
 import com.adobe.cq.commerce.graphql.client.impl.GraphqlClientImpl;
 import io.wcm.testing.mock.aem.junit.AemContext;
 
@@ -51,12 +56,16 @@ import static com.adobe.cq.commerce.core.testing.TestContext.newAemContext;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class CommerceLinksTransformerTest {
@@ -77,21 +86,26 @@ public class CommerceLinksTransformerTest {
     public final AemContext context = newAemContext("/context/jcr-content.json");
     private CommerceLinksTransformerFactory transformerFactory;
     private ProcessingContext mockProcessingContext;
+    private GraphqlClient graphqlClient;
 
     @Before
     public void before() throws Exception {
         // setup GraphQL client for UrlProvider
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
         context.registerService(HttpClientBuilderFactory.class, new MockHttpClientBuilderFactory(httpClient));
-        GraphqlClientImpl graphqlClient = spy(new GraphqlClientImpl());
+        graphqlClient = spy(new GraphqlClientImpl());
         Utils.registerGraphqlClient(context, graphqlClient, null);
         context.registerAdapter(Resource.class, GraphqlClient.class, graphqlClient);
         Utils.setupHttpResponse("graphql/magento-graphql-product-result.json", httpClient, HttpStatus.SC_OK,
             "{products(filter:{sku:{eq:\"MJ01\"}}");
+        Utils.setupHttpResponse("graphql/magento-graphql-product-result.json", httpClient, HttpStatus.SC_OK,
+            "{products(filter:{sku:{eq:\"mj01\"}}");
         Utils.setupHttpResponse("graphql/magento-graphql-category-list-result.json", httpClient, HttpStatus.SC_OK,
             "{categoryList(filters:{category_uid:{eq:\"uid-5\"}}");
         Utils.setupHttpResponse("graphql/magento-graphql-category-breadcrumb-result.json", httpClient, HttpStatus.SC_OK,
             "{categoryList(filters:{category_uid:{eq:\"MTM=\"}}");
+        Utils.setupHttpResponse("graphql/magento-graphql-category-list-commerce-links.json", httpClient, HttpStatus.SC_OK,
+            "{categoryList(filters:{category_uid:{in:[\"uid-5\",\"MTM=\"]}}");
 
         // setup UrlRewriterTransformer
         MockSlingHttpServletRequest mockRequest = context.request();
@@ -142,6 +156,56 @@ public class CommerceLinksTransformerTest {
         checkAnchorText(anchors.get(17), "Equipment");
     }
 
+    @Test
+    public void testTransformerResolvesCommerceLinksInBulk() throws Exception {
+        Transformer transformer = transformerFactory.createTransformer();
+        transformer.init(mockProcessingContext, null);
+
+        StringWriter writer = new StringWriter();
+        transformer.setContentHandler(new ToXmlContentHandler(writer));
+        ParsingContentHandler parsingContentHandler = new ParsingContentHandler(transformer);
+        parsingContentHandler.parse(this.getClass().getClassLoader().getResourceAsStream(TEST_HTML));
+
+        // one query for all products and one query for all categories
+        ArgumentCaptor<GraphqlRequest> requests = ArgumentCaptor.forClass(GraphqlRequest.class);
+        verify(graphqlClient, times(2)).execute(requests.capture(), any(), any(), any());
+        assertTrue(requests.getAllValues().get(0).getQuery().startsWith("{products(filter:{sku:{eq:\"MJ01\"}}"));
+        assertTrue(requests.getAllValues().get(1).getQuery().startsWith(
+            "{categoryList(filters:{category_uid:{in:[\"uid-5\",\"MTM=\"]}}"));
+    }
+
+    @Test
+    public void testTransformerFetchesProductsOnlyWhenRequired() throws Exception {
+        // a url format that requires the sku only
+        UrlProviderImpl urlProvider = spy((UrlProviderImpl) Whitebox.getInternalState(transformerFactory, "urlProvider"));
+        doReturn(false).when(urlProvider).requiresProductData(any(), any());
+        Whitebox.setInternalState(transformerFactory, "urlProvider", urlProvider);
+
+        String link = "<a id=\"link\" href=\"#CommerceLinks\" data-product-sku=\"MJ01\">Product</a>";
+        transform("<html><body>" + link + "</body></html>");
+        verify(graphqlClient, never()).execute(any(), any(), any(), any());
+
+        // the product is fetched for links that replace their text, its sku is matched case-insensitively
+        String linkWithText = "<a id=\"text\" href=\"#CommerceLinks\" data-product-sku=\"mj01\" data-replace-text=\"true\">Product</a>";
+        Document document = transform("<html><body>" + link + linkWithText + "</body></html>");
+        ArgumentCaptor<GraphqlRequest> requests = ArgumentCaptor.forClass(GraphqlRequest.class);
+        verify(graphqlClient).execute(requests.capture(), any(), any(), any());
+        assertTrue(requests.getValue().getQuery().startsWith("{products(filter:{sku:{eq:\"mj01\"}}"));
+        checkAnchorText(document.getElementById("link"), "Product");
+        checkAnchorText(document.getElementById("text"), "Beaumont Summit Kit");
+    }
+
+    private Document transform(String html) throws Exception {
+        Transformer transformer = transformerFactory.createTransformer();
+        transformer.init(mockProcessingContext, null);
+
+        StringWriter writer = new StringWriter();
+        transformer.setContentHandler(new ToXmlContentHandler(writer));
+        ParsingContentHandler parsingContentHandler = new ParsingContentHandler(transformer);
+        parsingContentHandler.parse(new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8)));
+        return Jsoup.parse(writer.toString());
+    }
+
     @Test
     public void testTransformerDisabled() throws Exception {
         transformerFactory.activate(CONFIG_DISABLED);
@@ -15,11 +15,13 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.commerce.core.components.internal.services;
 
+import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Hashtable;
 
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.SyntheticResource;
+import org.apache.sling.api.resource.observation.ResourceChange;
 import org.apache.sling.serviceusermapping.ServiceUserMapped;
 import org.apache.sling.testing.mock.caconfig.ContextPlugins;
 import org.apache.sling.testing.mock.sling.ResourceResolverType;
@@ -133,6 +135,38 @@ public class ComponentsConfigurationAdapterFactoryTest {
         Assert.assertEquals("The configuration is correct", unrelatedProperty, "true");
     }
 
+    @Test
+    public void testAdaptFromResourceWithCache() {
+        ComponentsConfigurationCache cache = context.registerInjectActivateService(new ComponentsConfigurationCache());
+        factory = context.registerInjectActivateService(new ComponentsConfigurationAdapterFactory());
+
+        Resource resource = context.resourceResolver().getResource("/content/pageH");
+        ComponentsConfiguration configuration = factory.getAdapter(resource, ComponentsConfiguration.class);
+        Assert.assertNotNull("Configuration is not null", configuration);
+        Assert.assertEquals("true", configuration.get("aTotallyUnrelatedProperty", String.class));
+
+        // resources with the same context path share the configuration
+        Resource child = context.create().resource("/content/pageH/child");
+        Assert.assertSame(configuration, factory.getAdapter(child, ComponentsConfiguration.class));
+
+        // a change under /conf invalidates the cache
+        cache.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.CHANGED, "/conf/testing", false)));
+        ComponentsConfiguration reloaded = factory.getAdapter(resource, ComponentsConfiguration.class);
+        Assert.assertNotSame(configuration, reloaded);
+        Assert.assertEquals("true", reloaded.get("aTotallyUnrelatedProperty", String.class));
+    }
+
+    @Test
+    public void testAdaptFromResourceWithinVersionHistoryIsNotCached() {
+        context.registerInjectActivateService(new ComponentsConfigurationCache());
+        factory = context.registerInjectActivateService(new ComponentsConfigurationAdapterFactory());
+
+        Resource versionHistoryResource = context.create().resource(VERSION_HISTORY_PAGE_H);
+        ComponentsConfiguration configuration = factory.getAdapter(versionHistoryResource, ComponentsConfiguration.class);
+        Assert.assertNotNull(configuration);
+        Assert.assertNotSame(configuration, factory.getAdapter(versionHistoryResource, ComponentsConfiguration.class));
+    }
+
     @Test
     public void testAdaptNullResource() {
         ComponentsConfiguration configuration = context.resourceResolver().adaptTo(ComponentsConfiguration.class);
@@ -0,0 +1,114 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.services;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.api.wrappers.ValueMapDecorator;
+import org.apache.sling.caconfig.resource.ConfigurationResourceResolver;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.adobe.cq.commerce.core.components.services.ComponentsConfiguration;
+import com.google.common.collect.ImmutableMap;
+import io.wcm.testing.mock.aem.junit.AemContext;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ComponentsConfigurationCacheTest {
+
+    @Rule
+    public final AemContext context = new AemContext();
+
+    private final AtomicLong time = new AtomicLong();
+
+    @Before
+    public void setUp() {
+        context.registerService(ConfigurationResourceResolver.class, mock(ConfigurationResourceResolver.class));
+    }
+
+    private ComponentsConfigurationCache newCache(boolean enabled) {
+        ComponentsConfigurationCache cache = context.registerInjectActivateService(new ComponentsConfigurationCache(),
+            ImmutableMap.of("enabled", enabled, "maxSize", 2, "ttl", 60L));
+        cache.clock = time::get;
+        return cache;
+    }
+
+    private static ComponentsConfiguration newConfiguration() {
+        ValueMap properties = new ValueMapDecorator(Collections.singletonMap("magentoStore", "default"));
+        return new ComponentsConfiguration(properties);
+    }
+
+    @Test
+    public void testExpiry() {
+        ComponentsConfigurationCache cache = newCache(true);
+        ComponentsConfiguration configuration = newConfiguration();
+        cache.put("/content/site", configuration);
+
+        time.set(59999);
+        assertSame(configuration, cache.get("/content/site"));
+        time.set(60000);
+        assertNull(cache.get("/content/site"));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        ComponentsConfigurationCache cache = newCache(true);
+        ComponentsConfiguration first = newConfiguration();
+        cache.put("/content/first", first);
+        cache.put("/content/second", newConfiguration());
+        cache.get("/content/first");
+        cache.put("/content/third", newConfiguration());
+
+        assertSame(first, cache.get("/content/first"));
+        assertNull(cache.get("/content/second"));
+    }
+
+    @Test
+    public void testRequestLayerSurvivesInvalidation() throws Exception {
+        ComponentsConfigurationCache cache = newCache(true);
+        ComponentsConfiguration configuration = newConfiguration();
+        boolean[] called = new boolean[1];
+
+        FilterChain chain = (request, response) -> {
+            cache.put("/content/site", configuration);
+            cache.onChange(Collections.emptyList());
+            // within a request the configuration does not change
+            assertSame(configuration, cache.get("/content/site"));
+            called[0] = true;
+        };
+        cache.doFilter(mock(ServletRequest.class), mock(ServletResponse.class), chain);
+
+        assertTrue(called[0]);
+        assertNull(cache.get("/content/site"));
+    }
+
+    @Test
+    public void testDisabled() {
+        ComponentsConfigurationCache cache = newCache(false);
+        assertNull(cache.getCacheKey(context.create().resource("/content/site")));
+    }
+}
@@ -0,0 +1,138 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.commons.metrics.Timer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.wcm.testing.mock.aem.junit.AemContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ModelMappingExecutorTest {
+
+    @Rule
+    public final AemContext context = new AemContext();
+
+    private final Counter sequentialCount = mock(Counter.class);
+    private final Counter parallelCount = mock(Counter.class);
+
+    @Before
+    public void setUp() {
+        MetricsService metricsService = mock(MetricsService.class);
+        when(metricsService.counter(ModelMappingExecutor.METRIC_SEQUENTIAL_COUNT)).thenReturn(sequentialCount);
+        when(metricsService.counter(ModelMappingExecutor.METRIC_PARALLEL_COUNT)).thenReturn(parallelCount);
+        Timer parallelTime = mock(Timer.class);
+        when(parallelTime.time()).thenReturn(mock(Timer.Context.class));
+        when(metricsService.timer(ModelMappingExecutor.METRIC_PARALLEL_TIME)).thenReturn(parallelTime);
+        context.registerService(MetricsService.class, metricsService);
+    }
+
+    private static List<Integer> items(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSmallListsAreMappedOnTheCallingThread() {
+        ModelMappingExecutor subject = context.registerInjectActivateService(new ModelMappingExecutor(), "parallelThreshold", 10);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        List<String> result = subject.map(items(9), i -> {
+            threads.add(Thread.currentThread());
+            return "item-" + i;
+        });
+
+        assertEquals(9, result.size());
+        assertEquals("item-8", result.get(8));
+        assertEquals(Collections.singleton(Thread.currentThread()), threads);
+        verify(sequentialCount).increment();
+        verify(parallelCount, never()).increment();
+    }
+
+    @Test
+    public void testLargeListsAreMappedInParallelPreservingOrder() {
+        ModelMappingExecutor subject = context.registerInjectActivateService(new ModelMappingExecutor(), "parallelThreshold", 10,
+            "threadPoolSize", 3);
+
+        List<Integer> result = subject.map(items(101), i -> i * 2);
+
+        assertEquals(items(101).stream().map(i -> i * 2).collect(Collectors.toList()), result);
+        verify(parallelCount).increment();
+        // the result is modifiable
+        result.add(0);
+    }
+
+    @Test
+    public void testNestedMappingsOnPoolThreadsAreSequential() {
+        ModelMappingExecutor subject = context.registerInjectActivateService(new ModelMappingExecutor(), "parallelThreshold", 2,
+            "threadPoolSize", 1);
+        Thread caller = Thread.currentThread();
+
+        List<Boolean> result = subject.map(items(4), i -> {
+            Thread outer = Thread.currentThread();
+            Set<Thread> threads = ConcurrentHashMap.newKeySet();
+            subject.map(items(10), j -> threads.add(Thread.currentThread()));
+            // nested mappings of the calling thread may use the pool, nested mappings on the pool never do
+            return outer == caller || threads.equals(Collections.singleton(outer));
+        });
+
+        assertEquals(Collections.nCopies(4, Boolean.TRUE), result);
+    }
+
+    @Test
+    public void testDisabled() {
+        ModelMappingExecutor subject = context.registerInjectActivateService(new ModelMappingExecutor(), "parallelThreshold", 0);
+
+        assertEquals(items(1000), subject.map(items(1000), i -> i));
+        verify(parallelCount, never()).increment();
+    }
+
+    @Test
+    public void testExceptionsArePropagated() {
+        ModelMappingExecutor subject = context.registerInjectActivateService(new ModelMappingExecutor(), "parallelThreshold", 10);
+        List<Integer> items = new ArrayList<>(items(100));
+
+        try {
+            subject.map(items, i -> {
+                if (i == 99) {
+                    throw new IllegalArgumentException("item " + i);
+                }
+                return i;
+            });
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("99"));
+        }
+    }
+}
@@ -15,6 +15,12 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.commerce.core.components.internal.services;
 
+import java.util.Collections;
+
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.observation.ResourceChange;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -31,6 +37,10 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
 
 public class SpecificPageStrategyTest {
 
@@ -298,4 +308,70 @@ public class SpecificPageStrategyTest {
         params.setUrlPath("men/men-tops/men-sweaters");
         assertEquals(categoryPage, subject.getGenericPage(siteStructure, params));
     }
+
+    @Test
+    public void testSpecificPageIndexInvalidatedOnChange() {
+        ProductUrlFormat.Params params = new ProductUrlFormat.Params();
+        params.setSku("productId3");
+        assertNull(subject.getSpecificPage(productPage, params));
+
+        // the index is not updated until a change is observed
+        Page newPage = context.create().page(productPage.getPath() + "/sub-page-4");
+        context.resourceResolver().getResource(newPage.getPath() + "/jcr:content").adaptTo(ModifiableValueMap.class)
+            .put("selectorFilter", "productId3");
+        assertNull(subject.getSpecificPage(productPage, params));
+
+        subject.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.ADDED, newPage.getPath(), false)));
+        assertEquals(newPage.getPath(), subject.getSpecificPage(productPage, params).getPath());
+
+        // a change of any other generic page does not invalidate the index
+        context.resourceResolver().getResource(newPage.getPath() + "/jcr:content").adaptTo(ModifiableValueMap.class)
+            .put("selectorFilter", "productId4");
+        subject.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.CHANGED, categoryPage.getPath(), false)));
+        params.setSku("productId4");
+        assertNull(subject.getSpecificPage(productPage, params));
+    }
+
+    @Test
+    public void testSpecificPageIndexPerUser() {
+        ProductUrlFormat.Params params = new ProductUrlFormat.Params();
+        params.setSku("productId2");
+
+        // a user who cannot read the specific pages indexes none of them
+        Page restrictedProductPage = spy(productPage);
+        Resource restrictedResource = mock(Resource.class);
+        ResourceResolver restrictedResolver = mock(ResourceResolver.class);
+        when(restrictedResolver.getUserID()).thenReturn("restricted");
+        when(restrictedResource.getResourceResolver()).thenReturn(restrictedResolver);
+        doReturn(restrictedResource).when(restrictedProductPage).adaptTo(Resource.class);
+        doReturn(Collections.emptyIterator()).when(restrictedProductPage).listChildren();
+        assertNull(subject.getSpecificPage(restrictedProductPage, params));
+
+        // which does not hide them from other users
+        assertEquals(productPage.getPath() + "/sub-page-2", subject.getSpecificPage(productPage, params).getPath());
+    }
+
+    @Test
+    public void testSpecificPageIndexesBounded() {
+        SpecificPageStrategy bounded = context.registerInjectActivateService(new SpecificPageStrategy(), "maxIndexes", 1);
+        ProductUrlFormat.Params params = new ProductUrlFormat.Params();
+        params.setSku("productId3");
+        assertNull(bounded.getSpecificPage(productPage, params));
+
+        // the index is not updated until a change is observed
+        Page newPage = context.create().page(productPage.getPath() + "/sub-page-4");
+        context.resourceResolver().getResource(newPage.getPath() + "/jcr:content").adaptTo(ModifiableValueMap.class)
+            .put("selectorFilter", "productId3");
+        assertNull(bounded.getSpecificPage(productPage, params));
+
+        // unless it got evicted by the index of another user
+        Page otherUsersProductPage = spy(productPage);
+        Resource otherUsersResource = mock(Resource.class);
+        ResourceResolver otherUsersResolver = mock(ResourceResolver.class);
+        when(otherUsersResolver.getUserID()).thenReturn("other");
+        when(otherUsersResource.getResourceResolver()).thenReturn(otherUsersResolver);
+        doReturn(otherUsersResource).when(otherUsersProductPage).adaptTo(Resource.class);
+        assertEquals(newPage.getPath(), bounded.getSpecificPage(otherUsersProductPage, params).getPath());
+        assertEquals(newPage.getPath(), bounded.getSpecificPage(productPage, params).getPath());
+    }
 }
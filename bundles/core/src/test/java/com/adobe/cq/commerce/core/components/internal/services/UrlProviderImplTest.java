@@ -15,8 +15,11 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.commerce.core.components.internal.services;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -371,6 +374,69 @@ public class UrlProviderImplTest {
         verify(graphqlClient, never()).execute(any(), any(), any(), any());
     }
 
+    @Test
+    public void testProductUrls() {
+        Page page = setCurrentPage("/content/product-page");
+        configureSpecificPageStrategy(true);
+
+        List<ProductUrlFormat.Params> params = Arrays.asList(
+            new ProductUrlFormat.Params(new ParamsBuilder().urlKey("beaumont-summit-kit").map()),
+            new ProductUrlFormat.Params(new ParamsBuilder().urlKey("productId2").variantSku("variantSku").map()),
+            new ProductUrlFormat.Params(new ParamsBuilder().urlKey("productId1.1").variantSku("variantSku").map()));
+
+        assertEquals(Arrays.asList(
+            "/content/product-page.html/beaumont-summit-kit.html",
+            "/content/product-page/sub-page-2.html/productId2.html#variantSku",
+            "/content/product-page/sub-page/nested-page.html/productId1.1.html#variantSku"),
+            urlProvider.toProductUrls(request, page, params));
+        assertEquals(Collections.emptyList(), urlProvider.toProductUrls(request, page, Collections.emptyList()));
+    }
+
+    @Test
+    public void testProductUrlsWithinCategoryContext() {
+        setCurrentPage("/content/category-page");
+
+        Page productPage = context.pageManager().getPage("/content/product-page");
+        MockRequestPathInfo pathInfo = (MockRequestPathInfo) request.getRequestPathInfo();
+        pathInfo.setSuffix("/category-b.html");
+        MockOsgi.deactivate(urlProvider, context.bundleContext());
+        MockOsgi.activate(urlProvider, context.bundleContext(),
+            "productPageUrlFormat", ProductPageWithCategoryAndUrlKey.PATTERN,
+            "enableContextAwareProductUrls", true);
+
+        List<ProductUrlFormat.Params> params = new ArrayList<>();
+        for (String product : new String[] { "product-a", "product-b" }) {
+            ProductUrlFormat.Params productParams = new ProductUrlFormat.Params();
+            productParams.setUrlRewrites(Arrays.asList(
+                new UrlRewrite().setUrl(product),
+                new UrlRewrite().setUrl("category-a/" + product),
+                new UrlRewrite().setUrl("category-b/" + product)));
+            productParams.setUrlKey(product);
+            params.add(productParams);
+        }
+
+        // the category context of the current page applies to all urls
+        assertEquals(Arrays.asList(
+            "/content/product-page.html/category-b/product-a.html",
+            "/content/product-page.html/category-b/product-b.html"),
+            urlProvider.toProductUrls(request, productPage, params));
+    }
+
+    @Test
+    public void testCategoryUrls() {
+        Page page = setCurrentPage("/content/category-page");
+        configureSpecificPageStrategy(true);
+
+        List<CategoryUrlFormat.Params> params = Arrays.asList(
+            new CategoryUrlFormat.Params(new ParamsBuilder().urlPath("men").map()),
+            new CategoryUrlFormat.Params(new ParamsBuilder().uid("MTE=").urlPath("men/tops/shirts").map()));
+
+        assertEquals(Arrays.asList(
+            "/content/category-page.html/men.html",
+            "/content/category-page/sub-page-with-urlpath.html/men/tops/shirts.html"),
+            urlProvider.toCategoryUrls(request, page, params));
+    }
+
     @Test
     public void testProductUrlSpecificPageFromCategoryPageContext() {
         // verify that the specific page can be picked by the category url_key provided by the category url format
@@ -669,6 +735,64 @@ public class UrlProviderImplTest {
         assertEquals("{categoryList(filters:{url_key:{eq:\"jackets-men\"}}){uid}}", gqlReq.getQuery());
     }
 
+    private CatalogIdentifierCache registerCatalogIdentifierCache() {
+        CatalogIdentifierCache catalogIdentifierCache = context.registerInjectActivateService(new CatalogIdentifierCache());
+        // the registration deactivates the url provider, as it is referenced with a static policy
+        MockOsgi.activate(urlProvider, context.bundleContext());
+        Whitebox.setInternalState(urlProvider, "catalogIdentifierCache", catalogIdentifierCache);
+        return catalogIdentifierCache;
+    }
+
+    @Test
+    public void testProductIdentifierSharedAcrossRequests() {
+        registerCatalogIdentifierCache();
+        setCurrentPage("/content/catalog-page");
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setSuffix("/beaumont-summit-kit.html");
+        assertEquals("MJ01", urlProvider.getProductIdentifier(request));
+
+        request = newRequest();
+        setCurrentPage("/content/catalog-page");
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setSuffix("/beaumont-summit-kit.html");
+        assertEquals("MJ01", urlProvider.getProductIdentifier(request));
+
+        verify(graphqlClient, times(1)).execute(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testGeneratedUrlsDoNotPopulateIdentifierCache() {
+        CatalogIdentifierCache catalogIdentifierCache = registerCatalogIdentifierCache();
+        Page page = setCurrentPage("/content/product-page");
+        urlProvider.toProductUrl(request, page, new ProductUrlFormat.Params(new ParamsBuilder()
+            .sku("MJ04")
+            .urlKey("chaz-kangeroo-hoodie")
+            .map()));
+
+        // only identifiers resolved by lookups are cached
+        assertEquals(0, catalogIdentifierCache.size());
+    }
+
+    @Test
+    public void testCategoryIdentifierSharedAcrossRequests() {
+        CatalogIdentifierCache catalogIdentifierCache = registerCatalogIdentifierCache();
+        setCurrentPage("/content/catalog-page");
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setSuffix("/men/tops-men/jackets-men.html");
+        assertEquals("MTI==", urlProvider.getCategoryIdentifier(request));
+
+        request = newRequest();
+        setCurrentPage("/content/catalog-page");
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setSuffix("/men/tops-men/jackets-men.html");
+        assertEquals("MTI==", urlProvider.getCategoryIdentifier(request));
+        verify(graphqlClient, times(1)).execute(any(), any(), any(), any());
+
+        // the invalidation of the category uid removes it
+        catalogIdentifierCache.invalidate("default", null, false, Collections.singleton("MTI=="));
+        request = newRequest();
+        setCurrentPage("/content/catalog-page");
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setSuffix("/men/tops-men/jackets-men.html");
+        assertEquals("MTI==", urlProvider.getCategoryIdentifier(request));
+        verify(graphqlClient, times(2)).execute(any(), any(), any(), any());
+    }
+
     @Test
     public void testCategoryIdentifierParsingUrlPathNotFound() {
         setCurrentPage("/content/catalog-page");
@@ -760,6 +884,28 @@ public class UrlProviderImplTest {
         assertEquals("/content/product-page.html/foobar/beaumont-summit-kit.html", url);
     }
 
+    @Test
+    public void testCAConfigUrlFormatSelectedOncePerRequest() {
+        Page page = setCurrentPage("/content/product-page");
+        caConfig.put(UrlFormat.PRODUCT_PAGE_URL_FORMAT, ProductPageWithUrlPath.PATTERN);
+
+        Map<String, String> params = new ParamsBuilder()
+            .sku("MJ01")
+            .urlKey("beaumont-summit-kit")
+            .urlPath("foobar/beaumont-summit-kit")
+            .map();
+
+        assertEquals("/content/product-page.html/foobar/beaumont-summit-kit.html", urlProvider.toProductUrl(request, page, params));
+
+        // the format selected for the page is kept for the rest of the request
+        caConfig.put(UrlFormat.PRODUCT_PAGE_URL_FORMAT, ProductPageWithSku.PATTERN);
+        assertEquals("/content/product-page.html/foobar/beaumont-summit-kit.html", urlProvider.toProductUrl(request, page, params));
+
+        request = newRequest();
+        page = setCurrentPage("/content/product-page");
+        assertEquals("/content/product-page.html/MJ01.html", urlProvider.toProductUrl(request, page, params));
+    }
+
     @Test
     public void testCAConfigWithDefaultCategoryUrlFormat() {
         Page page = setCurrentPage("/content/category-page");
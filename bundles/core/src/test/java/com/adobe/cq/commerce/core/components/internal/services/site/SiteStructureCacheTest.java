@@ -0,0 +1,125 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.services.site;
+
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.commons.metrics.Counter;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.commons.metrics.Timer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.adobe.cq.commerce.core.components.models.common.SiteStructure;
+import com.day.cq.wcm.api.Page;
+import io.wcm.testing.mock.aem.junit.AemContext;
+
+import static com.adobe.cq.commerce.core.testing.TestContext.newAemContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SiteStructureCacheTest {
+
+    @Rule
+    public final AemContext context = newAemContext("/context/SiteStructureImplTest/jcr-content.json");
+
+    private final Counter buildCount = mock(Counter.class);
+    private SiteStructureCache subject;
+    private Page navRootPage;
+
+    @Before
+    public void setup() {
+        MetricsService metricsService = mock(MetricsService.class);
+        when(metricsService.counter(SiteStructureCache.METRIC_BUILD_COUNT)).thenReturn(buildCount);
+        Timer buildTime = mock(Timer.class);
+        when(buildTime.time()).thenReturn(mock(Timer.Context.class));
+        when(metricsService.timer(SiteStructureCache.METRIC_BUILD_TIME)).thenReturn(buildTime);
+        context.registerService(MetricsService.class, metricsService);
+        subject = context.registerInjectActivateService(new SiteStructureCache());
+        navRootPage = context.pageManager().getPage("/content/nav-root");
+    }
+
+    private SiteStructureSnapshot getSnapshot() {
+        return subject.getSnapshot(navRootPage, page -> new SiteStructureImpl(page).isCatalogPage(page));
+    }
+
+    private void change(String path) {
+        subject.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.CHANGED, path, false)));
+    }
+
+    @Test
+    public void testSnapshotIsShared() {
+        SiteStructureSnapshot snapshot = getSnapshot();
+
+        assertEquals(Collections.singletonList("/content/nav-root/shop"), snapshot.getCatalogPagePaths());
+        assertEquals("/content/nav-root/shop/product", snapshot.getReference("/content/nav-root", SiteStructureImpl.PN_CIF_PRODUCT_PAGE));
+        assertSame(snapshot, getSnapshot());
+        verify(buildCount, times(1)).increment();
+    }
+
+    @Test
+    public void testSnapshotInvalidation() {
+        SiteStructureSnapshot snapshot = getSnapshot();
+
+        // changes of content below catalog pages or generic pages do not affect the snapshot
+        change("/content/nav-root/shop/jcr:content/root/title");
+        change("/content/nav-root/shop/product/jcr:content");
+        change("/content/no-nav-root/content-page");
+        assertSame(snapshot, getSnapshot());
+
+        // changes of catalog page properties do
+        change("/content/nav-root/shop/jcr:content");
+        SiteStructureSnapshot rebuilt = getSnapshot();
+        assertNotSame(snapshot, rebuilt);
+
+        // as well as changes of the generic pages
+        change("/content/nav-root/shop/product");
+        assertNotSame(rebuilt, getSnapshot());
+        verify(buildCount, times(3)).increment();
+    }
+
+    @Test
+    public void testSiteStructureFromFactory() {
+        // register a new factory to bind the cache
+        SiteStructureFactory factory = context.registerInjectActivateService(new SiteStructureFactory());
+        // adapt new page instances each time, as adaptTo caches the site structure per instance
+        Supplier<Page> contentPage = () -> context.pageManager().getPage("/content/nav-root/content-page");
+
+        SiteStructure siteStructure = factory.getSiteStructure(contentPage.get());
+        assertEquals(1, siteStructure.getProductPages().size());
+        assertEquals("/content/nav-root/shop/product", siteStructure.getProductPages().get(0).getPage().getPath());
+
+        // the reference is taken from the snapshot until a change is observed
+        context.resourceResolver().getResource("/content/nav-root/jcr:content").adaptTo(ModifiableValueMap.class)
+            .put(SiteStructureImpl.PN_CIF_PRODUCT_PAGE, "/content/nav-root/shop/category");
+        assertEquals("/content/nav-root/shop/product",
+            factory.getSiteStructure(contentPage.get()).getProductPages().get(0).getPage().getPath());
+
+        change("/content/nav-root/jcr:content");
+        assertEquals("/content/nav-root/shop/category",
+            factory.getSiteStructure(contentPage.get()).getProductPages().get(0).getPage().getPath());
+        verify(buildCount, times(2)).increment();
+    }
+}
@@ -16,7 +16,10 @@
 package com.adobe.cq.commerce.core.components.internal.services.sitemap;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.http.osgi.services.HttpClientBuilderFactory;
@@ -138,6 +141,32 @@ public class CategoriesSitemapGeneratorTest {
         Utils.addHttpResponseFrom(graphqlClient,
             "graphql/sitemap/magento-graphql-sitemap-category-error.json",
             "{categories(filters:{category_uid:{eq:\"ERROR\"");
+
+        // mock the same category tree fetched with multiple categories per query
+        Utils.addHttpResponseFrom(graphqlClient,
+            "graphql/sitemap/magento-graphql-sitemap-category-tree-3-4-5.json",
+            "{categories(filters:{category_uid:{in:[\"UID3\",\"UID4\",\"UID5\"]}},pageSize:3)");
+        Utils.addHttpResponseFrom(graphqlClient,
+            "graphql/sitemap/magento-graphql-sitemap-category-tree-31-32.json",
+            "{categories(filters:{category_uid:{in:[\"UID31\",\"UID32\"]}},pageSize:2)");
+        Utils.addHttpResponseFrom(graphqlClient,
+            "graphql/sitemap/magento-graphql-sitemap-category-tree-41-42.json",
+            "{categories(filters:{category_uid:{in:[\"UID41\",\"UID42\"]}},pageSize:2)");
+        Utils.addHttpResponseFrom(graphqlClient,
+            "graphql/sitemap/magento-graphql-sitemap-category-tree-51-52.json",
+            "{categories(filters:{category_uid:{in:[\"UID51\",\"UID52\"]}},pageSize:2)");
+        Utils.addHttpResponseFrom(graphqlClient,
+            "graphql/sitemap/magento-graphql-sitemap-category-tree-42-5.json",
+            "{categories(filters:{category_uid:{in:[\"UID42\",\"UID5\"]}},pageSize:2)");
+    }
+
+    private List<Integer> captureVisitedCategoryIds() {
+        List<Integer> visitedCategoryIds = new ArrayList<>();
+        when(categoryFilter.shouldInclude(any(), any())).then(inv -> {
+            visitedCategoryIds.add(((CategoryTree) inv.getArguments()[1]).getId());
+            return Boolean.TRUE;
+        });
+        return visitedCategoryIds;
     }
 
     @Test
@@ -249,4 +278,31 @@ public class CategoriesSitemapGeneratorTest {
         verify(sitemap, atLeastOnce()).addUrl(locations.capture());
         assertEquals("4 locations expected", 4, locations.getAllValues().size());
     }
+
+    @Test
+    public void testTraversalOrderKeptWithMultipleCategoriesPerQuery() throws SitemapException {
+        // given
+        aemContext.registerAdapter(Resource.class, ComponentsConfiguration.class, new ComponentsConfiguration(configuration));
+        List<Integer> visitedCategoryIds = captureVisitedCategoryIds();
+
+        // when
+        subject.generate(categoryPage.adaptTo(Resource.class), "<default>", sitemap, context);
+
+        // then
+        assertEquals(Arrays.asList(2, 3, 31, 32, 4, 41, 42, 5, 51, 52), visitedCategoryIds);
+    }
+
+    @Test
+    public void testSingleCategoryPerQuery() throws SitemapException {
+        // given
+        aemContext.registerInjectActivateService(subject, "categoriesPerQuery", 1);
+        aemContext.registerAdapter(Resource.class, ComponentsConfiguration.class, new ComponentsConfiguration(configuration));
+        List<Integer> visitedCategoryIds = captureVisitedCategoryIds();
+
+        // when
+        subject.generate(categoryPage.adaptTo(Resource.class), "<default>", sitemap, context);
+
+        // then
+        assertEquals(Arrays.asList(2, 3, 31, 32, 4, 41, 42, 5, 51, 52), visitedCategoryIds);
+    }
 }
@@ -16,10 +16,15 @@
 package com.adobe.cq.commerce.core.components.internal.services.sitemap;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.http.osgi.services.HttpClientBuilderFactory;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.commons.threads.ThreadPoolManager;
 import org.apache.sling.sitemap.SitemapException;
 import org.apache.sling.sitemap.builder.Sitemap;
 import org.apache.sling.sitemap.spi.common.SitemapLinkExternalizer;
@@ -32,8 +37,10 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import com.adobe.cq.commerce.core.MockHttpClientBuilderFactory;
+import com.adobe.cq.commerce.core.components.internal.client.GraphqlClientExecutor;
 import com.adobe.cq.commerce.core.components.services.ComponentsConfiguration;
 import com.adobe.cq.commerce.core.components.services.sitemap.SitemapProductFilter;
+import com.adobe.cq.commerce.core.testing.MockThreadPoolManager;
 import com.adobe.cq.commerce.core.testing.TestContext;
 import com.adobe.cq.commerce.core.testing.Utils;
 import com.adobe.cq.commerce.graphql.client.GraphqlClient;
@@ -198,6 +205,28 @@ public class ProductsSitemapGeneratorTest {
         assertEquals("1 locations added", 1, locations.getAllValues().size());
     }
 
+    @Test
+    public void testAllProductsAddedInOrderWithConcurrentPrefetching() throws SitemapException {
+        // given
+        List<String> skus = Collections.synchronizedList(new ArrayList<>());
+        ArgumentCaptor<Integer> nextPages = ArgumentCaptor.forClass(Integer.class);
+        aemContext.registerService(ThreadPoolManager.class, new MockThreadPoolManager());
+        aemContext.registerInjectActivateService(new GraphqlClientExecutor(), "threadPoolSize", 2);
+        aemContext.registerService(SitemapProductFilter.class, productFilter);
+        when(productFilter.shouldInclude(any(), any())).then(inv -> {
+            skus.add(((ProductInterface) inv.getArguments()[1]).getSku());
+            return Boolean.TRUE;
+        });
+
+        // when
+        getSubject().generate(productPage.adaptTo(Resource.class), "<default>", sitemap, context);
+
+        // then
+        assertEquals(Arrays.asList("P01", "P02", "P03", "P04", "P05"), skus);
+        verify(context, atLeastOnce()).setProperty(eq(ProductsSitemapGenerator.PN_NEXT_PAGE), nextPages.capture());
+        assertEquals(Arrays.asList(2, 3, 4), nextPages.getAllValues());
+    }
+
     private ProductsSitemapGenerator getSubject() {
         // get the service from the context in order to support reregistration on reference updates
         return (ProductsSitemapGenerator) aemContext.getService(SitemapGenerator.class);
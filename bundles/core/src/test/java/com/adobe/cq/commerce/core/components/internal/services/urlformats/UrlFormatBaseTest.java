@@ -15,9 +15,14 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.commerce.core.components.internal.services.urlformats;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
@@ -152,4 +157,113 @@ public class UrlFormatBaseTest {
                 Collections.singletonList(null),
                 "urlKey"));
     }
+
+    @Test
+    public void testSelectUrlPathMatchesWholeSegmentsOnly() {
+        // the url key and the context must match whole segments
+        assertEquals(
+            "bar/top",
+            UrlFormatBase.selectUrlPath(
+                null,
+                Arrays.asList("barista/food/top", "bar/top", "foo/bar/stop"),
+                "top",
+                null,
+                "bar/foo"));
+        assertEquals(
+            "foo/bar/top",
+            UrlFormatBase.selectUrlPath(
+                null,
+                Arrays.asList("barista/top", "foo/bar/top"),
+                "top",
+                "bar",
+                null));
+    }
+
+    @Test
+    public void testSelectUrlPathIgnoresTrailingSlashes() {
+        assertEquals(
+            "foo/bar/top",
+            UrlFormatBase.selectUrlPath(
+                null,
+                Arrays.asList("foo/top", "foo/bar/top//", "/"),
+                "top"));
+    }
+
+    @Test
+    public void testSelectUrlPathMatchesSplittingImplementation() {
+        // compares the selection with the implementation that split the alternatives, for random alternatives and contexts
+        String[] segments = { "men", "tops", "shirts", "sale", "product", "" };
+        Random random = new Random(42);
+        for (int run = 0; run < 10000; run++) {
+            List<String> alternatives = new ArrayList<>();
+            for (int i = random.nextInt(5); i >= 0; i--) {
+                String alternative = randomPath(random, segments);
+                if (StringUtils.strip(alternative, "/").isEmpty() && !alternative.isEmpty()) {
+                    // failed with an ArrayIndexOutOfBoundsException before
+                    continue;
+                }
+                alternatives.add(random.nextInt(10) == 0 ? null : alternative);
+            }
+            String urlKey = random.nextBoolean() ? segments[random.nextInt(segments.length - 1)] : null;
+            String contextUrlKey = random.nextInt(4) == 0 ? segments[random.nextInt(segments.length)] : null;
+            String contextUrlPath = random.nextBoolean() ? randomPath(random, segments) : null;
+
+            String message = alternatives + ", " + urlKey + ", " + contextUrlKey + ", " + contextUrlPath;
+            assertEquals(message, selectUrlPathBySplitting(alternatives, urlKey, contextUrlKey, contextUrlPath),
+                UrlFormatBase.selectUrlPath(null, alternatives, urlKey, contextUrlKey, contextUrlPath));
+        }
+    }
+
+    private static String randomPath(Random random, String[] segments) {
+        StringBuilder path = new StringBuilder();
+        for (int i = random.nextInt(4); i >= 0; i--) {
+            if (path.length() > 0 || random.nextInt(10) == 0) {
+                path.append('/');
+            }
+            path.append(segments[random.nextInt(segments.length)]);
+        }
+        return path.toString();
+    }
+
+    /**
+     * The selection of {@link UrlFormatBase#selectUrlPath(String, List, String, String, String)} as it was implemented by splitting
+     * the alternatives into their segments.
+     */
+    private static String selectUrlPathBySplitting(List<String> alternatives, String urlKey, String contextUrlKey,
+        String contextUrlPath) {
+        contextUrlKey = contextUrlKey == null && contextUrlPath != null
+            ? StringUtils.substringAfterLast(contextUrlPath, "/")
+            : contextUrlKey;
+        String[] contextParts = StringUtils.isNotEmpty(contextUrlPath) ? contextUrlPath.split("/") : null;
+        String[] candidateParts = new String[0];
+        int candidateScore = 0;
+
+        for (String alternative : alternatives) {
+            if (StringUtils.isEmpty(alternative)) {
+                continue;
+            }
+            String[] alternativeParts = alternative.split("/");
+            if (alternativeParts[alternativeParts.length - 1].equals(urlKey) || urlKey == null) {
+                int matches = 0;
+                if (contextParts != null) {
+                    for (int i = 0; i < Math.min(contextParts.length, alternativeParts.length); i++) {
+                        if (contextParts[i].equals(alternativeParts[i])) {
+                            matches++;
+                        } else {
+                            break;
+                        }
+                    }
+                }
+                if (matches == 0 && ArrayUtils.indexOf(alternativeParts, contextUrlKey) >= 0) {
+                    matches = 1;
+                }
+                if (matches > candidateScore || (matches == candidateScore && alternativeParts.length > candidateParts.length)) {
+                    candidateScore = matches;
+                    candidateParts = alternativeParts;
+                }
+            }
+        }
+
+        return candidateParts.length > 0 ? StringUtils.join(candidateParts, '/') : urlKey;
+    }
 }
@@ -29,6 +29,7 @@ import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.models.factory.ModelFactory;
 import org.apache.sling.scripting.api.BindingsValuesProvider;
+import org.apache.sling.testing.mock.osgi.MockOsgi;
 import org.apache.sling.testing.mock.sling.servlet.MockRequestPathInfo;
 import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
 import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
@@ -41,6 +42,7 @@ import org.mockito.internal.util.reflection.Whitebox;
 
 import com.adobe.cq.commerce.core.MockHttpClientBuilderFactory;
 import com.adobe.cq.commerce.core.components.internal.services.CommerceComponentModelFinder;
+import com.adobe.cq.commerce.core.components.internal.services.UrlProviderImpl;
 import com.adobe.cq.commerce.core.components.internal.services.experiencefragments.CommerceExperienceFragmentsRetriever;
 import com.adobe.cq.commerce.core.search.internal.services.SearchFilterServiceImpl;
 import com.adobe.cq.commerce.core.search.internal.services.SearchResultsServiceImpl;
@@ -49,11 +51,13 @@ import com.adobe.cq.commerce.core.testing.Utils;
 import com.adobe.cq.commerce.graphql.client.GraphqlClient;
 import com.adobe.cq.commerce.graphql.client.impl.GraphqlClientImpl;
 import com.adobe.cq.sightly.SightlyWCMMode;
+import com.day.cq.wcm.api.WCMMode;
 import com.day.cq.wcm.api.policies.ContentPolicy;
 import com.day.cq.wcm.api.policies.ContentPolicyManager;
 import io.wcm.testing.mock.aem.junit.AemContext;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -255,4 +259,78 @@ public class CatalogPageNotFoundFilterTest {
         verify(contentModelFinder).findProductListComponentModel(any(), any());
         assertEquals(200, response.getStatus());
     }
+
+    private void enableIdentifierCheck() {
+        MockOsgi.activate(subject, aemContext.bundleContext(), "identifierCheck", true);
+    }
+
+    @Test
+    public void testIdentifierCheckReturns200ForProduct() throws ServletException, IOException {
+        enableIdentifierCheck();
+        currentPageAsPageResource("/content/venia/us/en/products/product-page");
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setSuffix("/beaumont-summit-kit.html");
+
+        subject.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(contentModelFinder, never()).findProductComponentModel(any(), any());
+        // the resolved sku is reused by the components
+        assertEquals("MJ01", request.getAttribute(UrlProviderImpl.CIF_IDENTIFIER_ATTR));
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void testIdentifierCheckReturns404ForMissingProduct() throws ServletException, IOException {
+        enableIdentifierCheck();
+        currentPageAsPageResource("/content/venia/us/en/products/product-page");
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setSuffix("/does-not-exist.html");
+
+        subject.doFilter(request, response, filterChain);
+
+        verify(filterChain, never()).doFilter(request, response);
+        verify(contentModelFinder, never()).findProductComponentModel(any(), any());
+        assertEquals(404, response.getStatus());
+    }
+
+    @Test
+    public void testIdentifierCheckReturns200ForCategory() throws ServletException, IOException {
+        enableIdentifierCheck();
+        currentPageAsPageResource("/content/venia/us/en/products/category-page");
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setSuffix("/men/tops-men/jackets-men.html");
+
+        subject.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(contentModelFinder, never()).findProductListComponentModel(any(), any());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void testIdentifierCheckReturns404ForMissingCategory() throws ServletException, IOException {
+        enableIdentifierCheck();
+        currentPageAsPageResource("/content/venia/us/en/products/category-page");
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setSuffix("/does-not-exist.html");
+
+        subject.doFilter(request, response, filterChain);
+
+        verify(filterChain, never()).doFilter(request, response);
+        verify(contentModelFinder, never()).findProductListComponentModel(any(), any());
+        assertEquals(404, response.getStatus());
+    }
+
+    @Test
+    public void testIdentifierCheckNotAppliedWithWcmModeNotDisabled() throws ServletException, IOException {
+        enableIdentifierCheck();
+        when(wcmMode.isDisabled()).thenReturn(false);
+        WCMMode.EDIT.toRequest(request);
+        currentPageAsPageResource("/content/venia/us/en/products/product-page");
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setSuffix("/does-not-exist.html");
+
+        subject.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(contentModelFinder).findProductComponentModel(any(), any());
+        assertNull(request.getAttribute(UrlProviderImpl.CIF_IDENTIFIER_ATTR));
+        assertEquals(200, response.getStatus());
+    }
 }
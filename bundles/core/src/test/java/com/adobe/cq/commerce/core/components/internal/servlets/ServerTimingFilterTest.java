@@ -0,0 +1,180 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.components.internal.servlets;
+
+import java.util.Collections;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletResponse;
+
+import org.apache.sling.commons.metrics.Histogram;
+import org.apache.sling.commons.metrics.MetricsService;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.adobe.cq.commerce.core.components.internal.client.BackendCallTimings;
+import io.wcm.testing.mock.aem.junit.AemContext;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class ServerTimingFilterTest {
+
+    private static final String PRODUCT = "core/cif/components/commerce/product/v3/product";
+    private static final String TEASER = "core/cif/components/commerce/productteaser/v1/productteaser";
+
+    @Rule
+    public final AemContext context = new AemContext();
+
+    private final MetricsService metricsService = mock(MetricsService.class);
+    private final Histogram productDuration = mock(Histogram.class);
+    private final Histogram requestDuration = mock(Histogram.class);
+    private final Histogram requestCalls = mock(Histogram.class);
+    private final Histogram requestHits = mock(Histogram.class);
+    private final FilterChain chain = mock(FilterChain.class);
+    private MockSlingHttpServletRequest request;
+    private MockSlingHttpServletResponse response;
+
+    @Before
+    public void setUp() throws Exception {
+        when(metricsService.histogram(ServerTimingFilter.METRIC_CALL_DURATION + PRODUCT)).thenReturn(productDuration);
+        when(metricsService.histogram(ServerTimingFilter.METRIC_REQUEST_DURATION)).thenReturn(requestDuration);
+        when(metricsService.histogram(ServerTimingFilter.METRIC_REQUEST_CALLS)).thenReturn(requestCalls);
+        when(metricsService.histogram(ServerTimingFilter.METRIC_REQUEST_HITS)).thenReturn(requestHits);
+        context.registerService(MetricsService.class, metricsService);
+
+        request = context.request();
+        response = context.response();
+        doAnswer(invocation -> {
+            BackendCallTimings timings = (BackendCallTimings) request.getAttribute(BackendCallTimings.class.getName());
+            timings.recordCall(PRODUCT, 120);
+            timings.recordHit(TEASER);
+            timings.recordCall(PRODUCT, 30);
+            return null;
+        }).when(chain).doFilter(any(), any());
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        ServerTimingFilter subject = context.registerInjectActivateService(new ServerTimingFilter());
+
+        subject.doFilter(request, response, chain);
+
+        verify(productDuration).update(120L);
+        verify(productDuration).update(30L);
+        verify(requestDuration).update(150L);
+        verify(requestCalls).update(2L);
+        verify(requestHits).update(1L);
+        assertNull(response.getHeader(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    public void testServerTimingHeader() throws Exception {
+        ServerTimingFilter subject = context.registerInjectActivateService(new ServerTimingFilter(),
+            "serverTimingHeader", true, "maxHeaderEntries", 2);
+
+        subject.doFilter(request, response, chain);
+
+        assertEquals("cif-0;desc=\"" + PRODUCT + " miss\";dur=120, cif-1;desc=\"" + TEASER + " hit\";dur=0, "
+            + "cif;desc=\"2 calls, 1 hits\";dur=150", response.getHeader(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    public void testServerTimingHeaderWithFlushedBody() throws Exception {
+        ServerTimingFilter subject = context.registerInjectActivateService(new ServerTimingFilter(), "serverTimingHeader", true);
+        FilterChain chain = mock(FilterChain.class);
+        doAnswer(invocation -> {
+            ServletResponse wrappedResponse = invocation.getArgumentAt(1, ServletResponse.class);
+            wrappedResponse.getWriter().write("<html>");
+            wrappedResponse.flushBuffer();
+            assertFalse(response.isCommitted());
+            BackendCallTimings timings = (BackendCallTimings) request.getAttribute(BackendCallTimings.class.getName());
+            timings.recordCall(PRODUCT, 120);
+            wrappedResponse.getWriter().write("</html>");
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        subject.doFilter(request, response, chain);
+
+        assertEquals("cif-0;desc=\"" + PRODUCT + " miss\";dur=120, cif;desc=\"1 calls, 0 hits\";dur=120",
+            response.getHeader(ServerTimingFilter.HEADER));
+        assertEquals("<html></html>", response.getOutputAsString());
+    }
+
+    @Test
+    public void testServerTimingHeaderWithOutputStream() throws Exception {
+        ServerTimingFilter subject = context.registerInjectActivateService(new ServerTimingFilter(), "serverTimingHeader", true);
+        FilterChain chain = mock(FilterChain.class);
+        doAnswer(invocation -> {
+            ServletResponse wrappedResponse = invocation.getArgumentAt(1, ServletResponse.class);
+            wrappedResponse.getOutputStream().write(new byte[] { 1, 2, 3 });
+            BackendCallTimings timings = (BackendCallTimings) request.getAttribute(BackendCallTimings.class.getName());
+            timings.recordHit(TEASER);
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        subject.doFilter(request, response, chain);
+
+        assertEquals("cif-0;desc=\"" + TEASER + " hit\";dur=0, cif;desc=\"0 calls, 1 hits\";dur=0",
+            response.getHeader(ServerTimingFilter.HEADER));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, response.getOutput());
+    }
+
+    @Test
+    public void testNoQueries() throws Exception {
+        ServerTimingFilter subject = context.registerInjectActivateService(new ServerTimingFilter(), "serverTimingHeader", true);
+
+        subject.doFilter(request, response, mock(FilterChain.class));
+
+        verifyZeroInteractions(metricsService);
+        assertNull(response.getHeader(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        ServerTimingFilter subject = context.registerInjectActivateService(new ServerTimingFilter(), "enabled", false);
+        FilterChain chain = mock(FilterChain.class);
+
+        subject.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        assertNull(request.getAttribute(BackendCallTimings.class.getName()));
+    }
+
+    @Test
+    public void testCommittedResponse() throws Exception {
+        ServerTimingFilter subject = context.registerInjectActivateService(new ServerTimingFilter(), "serverTimingHeader", true);
+        response.flushBuffer();
+        assertTrue(response.isCommitted());
+
+        subject.doFilter(request, response, chain);
+
+        verify(requestDuration).update(150L);
+        assertEquals(Collections.emptyList(), response.getHeaders(ServerTimingFilter.HEADER));
+    }
+}
@@ -0,0 +1,75 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.search.internal.models;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.adobe.cq.commerce.core.search.internal.models.FilterAttributeMetadataIndex.FilterType;
+import com.adobe.cq.commerce.core.search.models.FilterAttributeMetadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FilterAttributeMetadataIndexTest {
+
+    private static FilterAttributeMetadata metadata(String attributeCode, String filterInputType) {
+        FilterAttributeMetadataImpl metadata = new FilterAttributeMetadataImpl();
+        metadata.setAttributeCode(attributeCode);
+        metadata.setFilterInputType(filterInputType);
+        return metadata;
+    }
+
+    @Test
+    public void testLookup() {
+        FilterAttributeMetadata color = metadata("color", "FilterEqualTypeInput");
+        FilterAttributeMetadata duplicateColor = metadata("color", "FilterMatchTypeInput");
+        FilterAttributeMetadata name = metadata("name", "FilterMatchTypeInput");
+        FilterAttributeMetadata price = metadata("price", "FilterRangeTypeInput");
+        FilterAttributeMetadata other = metadata("other", "FilterOtherTypeInput");
+        List<FilterAttributeMetadata> list = Arrays.asList(color, duplicateColor, name, price, other);
+
+        FilterAttributeMetadataIndex index = FilterAttributeMetadataIndex.of(list);
+
+        assertEquals(list, index);
+        // the first metadata of an attribute wins, like with a linear search
+        assertSame(color, index.get("color"));
+        assertEquals(FilterType.EQUAL, index.getFilterType("color"));
+        assertEquals(FilterType.MATCH, index.getFilterType("name"));
+        assertEquals(FilterType.RANGE, index.getFilterType("price"));
+        assertEquals(FilterType.UNSUPPORTED, index.getFilterType("other"));
+        assertNull(index.get("size"));
+        assertNull(index.getFilterType("size"));
+    }
+
+    @Test
+    public void testIndexIsReused() {
+        FilterAttributeMetadataIndex index = FilterAttributeMetadataIndex.of(Collections.singletonList(metadata("color", null)));
+
+        assertSame(index, FilterAttributeMetadataIndex.of(index));
+        assertTrue(FilterAttributeMetadataIndex.of(null).isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable() {
+        FilterAttributeMetadataIndex.of(Collections.singletonList(metadata("color", null))).add(metadata("size", null));
+    }
+}
@@ -0,0 +1,133 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.search.internal.models;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class QueryParametersTest {
+
+    private static Map<String, String> filters() {
+        Map<String, String> filters = new HashMap<>();
+        filters.put("color", "red");
+        filters.put("page", "2");
+        return filters;
+    }
+
+    @Test
+    public void testOverlay() {
+        Map<String, String> filters = filters();
+        QueryParameters base = QueryParameters.of(filters);
+        QueryParameters withSize = base.with("size", "xl");
+        QueryParameters withoutPage = withSize.without("page");
+
+        // changes of the given map are not visible
+        filters.put("brand", "acme");
+        assertNull(base.get("brand"));
+
+        assertEquals("xl", withSize.get("size"));
+        assertNull(base.get("size"));
+        assertTrue(withSize.containsKey("page"));
+        assertFalse(withoutPage.containsKey("page"));
+        assertNull(withoutPage.get("page"));
+        assertFalse(withSize.isMaterialized());
+        assertFalse(withoutPage.isMaterialized());
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("color", "red");
+        expected.put("size", "xl");
+        assertEquals(expected, withoutPage);
+        assertTrue(withoutPage.isMaterialized());
+        assertEquals(2, withoutPage.size());
+        assertEquals(3, withSize.size());
+    }
+
+    @Test
+    public void testOf() {
+        QueryParameters parameters = QueryParameters.of(filters());
+        assertSame(parameters, QueryParameters.of(parameters));
+        assertTrue(QueryParameters.of(null).isEmpty());
+    }
+
+    @Test
+    public void testLastOverrideWins() {
+        QueryParameters parameters = QueryParameters.of(filters()).with("page", "3").without("page").with("page", "4");
+        assertEquals("4", parameters.get("page"));
+        assertEquals("4", parameters.entrySet().stream().filter(e -> e.getKey().equals("page")).findAny().get().getValue());
+    }
+
+    @Test
+    public void testModification() {
+        QueryParameters base = QueryParameters.of(filters());
+        QueryParameters derived = base.with("size", "xl");
+
+        derived.remove("color");
+        assertNull(derived.get("color"));
+        assertEquals("red", base.get("color"));
+
+        // instances derived from a modified instance see the modification
+        QueryParameters next = derived.with("page", "3");
+        assertFalse(next.containsKey("color"));
+        assertEquals("xl", next.get("size"));
+        assertEquals("3", next.get("page"));
+
+        derived.clear();
+        assertTrue(derived.isEmpty());
+        assertEquals(2, next.size());
+    }
+
+    @Test
+    public void testModificationThroughViews() {
+        QueryParameters base = QueryParameters.of(filters());
+        QueryParameters derived = base.with("size", "xl");
+
+        assertTrue(derived.keySet().remove("color"));
+        derived.entrySet().stream().filter(e -> e.getKey().equals("size")).findAny().get().setValue("m");
+        derived.values().remove("2");
+        assertEquals(Collections.singletonMap("size", "m"), derived);
+        assertEquals(filters(), base);
+
+        // instances derived from an instance modified through its views see the modification
+        assertEquals(Collections.singletonMap("size", "m"), derived.without("page"));
+    }
+
+    @Test
+    public void testCopy() {
+        QueryParameters parameters = QueryParameters.of(filters()).with("size", "xl");
+        QueryParameters copy = parameters.copy();
+        copy.remove("color");
+        assertEquals("red", parameters.get("color"));
+        assertEquals(2, copy.size());
+
+        parameters.put("brand", "acme");
+        assertEquals("acme", parameters.copy().get("brand"));
+        assertFalse(copy.containsKey("brand"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValue() {
+        QueryParameters.of(filters()).with("color", null);
+    }
+}
@@ -86,6 +86,28 @@ public class SearchOptionsImplTest {
         assertThat(modelUnderTest.getSearchQuery()).hasValue(searchQuery);
     }
 
+    @Test
+    public void testAllFiltersUpdatedBySetters() {
+        modelUnderTest = new SearchOptionsImpl();
+        modelUnderTest.setAttributeFilters(testAttributeFilters);
+        assertThat(modelUnderTest.getAllFilters()).hasSize(3);
+
+        // changes of the returned filters do not affect later calls
+        modelUnderTest.getAllFilters().remove(SEARCH_ATTRIBUTE_KEY_1);
+        assertThat(modelUnderTest.getAllFilters()).containsKey(SEARCH_ATTRIBUTE_KEY_1);
+
+        modelUnderTest.setCategoryUid("uid-123");
+        assertThat(modelUnderTest.getAllFilters()).containsEntry(SearchOptionsImpl.CATEGORY_UID_PARAMETER_ID, "uid-123");
+        modelUnderTest.setSearchQuery("shirt");
+        assertThat(modelUnderTest.getAllFilters()).containsEntry(SearchOptionsImpl.SEARCH_QUERY_PARAMETER_ID, "shirt").hasSize(5);
+        modelUnderTest.setAttributeFilters(new HashMap<>());
+        assertThat(modelUnderTest.getAllFilters()).hasSize(2);
+
+        // the attribute filters may be changed through the getter as well
+        modelUnderTest.getAttributeFilters().put(SEARCH_ATTRIBUTE_KEY_1, "value");
+        assertThat(modelUnderTest.getAllFilters()).containsEntry(SEARCH_ATTRIBUTE_KEY_1, "value").hasSize(3);
+    }
+
     @Test
     public void testNormalSearchTermsAllowedThrough() {
         modelUnderTest = new SearchOptionsImpl();
@@ -0,0 +1,136 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.search.internal.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.adobe.cq.commerce.core.search.internal.models.FilterAttributeMetadataImpl;
+import com.adobe.cq.commerce.core.search.models.FilterAttributeMetadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class FilterAttributeMetadataCacheTest {
+
+    private static final FilterAttributeMetadataCache.Key KEY = new FilterAttributeMetadataCache.Key("default", "my-store",
+        Collections.singletonMap("Store", Collections.singletonList("my-store")));
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private FilterAttributeMetadataCache subject;
+    private long now;
+
+    @Before
+    public void setUp() {
+        subject = new FilterAttributeMetadataCache(1000, 10);
+        subject.clock = () -> now;
+    }
+
+    private static List<FilterAttributeMetadata> metadata(String attributeCode) {
+        FilterAttributeMetadataImpl metadata = new FilterAttributeMetadataImpl();
+        metadata.setAttributeCode(attributeCode);
+        return Collections.singletonList(metadata);
+    }
+
+    private Supplier<List<FilterAttributeMetadata>> loader(List<FilterAttributeMetadata> metadata) {
+        return () -> {
+            loads.incrementAndGet();
+            return metadata;
+        };
+    }
+
+    @Test
+    public void testExpiredEntriesAreRefreshedByNextLookup() {
+        List<FilterAttributeMetadata> stale = metadata("color");
+        List<FilterAttributeMetadata> fresh = metadata("size");
+        subject.put(KEY, stale);
+
+        assertEquals(stale, subject.get(KEY, loader(fresh)));
+        assertEquals(0, loads.get());
+
+        now = 1000;
+        assertEquals(fresh, subject.get(KEY, loader(fresh)));
+        assertEquals(fresh, subject.get(KEY, loader(fresh)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testConcurrentLookupsGetStaleEntryDuringRefresh() {
+        List<FilterAttributeMetadata> stale = metadata("color");
+        List<FilterAttributeMetadata> fresh = metadata("size");
+        subject.put(KEY, stale);
+        now = 1000;
+
+        List<List<FilterAttributeMetadata>> concurrent = new ArrayList<>();
+        assertEquals(fresh, subject.get(KEY, () -> {
+            concurrent.add(subject.get(KEY, loader(fresh)));
+            return fresh;
+        }));
+
+        assertEquals(Collections.singletonList(stale), concurrent);
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    public void testFailedRefreshKeepsStaleEntry() {
+        List<FilterAttributeMetadata> stale = metadata("color");
+        subject.put(KEY, stale);
+        now = 1000;
+
+        assertSame(stale.get(0), subject.get(KEY, loader(null)).get(0));
+
+        // the refresh is retried with the next lookup
+        assertSame(stale.get(0), subject.get(KEY, loader(null)).get(0));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testRefreshDoesNotRestoreInvalidatedEntry() {
+        subject.put(KEY, metadata("color"));
+        now = 1000;
+
+        List<FilterAttributeMetadata> fresh = metadata("size");
+        subject.get(KEY, () -> {
+            subject.invalidate("default", null);
+            return fresh;
+        });
+
+        assertNull(subject.get(KEY, loader(fresh)));
+    }
+
+    @Test
+    public void testInvalidate() {
+        FilterAttributeMetadataCache.Key otherStore = new FilterAttributeMetadataCache.Key("default", "other-store",
+            Collections.singletonMap("Store", Collections.singletonList("other-store")));
+        FilterAttributeMetadataCache.Key otherClient = new FilterAttributeMetadataCache.Key("other", "my-store",
+            Collections.singletonMap("Store", Collections.singletonList("my-store")));
+        subject.put(KEY, metadata("color"));
+        subject.put(otherStore, metadata("color"));
+        subject.put(otherClient, metadata("color"));
+
+        subject.invalidate("default", "my-store");
+        assertEquals(2, subject.size());
+        subject.invalidate("default", null);
+        assertEquals(1, subject.size());
+    }
+}
@@ -58,6 +58,7 @@ import static com.adobe.cq.commerce.core.testing.TestContext.buildAemContext;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -155,6 +156,39 @@ public class SearchFilterServiceImplTest {
         verify(httpClient).execute(argThat(new GraphqlQueryMatcher("{customAttributeMetadata", "post")), any(ResponseHandler.class));
     }
 
+    @Test
+    public void testRetrieveMetadataIsCached() throws IOException {
+        context.registerAdapter(Resource.class, GraphqlClient.class, (Function<Resource, GraphqlClient>) input -> input.getValueMap().get(
+            "cq:graphqlClient") != null ? graphqlClient : null);
+
+        List<FilterAttributeMetadata> filterAttributeMetadata = searchFilterServiceUnderTest.retrieveCurrentlyAvailableCommerceFilters(
+            page);
+        assertThat(searchFilterServiceUnderTest.retrieveCurrentlyAvailableCommerceFilters(page)).isSameAs(filterAttributeMetadata);
+        verify(httpClient, times(2)).execute(any(), any(ResponseHandler.class));
+
+        // invalidating another store view keeps the metadata
+        searchFilterServiceUnderTest.invalidateFilterAttributeMetadata("default", "other-store");
+        assertThat(searchFilterServiceUnderTest.retrieveCurrentlyAvailableCommerceFilters(page)).isSameAs(filterAttributeMetadata);
+        verify(httpClient, times(2)).execute(any(), any(ResponseHandler.class));
+
+        searchFilterServiceUnderTest.invalidateFilterAttributeMetadata("default", "my-store");
+        assertThat(searchFilterServiceUnderTest.retrieveCurrentlyAvailableCommerceFilters(page)).hasSize(29);
+        verify(httpClient, times(4)).execute(any(), any(ResponseHandler.class));
+    }
+
+    @Test
+    public void testRetrieveMetadataWithoutCache() throws IOException {
+        context.registerAdapter(Resource.class, GraphqlClient.class, (Function<Resource, GraphqlClient>) input -> input.getValueMap().get(
+            "cq:graphqlClient") != null ? graphqlClient : null);
+
+        MockOsgi.deactivate(searchFilterServiceUnderTest, context.bundleContext());
+        MockOsgi.activate(searchFilterServiceUnderTest, context.bundleContext(), "metadataCacheTtl", 0L);
+
+        searchFilterServiceUnderTest.retrieveCurrentlyAvailableCommerceFilters(page);
+        searchFilterServiceUnderTest.retrieveCurrentlyAvailableCommerceFilters(page);
+        verify(httpClient, times(4)).execute(any(), any(ResponseHandler.class));
+    }
+
     @Test
     public void testFilterQueriesReturnNull() {
         // We want to make sure that components will not fail if the __type and/or customAttributeMetadata fields are null
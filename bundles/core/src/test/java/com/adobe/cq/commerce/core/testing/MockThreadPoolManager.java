@@ -0,0 +1,101 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2026 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.commerce.core.testing;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sling.commons.threads.ThreadPool;
+import org.apache.sling.commons.threads.ThreadPoolConfig;
+import org.apache.sling.commons.threads.ThreadPoolManager;
+
+/**
+ * A {@link ThreadPoolManager} creating bounded thread pools that run rejected tasks on the caller, like the Sling thread pools
+ * configured with the {@link ThreadPoolConfig.ThreadPoolPolicy#RUN} policy.
+ */
+public class MockThreadPoolManager implements ThreadPoolManager {
+
+    @Override
+    public ThreadPool get(String name) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ThreadPool create(ThreadPoolConfig config) {
+        return create(config, null);
+    }
+
+    @Override
+    public ThreadPool create(ThreadPoolConfig config, String label) {
+        return new MockThreadPool(config, label != null ? label : "mock");
+    }
+
+    @Override
+    public void release(ThreadPool pool) {
+        ((MockThreadPool) pool).executor.shutdown();
+    }
+
+    private static class MockThreadPool implements ThreadPool {
+
+        private final ThreadPoolConfig config;
+        private final String name;
+        private final ThreadPoolExecutor executor;
+
+        MockThreadPool(ThreadPoolConfig config, String name) {
+            this.config = config;
+            this.name = name;
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = new ThreadPoolExecutor(config.getMinPoolSize(), config.getMaxPoolSize(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getQueueSize()), runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (executor.isShutdown()) {
+                throw new IllegalStateException("Thread pool " + name + " is already shutdown.");
+            }
+            executor.execute(command);
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> callable) {
+            return executor.submit(callable);
+        }
+
+        @Override
+        public Future<?> submit(Runnable runnable) {
+            return executor.submit(runnable);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public ThreadPoolConfig getConfiguration() {
+            return config;
+        }
+    }
+}